@@ -22,6 +22,11 @@ import java.util.function.Consumer;
  * Simple promise like binary consumer holder. First consumer's argument always represents endpoint
  * identifier, while the second can be of arbitrary type and depends on business logic.
  *
+ * <p>Promise can also be completed by its producer with {@link #resolve(String, Object)} or {@link
+ * #reject(String, JsonRpcError)}. If corresponding consumer is not set at that moment, it is called
+ * as soon as it is set, so asynchronous request handlers don't depend on the order in which the
+ * promise is completed and subscribed.
+ *
  * @param <R> type of second argument of binary consumer
  */
 public class JsonRpcPromise<R> {
@@ -29,6 +34,11 @@ public class JsonRpcPromise<R> {
   private BiConsumer<String, JsonRpcError> failureConsumer;
   private Runnable timeoutRunnable;
 
+  private boolean completed;
+  private String completedBy;
+  private R result;
+  private JsonRpcError error;
+
   public Optional<BiConsumer<String, R>> getSuccessConsumer() {
     return Optional.ofNullable(successConsumer);
   }
@@ -62,10 +72,11 @@ public class JsonRpcPromise<R> {
    * @param biConsumer binary consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
+  public synchronized JsonRpcPromise<R> onSuccess(BiConsumer<String, R> biConsumer) {
     checkNotNull(biConsumer, "JSON RPC success consumer argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success field must not be set");
     this.successConsumer = biConsumer;
+    notifySuccess();
     return this;
   }
 
@@ -77,10 +88,11 @@ public class JsonRpcPromise<R> {
    * @param consumer consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
+  public synchronized JsonRpcPromise<R> onSuccess(Consumer<R> consumer) {
     checkNotNull(consumer, "JSON RPC success consumer argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success consumer field must not be set");
     this.successConsumer = (s, r) -> consumer.accept(r);
+    notifySuccess();
     return this;
   }
 
@@ -91,10 +103,11 @@ public class JsonRpcPromise<R> {
    * @param runnable runnable
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onSuccess(Runnable runnable) {
+  public synchronized JsonRpcPromise<R> onSuccess(Runnable runnable) {
     checkNotNull(runnable, "JSON RPC success runnable argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success field must not be set");
     this.successConsumer = (s, r) -> runnable.run();
+    notifySuccess();
     return this;
   }
 
@@ -106,10 +119,11 @@ public class JsonRpcPromise<R> {
    * @param biConsumer binary consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
+  public synchronized JsonRpcPromise<R> onFailure(BiConsumer<String, JsonRpcError> biConsumer) {
     checkNotNull(biConsumer, "JSON RPC failure consumer argument must not be null");
     checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
     this.failureConsumer = biConsumer;
+    notifyFailure();
     return this;
   }
 
@@ -121,10 +135,11 @@ public class JsonRpcPromise<R> {
    * @param consumer consumer
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
+  public synchronized JsonRpcPromise<R> onFailure(Consumer<JsonRpcError> consumer) {
     checkNotNull(consumer, "JSON RPC failure consumer argument must not be null");
     checkState(this.failureConsumer == null, "JSON RPC failure consumer field must not be set");
     this.failureConsumer = (s, e) -> consumer.accept(e);
+    notifyFailure();
     return this;
   }
 
@@ -135,10 +150,58 @@ public class JsonRpcPromise<R> {
    * @param runnable runnable
    * @return the instance of this very promise
    */
-  public JsonRpcPromise<R> onFailure(Runnable runnable) {
+  public synchronized JsonRpcPromise<R> onFailure(Runnable runnable) {
     checkNotNull(runnable, "JSON RPC success runnable argument must not be null");
     checkState(this.successConsumer == null, "JSON RPC success field must not be set");
     this.successConsumer = (s, e) -> runnable.run();
+    notifySuccess();
     return this;
   }
+
+  /**
+   * Completes this promise with the given result. Success consumer is called immediately if it is
+   * set, otherwise it is called once it is set. Subsequent completions are ignored.
+   *
+   * @param endpointId endpoint identifier the result is related to
+   * @param result result value
+   */
+  public synchronized void resolve(String endpointId, R result) {
+    if (completed) {
+      return;
+    }
+    this.completed = true;
+    this.completedBy = endpointId;
+    this.result = result;
+    notifySuccess();
+  }
+
+  /**
+   * Completes this promise with the given error. Failure consumer is called immediately if it is
+   * set, otherwise it is called once it is set. Subsequent completions are ignored.
+   *
+   * @param endpointId endpoint identifier the error is related to
+   * @param error error value
+   */
+  public synchronized void reject(String endpointId, JsonRpcError error) {
+    checkNotNull(error, "JSON RPC error argument must not be null");
+    if (completed) {
+      return;
+    }
+    this.completed = true;
+    this.completedBy = endpointId;
+    this.error = error;
+    notifyFailure();
+  }
+
+  private void notifySuccess() {
+    if (completed && error == null && successConsumer != null) {
+      successConsumer.accept(completedBy, result);
+    }
+  }
+
+  private void notifyFailure() {
+    if (completed && error != null && failureConsumer != null) {
+      failureConsumer.accept(completedBy, error);
+    }
+  }
 }
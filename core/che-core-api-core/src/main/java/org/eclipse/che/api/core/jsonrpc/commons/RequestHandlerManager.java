@@ -28,7 +28,7 @@ import org.eclipse.che.api.core.websocket.commons.WebSocketMessageTransmitter;
 import org.slf4j.Logger;
 
 /**
- * Manages request handlers. There are nine types of such handlers that differs by the type and
+ * Manages request handlers. There are eleven types of such handlers that differs by the type and
  * number of incoming parameters and outgoing results:
  *
  * <ul>
@@ -38,6 +38,10 @@ import org.slf4j.Logger;
  *   <li>{@link OneToNoneHandler} - to receive a notification with a single parameter
  *   <li>{@link OneToOneHandler} - to receive a request with a single parameter and a single result
  *   <li>{@link OneToManyHandler}- to receive a request with a single parameter and multiple results
+ *   <li>{@link OneToPromiseOneHandler} - to receive a request with a single parameter and a single
+ *       result that is provided asynchronously
+ *   <li>{@link OneToPromiseManyHandler} - to receive a request with a single parameter and
+ *       multiple results that are provided asynchronously
  *   <li>{@link ManyToNoneHandler} - to receive a notification with multiple parameters
  *   <li>{@link ManyToOneHandler} - to receive request with multiple parameters and a single result
  *   <li>{@link ManyToManyHandler} - to receive request with multiple parameters and multiple
@@ -55,6 +59,8 @@ public class RequestHandlerManager {
   private final Map<String, OneToPromiseOneHandler> oneToPromiseOneHandlers =
       new ConcurrentHashMap<>();
   private final Map<String, OneToManyHandler> oneToManyHandlers = new ConcurrentHashMap<>();
+  private final Map<String, OneToPromiseManyHandler> oneToPromiseManyHandlers =
+      new ConcurrentHashMap<>();
   private final Map<String, OneToNoneHandler> oneToNoneHandlers = new ConcurrentHashMap<>();
   private final Map<String, ManyToOneHandler> manyToOneHandlers = new ConcurrentHashMap<>();
   private final Map<String, ManyToManyHandler> manyToManyHandlers = new ConcurrentHashMap<>();
@@ -102,6 +108,16 @@ public class RequestHandlerManager {
     oneToPromiseOneHandlers.put(method, new OneToPromiseOneHandler<>(pClass, rClass, function));
   }
 
+  public synchronized <P, R> void registerOneToPromiseMany(
+      String method,
+      Class<P> pClass,
+      Class<R> rClass,
+      BiFunction<String, P, JsonRpcPromise<List<R>>> function) {
+    mustNotBeRegistered(method);
+    methodToCategory.put(method, Category.ONE_TO_PROMISE_MANY);
+    oneToPromiseManyHandlers.put(method, new OneToPromiseManyHandler<>(pClass, rClass, function));
+  }
+
   public synchronized <P, R> void registerOneToMany(
       String method, Class<P> pClass, Class<R> rClass, BiFunction<String, P, List<R>> biFunction) {
     mustNotBeRegistered(method);
@@ -210,6 +226,9 @@ public class RequestHandlerManager {
       case ONE_TO_PROMISE_ONE:
         oneToPromiseOneHandlers.remove(method);
         break;
+      case ONE_TO_PROMISE_MANY:
+        oneToPromiseManyHandlers.remove(method);
+        break;
     }
 
     return true;
@@ -241,6 +260,9 @@ public class RequestHandlerManager {
       case ONE_TO_PROMISE_ONE:
         oneToPromiseOneHandlers.get(method).handle(endpointId, requestId, method, params);
         break;
+      case ONE_TO_PROMISE_MANY:
+        oneToPromiseManyHandlers.get(method).handle(endpointId, requestId, method, params);
+        break;
       default:
         LOGGER.error("Something went wrong trying to find out handler category");
     }
@@ -319,6 +341,17 @@ public class RequestHandlerManager {
         });
   }
 
+  private <R> void transmitPromiseMany(
+      String endpointId, String requestId, JsonRpcPromise<List<R>> promise) {
+    promise.onSuccess(result -> transmitMany(endpointId, requestId, result));
+    promise.onFailure(
+        jsonRpcError -> {
+          JsonRpcResponse jsonRpcResponse = new JsonRpcResponse(requestId, null, jsonRpcError);
+          String message = marshaller.marshall(jsonRpcResponse);
+          transmitter.transmit(endpointId, message);
+        });
+  }
+
   public enum Category {
     ONE_TO_ONE,
     ONE_TO_MANY,
@@ -329,7 +362,8 @@ public class RequestHandlerManager {
     NONE_TO_ONE,
     NONE_TO_MANY,
     NONE_TO_NONE,
-    ONE_TO_PROMISE_ONE
+    ONE_TO_PROMISE_ONE,
+    ONE_TO_PROMISE_MANY
   }
 
   private class OneToOneHandler<P, R> {
@@ -371,6 +405,25 @@ public class RequestHandlerManager {
     }
   }
 
+  private class OneToPromiseManyHandler<P, R> {
+    private final Class<P> pClass;
+    private final Class<R> rClass;
+    private BiFunction<String, P, JsonRpcPromise<List<R>>> function;
+
+    private OneToPromiseManyHandler(
+        Class<P> pClass, Class<R> rClass, BiFunction<String, P, JsonRpcPromise<List<R>>> function) {
+      this.pClass = pClass;
+      this.rClass = rClass;
+      this.function = function;
+    }
+
+    private void handle(String endpointId, String requestId, String method, JsonRpcParams params) {
+      P param = dtoComposer.composeOne(params, pClass);
+      filter(method, param);
+      transmitPromiseMany(endpointId, requestId, function.apply(endpointId, param));
+    }
+  }
+
   private class OneToManyHandler<P, R> {
     private final Class<P> pClass;
     private final Class<R> rClass;
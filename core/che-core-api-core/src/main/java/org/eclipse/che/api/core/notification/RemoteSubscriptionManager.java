@@ -13,7 +13,11 @@ package org.eclipse.che.api.core.notification;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiPredicate;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
@@ -28,6 +32,8 @@ public class RemoteSubscriptionManager {
   private final EventService eventService;
   private final RequestTransmitter requestTransmitter;
   private final RemoteSubscriptionStorage remoteSubscriptionStorage;
+  private final Map<String, List<SubscriptionListener>> subscriptionListeners =
+      new ConcurrentHashMap<>();
 
   @Inject
   public RemoteSubscriptionManager(
@@ -58,28 +64,25 @@ public class RemoteSubscriptionManager {
 
   public <T> void register(
       String method, Class<T> eventType, BiPredicate<T, Map<String, String>> biPredicate) {
-    eventService.subscribe(
-        event ->
-            remoteSubscriptionStorage
-                .getByMethod(method)
-                .stream()
-                .filter(context -> biPredicate.test(event, context.getScope()))
-                .forEach(context -> transmit(context.getEndpointId(), method, event)),
-        eventType);
+    eventService.subscribe(event -> transmit(method, event, biPredicate), eventType);
   }
 
-  private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
-    remoteSubscriptionStorage.addSubscription(
-        eventSubscription.getMethod(),
-        new RemoteSubscriptionContext(endpointId, eventSubscription.getScope()));
-  }
-
-  private void consumeUnSubscriptionRequest(
-      String endpointId, EventSubscription eventSubscription) {
-    remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
+  /**
+   * Sends the event to the remote subscribers of the method whose subscription scope matches the
+   * predicate. Unlike {@link #register(String, Class, BiPredicate)} the event is not consumed from
+   * {@link EventService}, so the caller decides when it is sent.
+   */
+  public <T> void transmit(
+      String method, T event, BiPredicate<T, Map<String, String>> biPredicate) {
+    remoteSubscriptionStorage
+        .getByMethod(method)
+        .stream()
+        .filter(context -> biPredicate.test(event, context.getScope()))
+        .forEach(context -> transmit(context.getEndpointId(), method, event));
   }
 
-  private <T> void transmit(String endpointId, String method, T event) {
+  /** Sends the event to the remote endpoint as the notification of the given method. */
+  public <T> void transmit(String endpointId, String method, T event) {
     requestTransmitter
         .newRequest()
         .endpointId(endpointId)
@@ -87,4 +90,50 @@ public class RemoteSubscriptionManager {
         .paramsAsDto(event)
         .sendAndSkipResult();
   }
+
+  /**
+   * Adds the listener which is notified of each new remote subscription to the given method, e.g.
+   * to send the events the subscriber has missed. The subscription is stored when the listener
+   * runs the given action, so the listener can store it atomically with sending the missed events.
+   */
+  public void addSubscriptionListener(String method, SubscriptionListener listener) {
+    subscriptionListeners.computeIfAbsent(method, m -> new CopyOnWriteArrayList<>()).add(listener);
+  }
+
+  private void consumeSubscriptionRequest(String endpointId, EventSubscription eventSubscription) {
+    AtomicBoolean subscribed = new AtomicBoolean();
+    Runnable subscribe =
+        () -> {
+          if (subscribed.compareAndSet(false, true)) {
+            remoteSubscriptionStorage.addSubscription(
+                eventSubscription.getMethod(),
+                new RemoteSubscriptionContext(endpointId, eventSubscription.getScope()));
+          }
+        };
+    List<SubscriptionListener> listeners = subscriptionListeners.get(eventSubscription.getMethod());
+    if (listeners != null) {
+      listeners.forEach(
+          listener -> listener.onSubscribe(endpointId, eventSubscription.getScope(), subscribe));
+    }
+    subscribe.run();
+  }
+
+  private void consumeUnSubscriptionRequest(
+      String endpointId, EventSubscription eventSubscription) {
+    remoteSubscriptionStorage.removeSubscription(eventSubscription.getMethod(), endpointId);
+  }
+
+  /** Listener of new remote subscriptions. */
+  public interface SubscriptionListener {
+
+    /**
+     * Called when the endpoint subscribes to the method.
+     *
+     * @param endpointId id of the subscribed endpoint
+     * @param scope scope of the subscription
+     * @param subscribe stores the subscription, it is run after the listener if the listener
+     *     doesn't run it
+     */
+    void onSubscribe(String endpointId, Map<String, String> scope, Runnable subscribe);
+  }
 }
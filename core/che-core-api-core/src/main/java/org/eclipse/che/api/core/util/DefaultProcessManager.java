@@ -44,6 +44,11 @@ class DefaultProcessManager extends ProcessManager {
     }
   }
 
+  @Override
+  int getPid(Process process) {
+    throw new UnsupportedOperationException();
+  }
+
   @Override
   int system(String command) {
     throw new UnsupportedOperationException();
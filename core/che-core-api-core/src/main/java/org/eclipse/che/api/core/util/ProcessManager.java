@@ -24,5 +24,7 @@ abstract class ProcessManager {
 
   abstract boolean isAlive(Process process);
 
+  abstract int getPid(Process process);
+
   abstract int system(String command);
 }
@@ -152,6 +152,16 @@ public final class ProcessUtil {
     PROCESS_MANAGER.kill(process);
   }
 
+  /**
+   * Returns id of the given process.
+   *
+   * @throws IllegalStateException if id of the process can't be resolved
+   * @throws UnsupportedOperationException if current system is not unix like
+   */
+  public static int getPid(Process process) {
+    return PROCESS_MANAGER.getPid(process);
+  }
+
   public static int system(String command) {
     return PROCESS_MANAGER.system(command);
   }
@@ -177,6 +177,7 @@ class UnixProcessManager extends ProcessManager {
     return process.isAlive();
   }
 
+  @Override
   int getPid(Process process) {
     if (PID_FIELD != null) {
       try {
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.commons;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.function.BiConsumer;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link JsonRpcPromise} */
+@Listeners(MockitoTestNGListener.class)
+public class JsonRpcPromiseTest {
+  static final String ENDPOINT_ID = "endpoint-id";
+
+  @Mock BiConsumer<String, String> successConsumer;
+  @Mock BiConsumer<String, JsonRpcError> failureConsumer;
+
+  @Test
+  public void shouldCallSuccessConsumerWhenResolvedAfterSubscription() {
+    JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+    promise.onSuccess(successConsumer).onFailure(failureConsumer);
+
+    promise.resolve(ENDPOINT_ID, "result");
+
+    verify(successConsumer).accept(ENDPOINT_ID, "result");
+    verify(failureConsumer, never()).accept(any(), any());
+  }
+
+  @Test
+  public void shouldCallSuccessConsumerWhenResolvedBeforeSubscription() {
+    JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+
+    promise.resolve(ENDPOINT_ID, "result");
+    promise.onSuccess(successConsumer).onFailure(failureConsumer);
+
+    verify(successConsumer).accept(ENDPOINT_ID, "result");
+    verify(failureConsumer, never()).accept(any(), any());
+  }
+
+  @Test
+  public void shouldCallFailureConsumerWhenRejectedBeforeSubscription() {
+    JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+    JsonRpcError error = new JsonRpcError(-27000, "error");
+
+    promise.reject(ENDPOINT_ID, error);
+    promise.onSuccess(successConsumer).onFailure(failureConsumer);
+
+    verify(failureConsumer).accept(ENDPOINT_ID, error);
+    verify(successConsumer, never()).accept(any(), any());
+  }
+
+  @Test
+  public void shouldIgnoreSubsequentCompletions() {
+    JsonRpcPromise<String> promise = new JsonRpcPromise<>();
+    promise.onSuccess(successConsumer).onFailure(failureConsumer);
+
+    promise.resolve(ENDPOINT_ID, "result");
+    promise.resolve(ENDPOINT_ID, "other");
+    promise.reject(ENDPOINT_ID, new JsonRpcError(-27000, "error"));
+
+    verify(successConsumer).accept(ENDPOINT_ID, "result");
+    verify(failureConsumer, never()).accept(any(), any());
+  }
+}
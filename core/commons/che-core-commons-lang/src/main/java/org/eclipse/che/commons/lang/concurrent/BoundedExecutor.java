@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes tasks in the delegate executor so that no more than the given number of tasks are run
+ * at once, the rest are queued. Allows to limit the load which a single operation puts on an
+ * external service, e.g. Kubernetes API or Docker daemon, while sharing the threads of a common
+ * pool.
+ */
+public class BoundedExecutor implements Executor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BoundedExecutor.class);
+
+  private final Executor delegate;
+  private final int parallelism;
+  private final Queue<Runnable> queue = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger running = new AtomicInteger();
+
+  public BoundedExecutor(Executor delegate, int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("Parallelism must be positive, got " + parallelism);
+    }
+    this.delegate = delegate;
+    this.parallelism = parallelism;
+  }
+
+  @Override
+  public void execute(Runnable task) {
+    queue.add(task);
+    startWorkers();
+  }
+
+  private void startWorkers() {
+    while (!queue.isEmpty()) {
+      int current = running.get();
+      if (current >= parallelism) {
+        // one of the running workers takes the task
+        return;
+      }
+      if (running.compareAndSet(current, current + 1)) {
+        try {
+          delegate.execute(this::runQueued);
+        } catch (RejectedExecutionException e) {
+          running.decrementAndGet();
+          throw e;
+        }
+      }
+    }
+  }
+
+  private void runQueued() {
+    try {
+      Runnable task;
+      while ((task = queue.poll()) != null) {
+        try {
+          task.run();
+        } catch (RuntimeException e) {
+          LOG.error(e.getMessage(), e);
+        }
+      }
+    } finally {
+      running.decrementAndGet();
+    }
+    // the task might be queued after the queue was found empty but before the counter decreased
+    startWorkers();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.commons.lang.concurrent;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link BoundedExecutor}. */
+public class BoundedExecutorTest {
+
+  private ExecutorService pool;
+
+  @BeforeMethod
+  public void setUp() {
+    pool = Executors.newCachedThreadPool();
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    pool.shutdownNow();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldNotRunMoreTasksAtOnceThanParallelism() throws Exception {
+    BoundedExecutor executor = new BoundedExecutor(pool, 2);
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    CountDownLatch completed = new CountDownLatch(20);
+
+    for (int i = 0; i < 20; i++) {
+      executor.execute(
+          () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+              Thread.sleep(10);
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            } finally {
+              running.decrementAndGet();
+              completed.countDown();
+            }
+          });
+    }
+
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+    assertTrue(maxRunning.get() <= 2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldRunQueuedTasksWhenTaskFails() throws Exception {
+    BoundedExecutor executor = new BoundedExecutor(pool, 1);
+    CountDownLatch completed = new CountDownLatch(1);
+
+    executor.execute(
+        () -> {
+          throw new IllegalStateException("test");
+        });
+    executor.execute(completed::countDown);
+
+    assertTrue(completed.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void shouldRunTasksInDelegateExecutor() {
+    AtomicInteger executed = new AtomicInteger();
+    BoundedExecutor executor = new BoundedExecutor(Runnable::run, 1);
+
+    executor.execute(executed::incrementAndGet);
+    executor.execute(executed::incrementAndGet);
+
+    assertEquals(executed.get(), 2);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldRejectNotPositiveParallelism() {
+    new BoundedExecutor(pool, 0);
+  }
+}
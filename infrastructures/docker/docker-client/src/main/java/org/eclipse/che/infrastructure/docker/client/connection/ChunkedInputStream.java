@@ -64,6 +64,11 @@ public class ChunkedInputStream extends InputStream {
     return (chunkSize - chunkPos);
   }
 
+  /** Returns true when the last chunk of the stream is read. */
+  synchronized boolean isFinished() {
+    return eof;
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (eof) {
       return -1;
@@ -13,22 +13,32 @@ package org.eclipse.che.infrastructure.docker.client.connection;
 
 import com.google.inject.Inject;
 import java.net.URI;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.annotation.PreDestroy;
 import javax.inject.Named;
+import javax.inject.Singleton;
 import org.eclipse.che.infrastructure.docker.client.DockerCertificates;
 import org.eclipse.che.infrastructure.docker.client.DockerConnectorConfiguration;
 
 /**
  * Factory for connections to docker API.
  *
- * <p>Detects connection implementation by checking docker daemon URI.
+ * <p>Detects connection implementation by checking docker daemon URI. Connections to the unix
+ * socket are pooled, see {@link UnixSocketConnectionPool}.
  *
  * @author Alexander Garagatyi
  */
+@Singleton
 public class DockerConnectionFactory {
   public static final String CONNECTION_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_timeout_ms";
   public static final String CONNECTION_READ_TIMEOUT_MS_PROPERTY =
       "che.docker.tcp_connection_read_timeout_ms";
+  public static final String UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY =
+      "che.docker.unix_socket_max_idle_connections";
+  public static final String UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY =
+      "che.docker.unix_socket_idle_timeout_ms";
 
   @Inject(optional = true)
   @Named(CONNECTION_TIMEOUT_MS_PROPERTY)
@@ -38,7 +48,17 @@ public class DockerConnectionFactory {
   @Named(CONNECTION_READ_TIMEOUT_MS_PROPERTY)
   private int connectionReadTimeoutMs = 60000;
 
+  @Inject(optional = true)
+  @Named(UNIX_SOCKET_MAX_IDLE_CONNECTIONS_PROPERTY)
+  private int unixSocketMaxIdleConnections = 10;
+
+  @Inject(optional = true)
+  @Named(UNIX_SOCKET_IDLE_TIMEOUT_MS_PROPERTY)
+  private long unixSocketIdleTimeoutMs = 30000;
+
   private final DockerCertificates dockerCertificates;
+  private final ConcurrentMap<String, UnixSocketConnectionPool> unixSocketPools =
+      new ConcurrentHashMap<>();
 
   @Inject
   public DockerConnectionFactory(DockerConnectorConfiguration connectorConfiguration) {
@@ -47,10 +67,20 @@ public class DockerConnectionFactory {
 
   public DockerConnection openConnection(URI dockerDaemonUri) {
     if (DockerConnectorConfiguration.isUnixSocketUri(dockerDaemonUri)) {
-      return new UnixSocketConnection(dockerDaemonUri.getPath());
+      return new UnixSocketConnection(
+          unixSocketPools.computeIfAbsent(
+              dockerDaemonUri.getPath(),
+              path ->
+                  new UnixSocketConnectionPool(
+                      path, unixSocketMaxIdleConnections, unixSocketIdleTimeoutMs)));
     } else {
       return new TcpConnection(
           dockerDaemonUri, dockerCertificates, connectionTimeoutMs, connectionReadTimeoutMs);
     }
   }
+
+  @PreDestroy
+  void closeIdleConnections() {
+    unixSocketPools.values().forEach(UnixSocketConnectionPool::close);
+  }
 }
@@ -58,6 +58,11 @@ public class LimitedInputStream extends InputStream {
     return doRead(b, 0, len);
   }
 
+  /** Returns the number of the bytes which are not read yet. */
+  synchronized int remaining() {
+    return Math.max(limit - pos, 0);
+  }
+
   private int doRead(byte[] b, int off, int len) throws IOException {
     if (pos >= limit) {
       return -1;
@@ -11,11 +11,6 @@
  */
 package org.eclipse.che.infrastructure.docker.client.connection;
 
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
-import static org.eclipse.che.infrastructure.docker.client.CLibrary.SockAddrUn;
-import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
-
 import com.google.common.base.Strings;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -24,58 +19,61 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.net.ConnectException;
 import java.util.List;
 import org.eclipse.che.commons.lang.Pair;
-import org.eclipse.che.infrastructure.docker.client.CLibrary;
 
 /**
+ * Connection to docker API through the unix socket.
+ *
+ * <p>The socket connection is taken from {@link UnixSocketConnectionPool} and is returned back to
+ * the pool on close if the response is read completely, otherwise it is closed.
+ *
  * @author andrew00x
  * @author Alexander Garagatyi
  */
 public class UnixSocketConnection extends DockerConnection {
-  private final String dockerSocketPath;
+  private final UnixSocketConnectionPool pool;
 
   private int fd = -1;
+  private UnixSocketDockerResponse response;
 
   public UnixSocketConnection(String dockerSocketPath) {
-    this.dockerSocketPath = dockerSocketPath;
+    this(new UnixSocketConnectionPool(dockerSocketPath, 0, 0));
+  }
+
+  public UnixSocketConnection(UnixSocketConnectionPool pool) {
+    this.pool = pool;
   }
 
   @Override
   protected DockerResponse request(
       String method, String path, String query, List<Pair<String, ?>> headers, Entity<?> entity)
       throws IOException {
-    fd = connect();
+    fd = pool.acquire();
     final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
     writeHttpHeaders(output, method, path, query, headers);
     if (entity != null) {
       entity.writeTo(output);
     }
-    return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
+    return response = new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
   }
 
   @Override
   public void close() {
     if (fd != -1) {
-      getCLibrary().close(fd);
-    }
-  }
-
-  private int connect() throws IOException {
-    final CLibrary cLib = getCLibrary();
-    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
-    if (fd == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
-    }
-    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
-    int c = cLib.connect(fd, sockAddr, sockAddr.size());
-    if (c == -1) {
-      throw new ConnectException(
-          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+      boolean reusable;
+      try {
+        reusable = response != null && response.complete();
+      } catch (IOException e) {
+        reusable = false;
+      }
+      if (reusable) {
+        pool.release(fd);
+      } else {
+        pool.discard(fd);
+      }
+      fd = -1;
     }
-    return fd;
   }
 
   private void writeHttpHeaders(
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.AF_UNIX;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_DONTWAIT;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.MSG_PEEK;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.SOCK_STREAM;
+import static org.eclipse.che.infrastructure.docker.client.CLibrary.SockAddrUn;
+import static org.eclipse.che.infrastructure.docker.client.CLibraryFactory.getCLibrary;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import org.eclipse.che.infrastructure.docker.client.CLibrary;
+
+/**
+ * Pool of connections to the unix socket of docker API.
+ *
+ * <p>A connection whose response is read completely is kept open, since docker API supports HTTP
+ * keep-alive, and is reused by the next request instead of connecting to the socket again. Idle
+ * connections are closed when the pool is full, when they are not used during the idle timeout or
+ * when they are closed by docker.
+ */
+public class UnixSocketConnectionPool {
+  private final String dockerSocketPath;
+  private final int maxIdleConnections;
+  private final long idleTimeoutMs;
+  // the most recently used connections are at the head
+  private final Deque<IdleConnection> idleConnections = new ArrayDeque<>();
+
+  /**
+   * Creates pool of connections.
+   *
+   * @param dockerSocketPath path to the docker API unix socket
+   * @param maxIdleConnections maximum number of connections kept open, 0 disables pooling
+   * @param idleTimeoutMs time after which the unused connection is closed
+   */
+  public UnixSocketConnectionPool(
+      String dockerSocketPath, int maxIdleConnections, long idleTimeoutMs) {
+    this.dockerSocketPath = dockerSocketPath;
+    this.maxIdleConnections = maxIdleConnections;
+    this.idleTimeoutMs = idleTimeoutMs;
+  }
+
+  /** Returns file descriptor of the idle connection or of the new one if there is no such. */
+  int acquire() throws IOException {
+    synchronized (idleConnections) {
+      final long now = System.currentTimeMillis();
+      IdleConnection idle;
+      while ((idle = idleConnections.pollFirst()) != null) {
+        if (now - idle.releasedAt < idleTimeoutMs && isOpen(idle.fd)) {
+          return idle.fd;
+        }
+        getCLibrary().close(idle.fd);
+      }
+    }
+    return connect();
+  }
+
+  /** Returns connection which is ready for the next request to the pool. */
+  void release(int fd) {
+    synchronized (idleConnections) {
+      if (idleConnections.size() < maxIdleConnections) {
+        idleConnections.addFirst(new IdleConnection(fd, System.currentTimeMillis()));
+        return;
+      }
+    }
+    getCLibrary().close(fd);
+  }
+
+  /** Closes connection which can't be used anymore. */
+  void discard(int fd) {
+    getCLibrary().close(fd);
+  }
+
+  /** Closes all the idle connections. */
+  public void close() {
+    synchronized (idleConnections) {
+      IdleConnection idle;
+      while ((idle = idleConnections.pollFirst()) != null) {
+        getCLibrary().close(idle.fd);
+      }
+    }
+  }
+
+  private int connect() throws IOException {
+    final CLibrary cLib = getCLibrary();
+    int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
+    if (fd == -1) {
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    final SockAddrUn sockAddr = new SockAddrUn(dockerSocketPath);
+    int c = cLib.connect(fd, sockAddr, sockAddr.size());
+    if (c == -1) {
+      cLib.close(fd);
+      throw new ConnectException(
+          String.format("Unable connect to unix socket: '%s'", dockerSocketPath));
+    }
+    return fd;
+  }
+
+  /**
+   * Checks that idle connection is not closed by docker. Nothing may be received from the idle
+   * connection, so there must be no data to peek without waiting.
+   */
+  private boolean isOpen(int fd) {
+    return getCLibrary().recv(fd, new byte[1], 1, MSG_PEEK | MSG_DONTWAIT) == -1;
+  }
+
+  private static class IdleConnection {
+    final int fd;
+    final long releasedAt;
+
+    IdleConnection(int fd, long releasedAt) {
+      this.fd = fd;
+      this.releasedAt = releasedAt;
+    }
+  }
+}
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.infrastructure.docker.client.connection;
 
+import com.google.common.io.ByteStreams;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
@@ -26,6 +27,8 @@ public class UnixSocketDockerResponse implements DockerResponse {
         }
       };
 
+  private static final int MAX_SKIPPED_BYTES = 8192;
+
   private final InputStream rawData;
 
   private InputStream data;
@@ -144,7 +147,9 @@ public class UnixSocketDockerResponse implements DockerResponse {
     }
     this.headersFields = headerFields.toArray(new String[headerFields.size()]);
     final int contentLength = getContentLength();
-    if (contentLength == 0) {
+    final int status = getStatus();
+    // responses with 204 and 304 statuses never contain body
+    if (contentLength == 0 || status == 204 || status == 304) {
       return data = EMPTY;
     }
     if (contentLength > 0) {
@@ -155,4 +160,34 @@ public class UnixSocketDockerResponse implements DockerResponse {
             ? new ChunkedInputStream(rawData)
             : rawData;
   }
+
+  /**
+   * Completes reading of the response so the connection may be used by the next request.
+   *
+   * <p>Short rest of the body with known length, e.g. a new line after JSON, is skipped. The body
+   * of unknown length can't be skipped since it may be a stream, e.g. of events.
+   *
+   * @return true when the response is read completely and the server does not close the
+   *     connection, false otherwise
+   */
+  synchronized boolean complete() throws IOException {
+    if (headersFields == null || "close".equalsIgnoreCase(getHeader("Connection"))) {
+      return false;
+    }
+    if (data == EMPTY) {
+      return true;
+    }
+    if (data instanceof LimitedInputStream) {
+      final LimitedInputStream limited = (LimitedInputStream) data;
+      if (limited.remaining() <= MAX_SKIPPED_BYTES) {
+        ByteStreams.exhaust(limited);
+      }
+      return limited.remaining() == 0;
+    }
+    if (data instanceof ChunkedInputStream) {
+      return ((ChunkedInputStream) data).isFinished();
+    }
+    // the body is delimited by the end of the stream
+    return false;
+  }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.infrastructure.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that {@link UnixSocketDockerResponse} reads exactly one response from the stream, so the
+ * connection may be reused by the next request.
+ */
+public class UnixSocketDockerResponseTest {
+
+  private static final String NEXT_RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 4\r\n\r\nnext";
+
+  @Test
+  public void skipsRestOfBodyWithKnownLength() throws Exception {
+    InputStream stream =
+        stream("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\n{}\n\n\n" + NEXT_RESPONSE);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream);
+
+    assertEquals(response.getStatus(), 200);
+    assertEquals(response.getInputStream().read(), '{');
+    assertTrue(response.complete());
+    assertNextResponseIsRead(stream);
+  }
+
+  @Test
+  public void completesChunkedResponseWhenLastChunkIsRead() throws Exception {
+    InputStream stream =
+        stream(
+            "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "3\r\nabc\r\n2\r\nde\r\n0\r\n\r\n"
+                + NEXT_RESPONSE);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream);
+
+    assertEquals(read(response.getInputStream()), "abcde");
+    assertTrue(response.complete());
+    assertNextResponseIsRead(stream);
+  }
+
+  @Test
+  public void doesNotCompleteChunkedResponseWhichIsNotReadToTheEnd() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            stream("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n3\r\nabc\r\n"));
+
+    assertEquals(response.getInputStream().read(), 'a');
+    assertFalse(response.complete());
+  }
+
+  @Test
+  public void treatsNoContentResponseAsEmpty() throws Exception {
+    InputStream stream = stream("HTTP/1.1 204 No Content\r\n\r\n" + NEXT_RESPONSE);
+    UnixSocketDockerResponse response = new UnixSocketDockerResponse(stream);
+
+    assertEquals(response.getStatus(), 204);
+    assertEquals(response.getInputStream().read(), -1);
+    assertTrue(response.complete());
+    assertNextResponseIsRead(stream);
+  }
+
+  @Test
+  public void doesNotCompleteResponseWhenServerClosesConnection() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(
+            stream("HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n"));
+
+    assertEquals(response.getStatus(), 200);
+    assertFalse(response.complete());
+  }
+
+  @Test
+  public void doesNotCompleteResponseDelimitedByEndOfStream() throws Exception {
+    UnixSocketDockerResponse response =
+        new UnixSocketDockerResponse(stream("HTTP/1.1 200 OK\r\n\r\nstream of events"));
+
+    assertEquals(response.getStatus(), 200);
+    assertFalse(response.complete());
+  }
+
+  @Test
+  public void doesNotCompleteResponseWhichIsNotRead() throws Exception {
+    assertFalse(new UnixSocketDockerResponse(stream(NEXT_RESPONSE)).complete());
+  }
+
+  private void assertNextResponseIsRead(InputStream stream) throws Exception {
+    UnixSocketDockerResponse next = new UnixSocketDockerResponse(stream);
+    assertEquals(next.getStatus(), 200);
+    assertEquals(read(next.getInputStream()), "next");
+  }
+
+  private String read(InputStream input) throws Exception {
+    StringBuilder content = new StringBuilder();
+    for (int c = input.read(); c != -1; c = input.read()) {
+      content.append((char) c);
+    }
+    return content.toString();
+  }
+
+  private InputStream stream(String content) {
+    return new ByteArrayInputStream(content.getBytes(UTF_8));
+  }
+}
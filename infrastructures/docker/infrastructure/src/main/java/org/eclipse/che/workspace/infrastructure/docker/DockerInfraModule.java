@@ -19,11 +19,13 @@ import org.eclipse.che.api.workspace.server.URLRewriter;
 import org.eclipse.che.api.workspace.server.spi.RuntimeInfrastructure;
 import org.eclipse.che.api.workspace.server.spi.provision.env.CheApiExternalEnvVarProvider;
 import org.eclipse.che.api.workspace.server.spi.provision.env.CheApiInternalEnvVarProvider;
+import org.eclipse.che.infrastructure.docker.client.DockerOOMDetector;
 import org.eclipse.che.infrastructure.docker.client.DockerRegistryDynamicAuthResolver;
 import org.eclipse.che.infrastructure.docker.client.NoOpDockerRegistryDynamicAuthResolverImpl;
 import org.eclipse.che.workspace.infrastructure.docker.bootstrap.DockerBootstrapperFactory;
 import org.eclipse.che.workspace.infrastructure.docker.environment.DockerEnvironmentsModule;
 import org.eclipse.che.workspace.infrastructure.docker.environment.convert.DockerEnvironmentConvertersModule;
+import org.eclipse.che.workspace.infrastructure.docker.monit.DockerEventsOOMDetector;
 import org.eclipse.che.workspace.infrastructure.docker.provisioner.ContainerSystemSettingsProvisioner;
 import org.eclipse.che.workspace.infrastructure.docker.provisioner.ContainerSystemSettingsProvisioningModule;
 import org.eclipse.che.workspace.infrastructure.docker.provisioner.cgroup.CGroupParentProvisioner;
@@ -67,6 +69,8 @@ public class DockerInfraModule extends AbstractModule {
 
     bind(RuntimeInfrastructure.class).to(DockerRuntimeInfrastructure.class);
 
+    bind(DockerOOMDetector.class).to(DockerEventsOOMDetector.class);
+
     bind(DockerRegistryDynamicAuthResolver.class)
         .to(NoOpDockerRegistryDynamicAuthResolverImpl.class);
 
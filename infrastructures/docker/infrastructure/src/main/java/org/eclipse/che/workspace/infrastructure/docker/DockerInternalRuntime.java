@@ -18,10 +18,21 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.inject.assistedinject.Assisted;
 import com.google.inject.assistedinject.AssistedInject;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
 import java.util.function.Consumer;
 import javax.inject.Named;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -50,6 +61,9 @@ import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.shared.dto.event.ServerStatusEvent;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.tracing.OptionalTracer;
+import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.eclipse.che.infrastructure.docker.client.json.ContainerListEntry;
 import org.eclipse.che.workspace.infrastructure.docker.bootstrap.DockerBootstrapperFactory;
@@ -68,6 +82,8 @@ import org.slf4j.Logger;
 public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext> {
 
   private static final Logger LOG = getLogger(DockerInternalRuntime.class);
+  private static final String PARALLEL_START_PROPERTY_NAME =
+      "che.infra.docker.max_parallel_machine_starts";
 
   private final RuntimeMachines runtimeMachines;
   private final StartSynchronizer startSynchronizer;
@@ -82,6 +98,9 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
   private final WorkspaceProbesFactory probesFactory;
   private final ParallelDockerImagesBuilderFactory imagesBuilderFactory;
   private final int bootstrappingTimeoutMinutes;
+  private final DockerSharedPool sharedPool;
+  @Nullable private final Tracer tracer;
+  private final int parallelStartsNumber;
 
   /**
    * Creates non running runtime. Normally created by {@link
@@ -100,7 +119,10 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
-      @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes) {
+      DockerSharedPool sharedPool,
+      @Nullable OptionalTracer tracer,
+      @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes,
+      @Named(PARALLEL_START_PROPERTY_NAME) int parallelStartsNumber) {
     this(
         context,
         urlRewriter,
@@ -114,7 +136,10 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
         probeScheduler,
         probesFactory,
         imagesBuilderFactory,
-        bootstrappingTimeoutMinutes);
+        sharedPool,
+        tracer,
+        bootstrappingTimeoutMinutes,
+        parallelStartsNumber);
   }
 
   /**
@@ -137,7 +162,10 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
-      @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes)
+      DockerSharedPool sharedPool,
+      @Nullable OptionalTracer tracer,
+      @Named("che.infra.docker.bootstrapper.timeout_min") int bootstrappingTimeoutMinutes,
+      @Named(PARALLEL_START_PROPERTY_NAME) int parallelStartsNumber)
       throws InfrastructureException {
     this(
         context,
@@ -152,7 +180,10 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
         probeScheduler,
         probesFactory,
         imagesBuilderFactory,
-        bootstrappingTimeoutMinutes);
+        sharedPool,
+        tracer,
+        bootstrappingTimeoutMinutes,
+        parallelStartsNumber);
 
     for (ContainerListEntry container : containers) {
       DockerMachine machine = machineCreator.create(container);
@@ -177,7 +208,10 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
       ProbeScheduler probeScheduler,
       WorkspaceProbesFactory probesFactory,
       ParallelDockerImagesBuilderFactory imagesBuilderFactory,
-      int bootstrappingTimeoutMinutes) {
+      DockerSharedPool sharedPool,
+      @Nullable OptionalTracer tracer,
+      int bootstrappingTimeoutMinutes,
+      int parallelStartsNumber) {
     super(context, urlRewriter, running ? WorkspaceStatus.RUNNING : null);
     this.networks = networks;
     this.containerStarter = machineStarter;
@@ -192,6 +226,9 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
     this.loggers = loggers;
     this.probeScheduler = probeScheduler;
     this.imagesBuilderFactory = imagesBuilderFactory;
+    this.sharedPool = sharedPool;
+    this.tracer = OptionalTracer.fromNullable(tracer);
+    this.parallelStartsNumber = parallelStartsNumber;
   }
 
   @Override
@@ -204,27 +241,7 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
               .create(getContext().getIdentity())
               .prepareImages(getContext().getEnvironment().getContainers());
 
-      for (Map.Entry<String, DockerContainerConfig> containerEntry :
-          getContext().getEnvironment().getContainers().entrySet()) {
-        checkInterruption();
-        String machineName = containerEntry.getKey();
-
-        runtimeMachines.putMachine(machineName, new DockerMachine.StartingDockerMachine());
-        sendStartingEvent(machineName);
-
-        try {
-          DockerMachine machine =
-              startMachine(machineName, images.get(machineName), containerEntry.getValue());
-          sendRunningEvent(machineName);
-
-          bootstrapInstallers(machineName, machine);
-
-          checkServers(machineName, machine);
-        } catch (InfrastructureException e) {
-          sendFailedEvent(machineName, e.getMessage());
-          throw e;
-        }
-      }
+      startMachines(images);
       startSynchronizer.complete();
     } catch (InfrastructureException | InterruptedException | RuntimeException e) {
       boolean interrupted = Thread.interrupted() || e instanceof InterruptedException;
@@ -311,7 +328,197 @@ public class DockerInternalRuntime extends InternalRuntime<DockerRuntimeContext>
     }
   }
 
-  private DockerMachine startMachine(
+  /**
+   * Starts machines of the environment respecting dependencies between them. Machine is started
+   * when all the machines it depends on are started, so independent machines are started in
+   * parallel, but not more than configured number of machines at once.
+   */
+  private void startMachines(Map<String, String> images)
+      throws InfrastructureException, InterruptedException {
+    Map<String, DockerContainerConfig> containers = getContext().getEnvironment().getContainers();
+    Map<String, Set<String>> pending = getStartDependencies(containers);
+    Map<String, Future<String>> running = new HashMap<>();
+    // tracks tasks submitted to the pool to not start destroying of runtime until they are finished
+    Phaser inFlight = new Phaser(1);
+    CompletionService<String> completionService =
+        new ExecutorCompletionService<>(
+            task -> {
+              inFlight.register();
+              try {
+                sharedPool.execute(
+                    () -> {
+                      try {
+                        task.run();
+                      } finally {
+                        inFlight.arriveAndDeregister();
+                      }
+                    });
+              } catch (RuntimeException e) {
+                inFlight.arriveAndDeregister();
+                throw e;
+              }
+            });
+    Span parentSpan = tracer == null ? null : tracer.activeSpan();
+    try {
+      while (!pending.isEmpty() || !running.isEmpty()) {
+        checkInterruption();
+        for (Iterator<Map.Entry<String, Set<String>>> it = pending.entrySet().iterator();
+            it.hasNext() && running.size() < parallelStartsNumber; ) {
+          Map.Entry<String, Set<String>> machineEntry = it.next();
+          if (machineEntry.getValue().isEmpty()) {
+            String name = machineEntry.getKey();
+            running.put(
+                name,
+                completionService.submit(
+                    () -> {
+                      startMachine(name, images.get(name), containers.get(name), parentSpan);
+                      return name;
+                    }));
+            it.remove();
+          }
+        }
+        if (running.isEmpty()) {
+          throw new InternalInfrastructureException(
+              format(
+                  "Start order of machines '%s' can't be evaluated. Circular dependency.",
+                  pending.keySet()));
+        }
+
+        String started = getResult(completionService.take());
+        running.remove(started);
+        pending.values().forEach(dependencies -> dependencies.remove(started));
+      }
+    } finally {
+      running.values().forEach(future -> future.cancel(true));
+      inFlight.arriveAndAwaitAdvance();
+    }
+  }
+
+  private String getResult(Future<String> future)
+      throws InfrastructureException, InterruptedException {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      try {
+        throw e.getCause();
+      } catch (InfrastructureException | InterruptedException | RuntimeException rethrow) {
+        throw rethrow;
+      } catch (Throwable thr) {
+        throw new InternalInfrastructureException(thr.getMessage(), thr);
+      }
+    }
+  }
+
+  /**
+   * Returns names of the machines each machine depends on. Besides 'depends_on', links and
+   * 'volumes_from' require the referenced containers to be started first. The order of machines in
+   * the environment is preserved.
+   */
+  private Map<String, Set<String>> getStartDependencies(
+      Map<String, DockerContainerConfig> containers) {
+    Map<String, String> containerNamesToMachines = new HashMap<>();
+    for (Map.Entry<String, DockerContainerConfig> containerEntry : containers.entrySet()) {
+      if (containerEntry.getValue().getContainerName() != null) {
+        containerNamesToMachines.put(
+            containerEntry.getValue().getContainerName(), containerEntry.getKey());
+      }
+    }
+
+    Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+    for (Map.Entry<String, DockerContainerConfig> containerEntry : containers.entrySet()) {
+      DockerContainerConfig container = containerEntry.getValue();
+      Set<String> machineDependencies = new HashSet<>();
+      for (String dependency : container.getDependsOn()) {
+        addDependency(dependency, machineDependencies, containers, containerNamesToMachines);
+      }
+      // links have format 'name:alias', volumes_from have format 'name:mode'
+      for (String link : container.getLinks()) {
+        addDependency(
+            link.split(":", 2)[0], machineDependencies, containers, containerNamesToMachines);
+      }
+      for (String volumesFrom : container.getVolumesFrom()) {
+        addDependency(
+            volumesFrom.split(":", 2)[0],
+            machineDependencies,
+            containers,
+            containerNamesToMachines);
+      }
+      machineDependencies.remove(containerEntry.getKey());
+      dependencies.put(containerEntry.getKey(), machineDependencies);
+    }
+    return dependencies;
+  }
+
+  private void addDependency(
+      String dependency,
+      Set<String> machineDependencies,
+      Map<String, DockerContainerConfig> containers,
+      Map<String, String> containerNamesToMachines) {
+    if (containers.containsKey(dependency)) {
+      machineDependencies.add(dependency);
+    } else if (containerNamesToMachines.containsKey(dependency)) {
+      machineDependencies.add(containerNamesToMachines.get(dependency));
+    }
+  }
+
+  private void startMachine(
+      String name, String image, DockerContainerConfig containerConfig, @Nullable Span parentSpan)
+      throws InfrastructureException, InterruptedException {
+    checkInterruption();
+    Span span =
+        tracer == null
+            ? null
+            : tracer
+                .buildSpan("machine.start")
+                .asChildOf(parentSpan)
+                .withTag(TracingTags.MACHINE_NAME.getKey(), name)
+                .start();
+
+    runtimeMachines.putMachine(name, new DockerMachine.StartingDockerMachine());
+    sendStartingEvent(name);
+
+    try {
+      DockerMachine machine = startContainer(name, image, containerConfig);
+      sendRunningEvent(name);
+
+      bootstrapInstallers(name, machine);
+
+      checkServers(name, machine);
+      if (span != null) {
+        span.finish();
+      }
+    } catch (InfrastructureException e) {
+      sendFailedEvent(name, e.getMessage());
+      finishSpanAsFailure(span, e.getMessage());
+      throw e;
+    } catch (InterruptedException e) {
+      finishSpanAsCancelled(span, "Start of machine is interrupted");
+      throw e;
+    } catch (RuntimeException e) {
+      finishSpanAsFailure(span, e.getMessage());
+      throw e;
+    }
+  }
+
+  private void finishSpanAsFailure(@Nullable Span span, String reason) {
+    if (span != null) {
+      // record the startup as a failure and set the priority so that this span is not throttled
+      TracingTags.ERROR.set(span, true);
+      TracingTags.SAMPLING_PRIORITY.set(span, 1);
+      TracingTags.ERROR_REASON.set(span, reason);
+      span.finish();
+    }
+  }
+
+  private void finishSpanAsCancelled(@Nullable Span span, String reason) {
+    if (span != null) {
+      TracingTags.CANCELLED.set(span, true);
+      TracingTags.CANCELLED_REASON.set(span, reason);
+      span.finish();
+    }
+  }
+
+  private DockerMachine startContainer(
       String name, String image, DockerContainerConfig containerConfig)
       throws InfrastructureException, InterruptedException {
     RuntimeIdentity identity = getContext().getIdentity();
@@ -40,6 +40,7 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.DockerOOMDetector;
 import org.eclipse.che.infrastructure.docker.client.LogMessage;
 import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
 import org.eclipse.che.infrastructure.docker.client.exception.ContainerNotFoundException;
@@ -138,6 +139,7 @@ public class DockerMachineStarter {
 
   private final ExecutorService executor;
   private final DockerMachineStopDetector dockerInstanceStopDetector;
+  private final DockerOOMDetector oomDetector;
 
   private final MachineLoggersFactory machineLoggerFactory;
   private final DockerMachineCreator machineCreator;
@@ -146,6 +148,7 @@ public class DockerMachineStarter {
   public DockerMachineStarter(
       DockerConnector docker,
       DockerMachineStopDetector dockerMachineStopDetector,
+      DockerOOMDetector oomDetector,
       MachineLoggersFactory machineLogger,
       DockerMachineCreator machineCreator) {
     this.machineCreator = machineCreator;
@@ -153,6 +156,7 @@ public class DockerMachineStarter {
     // logic of container start here only
     this.docker = docker;
     this.dockerInstanceStopDetector = dockerMachineStopDetector;
+    this.oomDetector = oomDetector;
     this.machineLoggerFactory = machineLogger;
     // single point of failure in case of highly loaded system
     executor =
@@ -199,12 +203,12 @@ public class DockerMachineStarter {
 
       ContainerInfo runningContainer = getRunningContainer(container);
 
+      MessageProcessor<LogMessage> logsProcessor =
+          machineLoggerFactory.newLogsProcessor(machineName, identity);
       readContainerLogsInSeparateThread(
-          container,
-          workspaceId,
-          containerConfig.getId(),
-          machineLoggerFactory.newLogsProcessor(machineName, identity));
+          container, workspaceId, containerConfig.getId(), logsProcessor);
 
+      oomDetector.startDetection(container, logsProcessor);
       dockerInstanceStopDetector.startDetection(container, machineName, abnormalMachineStopHandler);
 
       return machineCreator.create(runningContainer);
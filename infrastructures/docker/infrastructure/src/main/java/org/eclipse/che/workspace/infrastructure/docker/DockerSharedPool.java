@@ -24,13 +24,16 @@ import org.slf4j.LoggerFactory;
 /**
  * Provides a single non-daemon {@link ExecutorService} instance for docker infrastructure
  * components.
+ *
+ * <p>Tasks of the pool, like starts of workspace machines, are mostly waiting for Docker or
+ * workspace servers, so the pool is not limited by the number of processors, components limit
+ * parallelism of their tasks on their own.
  */
 @Singleton
 public class DockerSharedPool {
 
   private final ExecutorService executor =
-      Executors.newFixedThreadPool(
-          Runtime.getRuntime().availableProcessors(), // <- experimental value
+      Executors.newCachedThreadPool(
           new ThreadFactoryBuilder()
               .setNameFormat("DockerSharedPool-%d")
               .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
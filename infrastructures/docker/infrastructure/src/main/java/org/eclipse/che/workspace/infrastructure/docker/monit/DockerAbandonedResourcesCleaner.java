@@ -13,27 +13,40 @@ package org.eclipse.che.workspace.infrastructure.docker.monit;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.lang.String.format;
+import static java.util.Collections.emptySet;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import com.google.inject.name.Named;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.commons.lang.concurrent.BoundedExecutor;
 import org.eclipse.che.commons.schedule.ScheduleRate;
 import org.eclipse.che.infrastructure.docker.client.DockerConnector;
 import org.eclipse.che.infrastructure.docker.client.json.ContainerListEntry;
 import org.eclipse.che.infrastructure.docker.client.json.Filters;
 import org.eclipse.che.infrastructure.docker.client.json.network.Network;
+import org.eclipse.che.infrastructure.docker.client.params.ListContainersParams;
 import org.eclipse.che.infrastructure.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.infrastructure.docker.client.params.network.GetNetworksParams;
+import org.eclipse.che.workspace.infrastructure.docker.DockerSharedPool;
 import org.eclipse.che.workspace.infrastructure.docker.Labels;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,6 +55,10 @@ import org.slf4j.LoggerFactory;
  * Job for periodically clean up abandoned docker containers and networks created by CHE. Also, logs
  * active containers list.
  *
+ * <p>Containers and networks are fetched with a single list request per resource type and compared
+ * with the runtimes known to the workspace master, abandoned resources are removed in parallel, but
+ * not more than configured number at once.
+ *
  * @author Alexander Andrienko
  * @author Mykola Morhun
  */
@@ -50,7 +67,12 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
 
   private static final Logger LOG = LoggerFactory.getLogger(DockerAbandonedResourcesCleaner.class);
 
-  private static final Filters NETWORK_FILTERS = new Filters().withFilter("type", "custom");
+  private static final ListContainersParams LIST_CONTAINERS_PARAMS =
+      ListContainersParams.create()
+          .withAll(true)
+          .withFilters(Filters.label(Labels.LABEL_WORKSPACE_ID));
+  private static final Filters NETWORK_FILTERS =
+      new Filters().withFilter("type", "custom").withFilter("name", "workspace");
   private static final GetNetworksParams GET_NETWORKS_PARAMS =
       GetNetworksParams.create().withFilters(NETWORK_FILTERS);
   private static final String WORKSPACE_ID_REGEX_GROUP = "workspaceId";
@@ -58,18 +80,22 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
       "^(?<" + WORKSPACE_ID_REGEX_GROUP + ">workspace[a-z\\d]{16})_[a-z\\d]{16}$";
   private static final Pattern CHE_NETWORK_PATTERN = Pattern.compile(CHE_NETWORK_REGEX);
 
-  private final WorkspaceManager workspaceManager;
   private final DockerConnector dockerConnector;
   private final WorkspaceRuntimes runtimes;
+  private final Executor executor;
+  private final InfrastructureMetrics metrics;
 
   @Inject
   public DockerAbandonedResourcesCleaner(
-      WorkspaceManager workspaceManager,
       DockerConnector dockerConnector,
-      WorkspaceRuntimes workspaceRuntimes) {
-    this.workspaceManager = workspaceManager;
+      WorkspaceRuntimes workspaceRuntimes,
+      DockerSharedPool sharedPool,
+      InfrastructureMetrics metrics,
+      @Named("che.docker.cleanup_max_parallel_removals") int maxParallelRemovals) {
     this.dockerConnector = dockerConnector;
     this.runtimes = workspaceRuntimes;
+    this.executor = new BoundedExecutor(sharedPool::execute, maxParallelRemovals);
+    this.metrics = metrics;
   }
 
   @ScheduleRate(
@@ -85,9 +111,16 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
   /** Cleans up CHE inactive machine docker containers. */
   @VisibleForTesting
   void cleanContainers() {
+    long start = System.nanoTime();
     List<String> activeContainers = new ArrayList<>();
+    List<ContainerListEntry> abandonedContainers = new ArrayList<>();
+    int checked = 0;
     try {
-      for (ContainerListEntry container : dockerConnector.listContainers()) {
+      List<ContainerListEntry> containers = dockerConnector.listContainers(LIST_CONTAINERS_PARAMS);
+      checked = containers.size();
+      // machines of the runtimes, fetched once per workspace
+      Map<String, Set<String>> runtimesMachines = new HashMap<>();
+      for (ContainerListEntry container : containers) {
         String containerName = container.getNames()[0];
 
         String machineName = container.getLabels().get(Labels.LABEL_MACHINE_NAME);
@@ -95,14 +128,15 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
 
         if (!isNullOrEmpty(machineName) && !isNullOrEmpty(workspaceId)) {
           try {
-            WorkspaceImpl workspace = workspaceManager.getWorkspace(workspaceId);
-            if (workspace.getRuntime() != null
-                && workspace.getRuntime().getMachines().containsKey(machineName)) {
+            Set<String> machines = runtimesMachines.get(workspaceId);
+            if (machines == null) {
+              machines = getRuntimeMachines(workspaceId);
+              runtimesMachines.put(workspaceId, machines);
+            }
+            if (machines.contains(machineName)) {
               activeContainers.add(containerName);
               continue;
             }
-          } catch (NotFoundException e) {
-            // cleanup container
           } catch (Exception e) {
             LOG.error(
                 format(
@@ -110,7 +144,7 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
                     containerName, e.getLocalizedMessage()),
                 e);
           }
-          cleanUpContainer(container);
+          abandonedContainers.add(container);
         }
       }
     } catch (IOException e) {
@@ -118,15 +152,26 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     } catch (Exception e) {
       LOG.error("Failed to clean up inactive containers", e);
     }
+    int removed = removeInParallel(abandonedContainers, this::cleanUpContainer);
     LOG.info("List containers registered in the api: " + activeContainers);
+    recordPass("docker-containers", start, checked, removed);
+  }
+
+  /** Returns names of the machines of the workspace runtime, empty set if there is no runtime. */
+  private Set<String> getRuntimeMachines(String workspaceId)
+      throws InfrastructureException, ServerException {
+    if (!runtimes.hasRuntime(workspaceId)) {
+      return emptySet();
+    }
+    return runtimes.getInternalRuntime(workspaceId).getMachines().keySet();
   }
 
-  private void cleanUpContainer(ContainerListEntry container) {
+  private boolean cleanUpContainer(ContainerListEntry container) {
     String containerId = container.getId();
     String containerName = container.getNames()[0];
 
     killContainer(containerId, containerName, container.getStatus());
-    removeContainer(containerId, containerName);
+    return removeContainer(containerId, containerName);
   }
 
   private void killContainer(String containerId, String containerName, String containerStatus) {
@@ -147,7 +192,7 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
     }
   }
 
-  private void removeContainer(String containerId, String containerName) {
+  private boolean removeContainer(String containerId, String containerName) {
     try {
       dockerConnector.removeContainer(
           RemoveContainerParams.create(containerId).withForce(true).withRemoveVolumes(true));
@@ -155,12 +200,14 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
           "Unused container with 'id': '{}' and 'name': '{}' was removed",
           containerId,
           containerName);
+      return true;
     } catch (IOException e) {
       LOG.error(
           format(
               "Failed to delete unused container with 'id': '%s' and 'name': '%s'",
               containerId, containerName),
           e);
+      return false;
     }
   }
 
@@ -172,6 +219,9 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
    */
   @VisibleForTesting
   void cleanNetworks() {
+    long start = System.nanoTime();
+    List<Network> abandonedNetworks = new ArrayList<>();
+    int checked = 0;
     try {
       List<Network> customNetworks = dockerConnector.getNetworks(GET_NETWORKS_PARAMS);
       // This workaround is added because of docker bug which returns null instead of empty list
@@ -179,22 +229,71 @@ public class DockerAbandonedResourcesCleaner implements Runnable {
       if (customNetworks == null) {
         return;
       }
+      checked = customNetworks.size();
 
       for (Network network : customNetworks) {
         Matcher cheNetworkMatcher = CHE_NETWORK_PATTERN.matcher(network.getName());
         if (cheNetworkMatcher.matches()
             && network.getContainers().isEmpty()
             && !runtimes.hasRuntime(cheNetworkMatcher.group(WORKSPACE_ID_REGEX_GROUP))) {
-
-          try {
-            dockerConnector.removeNetwork(network.getId());
-          } catch (IOException e) {
-            LOG.warn("Failed to remove abandoned network: " + network.getName(), e);
-          }
+          abandonedNetworks.add(network);
         }
       }
     } catch (IOException e) {
       LOG.error("Failed to get list of docker networks", e);
     }
+    int removed = removeInParallel(abandonedNetworks, this::removeNetwork);
+    recordPass("docker-networks", start, checked, removed);
+  }
+
+  private void recordPass(String reconciler, long startNanos, int checked, int removed) {
+    metrics.recordTime(
+        "reconciliation.pass",
+        System.nanoTime() - startNanos,
+        TimeUnit.NANOSECONDS,
+        "reconciler",
+        reconciler);
+    metrics.increment("reconciliation.checked", checked, "reconciler", reconciler);
+    metrics.increment("reconciliation.remediations", removed, "reconciler", reconciler);
+  }
+
+  private boolean removeNetwork(Network network) {
+    try {
+      dockerConnector.removeNetwork(network.getId());
+      return true;
+    } catch (IOException e) {
+      LOG.warn("Failed to remove abandoned network: " + network.getName(), e);
+      return false;
+    }
+  }
+
+  /**
+   * Removes the given resources in the shared pool and waits until all of them are processed.
+   *
+   * @return number of the successfully removed resources
+   */
+  private <T> int removeInParallel(List<T> resources, Predicate<T> remover) {
+    AtomicInteger removed = new AtomicInteger();
+    List<CompletableFuture<Void>> removals = new ArrayList<>(resources.size());
+    for (T resource : resources) {
+      removals.add(
+          CompletableFuture.runAsync(
+              () -> {
+                if (remover.test(resource)) {
+                  removed.incrementAndGet();
+                }
+              },
+              executor));
+    }
+    try {
+      // wait for the removals in progress
+      CompletableFuture.allOf(removals.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Removal of abandoned docker resources is interrupted");
+    } catch (ExecutionException e) {
+      LOG.error("Removal of abandoned docker resources is failed. Cause: {}", e.getMessage(), e);
+    }
+    return removed.get();
   }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker.monit;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
+import org.eclipse.che.infrastructure.docker.client.json.Event;
+import org.eclipse.che.infrastructure.docker.client.json.Filters;
+import org.eclipse.che.infrastructure.docker.client.params.GetEventsParams;
+import org.eclipse.che.workspace.infrastructure.docker.Labels;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the single subscription to the events of Docker daemon and dispatches the events of the
+ * containers of workspaces to the handlers registered for these containers.
+ *
+ * <p>When subscription is broken it is re-established from the time of the last processed event,
+ * so events which happened while there was no connection to the daemon are not lost.
+ */
+@Singleton
+public class DockerEventsMonitor {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerEventsMonitor.class);
+
+  private static final long RECONNECT_DELAY_MS = 1000;
+
+  private final DockerConnector dockerConnector;
+  private final Map<String, Set<MessageProcessor<Event>>> handlers;
+  private final ExecutorService executor;
+
+  // accessed by events listening thread only
+  private long lastEventTime;
+  private long lastEventTimeNano;
+
+  @Inject
+  public DockerEventsMonitor(DockerConnector dockerConnector) {
+    this.dockerConnector = dockerConnector;
+    this.handlers = new ConcurrentHashMap<>();
+    this.executor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerEventsMonitor-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Registers handler of the events of the specified container.
+   *
+   * @param containerId id of the container to receive events of
+   * @param handler handler of container events, it is called from the events listening thread, so
+   *     it must not block
+   */
+  public void subscribe(String containerId, MessageProcessor<Event> handler) {
+    handlers.compute(
+        containerId,
+        (id, containerHandlers) -> {
+          if (containerHandlers == null) {
+            containerHandlers = ConcurrentHashMap.newKeySet();
+          }
+          containerHandlers.add(handler);
+          return containerHandlers;
+        });
+  }
+
+  /**
+   * Removes handler of the events of the specified container. Does nothing if handler is not
+   * registered.
+   *
+   * @param containerId id of the container to stop receiving events of
+   * @param handler handler to remove
+   */
+  public void unsubscribe(String containerId, MessageProcessor<Event> handler) {
+    handlers.computeIfPresent(
+        containerId,
+        (id, containerHandlers) -> {
+          containerHandlers.remove(handler);
+          return containerHandlers.isEmpty() ? null : containerHandlers;
+        });
+  }
+
+  @PostConstruct
+  void start() {
+    lastEventTime = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    executor.execute(this::listenEvents);
+  }
+
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+  }
+
+  private void listenEvents() {
+    while (!Thread.currentThread().isInterrupted()) {
+      try {
+        dockerConnector.getEvents(
+            GetEventsParams.create()
+                .withSinceSecond(lastEventTime)
+                .withFilters(
+                    new Filters()
+                        .withFilter("type", "container")
+                        .withFilter("event", "die", "oom")
+                        .withFilter("label", Labels.LABEL_WORKSPACE_ID)),
+            this::dispatch);
+      } catch (IOException e) {
+        // usually connection timeout or restart of the daemon
+        LOG.debug(e.getLocalizedMessage(), e);
+        try {
+          Thread.sleep(RECONNECT_DELAY_MS);
+        } catch (InterruptedException ex) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    }
+  }
+
+  @VisibleForTesting
+  void dispatch(Event event) {
+    if (event.getType() != null && !"container".equals(event.getType())) {
+      // this check is added because of bug in the docker swarm which do not filter events
+      return;
+    }
+    // 'since' is inclusive, so events of the last second are received again after reconnection
+    if (event.getTimeNano() != 0
+        ? event.getTimeNano() <= lastEventTimeNano
+        : event.getTime() < lastEventTime) {
+      return;
+    }
+    lastEventTime = event.getTime();
+    lastEventTimeNano = event.getTimeNano();
+
+    Set<MessageProcessor<Event>> containerHandlers = handlers.get(event.getId());
+    if (containerHandlers == null) {
+      return;
+    }
+    for (MessageProcessor<Event> handler : containerHandlers) {
+      try {
+        handler.process(event);
+      } catch (RuntimeException e) {
+        LOG.error(
+            "Failed to process event '{}' of container '{}'. Error: {}",
+            event.getStatus(),
+            event.getId(),
+            e.getMessage(),
+            e);
+      }
+    }
+  }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker.monit;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.DockerOOMDetector;
+import org.eclipse.che.infrastructure.docker.client.LogMessage;
+import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
+import org.eclipse.che.infrastructure.docker.client.json.Event;
+import org.eclipse.che.workspace.infrastructure.docker.DockerSharedPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Docker container OOM detector based on 'oom' events of Docker daemon received through {@link
+ * DockerEventsMonitor}, so no threads are held for containers under detection. Since the events
+ * must be handled without blocking, OOM is reported from {@link DockerSharedPool}.
+ */
+@Singleton
+public class DockerEventsOOMDetector implements DockerOOMDetector {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerEventsOOMDetector.class);
+
+  private final DockerEventsMonitor eventsMonitor;
+  private final DockerConnector dockerConnector;
+  private final DockerSharedPool sharedPool;
+  private final Map<String, OOMHandler> handlers;
+
+  @Inject
+  public DockerEventsOOMDetector(
+      DockerEventsMonitor eventsMonitor,
+      DockerConnector dockerConnector,
+      DockerSharedPool sharedPool) {
+    this.eventsMonitor = eventsMonitor;
+    this.dockerConnector = dockerConnector;
+    this.sharedPool = sharedPool;
+    this.handlers = new ConcurrentHashMap<>();
+  }
+
+  @Override
+  public void stopDetection(String container) {
+    OOMHandler handler = handlers.remove(container);
+    if (handler != null) {
+      eventsMonitor.unsubscribe(container, handler);
+    }
+  }
+
+  @Override
+  public void startDetection(String container, MessageProcessor<LogMessage> containerLogProcessor) {
+    OOMHandler handler = new OOMHandler(container, containerLogProcessor);
+    if (handlers.putIfAbsent(container, handler) == null) {
+      eventsMonitor.subscribe(container, handler);
+    }
+  }
+
+  private class OOMHandler implements MessageProcessor<Event> {
+    private final String container;
+    private final MessageProcessor<LogMessage> containerLogProcessor;
+
+    private boolean reported;
+
+    OOMHandler(String container, MessageProcessor<LogMessage> containerLogProcessor) {
+      this.container = container;
+      this.containerLogProcessor = containerLogProcessor;
+    }
+
+    @Override
+    public void process(Event event) {
+      switch (event.getStatus()) {
+        case "oom":
+          LOG.warn("OOM event received for container '{}'", container);
+          if (!reported) {
+            reported = true;
+            // inspection of the container blocks, so it must not be done in the events thread
+            sharedPool.execute(this::report);
+          }
+          break;
+        case "die":
+          // container won't produce OOM events anymore
+          stopDetection(container);
+          break;
+        default:
+          // we don't care about other event types
+      }
+    }
+
+    private void report() {
+      String memory = "";
+      try {
+        memory =
+            " with "
+                + Size.toHumanSize(
+                    dockerConnector.inspectContainer(container).getHostConfig().getMemory());
+      } catch (IOException e) {
+        LOG.warn("Unable to get memory limit of container '{}'", container, e);
+      }
+      containerLogProcessor.process(
+          new LogMessage(
+              LogMessage.Type.DOCKER,
+              "[ERROR] The processes in this machine need more RAM. This machine started"
+                  + memory));
+      containerLogProcessor.process(
+          new LogMessage(
+              LogMessage.Type.DOCKER,
+              "[ERROR] Create a new machine configuration that allocates additional RAM or increase"
+                  + " the workspace RAM limit in the user dashboard."));
+    }
+  }
+}
@@ -42,6 +42,8 @@ import com.google.common.collect.Maps;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import org.eclipse.che.api.core.model.workspace.config.Command;
 import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
@@ -109,6 +111,8 @@ public class DockerInternalRuntimeTest {
   @Mock private DockerMachine dockerMachine;
   @Mock private ParallelDockerImagesBuilderFactory dockerImagesBuilderFactory;
   @Mock private ParallelDockerImagesBuilder dockerImagesBuilder;
+  @Mock private DockerSharedPool sharedPool;
+  @Mock private ServersCheckerFactory serversCheckerFactory;
   private DockerEnvironment environment;
 
   @Captor private ArgumentCaptor<Consumer<ProbeResult>> probeResultConsumerCaptor;
@@ -137,27 +141,77 @@ public class DockerInternalRuntimeTest {
     doNothing().when(networks).createNetwork(nullable(String.class));
     when(runtimeContext.getIdentity()).thenReturn(IDENTITY);
     when(runtimeContext.getEnvironment()).thenReturn(environment);
-    ServersCheckerFactory serversCheckerFactory = mock(ServersCheckerFactory.class);
     when(serversCheckerFactory.create(any(), nullable(String.class), any()))
         .thenReturn(mock(ServersChecker.class));
     when(workspaceProbesFactory.getProbes(eq(IDENTITY), anyString(), any()))
         .thenReturn(workspaceProbes);
     when(dockerImagesBuilderFactory.create(any())).thenReturn(dockerImagesBuilder);
     when(dockerImagesBuilder.prepareImages(anyMap())).thenReturn(emptyMap());
-    dockerRuntime =
-        new DockerInternalRuntime(
-            runtimeContext,
-            mock(ExternalIpURLRewriter.class),
-            networks,
-            starter,
-            eventService,
-            bootstrapperFactory,
-            serversCheckerFactory,
-            mock(MachineLoggersFactory.class),
-            probesScheduler,
-            workspaceProbesFactory,
-            dockerImagesBuilderFactory,
-            BOOTSTRAPPING_TIMEOUT_MINUTES);
+    doAnswer(
+            invocationOnMock -> {
+              ((Runnable) invocationOnMock.getArgument(0)).run();
+              return null;
+            })
+        .when(sharedPool)
+        .execute(any(Runnable.class));
+    dockerRuntime = createRuntime(1);
+  }
+
+  @Test
+  public void startsMachineAfterMachinesItDependsOn() throws Exception {
+    mockInstallersBootstrap();
+    mockContainerStart();
+    environment.getContainers().get(DEV_MACHINE).getDependsOn().add(DB_MACHINE);
+    dockerRuntime = createRuntime(2);
+
+    dockerRuntime.start(emptyMap());
+
+    verifyEventsOrder(
+        newEvent(DB_MACHINE, STARTING, null),
+        newEvent(DB_MACHINE, RUNNING, null),
+        newEvent(DEV_MACHINE, STARTING, null),
+        newEvent(DEV_MACHINE, RUNNING, null));
+  }
+
+  @Test(timeOut = 10_000)
+  public void startsIndependentMachinesInParallel() throws Exception {
+    mockInstallersBootstrap();
+    doAnswer(
+            invocationOnMock -> {
+              new Thread((Runnable) invocationOnMock.getArgument(0)).start();
+              return null;
+            })
+        .when(sharedPool)
+        .execute(any(Runnable.class));
+    CountDownLatch startedContainers = new CountDownLatch(2);
+    doAnswer(
+            invocationOnMock -> {
+              startedContainers.countDown();
+              if (!startedContainers.await(5, TimeUnit.SECONDS)) {
+                throw new InfrastructureException("Machines are not started in parallel");
+              }
+              return dockerMachine;
+            })
+        .when(starter)
+        .startContainer(
+            nullable(String.class),
+            nullable(String.class),
+            nullable(String.class),
+            any(DockerContainerConfig.class),
+            any(RuntimeIdentity.class),
+            any(AbnormalMachineStopHandler.class));
+    dockerRuntime = createRuntime(2);
+
+    dockerRuntime.start(emptyMap());
+
+    verify(starter, times(2))
+        .startContainer(
+            nullable(String.class),
+            nullable(String.class),
+            nullable(String.class),
+            any(),
+            any(),
+            any());
   }
 
   @Test
@@ -421,6 +475,25 @@ public class DockerInternalRuntimeTest {
     };
   }
 
+  private DockerInternalRuntime createRuntime(int parallelStartsNumber) {
+    return new DockerInternalRuntime(
+        runtimeContext,
+        mock(ExternalIpURLRewriter.class),
+        networks,
+        starter,
+        eventService,
+        bootstrapperFactory,
+        serversCheckerFactory,
+        mock(MachineLoggersFactory.class),
+        probesScheduler,
+        workspaceProbesFactory,
+        dockerImagesBuilderFactory,
+        sharedPool,
+        null,
+        BOOTSTRAPPING_TIMEOUT_MINUTES,
+        parallelStartsNumber);
+  }
+
   private void verifyEventsOrder(MachineStatusEvent... expectedEvents) {
     final Iterator<MachineStatusEvent> actualEvents = captureEvents().iterator();
     for (MachineStatusEvent expected : expectedEvents) {
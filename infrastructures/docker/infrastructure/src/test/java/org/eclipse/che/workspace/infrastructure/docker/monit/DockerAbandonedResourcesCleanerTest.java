@@ -13,10 +13,11 @@ package org.eclipse.che.workspace.infrastructure.docker.monit;
 
 import static java.util.Arrays.asList;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -31,17 +32,17 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import org.eclipse.che.api.core.NotFoundException;
-import org.eclipse.che.api.workspace.server.WorkspaceManager;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
-import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
-import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
 import org.eclipse.che.infrastructure.docker.client.DockerConnector;
 import org.eclipse.che.infrastructure.docker.client.json.ContainerListEntry;
 import org.eclipse.che.infrastructure.docker.client.json.network.ContainerInNetwork;
 import org.eclipse.che.infrastructure.docker.client.json.network.Network;
 import org.eclipse.che.infrastructure.docker.client.params.RemoveContainerParams;
+import org.eclipse.che.workspace.infrastructure.docker.DockerSharedPool;
 import org.eclipse.che.workspace.infrastructure.docker.Labels;
 import org.mockito.Mock;
 import org.mockito.testng.MockitoTestNGListener;
@@ -81,17 +82,14 @@ public class DockerAbandonedResourcesCleanerTest {
   private static final String abandonedNetworkName = "workspace1234567890abcdef_1234567890abcdef";
   private static final String usedNetworkName = "workspace0987654321zyxwvu_0987654321zyxwvu";
 
-  @Mock private WorkspaceManager workspaceManager;
   @Mock private DockerConnector dockerConnector;
   @Mock private WorkspaceRuntimes workspaceRuntimes;
-
-  @Mock private WorkspaceImpl workspaceImpl1;
-
-  @Mock private WorkspaceImpl workspaceImpl2;
+  @Mock private DockerSharedPool sharedPool;
+  @Mock private InfrastructureMetrics metrics;
 
   @Mock private MachineImpl machineImpl;
 
-  @Mock private RuntimeImpl runtimeImpl;
+  @Mock private InternalRuntime<?> internalRuntime;
   @Mock private ContainerListEntry container1;
   @Mock private ContainerListEntry container2;
   @Mock private ContainerListEntry container3;
@@ -116,29 +114,27 @@ public class DockerAbandonedResourcesCleanerTest {
     cleaner =
         spy(
             new DockerAbandonedResourcesCleaner(
-                workspaceManager, dockerConnector, workspaceRuntimes));
+                dockerConnector, workspaceRuntimes, sharedPool, metrics, 2));
 
-    doAnswer(
+    // run removals in the caller thread
+    lenient()
+        .doAnswer(
             invocation -> {
-              String workspaceId = invocation.getArgument(0);
-              switch (workspaceId) {
-                case workspaceId1:
-                  return workspaceImpl1;
-                case workspaceId2:
-                  return workspaceImpl2;
-                default:
-                  throw new NotFoundException("Workspace not found");
-              }
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
             })
-        .when(workspaceManager)
-        .getWorkspace(anyString());
-
-    when(workspaceImpl1.getRuntime()).thenReturn(runtimeImpl);
-    doReturn(ImmutableMap.of(machineName1, machineImpl)).when(runtimeImpl).getMachines();
+        .when(sharedPool)
+        .execute(any());
 
-    when(workspaceManager.getWorkspace(workspaceId2)).thenReturn(workspaceImpl2);
+    lenient().when(workspaceRuntimes.hasRuntime(workspaceId1)).thenReturn(true);
+    lenient().doReturn(internalRuntime).when(workspaceRuntimes).getInternalRuntime(workspaceId1);
+    lenient()
+        .doReturn(ImmutableMap.of(machineName1, machineImpl))
+        .when(internalRuntime)
+        .getMachines();
 
-    when(dockerConnector.listContainers()).thenReturn(asList(container1, container2, container3));
+    when(dockerConnector.listContainers(any()))
+        .thenReturn(asList(container1, container2, container3));
 
     when(container1.getNames()).thenReturn(new String[] {containerName1});
     when(container1.getLabels())
@@ -192,7 +188,7 @@ public class DockerAbandonedResourcesCleanerTest {
   @Test
   public void cleanerShouldRunCleanNetworksEvenIfCleanOfContainersFailed() throws IOException {
     // given
-    when(dockerConnector.listContainers())
+    when(dockerConnector.listContainers(any()))
         .thenThrow(new IOException("Error while fetching docker containers list"));
 
     // when
@@ -208,9 +204,10 @@ public class DockerAbandonedResourcesCleanerTest {
           throws Exception {
     cleaner.cleanContainers();
 
-    verify(dockerConnector).listContainers();
+    verify(dockerConnector).listContainers(any());
 
-    verify(workspaceManager, times(3)).getWorkspace(anyString());
+    verify(workspaceRuntimes).getInternalRuntime(workspaceId1);
+    verify(workspaceRuntimes, never()).getInternalRuntime(workspaceId2);
 
     verify(dockerConnector, times(2)).killContainer(anyString());
     verify(dockerConnector, times(2)).removeContainer(any());
@@ -232,6 +229,26 @@ public class DockerAbandonedResourcesCleanerTest {
             RemoveContainerParams.create(containerId2).withForce(true).withRemoveVolumes(true));
   }
 
+  @Test
+  public void shouldRecordPassOfContainersCleanup() throws Exception {
+    doThrow(new IOException("Failed to remove docker container"))
+        .when(dockerConnector)
+        .removeContainer(
+            RemoveContainerParams.create(containerId3).withForce(true).withRemoveVolumes(true));
+
+    cleaner.cleanContainers();
+
+    verify(metrics)
+        .recordTime(
+            eq("reconciliation.pass"),
+            anyLong(),
+            eq(TimeUnit.NANOSECONDS),
+            eq("reconciler"),
+            eq("docker-containers"));
+    verify(metrics).increment("reconciliation.checked", 3, "reconciler", "docker-containers");
+    verify(metrics).increment("reconciliation.remediations", 1, "reconciler", "docker-containers");
+  }
+
   @Test
   public void shouldRemoveAbandonedNetwork() throws IOException {
     // given
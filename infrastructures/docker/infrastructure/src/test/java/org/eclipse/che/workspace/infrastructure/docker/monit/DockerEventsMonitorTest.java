@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker.monit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
+import org.eclipse.che.infrastructure.docker.client.json.Event;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerEventsMonitor}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsMonitorTest {
+
+  private static final String CONTAINER_ID = "container123";
+
+  @Mock private DockerConnector dockerConnector;
+  @Mock private MessageProcessor<Event> handler1;
+  @Mock private MessageProcessor<Event> handler2;
+
+  private DockerEventsMonitor monitor;
+
+  @BeforeMethod
+  public void setUp() {
+    monitor = new DockerEventsMonitor(dockerConnector);
+  }
+
+  @Test
+  public void shouldDispatchEventToAllHandlersOfContainer() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+    monitor.subscribe(CONTAINER_ID, handler2);
+    Event event = event(CONTAINER_ID, "die", 1);
+
+    monitor.dispatch(event);
+
+    verify(handler1).process(event);
+    verify(handler2).process(event);
+  }
+
+  @Test
+  public void shouldNotDispatchEventOfOtherContainer() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+
+    monitor.dispatch(event("other", "die", 1));
+
+    verify(handler1, never()).process(any());
+  }
+
+  @Test
+  public void shouldNotDispatchEventAfterUnsubscription() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+    monitor.subscribe(CONTAINER_ID, handler2);
+
+    monitor.unsubscribe(CONTAINER_ID, handler1);
+    Event event = event(CONTAINER_ID, "die", 1);
+    monitor.dispatch(event);
+
+    verify(handler1, never()).process(any());
+    verify(handler2).process(event);
+  }
+
+  @Test
+  public void shouldNotDispatchEventsReplayedAfterReconnection() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+    Event oom = event(CONTAINER_ID, "oom", 1);
+    Event die = event(CONTAINER_ID, "die", 2);
+
+    monitor.dispatch(oom);
+    monitor.dispatch(oom);
+    monitor.dispatch(die);
+
+    verify(handler1, times(1)).process(oom);
+    verify(handler1, times(1)).process(die);
+  }
+
+  @Test
+  public void shouldNotDispatchEventsOfNotContainerType() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+
+    monitor.dispatch(event(CONTAINER_ID, "die", 1).withType("network"));
+
+    verify(handler1, never()).process(any());
+  }
+
+  @Test
+  public void shouldDispatchEventToOtherHandlersWhenOneHandlerFails() {
+    monitor.subscribe(CONTAINER_ID, handler1);
+    monitor.subscribe(CONTAINER_ID, handler2);
+    Event event = event(CONTAINER_ID, "die", 1);
+    doThrow(new IllegalStateException("test")).when(handler1).process(event);
+    doThrow(new IllegalStateException("test")).when(handler2).process(event);
+
+    monitor.dispatch(event);
+
+    verify(handler1).process(event);
+    verify(handler2).process(event);
+  }
+
+  private static Event event(String containerId, String status, long timeNano) {
+    return new Event()
+        .withId(containerId)
+        .withStatus(status)
+        .withType("container")
+        .withTimeNano(timeNano);
+  }
+}
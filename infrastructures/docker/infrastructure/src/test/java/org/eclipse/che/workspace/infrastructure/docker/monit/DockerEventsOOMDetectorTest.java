@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker.monit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.List;
+import org.eclipse.che.infrastructure.docker.client.DockerConnector;
+import org.eclipse.che.infrastructure.docker.client.LogMessage;
+import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
+import org.eclipse.che.infrastructure.docker.client.json.ContainerInfo;
+import org.eclipse.che.infrastructure.docker.client.json.Event;
+import org.eclipse.che.infrastructure.docker.client.json.HostConfig;
+import org.eclipse.che.workspace.infrastructure.docker.DockerSharedPool;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerEventsOOMDetector}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerEventsOOMDetectorTest {
+
+  private static final String CONTAINER_ID = "container123";
+
+  @Mock private DockerEventsMonitor eventsMonitor;
+  @Mock private DockerConnector dockerConnector;
+  @Mock private DockerSharedPool sharedPool;
+  @Mock private MessageProcessor<LogMessage> logProcessor;
+  @Captor private ArgumentCaptor<MessageProcessor<Event>> handlerCaptor;
+  @Captor private ArgumentCaptor<Runnable> reportCaptor;
+  @Captor private ArgumentCaptor<LogMessage> messageCaptor;
+
+  private DockerEventsOOMDetector detector;
+
+  @BeforeMethod
+  public void setUp() {
+    detector = new DockerEventsOOMDetector(eventsMonitor, dockerConnector, sharedPool);
+  }
+
+  @Test
+  public void shouldReportOOMWithMemoryLimitOfContainerFromSharedPool() throws Exception {
+    ContainerInfo containerInfo = new ContainerInfo();
+    containerInfo.setHostConfig(new HostConfig().withMemory(1024 * 1024 * 1024));
+    when(dockerConnector.inspectContainer(CONTAINER_ID)).thenReturn(containerInfo);
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom"));
+
+    // container is not inspected in the events thread
+    verifyZeroInteractions(dockerConnector, logProcessor);
+    verify(sharedPool).execute(reportCaptor.capture());
+    reportCaptor.getValue().run();
+    verify(logProcessor, times(2)).process(messageCaptor.capture());
+    List<LogMessage> messages = messageCaptor.getAllValues();
+    assertEquals(
+        messages.get(0).getContent(),
+        "[ERROR] The processes in this machine need more RAM. This machine started with 1 GB");
+    assertEquals(messages.get(0).getType(), LogMessage.Type.DOCKER);
+  }
+
+  @Test
+  public void shouldReportOOMWithoutMemoryLimitWhenContainerInspectionFails() throws Exception {
+    when(dockerConnector.inspectContainer(CONTAINER_ID)).thenThrow(new IOException("test"));
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom"));
+
+    verify(sharedPool).execute(reportCaptor.capture());
+    reportCaptor.getValue().run();
+    verify(logProcessor, times(2)).process(messageCaptor.capture());
+    assertEquals(
+        messageCaptor.getAllValues().get(0).getContent(),
+        "[ERROR] The processes in this machine need more RAM. This machine started");
+  }
+
+  @Test
+  public void shouldReportOOMOfContainerOnlyOnce() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom"));
+    handler.process(event("oom"));
+
+    verify(sharedPool).execute(any());
+  }
+
+  @Test
+  public void shouldStopDetectionWhenContainerDies() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("die"));
+
+    verify(eventsMonitor).unsubscribe(CONTAINER_ID, handler);
+    verify(sharedPool, never()).execute(any());
+  }
+
+  @Test
+  public void shouldNotSubscribeTwiceForTheSameContainer() {
+    detector.startDetection(CONTAINER_ID, logProcessor);
+    detector.startDetection(CONTAINER_ID, logProcessor);
+
+    verify(eventsMonitor).subscribe(eq(CONTAINER_ID), any());
+  }
+
+  @Test
+  public void shouldUnsubscribeWhenDetectionIsStopped() {
+    MessageProcessor<Event> handler = startDetection();
+
+    detector.stopDetection(CONTAINER_ID);
+    detector.stopDetection(CONTAINER_ID);
+
+    verify(eventsMonitor).unsubscribe(CONTAINER_ID, handler);
+  }
+
+  private MessageProcessor<Event> startDetection() {
+    detector.startDetection(CONTAINER_ID, logProcessor);
+    verify(eventsMonitor).subscribe(eq(CONTAINER_ID), handlerCaptor.capture());
+    return handlerCaptor.getValue();
+  }
+
+  private static Event event(String status) {
+    return new Event().withId(CONTAINER_ID).withStatus(status).withType("container");
+  }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.docker.monit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.eclipse.che.infrastructure.docker.client.MessageProcessor;
+import org.eclipse.che.infrastructure.docker.client.json.Event;
+import org.eclipse.che.workspace.infrastructure.docker.DockerSharedPool;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link DockerMachineStopDetector}. */
+@Listeners(MockitoTestNGListener.class)
+public class DockerMachineStopDetectorTest {
+
+  private static final String CONTAINER_ID = "container123";
+  private static final String MACHINE_NAME = "machine";
+  private static final String OOM_MESSAGE =
+      "Container of machine 'machine' unexpectedly stopped. "
+          + "OOM of main process of container was detected.";
+  private static final String STOP_MESSAGE =
+      "Container of machine 'machine' unexpectedly stopped. "
+          + "Please, check that container is designed to run in non-interactive terminal.";
+
+  @Mock private DockerEventsMonitor eventsMonitor;
+  @Mock private AbnormalMachineStopHandler stopHandler;
+  @Mock private DockerSharedPool sharedPool;
+  @Captor private ArgumentCaptor<MessageProcessor<Event>> handlerCaptor;
+  @Captor private ArgumentCaptor<Runnable> stopCaptor;
+
+  private DockerMachineStopDetector detector;
+
+  @BeforeMethod
+  public void setUp() {
+    lenient()
+        .doAnswer(
+            invocation -> {
+              ((Runnable) invocation.getArgument(0)).run();
+              return null;
+            })
+        .when(sharedPool)
+        .execute(any());
+    detector = new DockerMachineStopDetector(eventsMonitor, sharedPool);
+  }
+
+  @Test
+  public void shouldHandleStopInSharedPool() {
+    doNothing().when(sharedPool).execute(any());
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("die", 5));
+
+    verify(stopHandler, never()).handle(anyString());
+    verify(sharedPool).execute(stopCaptor.capture());
+    stopCaptor.getValue().run();
+    verify(stopHandler).handle(STOP_MESSAGE);
+  }
+
+  @Test
+  public void shouldReportOOMOfMainProcessWhenContainerDiesRightAfterOOM() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom", 100));
+    handler.process(event("die", 105));
+
+    verify(stopHandler).handle(OOM_MESSAGE);
+  }
+
+  @Test
+  public void shouldReportOOMOfMainProcessWhenContainerDiesAtTheEndOfOOMInterval() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom", 100));
+    handler.process(event("die", 110));
+
+    verify(stopHandler).handle(OOM_MESSAGE);
+  }
+
+  @Test
+  public void shouldNotReportOOMWhenContainerDiesLaterThanOOMInterval() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom", 100));
+    handler.process(event("die", 111));
+
+    verify(stopHandler).handle(STOP_MESSAGE);
+  }
+
+  @Test
+  public void shouldUseTimeOfLastOOMWhenContainerDies() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom", 10));
+    handler.process(event("oom", 100));
+    handler.process(event("die", 105));
+
+    verify(stopHandler).handle(OOM_MESSAGE);
+  }
+
+  @Test
+  public void shouldNotReportOOMWhenContainerDiesWithoutOOM() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("die", 5));
+
+    verify(stopHandler).handle(STOP_MESSAGE);
+  }
+
+  @Test
+  public void shouldNotReportStopWhenOnlyOOMIsDetected() {
+    MessageProcessor<Event> handler = startDetection();
+
+    handler.process(event("oom", 100));
+
+    verify(stopHandler, never()).handle(anyString());
+  }
+
+  @Test
+  public void shouldReplaceHandlerWhenDetectionIsStartedAgain() {
+    MessageProcessor<Event> previous = startDetection();
+
+    detector.startDetection(CONTAINER_ID, MACHINE_NAME, stopHandler);
+
+    verify(eventsMonitor).unsubscribe(CONTAINER_ID, previous);
+  }
+
+  @Test
+  public void shouldUnsubscribeWhenDetectionIsStopped() {
+    MessageProcessor<Event> handler = startDetection();
+
+    detector.stopDetection(CONTAINER_ID);
+
+    verify(eventsMonitor).unsubscribe(CONTAINER_ID, handler);
+  }
+
+  private MessageProcessor<Event> startDetection() {
+    detector.startDetection(CONTAINER_ID, MACHINE_NAME, stopHandler);
+    verify(eventsMonitor).subscribe(eq(CONTAINER_ID), handlerCaptor.capture());
+    return handlerCaptor.getValue();
+  }
+
+  private static Event event(String status, long time) {
+    return new Event().withId(CONTAINER_ID).withStatus(status).withType("container").withTime(time);
+  }
+}
@@ -15,9 +15,16 @@ import static java.lang.String.format;
 import static java.util.Collections.emptyMap;
 
 import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -25,7 +32,10 @@ import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.commons.lang.concurrent.BoundedExecutor;
 import org.eclipse.che.commons.schedule.ScheduleDelay;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,6 +43,9 @@ import org.slf4j.LoggerFactory;
 /**
  * Periodically checks runtimes consistency and forcibly stop ones which has inconsistent state.
  *
+ * <p>Runtimes are checked in parallel, but not more than configured number at once. Checks read
+ * pods from the namespace informers, so only stops of inconsistent runtimes request the API.
+ *
  * @author Sergii Leshchenko
  */
 @Singleton
@@ -40,14 +53,25 @@ public class InconsistentRuntimesDetector {
 
   private static final Logger LOG = LoggerFactory.getLogger(InconsistentRuntimesDetector.class);
 
+  private static final String RECONCILER_NAME = "kubernetes-runtimes-consistency";
+
   private final RuntimeEventsPublisher eventPublisher;
   private final WorkspaceRuntimes workspaceRuntimes;
+  private final Executor executor;
+  private final InfrastructureMetrics metrics;
 
   @Inject
   public InconsistentRuntimesDetector(
-      RuntimeEventsPublisher eventPublisher, WorkspaceRuntimes workspaceRuntimes) {
+      RuntimeEventsPublisher eventPublisher,
+      WorkspaceRuntimes workspaceRuntimes,
+      KubernetesSharedPool sharedPool,
+      InfrastructureMetrics metrics,
+      @Named("che.infra.kubernetes.runtimes_consistency_check_max_parallel")
+          int maxParallelChecks) {
     this.eventPublisher = eventPublisher;
     this.workspaceRuntimes = workspaceRuntimes;
+    this.executor = new BoundedExecutor(sharedPool.getExecutor(), maxParallelChecks);
+    this.metrics = metrics;
   }
 
   @ScheduleDelay(
@@ -55,30 +79,67 @@ public class InconsistentRuntimesDetector {
       initialDelayParameterName = "che.infra.kubernetes.runtimes_consistency_check_period_min",
       unit = TimeUnit.MINUTES)
   public void check() {
+    long start = System.nanoTime();
     Set<String> runningWorkspaces = workspaceRuntimes.getRunning();
     LOG.info(
         "Runtimes consistency check is running. Checking {} workspaces", runningWorkspaces.size());
+    AtomicInteger stopped = new AtomicInteger();
+    List<CompletableFuture<Void>> checks = new ArrayList<>(runningWorkspaces.size());
     for (String runningWorkspaceId : runningWorkspaces) {
-      try {
-        checkOne(runningWorkspaceId);
-      } catch (InfrastructureException e) {
-        LOG.error(
-            "Checking consistency of runtime for workspace `{}` is failed. Cause: ",
-            e.getMessage(),
-            e);
-      }
+      checks.add(
+          CompletableFuture.runAsync(
+              () -> {
+                try {
+                  if (checkOne(runningWorkspaceId)) {
+                    stopped.incrementAndGet();
+                  }
+                } catch (InfrastructureException e) {
+                  LOG.error(
+                      "Checking consistency of runtime for workspace `{}` is failed. Cause: {}",
+                      runningWorkspaceId,
+                      e.getMessage(),
+                      e);
+                }
+              },
+              executor));
     }
+    try {
+      // wait for the checks in progress
+      CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Runtimes consistency check is interrupted");
+      return;
+    } catch (ExecutionException e) {
+      LOG.error("Runtimes consistency check is failed. Cause: {}", e.getMessage(), e);
+    }
+    metrics.recordTime(
+        "reconciliation.pass",
+        System.nanoTime() - start,
+        TimeUnit.NANOSECONDS,
+        "reconciler",
+        RECONCILER_NAME);
+    metrics.increment(
+        "reconciliation.checked", runningWorkspaces.size(), "reconciler", RECONCILER_NAME);
+    metrics.increment("reconciliation.remediations", stopped.get(), "reconciler", RECONCILER_NAME);
+    LOG.info("Runtimes consistency check is finished. Stopped {} runtimes", stopped.get());
   }
 
+  /**
+   * Checks consistency of the runtime of the specified workspace and stops it if it is
+   * inconsistent.
+   *
+   * @return true if the runtime is stopped because of inconsistent state, false otherwise
+   */
   @VisibleForTesting
-  void checkOne(String workspaceId) throws InfrastructureException {
+  boolean checkOne(String workspaceId) throws InfrastructureException {
     LOG.debug("Checking consistency of runtime for workspace `{}`", workspaceId);
     KubernetesInternalRuntime k8sRuntime = getKubernetesInternalRuntime(workspaceId);
     RuntimeIdentity runtimeId = k8sRuntime.getContext().getIdentity();
 
     try {
       if (k8sRuntime.isConsistent()) {
-        return;
+        return false;
       }
     } catch (InfrastructureException e) {
       throw new InfrastructureException(
@@ -91,7 +152,7 @@ public class InconsistentRuntimesDetector {
     // check if status is still RUNNING
     // not to initialize abnormal stop for a runtime that is not RUNNING anymore
     if (!isRunning(k8sRuntime)) {
-      return;
+      return false;
     }
 
     LOG.warn(
@@ -101,6 +162,7 @@ public class InconsistentRuntimesDetector {
 
     stopAbnormally(k8sRuntime);
     LOG.debug("Checking consistency of runtime for workspace `{}` is finished", workspaceId);
+    return true;
   }
 
   private boolean isRunning(KubernetesInternalRuntime k8sRuntime) throws InfrastructureException {
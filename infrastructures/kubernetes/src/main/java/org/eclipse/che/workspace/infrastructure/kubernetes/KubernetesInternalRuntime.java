@@ -36,16 +36,20 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -63,6 +67,7 @@ import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
 import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbes;
 import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
@@ -72,6 +77,7 @@ import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentPro
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.BoundedExecutor;
 import org.eclipse.che.commons.tracing.OptionalTracer;
 import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.bootstrapper.KubernetesBootstrapperFactory;
@@ -100,6 +106,15 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
 
   private static final Logger LOG = LoggerFactory.getLogger(KubernetesInternalRuntime.class);
 
+  // names of the start phases, used as names of tracing spans and tags of metrics
+  protected static final String CREATE_SECRETS_PHASE = "createSecrets";
+  protected static final String CREATE_CONFIG_MAPS_PHASE = "createConfigMaps";
+  protected static final String CREATE_SERVICES_PHASE = "createServices";
+  protected static final String CREATE_INGRESSES_PHASE = "createIngresses";
+  protected static final String WAIT_INGRESSES_PHASE = "waitIngresses";
+  protected static final String CREATE_PODS_PHASE = "createPods";
+  protected static final String CREATE_DEPLOYMENTS_PHASE = "createDeployments";
+
   private final int workspaceStartTimeoutMin;
   private final long ingressStartTimeoutMillis;
   private final UnrecoverablePodEventListenerFactory unrecoverableEventListenerFactory;
@@ -110,7 +125,9 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   private final KubernetesNamespace namespace;
   private final WorkspaceVolumesStrategy volumesStrategy;
   private final RuntimeEventsPublisher eventPublisher;
-  private final Executor executor;
+  private final ExecutorService executor;
+  private final Executor boundedExecutor;
+  private final InfrastructureMetrics metrics;
   private final KubernetesRuntimeStateCache runtimeStates;
   private final KubernetesMachineCache machines;
   private final StartSynchronizer startSynchronizer;
@@ -125,6 +142,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   public KubernetesInternalRuntime(
       @Named("che.infra.kubernetes.workspace_start_timeout_min") int workspaceStartTimeoutMin,
       @Named("che.infra.kubernetes.ingress_start_timeout_min") int ingressStartTimeoutMin,
+      @Named("che.infra.kubernetes.objects_creation_parallelism") int objectsCreationParallelism,
       NoOpURLRewriter urlRewriter,
       UnrecoverablePodEventListenerFactory unrecoverableEventListenerFactory,
       KubernetesBootstrapperFactory bootstrapperFactory,
@@ -141,6 +159,7 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       KubernetesEnvironmentProvisioner<E> kubernetesEnvironmentProvisioner,
       SidecarToolingProvisioner<E> toolingProvisioner,
       RuntimeHangingDetector runtimeHangingDetector,
+      InfrastructureMetrics metrics,
       @Nullable OptionalTracer tracer,
       @Assisted KubernetesRuntimeContext<E> context,
       @Assisted KubernetesNamespace namespace) {
@@ -156,6 +175,8 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     this.namespace = namespace;
     this.eventPublisher = eventPublisher;
     this.executor = sharedPool.getExecutor();
+    this.boundedExecutor = new BoundedExecutor(executor, objectsCreationParallelism);
+    this.metrics = metrics;
     this.runtimeStates = runtimeStates;
     this.machines = machines;
     this.toolingProvisioner = toolingProvisioner;
@@ -621,27 +642,29 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
   /**
    * Create all machine related objects and start machines.
    *
+   * <p>Secrets, config maps, services and ingresses don't depend on each other and are created
+   * concurrently. Pods are created when the objects they may refer to exist, while ingresses are
+   * waited to be ready.
+   *
    * @throws InfrastructureException when any error occurs while creating Kubernetes objects
    */
   @Traced
   protected void startMachines() throws InfrastructureException {
     KubernetesEnvironment k8sEnv = getContext().getEnvironment();
-    String workspaceId = getContext().getIdentity().getWorkspaceId();
 
-    createSecrets(k8sEnv, workspaceId);
-    createConfigMaps(k8sEnv, workspaceId);
-    List<Service> createdServices = createServices(k8sEnv, workspaceId);
+    CompletableFuture<List<Secret>> secrets = createSecrets(k8sEnv);
+    CompletableFuture<List<ConfigMap>> configMaps = createConfigMaps(k8sEnv);
+    CompletableFuture<List<Service>> services = createServices(k8sEnv);
 
     // needed for resolution later on, even though n routes are actually created by ingress
     // /workspace{wsid}/server-{port} => service({wsid}):server-port => pod({wsid}):{port}
-    List<Ingress> readyIngresses = createIngresses(k8sEnv, workspaceId);
+    CompletableFuture<List<Ingress>> readyIngresses = createAndWaitReady(k8sEnv);
 
-    listenEvents();
+    await(CompletableFuture.allOf(secrets, configMaps, services));
 
-    final KubernetesServerResolver serverResolver =
-        new KubernetesServerResolver(createdServices, readyIngresses);
+    listenEvents();
 
-    doStartMachine(serverResolver);
+    doStartMachine(services.thenCombine(readyIngresses, KubernetesServerResolver::new));
   }
 
   protected void listenEvents() throws InfrastructureException {
@@ -659,46 +682,98 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     }
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(KubernetesEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      namespace.secrets().create(secret);
-    }
+  /** Asynchronously creates secrets of the environment. */
+  protected CompletableFuture<List<Secret>> createSecrets(KubernetesEnvironment env) {
+    return createAsync(
+        CREATE_SECRETS_PHASE,
+        env.getSecrets().values(),
+        secret -> {
+          namespace.secrets().create(secret);
+          return secret;
+        });
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      namespace.configMaps().create(configMap);
-    }
+  /** Asynchronously creates config maps of the environment. */
+  protected CompletableFuture<List<ConfigMap>> createConfigMaps(KubernetesEnvironment env) {
+    return createAsync(
+        CREATE_CONFIG_MAPS_PHASE,
+        env.getConfigMaps().values(),
+        configMap -> {
+          namespace.configMaps().create(configMap);
+          return configMap;
+        });
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(namespace.services().create(service));
-    }
+  /** Asynchronously creates services of the environment. */
+  protected CompletableFuture<List<Service>> createServices(KubernetesEnvironment env) {
+    return createAsync(
+        CREATE_SERVICES_PHASE, env.getServices().values(), namespace.services()::create);
+  }
 
-    return createdServices;
+  /**
+   * Creates the given objects concurrently but no more than configured number at once.
+   *
+   * <p>Duration of the creation is recorded as the start phase with the given name. Objects which
+   * are not created yet are not created at all when workspace start fails.
+   *
+   * @param phase name of the start phase
+   * @param toCreate objects to create
+   * @param creator creates an object and returns the created one
+   * @return the future of the created objects in the order of the given ones
+   */
+  protected <T, R> CompletableFuture<List<R>> createAsync(
+      String phase, Collection<T> toCreate, KubernetesOperation<T, R> creator) {
+    final EnvironmentContext context = EnvironmentContext.getCurrent();
+    final CompletableFuture<Void> startFailure = startSynchronizer.getStartFailure();
+    return recordPhase(
+        phase,
+        activeSpan(),
+        () ->
+            applyAsync(
+                toCreate,
+                object -> {
+                  // throws when start is already failed
+                  startFailure.getNow(null);
+                  return creator.apply(object);
+                },
+                context,
+                boundedExecutor));
   }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Ingress> createIngresses(KubernetesEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    return createAndWaitReady(env.getIngresses().values());
+  /**
+   * Waits for the given future to complete.
+   *
+   * @throws InfrastructureException when the future is completed exceptionally, start is failed
+   *     or waiting exceeds the start timeout
+   * @throws RuntimeStartInterruptedException when the thread is interrupted while waiting
+   */
+  protected void await(CompletableFuture<?> future) throws InfrastructureException {
+    final CompletableFuture<Void> failure = startSynchronizer.getStartFailure();
+    try {
+      CompletableFuture.anyOf(future, failure)
+          .get(startSynchronizer.getStartTimeoutMillis(), TimeUnit.MILLISECONDS);
+      if (failure.isCompletedExceptionally()) {
+        // rethrow the failure cause
+        failure.get();
+      }
+      future.get();
+    } catch (TimeoutException ex) {
+      InfrastructureException ie =
+          new InfrastructureException(
+              "Waiting for Kubernetes objects of the workspace '"
+                  + getContext().getIdentity().getWorkspaceId()
+                  + "' reached timeout");
+      failure.completeExceptionally(ie);
+      throw ie;
+    } catch (InterruptedException ex) {
+      RuntimeStartInterruptedException runtimeInterruptedEx =
+          new RuntimeStartInterruptedException(getContext().getIdentity());
+      failure.completeExceptionally(runtimeInterruptedEx);
+      throw runtimeInterruptedEx;
+    } catch (ExecutionException ex) {
+      failure.completeExceptionally(ex.getCause());
+      wrapAndRethrow(ex.getCause());
+    }
   }
 
   /**
@@ -709,6 +784,19 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
    */
   protected void doStartMachine(KubernetesServerResolver serverResolver)
       throws InfrastructureException {
+    doStartMachine(CompletableFuture.completedFuture(serverResolver));
+  }
+
+  /**
+   * Creates Kubernetes pods and resolves servers using the server resolver when it is available,
+   * so the pods are scheduled while e.g. ingresses are waited to be ready.
+   *
+   * @param serverResolver future of the server resolver that provide servers by container
+   * @throws InfrastructureException when any error occurs while creating Kubernetes pods
+   */
+  protected void doStartMachine(
+      CompletableFuture<? extends KubernetesServerResolver> serverResolver)
+      throws InfrastructureException {
     machineStartupTraces =
         new ConcurrentHashMap<>(getContext().getEnvironment().getMachines().size());
 
@@ -716,23 +804,43 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     final Map<String, InternalMachineConfig> machineConfigs = environment.getMachines();
     final String workspaceId = getContext().getIdentity().getWorkspaceId();
     LOG.debug("Begin pods creation for workspace '{}'", workspaceId);
-    for (Pod toCreate : environment.getPodsCopy().values()) {
+    final List<Pod> podsToCreate = new ArrayList<>(environment.getPodsCopy().values());
+    for (Pod toCreate : podsToCreate) {
       startTracingContainersStartup(toCreate.getMetadata(), toCreate.getSpec());
-      ObjectMeta toCreateMeta = toCreate.getMetadata();
-      final Pod createdPod = namespace.deployments().deploy(toCreate);
-      LOG.debug("Creating pod '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
-      storeStartingMachine(createdPod, toCreateMeta, machineConfigs, serverResolver);
     }
-    for (Deployment toCreate : environment.getDeploymentsCopy().values()) {
+    final List<Deployment> deploymentsToCreate =
+        new ArrayList<>(environment.getDeploymentsCopy().values());
+    for (Deployment toCreate : deploymentsToCreate) {
       PodTemplateSpec template = toCreate.getSpec().getTemplate();
       startTracingContainersStartup(template.getMetadata(), template.getSpec());
-      ObjectMeta toCreateMeta = toCreate.getMetadata();
-      final Pod createdPod = namespace.deployments().deploy(toCreate);
-      LOG.debug("Creating deployment '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
+    }
+    final CompletableFuture<List<Pod>> createdPods =
+        createAsync(CREATE_PODS_PHASE, podsToCreate, namespace.deployments()::deploy);
+    final CompletableFuture<List<Pod>> createdDeploymentsPods =
+        createAsync(CREATE_DEPLOYMENTS_PHASE, deploymentsToCreate, namespace.deployments()::deploy);
+
+    await(CompletableFuture.allOf(createdPods, createdDeploymentsPods, serverResolver));
+
+    for (int i = 0; i < podsToCreate.size(); i++) {
+      ObjectMeta toCreateMeta = podsToCreate.get(i).getMetadata();
+      LOG.debug("Creating pod '{}' in workspace '{}'", toCreateMeta.getName(), workspaceId);
+      storeStartingMachine(
+          createdPods.join().get(i), toCreateMeta, machineConfigs, serverResolver.join());
+    }
+    for (int i = 0; i < deploymentsToCreate.size(); i++) {
+      Deployment toCreate = deploymentsToCreate.get(i);
+      LOG.debug(
+          "Creating deployment '{}' in workspace '{}'",
+          toCreate.getMetadata().getName(),
+          workspaceId);
       // We need to pass the meta from the pod in the deployment as that is what matches
       // machine name
       final ObjectMeta templateMeta = toCreate.getSpec().getTemplate().getMetadata();
-      storeStartingMachine(createdPod, templateMeta, machineConfigs, serverResolver);
+      storeStartingMachine(
+          createdDeploymentsPods.join().get(i),
+          templateMeta,
+          machineConfigs,
+          serverResolver.join());
     }
     LOG.debug("Pods creation finished in workspace '{}'", workspaceId);
   }
@@ -829,33 +937,152 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
     runtimeStates.remove(getContext().getIdentity());
   }
 
-  private List<Ingress> createAndWaitReady(Collection<Ingress> ingresses)
-      throws InfrastructureException {
-    List<Ingress> createdIngresses = new ArrayList<>();
+  /**
+   * Asynchronously creates ingresses of the environment and waits for them to be ready.
+   *
+   * @return the future of the ready ingresses
+   */
+  private CompletableFuture<List<Ingress>> createAndWaitReady(KubernetesEnvironment env) {
+    final EnvironmentContext context = EnvironmentContext.getCurrent();
+    final Span parentSpan = activeSpan();
+    // Smaller value of ingress and start timeout should be used
+    final long timeoutMillis =
+        Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis());
+    return createAsync(
+            CREATE_INGRESSES_PHASE, env.getIngresses().values(), namespace.ingresses()::create)
+        .thenCompose(
+            createdIngresses -> {
+              LOG.debug(
+                  "Ingresses created for workspace '{}'. Wait them to be ready.",
+                  getContext().getIdentity().getWorkspaceId());
+              // waiting for LB ip doesn't load Kubernetes API, so it isn't bounded
+              return recordPhase(
+                  WAIT_INGRESSES_PHASE,
+                  parentSpan,
+                  () -> waitReadyAsync(createdIngresses, timeoutMillis, context));
+            });
+  }
+
+  /**
+   * Waits for LB ip of each of the given ingresses in the shared pool. Once start is failed the
+   * waits are completed with the start failure and the threads blocked by them are interrupted.
+   */
+  private CompletableFuture<List<Ingress>> waitReadyAsync(
+      List<Ingress> ingresses, long timeoutMillis, EnvironmentContext context) {
+    final List<Future<?>> waits = new ArrayList<>(ingresses.size());
+    final List<CompletableFuture<Ingress>> results = new ArrayList<>(ingresses.size());
     for (Ingress ingress : ingresses) {
-      createdIngresses.add(namespace.ingresses().create(ingress));
+      final CompletableFuture<Ingress> result = new CompletableFuture<>();
+      results.add(result);
+      waits.add(
+          executor.submit(
+              () -> {
+                try {
+                  EnvironmentContext.setCurrent(context);
+                  result.complete(waitReady(ingress, timeoutMillis));
+                } catch (InfrastructureException | RuntimeException ex) {
+                  result.completeExceptionally(ex);
+                } finally {
+                  EnvironmentContext.reset();
+                }
+              }));
     }
-    LOG.debug(
-        "Ingresses created for workspace '{}'. Wait them to be ready.",
-        getContext().getIdentity().getWorkspaceId());
-
-    // wait for LB ip
-    List<Ingress> readyIngresses = new ArrayList<>();
-    for (Ingress ingress : createdIngresses) {
-      Ingress actualIngress =
-          namespace
-              .ingresses()
-              .wait(
-                  ingress.getMetadata().getName(),
-                  // Smaller value of ingress and start timeout should be used
-                  Math.min(ingressStartTimeoutMillis, startSynchronizer.getStartTimeoutMillis()),
-                  TimeUnit.MILLISECONDS,
-                  p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty()));
-      readyIngresses.add(actualIngress);
+    startSynchronizer
+        .getStartFailure()
+        .exceptionally(
+            failure -> {
+              results.forEach(it -> it.completeExceptionally(failure));
+              waits.forEach(it -> it.cancel(true));
+              return null;
+            });
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(
+            ignored -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
+  /** Waits for LB ip of the ingress. */
+  private Ingress waitReady(Ingress ingress, long timeoutMillis) throws InfrastructureException {
+    return namespace
+        .ingresses()
+        .wait(
+            ingress.getMetadata().getName(),
+            timeoutMillis,
+            TimeUnit.MILLISECONDS,
+            p -> (!p.getStatus().getLoadBalancer().getIngress().isEmpty()));
+  }
+
+  /**
+   * Asynchronously applies the operation to each of the given objects in the given executor with
+   * the given environment context.
+   */
+  private <T, R> CompletableFuture<List<R>> applyAsync(
+      Collection<T> objects,
+      KubernetesOperation<T, R> operation,
+      EnvironmentContext context,
+      Executor executor) {
+    final List<CompletableFuture<R>> results = new ArrayList<>(objects.size());
+    for (T object : objects) {
+      results.add(
+          CompletableFuture.supplyAsync(
+              () -> {
+                try {
+                  EnvironmentContext.setCurrent(context);
+                  return operation.apply(object);
+                } catch (InfrastructureException ex) {
+                  throw new CompletionException(ex);
+                } finally {
+                  EnvironmentContext.reset();
+                }
+              },
+              executor));
     }
-    LOG.debug(
-        "Ingresses creation for workspace '{}' done.", getContext().getIdentity().getWorkspaceId());
-    return readyIngresses;
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(
+            ignored -> results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+  }
+
+  /**
+   * Records the duration of the start phase performed by the given action as a tracing span and a
+   * metric.
+   */
+  private <T> CompletableFuture<T> recordPhase(
+      String phase, @Nullable Span parentSpan, Supplier<CompletableFuture<T>> action) {
+    final long startNanos = System.nanoTime();
+    final Span span =
+        tracer == null
+            ? null
+            : tracer
+                .buildSpan(phase)
+                .asChildOf(parentSpan)
+                .withTag(
+                    TracingTags.WORKSPACE_ID.getKey(), getContext().getIdentity().getWorkspaceId())
+                .start();
+    return action
+        .get()
+        .whenComplete(
+            (ignored, error) -> {
+              metrics.recordTime(
+                  "start.phase",
+                  System.nanoTime() - startNanos,
+                  TimeUnit.NANOSECONDS,
+                  "phase",
+                  phase,
+                  "result",
+                  error == null ? "success" : "failure");
+              if (span == null) {
+                return;
+              }
+              if (error == null) {
+                span.finish();
+              } else {
+                finishSpanAsFailure(span, error.getMessage());
+              }
+            });
+  }
+
+  @Nullable
+  private Span activeSpan() {
+    return tracer == null ? null : tracer.activeSpan();
   }
 
   /**
@@ -1018,4 +1245,9 @@ public class KubernetesInternalRuntime<E extends KubernetesEnvironment>
       }
     }
   }
+
+  /** Operation on a Kubernetes object which may fail with {@link InfrastructureException}. */
+  protected interface KubernetesOperation<T, R> {
+    R apply(T object) throws InfrastructureException;
+  }
 }
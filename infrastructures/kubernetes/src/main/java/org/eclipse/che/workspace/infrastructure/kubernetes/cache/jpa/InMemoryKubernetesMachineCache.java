@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.cache.jpa;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.Striped;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesMachineCache;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesMachineImpl;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesServerImpl;
+
+/**
+ * Write-through in-memory layer in front of {@link JpaKubernetesMachineCache}.
+ *
+ * <p>Machines of a runtime are loaded from the database once and then served from memory until
+ * they expire. All the writes are propagated to the database, since the cached statuses may be
+ * outdated when the runtime is handled by another Che Server instance, and then applied to the
+ * cached machines under the same workspace lock as loading, so a concurrent load never overrides
+ * them. The database is never accessed while holding a lock of the cache map itself.
+ *
+ * <p>Cached machines are dropped by {@link InMemoryKubernetesRuntimeStateCache} when it finds out
+ * that the runtime state is modified by another Che Server instance.
+ */
+@Singleton
+public class InMemoryKubernetesMachineCache implements KubernetesMachineCache {
+
+  static final String CACHE_NAME = "machines";
+
+  private final JpaKubernetesMachineCache delegate;
+  private final InfrastructureMetrics metrics;
+  private final long ttlNanos;
+  private final ConcurrentMap<String, CachedMachines> machines = new ConcurrentHashMap<>();
+  private final Striped<Lock> locks = Striped.lazyWeakLock(32);
+
+  @Inject
+  public InMemoryKubernetesMachineCache(
+      JpaKubernetesMachineCache delegate,
+      InfrastructureMetrics metrics,
+      @Named("che.infra.kubernetes.runtime_cache.ttl_sec") long ttlSec) {
+    this.delegate = delegate;
+    this.metrics = metrics;
+    this.ttlNanos = SECONDS.toNanos(ttlSec);
+  }
+
+  @Override
+  public void put(RuntimeIdentity runtimeIdentity, KubernetesMachineImpl machine)
+      throws InfrastructureException {
+    String workspaceId = runtimeIdentity.getWorkspaceId();
+    try {
+      delegate.put(runtimeIdentity, machine);
+    } catch (InfrastructureException e) {
+      evict(workspaceId);
+      throw e;
+    }
+    recordWrite();
+    applyCached(
+        workspaceId,
+        cached -> cached.machines.put(machine.getName(), new KubernetesMachineImpl(machine)));
+  }
+
+  @Override
+  public Map<String, KubernetesMachineImpl> getMachines(RuntimeIdentity runtimeIdentity)
+      throws InfrastructureException {
+    Map<String, KubernetesMachineImpl> result = new HashMap<>();
+    for (KubernetesMachineImpl machine : getCached(runtimeIdentity).machines.values()) {
+      result.put(machine.getName(), new KubernetesMachineImpl(machine));
+    }
+    return result;
+  }
+
+  @Override
+  public KubernetesServerImpl getServer(
+      RuntimeIdentity runtimeIdentity, String machineName, String serverName)
+      throws InfrastructureException {
+    KubernetesServerImpl server = findServer(runtimeIdentity, machineName, serverName);
+    if (server == null) {
+      throw new InfrastructureException(format("Server with name '%s' was not found", serverName));
+    }
+    return new KubernetesServerImpl(
+        runtimeIdentity.getWorkspaceId(), machineName, serverName, server);
+  }
+
+  @Override
+  public void updateMachineStatus(
+      RuntimeIdentity runtimeIdentity, String machineName, MachineStatus newStatus)
+      throws InfrastructureException {
+    String workspaceId = runtimeIdentity.getWorkspaceId();
+    try {
+      delegate.updateMachineStatus(runtimeIdentity, machineName, newStatus);
+    } catch (InfrastructureException e) {
+      evict(workspaceId);
+      throw e;
+    }
+    recordWrite();
+    applyCached(
+        workspaceId,
+        cached -> {
+          KubernetesMachineImpl machine = cached.machines.get(machineName);
+          if (machine != null) {
+            machine.setStatus(newStatus);
+          }
+        });
+  }
+
+  @Override
+  public boolean updateServerStatus(
+      RuntimeIdentity runtimeIdentity,
+      String machineName,
+      String serverName,
+      ServerStatus newStatus)
+      throws InfrastructureException {
+    String workspaceId = runtimeIdentity.getWorkspaceId();
+    boolean updated;
+    try {
+      updated = delegate.updateServerStatus(runtimeIdentity, machineName, serverName, newStatus);
+    } catch (InfrastructureException e) {
+      evict(workspaceId);
+      throw e;
+    }
+    recordWrite();
+    applyCached(
+        workspaceId,
+        cached -> {
+          KubernetesMachineImpl machine = cached.machines.get(machineName);
+          KubernetesServerImpl server =
+              machine == null ? null : machine.getServers().get(serverName);
+          if (server != null) {
+            server.setStatus(newStatus);
+          }
+        });
+    return updated;
+  }
+
+  @Override
+  public void remove(RuntimeIdentity runtimeIdentity) throws InfrastructureException {
+    try {
+      delegate.remove(runtimeIdentity);
+    } finally {
+      evict(runtimeIdentity.getWorkspaceId());
+    }
+    recordWrite();
+  }
+
+  /** Drops cached machines of the workspace, so they are loaded from the database next time. */
+  void evict(String workspaceId) {
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      machines.remove(workspaceId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Applies the write to the cached machines of the workspace if they are loaded. */
+  private void applyCached(String workspaceId, Consumer<CachedMachines> write) {
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      CachedMachines cached = machines.get(workspaceId);
+      if (cached != null) {
+        write.accept(cached);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private KubernetesServerImpl findServer(
+      RuntimeIdentity runtimeIdentity, String machineName, String serverName)
+      throws InfrastructureException {
+    KubernetesMachineImpl machine = getCached(runtimeIdentity).machines.get(machineName);
+    return machine == null ? null : machine.getServers().get(serverName);
+  }
+
+  private CachedMachines getCached(RuntimeIdentity runtimeIdentity)
+      throws InfrastructureException {
+    String workspaceId = runtimeIdentity.getWorkspaceId();
+    CachedMachines cached = machines.get(workspaceId);
+    if (isFresh(cached)) {
+      recordRead(true);
+      return cached;
+    }
+    recordRead(false);
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      CachedMachines current = machines.get(workspaceId);
+      if (current != cached && isFresh(current)) {
+        // already reloaded by a concurrent call
+        return current;
+      }
+      CachedMachines loaded = new CachedMachines();
+      for (KubernetesMachineImpl machine : delegate.getMachines(runtimeIdentity).values()) {
+        loaded.machines.put(machine.getName(), new KubernetesMachineImpl(machine));
+      }
+      machines.put(workspaceId, loaded);
+      return loaded;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private boolean isFresh(CachedMachines cached) {
+    return cached != null && System.nanoTime() - cached.loadedNanos < ttlNanos;
+  }
+
+  private void recordRead(boolean hit) {
+    metrics.increment(
+        "runtime.cache.reads", 1, "cache", CACHE_NAME, "result", hit ? "hit" : "miss");
+  }
+
+  private void recordWrite() {
+    metrics.increment("runtime.cache.writes", 1, "cache", CACHE_NAME, "result", "written");
+  }
+
+  private static class CachedMachines {
+    final Map<String, KubernetesMachineImpl> machines = new ConcurrentHashMap<>();
+    final long loadedNanos = System.nanoTime();
+  }
+}
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.cache.jpa;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.Striped;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import javax.persistence.OptimisticLockException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.config.Command;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.workspace.infrastructure.kubernetes.cache.BeforeKubernetesRuntimeStateRemovedEvent;
+import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesRuntimeStateCache;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesRuntimeCommandImpl;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesRuntimeState;
+
+/**
+ * Write-through in-memory layer in front of {@link JpaKubernetesRuntimeStateCache}.
+ *
+ * <p>Runtime states are served from memory until they expire while all the writes are propagated
+ * to the database. Writes are applied only if the stored state has the version of the cached
+ * one, so a concurrent modification made by another Che Server instance is never overwritten by
+ * an outdated state; the write is retried against the actual state instead. When the version of
+ * the state loaded from the database shows that the state was modified by another instance, the
+ * cached machines of the runtime are dropped as well.
+ *
+ * <p>Loads and writes of the same workspace are serialized by the workspace lock, the database is
+ * never accessed while holding a lock of the cache map itself.
+ */
+@Singleton
+public class InMemoryKubernetesRuntimeStateCache implements KubernetesRuntimeStateCache {
+
+  static final String CACHE_NAME = "runtimes";
+
+  private final JpaKubernetesRuntimeStateCache delegate;
+  private final InMemoryKubernetesMachineCache machineCache;
+  private final EventService eventService;
+  private final InfrastructureMetrics metrics;
+  private final long ttlNanos;
+  private final ConcurrentMap<String, CachedState> states = new ConcurrentHashMap<>();
+  private final Striped<Lock> locks = Striped.lazyWeakLock(32);
+
+  @Inject
+  public InMemoryKubernetesRuntimeStateCache(
+      JpaKubernetesRuntimeStateCache delegate,
+      InMemoryKubernetesMachineCache machineCache,
+      EventService eventService,
+      InfrastructureMetrics metrics,
+      @Named("che.infra.kubernetes.runtime_cache.ttl_sec") long ttlSec) {
+    this.delegate = delegate;
+    this.machineCache = machineCache;
+    this.eventService = eventService;
+    this.metrics = metrics;
+    this.ttlNanos = SECONDS.toNanos(ttlSec);
+  }
+
+  @PostConstruct
+  void subscribe() {
+    eventService.subscribe(
+        event -> evict(event.getRuntimeState().getRuntimeId().getWorkspaceId()),
+        BeforeKubernetesRuntimeStateRemovedEvent.class);
+  }
+
+  @Override
+  public boolean putIfAbsent(KubernetesRuntimeState state) throws InfrastructureException {
+    String workspaceId = state.getRuntimeId().getWorkspaceId();
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      boolean put;
+      try {
+        put = delegate.putIfAbsent(state);
+      } catch (InfrastructureException e) {
+        evict(workspaceId);
+        throw e;
+      }
+      recordWrite();
+      if (put) {
+        machineCache.evict(workspaceId);
+        states.put(workspaceId, new CachedState(state));
+      } else {
+        evict(workspaceId);
+      }
+      return put;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Set<RuntimeIdentity> getIdentities() throws InfrastructureException {
+    // runtimes started by other Che Server instances must be returned as well
+    recordRead(false);
+    return delegate.getIdentities();
+  }
+
+  @Override
+  public Optional<WorkspaceStatus> getStatus(RuntimeIdentity runtimeId)
+      throws InfrastructureException {
+    return getCached(runtimeId).map(KubernetesRuntimeState::getStatus);
+  }
+
+  @Override
+  public List<? extends Command> getCommands(RuntimeIdentity runtimeId)
+      throws InfrastructureException {
+    Optional<KubernetesRuntimeState> state = get(runtimeId);
+    if (state.isPresent()) {
+      return state.get().getCommands();
+    } else {
+      // runtime is not started yet
+      return emptyList();
+    }
+  }
+
+  @Override
+  public Optional<KubernetesRuntimeState> get(RuntimeIdentity runtimeId)
+      throws InfrastructureException {
+    return getCached(runtimeId).map(KubernetesRuntimeState::new);
+  }
+
+  @Override
+  public void updateStatus(RuntimeIdentity runtimeId, WorkspaceStatus newStatus)
+      throws InfrastructureException {
+    update(runtimeId, state -> state.setStatus(newStatus));
+  }
+
+  @Override
+  public boolean updateStatus(
+      RuntimeIdentity identity, Predicate<WorkspaceStatus> predicate, WorkspaceStatus newStatus)
+      throws InfrastructureException {
+    try {
+      update(
+          identity,
+          state -> {
+            // the status is checked against the database, so the cached one may be outdated
+            if (!predicate.test(state.getStatus())) {
+              throw new IllegalStateException(
+                  "Runtime status doesn't match to the specified predicate");
+            }
+            state.setStatus(newStatus);
+          });
+      return true;
+    } catch (IllegalStateException e) {
+      return false;
+    }
+  }
+
+  @Override
+  public void updateCommands(RuntimeIdentity identity, List<? extends Command> commands)
+      throws InfrastructureException {
+    List<KubernetesRuntimeCommandImpl> commandsImpl =
+        commands.stream().map(KubernetesRuntimeCommandImpl::new).collect(Collectors.toList());
+    update(identity, state -> state.setCommands(commandsImpl));
+  }
+
+  @Override
+  public void remove(RuntimeIdentity runtimeId) throws InfrastructureException {
+    Lock lock = locks.get(runtimeId.getWorkspaceId());
+    lock.lock();
+    try {
+      delegate.remove(runtimeId);
+    } finally {
+      evict(runtimeId.getWorkspaceId());
+      lock.unlock();
+    }
+    recordWrite();
+  }
+
+  /** Drops cached state and machines of the workspace. */
+  private void evict(String workspaceId) {
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      states.remove(workspaceId);
+      machineCache.evict(workspaceId);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private Optional<KubernetesRuntimeState> getCached(RuntimeIdentity runtimeId)
+      throws InfrastructureException {
+    String workspaceId = runtimeId.getWorkspaceId();
+    CachedState cached = states.get(workspaceId);
+    if (isFresh(cached)) {
+      recordRead(true);
+      return Optional.of(cached.state);
+    }
+    recordRead(false);
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      CachedState current = states.get(workspaceId);
+      if (current != cached && isFresh(current)) {
+        // already reloaded or written by a concurrent call
+        return Optional.of(current.state);
+      }
+      Optional<KubernetesRuntimeState> state = delegate.get(runtimeId);
+      if (!state.isPresent()) {
+        evict(workspaceId);
+        return Optional.empty();
+      }
+      if (current == null || current.state.getVersion() != state.get().getVersion()) {
+        // the state was modified by another instance since it has been cached
+        machineCache.evict(workspaceId);
+      }
+      CachedState loaded = new CachedState(state.get());
+      states.put(workspaceId, loaded);
+      return Optional.of(loaded.state);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Writes the update to the database only if the stored state has the same version as the cached
+   * one. When the state is modified by another Che Server instance in the meantime, the update is
+   * retried once against the actual state, and the cached machines are dropped.
+   */
+  private void update(RuntimeIdentity runtimeId, Consumer<KubernetesRuntimeState> update)
+      throws InfrastructureException {
+    String workspaceId = runtimeId.getWorkspaceId();
+    Lock lock = locks.get(workspaceId);
+    lock.lock();
+    try {
+      CachedState current = states.get(workspaceId);
+      long version = current != null ? current.state.getVersion() : load(runtimeId);
+      KubernetesRuntimeState written;
+      try {
+        written = delegate.doUpdate(runtimeId, version, update);
+      } catch (OptimisticLockException e) {
+        written = delegate.doUpdate(runtimeId, load(runtimeId), update);
+      }
+      recordWrite();
+      states.put(workspaceId, new CachedState(written));
+    } catch (InfrastructureException | IllegalStateException e) {
+      evict(workspaceId);
+      throw e;
+    } catch (RuntimeException e) {
+      evict(workspaceId);
+      throw new InfrastructureException(e.getMessage(), e);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Loads the version of the stored state and drops the machines cached for another version. */
+  private long load(RuntimeIdentity runtimeId) throws InfrastructureException {
+    machineCache.evict(runtimeId.getWorkspaceId());
+    return delegate
+        .get(runtimeId)
+        .orElseThrow(
+            () ->
+                new InfrastructureException(
+                    "Runtime state for workspace with id '"
+                        + runtimeId.getWorkspaceId()
+                        + "' was not found"))
+        .getVersion();
+  }
+
+  private boolean isFresh(CachedState cached) {
+    return cached != null && System.nanoTime() - cached.loadedNanos < ttlNanos;
+  }
+
+  private void recordRead(boolean hit) {
+    metrics.increment(
+        "runtime.cache.reads", 1, "cache", CACHE_NAME, "result", hit ? "hit" : "miss");
+  }
+
+  private void recordWrite() {
+    metrics.increment("runtime.cache.writes", 1, "cache", CACHE_NAME, "result", "written");
+  }
+
+  private static class CachedState {
+    final KubernetesRuntimeState state;
+    final long loadedNanos = System.nanoTime();
+
+    CachedState(KubernetesRuntimeState state) {
+      this.state = new KubernetesRuntimeState(state);
+    }
+  }
+}
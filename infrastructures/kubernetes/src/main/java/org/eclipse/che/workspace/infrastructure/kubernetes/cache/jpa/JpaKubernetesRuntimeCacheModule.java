@@ -19,8 +19,8 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.cache.KubernetesRunti
 public class JpaKubernetesRuntimeCacheModule extends AbstractModule {
   @Override
   protected void configure() {
-    bind(KubernetesRuntimeStateCache.class).to(JpaKubernetesRuntimeStateCache.class);
-    bind(KubernetesMachineCache.class).to(JpaKubernetesMachineCache.class);
+    bind(KubernetesRuntimeStateCache.class).to(InMemoryKubernetesRuntimeStateCache.class);
+    bind(KubernetesMachineCache.class).to(InMemoryKubernetesMachineCache.class);
     bind(JpaKubernetesRuntimeStateCache.RemoveKubernetesRuntimeBeforeWorkspaceRemoved.class)
         .asEagerSingleton();
     bind(JpaKubernetesMachineCache.RemoveKubernetesMachinesBeforeRuntimesRemoved.class)
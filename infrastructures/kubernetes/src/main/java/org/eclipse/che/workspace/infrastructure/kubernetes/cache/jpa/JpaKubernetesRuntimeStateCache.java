@@ -18,6 +18,7 @@ import com.google.inject.persist.Transactional;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
@@ -26,6 +27,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityExistsException;
 import javax.persistence.EntityManager;
+import javax.persistence.OptimisticLockException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.Command;
@@ -248,6 +250,36 @@ public class JpaKubernetesRuntimeStateCache implements KubernetesRuntimeStateCac
     managerProvider.get().flush();
   }
 
+  /**
+   * Applies the update to the runtime state only if the stored state has the expected version.
+   *
+   * @return the updated state
+   * @throws OptimisticLockException when the stored state has another version
+   */
+  @Transactional(rollbackOn = {RuntimeException.class, InfrastructureException.class})
+  protected KubernetesRuntimeState doUpdate(
+      RuntimeIdentity id, long expectedVersion, Consumer<KubernetesRuntimeState> update)
+      throws InfrastructureException {
+    Optional<KubernetesRuntimeState> runtimeStateOpt = get(id);
+
+    if (!runtimeStateOpt.isPresent()) {
+      throw new InfrastructureException(
+          "Runtime state for workspace with id '" + id.getWorkspaceId() + "' was not found");
+    }
+
+    KubernetesRuntimeState runtimeState = runtimeStateOpt.get();
+    if (runtimeState.getVersion() != expectedVersion) {
+      throw new OptimisticLockException(
+          format(
+              "Runtime state for workspace with id '%s' has version '%s' instead of '%s'",
+              id.getWorkspaceId(), runtimeState.getVersion(), expectedVersion));
+    }
+    update.accept(runtimeState);
+
+    managerProvider.get().flush();
+    return runtimeState;
+  }
+
   @Transactional
   protected void doPutIfAbsent(KubernetesRuntimeState runtimeState) {
     EntityManager em = managerProvider.get();
@@ -11,6 +11,7 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.model;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -103,6 +104,22 @@ public class KubernetesMachineImpl implements Machine {
                             workspaceId, machineName, e.getKey(), e.getValue())));
   }
 
+  public KubernetesMachineImpl(KubernetesMachineImpl machine) {
+    this.machineId = new MachineId(machine.getWorkspaceId(), machine.getName());
+    this.podName = machine.getPodName();
+    this.containerName = machine.getContainerName();
+    this.status = machine.getStatus();
+    if (machine.getAttributes() != null) {
+      this.attributes = new HashMap<>(machine.getAttributes());
+    }
+    this.servers = new HashMap<>();
+    for (Map.Entry<String, KubernetesServerImpl> entry : machine.getServers().entrySet()) {
+      servers.put(
+          entry.getKey(),
+          new KubernetesServerImpl(getWorkspaceId(), getName(), entry.getKey(), entry.getValue()));
+    }
+  }
+
   public MachineStatus getStatus() {
     return status;
   }
@@ -26,6 +26,7 @@ import javax.persistence.NamedQueries;
 import javax.persistence.NamedQuery;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.config.Command;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
@@ -59,6 +60,10 @@ public class KubernetesRuntimeState {
   @JoinColumn(name = "workspace_id", referencedColumnName = "workspace_id")
   private List<KubernetesRuntimeCommandImpl> commands;
 
+  @Version
+  @Column(name = "version")
+  private long version;
+
   public KubernetesRuntimeState() {}
 
   public KubernetesRuntimeState(
@@ -79,6 +84,7 @@ public class KubernetesRuntimeState {
 
   public KubernetesRuntimeState(KubernetesRuntimeState entity) {
     this(entity.getRuntimeId(), entity.getNamespace(), entity.getStatus(), entity.getCommands());
+    this.version = entity.getVersion();
   }
 
   public String getNamespace() {
@@ -110,6 +116,11 @@ public class KubernetesRuntimeState {
     this.commands = commands;
   }
 
+  /** Returns the version of the state which is incremented by each update of the state. */
+  public long getVersion() {
+    return version;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
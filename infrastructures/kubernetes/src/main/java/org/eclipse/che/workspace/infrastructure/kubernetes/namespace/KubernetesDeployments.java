@@ -66,6 +66,9 @@ import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastruct
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodActionHandler;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodEvent;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodEventHandler;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.ListerWatcher;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.SharedInformer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.PodEvents;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -74,6 +77,9 @@ import org.slf4j.LoggerFactory;
  * Defines an internal API for managing {@link Pod} and {@link Deployment} instances in {@link
  * KubernetesDeployments#namespace predefined namespace}.
  *
+ * <p>Pods are read and watched with the {@link SharedInformer} of the namespace shared by all its
+ * workspaces, the API is requested directly only when the informer doesn't know the pod yet.
+ *
  * @author Sergii Leshchenko
  * @author Anton Korneta
  * @author Angel Misevski
@@ -103,6 +109,7 @@ public class KubernetesDeployments {
   protected final String namespace;
   protected final String workspaceId;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesSharedInformers informers;
   private final ConcurrentLinkedQueue<PodActionHandler> podActionHandlers;
   private final ConcurrentLinkedQueue<PodEventHandler> containerEventsHandlers;
   private Watch podWatch;
@@ -110,10 +117,14 @@ public class KubernetesDeployments {
   private Date watcherInitializationDate;
 
   protected KubernetesDeployments(
-      String namespace, String workspaceId, KubernetesClientFactory clientFactory) {
+      String namespace,
+      String workspaceId,
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedInformers informers) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
+    this.informers = informers;
     this.containerEventsHandlers = new ConcurrentLinkedQueue<>();
     this.podActionHandlers = new ConcurrentLinkedQueue<>();
   }
@@ -174,11 +185,7 @@ public class KubernetesDeployments {
     final String deploymentName = deployment.getMetadata().getName();
     final CompletableFuture<Pod> createFuture = new CompletableFuture<>();
     final Watch createWatch =
-        clientFactory
-            .create(workspaceId)
-            .pods()
-            .inNamespace(namespace)
-            .watch(new CreateWatcher(createFuture, workspaceId, deploymentName));
+        pods().subscribe(new CreateWatcher(createFuture, workspaceId, deploymentName));
     try {
       clientFactory
           .create(workspaceId)
@@ -232,6 +239,10 @@ public class KubernetesDeployments {
    * @throws InfrastructureException when any exception occurs
    */
   public List<Pod> get() throws InfrastructureException {
+    SharedInformer<Pod> pods = pods();
+    if (pods.isSynced()) {
+      return pods.list(workspaceId);
+    }
     try {
       return clientFactory
           .create(workspaceId)
@@ -273,12 +284,10 @@ public class KubernetesDeployments {
     CompletableFuture<Pod> future = new CompletableFuture<>();
     Watch watch = null;
     try {
-
-      PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(podName);
-
+      SharedInformer<Pod> pods = pods();
       watch =
-          podResource.watch(
+          pods.subscribe(
+              podName,
               new Watcher<Pod>() {
                 @Override
                 public void eventReceived(Action action, Pod pod) {
@@ -295,7 +304,7 @@ public class KubernetesDeployments {
                 }
               });
 
-      Pod actualPod = podResource.get();
+      Pod actualPod = getPod(pods, podName);
       if (actualPod == null) {
         if (name.equals(podName)) { // `name` refers to a bare pod
           throw new InfrastructureException("Specified pod " + podName + " doesn't exist");
@@ -349,10 +358,10 @@ public class KubernetesDeployments {
     final CompletableFuture<Void> podRunningFuture = new CompletableFuture<>();
     try {
       final String podName = getPodName(name);
-      final PodResource<Pod, DoneablePod> podResource =
-          clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(podName);
+      final SharedInformer<Pod> pods = pods();
       final Watch watch =
-          podResource.watch(
+          pods.subscribe(
+              podName,
               new Watcher<Pod>() {
                 @Override
                 public void eventReceived(Action action, Pod pod) {
@@ -368,7 +377,7 @@ public class KubernetesDeployments {
               });
 
       podRunningFuture.whenComplete((ok, ex) -> watch.close());
-      final Pod pod = podResource.get();
+      final Pod pod = getPod(pods, podName);
       if (pod == null) {
         InfrastructureException ex;
         if (name.equals(podName)) { // `name` refers to bare pod
@@ -439,23 +448,16 @@ public class KubernetesDeployments {
           new Watcher<Pod>() {
             @Override
             public void eventReceived(Action action, Pod pod) {
-              podActionHandlers.forEach(h -> h.handle(action, pod));
+              Map<String, String> labels = pod.getMetadata().getLabels();
+              if (labels != null && workspaceId.equals(labels.get(CHE_WORKSPACE_ID_LABEL))) {
+                podActionHandlers.forEach(h -> h.handle(action, pod));
+              }
             }
 
             @Override
             public void onClose(KubernetesClientException ignored) {}
           };
-      try {
-        podWatch =
-            clientFactory
-                .create(workspaceId)
-                .pods()
-                .inNamespace(namespace)
-                .withLabel(CHE_WORKSPACE_ID_LABEL, workspaceId)
-                .watch(watcher);
-      } catch (KubernetesClientException ex) {
-        throw new KubernetesInfrastructureException(ex);
-      }
+      podWatch = pods().subscribe(watcher);
     }
     podActionHandlers.add(handler);
   }
@@ -894,6 +896,23 @@ public class KubernetesDeployments {
   }
 
   private Optional<Pod> findPod(String name) throws InfrastructureException {
+    SharedInformer<Pod> pods = pods();
+    if (pods.isSynced()) {
+      Pod pod = pods.get(name);
+      if (pod != null) {
+        return Optional.of(pod);
+      }
+      List<Pod> deploymentPods =
+          pods.list(workspaceId)
+              .stream()
+              .filter(p -> name.equals(p.getMetadata().getLabels().get(CHE_DEPLOYMENT_NAME_LABEL)))
+              .collect(Collectors.toList());
+      if (deploymentPods.size() == 1) {
+        return Optional.of(deploymentPods.get(0));
+      }
+      // the pod may be not received yet, so it is searched with the API
+    }
+
     Pod pod = clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(name).get();
     if (pod != null) {
       return Optional.of(pod);
@@ -928,6 +947,33 @@ public class KubernetesDeployments {
     return Optional.of(pods.get(0));
   }
 
+  /**
+   * Returns the pod from the informer store or fetches it when the store doesn't have it yet, e.g.
+   * right after the pod creation.
+   */
+  @Nullable
+  private Pod getPod(SharedInformer<Pod> pods, String podName) throws InfrastructureException {
+    Pod pod = pods.get(podName);
+    if (pod != null) {
+      return pod;
+    }
+    return clientFactory.create(workspaceId).pods().inNamespace(namespace).withName(podName).get();
+  }
+
+  /** Returns the informer of the workspace pods in the namespace. */
+  private SharedInformer<Pod> pods() throws InfrastructureException {
+    return informers.get(
+        Pod.class,
+        namespace,
+        ListerWatcher.of(
+            () ->
+                clientFactory
+                    .create(workspaceId)
+                    .pods()
+                    .inNamespace(namespace)
+                    .withLabel(CHE_WORKSPACE_ID_LABEL)));
+  }
+
   /**
    * Returns the name of a specified Pod given either the actual Pod name or the name of the
    * Deployment that controls it. <br>
@@ -14,12 +14,10 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.namespace;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.putLabel;
 
-import io.fabric8.kubernetes.api.model.extensions.DoneableIngress;
 import io.fabric8.kubernetes.api.model.extensions.Ingress;
 import io.fabric8.kubernetes.client.KubernetesClientException;
 import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
-import io.fabric8.kubernetes.client.dsl.Resource;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
@@ -28,6 +26,9 @@ import java.util.function.Predicate;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.ListerWatcher;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.SharedInformer;
 
 /**
  * Defines an internal API for managing {@link Ingress} instances in {@link
@@ -41,11 +42,17 @@ public class KubernetesIngresses {
   private final String namespace;
   private final String workspaceId;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesSharedInformers informers;
 
-  KubernetesIngresses(String namespace, String workspaceId, KubernetesClientFactory clientFactory) {
+  KubernetesIngresses(
+      String namespace,
+      String workspaceId,
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedInformers informers) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   public Ingress create(Ingress ingress) throws InfrastructureException {
@@ -68,16 +75,10 @@ public class KubernetesIngresses {
     CompletableFuture<Ingress> future = new CompletableFuture<>();
     Watch watch = null;
     try {
-      Resource<Ingress, DoneableIngress> ingressResource =
-          clientFactory
-              .create(workspaceId)
-              .extensions()
-              .ingresses()
-              .inNamespace(namespace)
-              .withName(name);
-
+      SharedInformer<Ingress> ingresses = ingresses();
       watch =
-          ingressResource.watch(
+          ingresses.subscribe(
+              name,
               new Watcher<Ingress>() {
                 @Override
                 public void eventReceived(Action action, Ingress ingress) {
@@ -94,7 +95,18 @@ public class KubernetesIngresses {
                 }
               });
 
-      Ingress actualIngress = ingressResource.get();
+      Ingress actualIngress = ingresses.get(name);
+      if (actualIngress == null) {
+        // the ingress may be not received by the informer yet
+        actualIngress =
+            clientFactory
+                .create(workspaceId)
+                .extensions()
+                .ingresses()
+                .inNamespace(namespace)
+                .withName(name)
+                .get();
+      }
       if (actualIngress == null) {
         throw new InfrastructureException("Specified ingress " + name + " doesn't exist");
       }
@@ -120,6 +132,21 @@ public class KubernetesIngresses {
     }
   }
 
+  /** Returns the informer of the workspace ingresses in the namespace. */
+  private SharedInformer<Ingress> ingresses() throws InfrastructureException {
+    return informers.get(
+        Ingress.class,
+        namespace,
+        ListerWatcher.of(
+            () ->
+                clientFactory
+                    .create(workspaceId)
+                    .extensions()
+                    .ingresses()
+                    .inNamespace(namespace)
+                    .withLabel(CHE_WORKSPACE_ID_LABEL)));
+  }
+
   public void delete() throws InfrastructureException {
     try {
       clientFactory
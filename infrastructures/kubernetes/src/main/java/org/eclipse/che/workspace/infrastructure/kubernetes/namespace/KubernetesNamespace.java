@@ -36,6 +36,7 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -91,14 +92,17 @@ public class KubernetesNamespace {
   }
 
   public KubernetesNamespace(
-      KubernetesClientFactory clientFactory, String name, String workspaceId) {
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedInformers informers,
+      String name,
+      String workspaceId) {
     this.clientFactory = clientFactory;
     this.workspaceId = workspaceId;
     this.name = name;
-    this.deployments = new KubernetesDeployments(name, workspaceId, clientFactory);
-    this.services = new KubernetesServices(name, workspaceId, clientFactory);
+    this.deployments = new KubernetesDeployments(name, workspaceId, clientFactory, informers);
+    this.services = new KubernetesServices(name, workspaceId, clientFactory, informers);
     this.pvcs = new KubernetesPersistentVolumeClaims(name, workspaceId, clientFactory);
-    this.ingresses = new KubernetesIngresses(name, workspaceId, clientFactory);
+    this.ingresses = new KubernetesIngresses(name, workspaceId, clientFactory, informers);
     this.secrets = new KubernetesSecrets(name, workspaceId, clientFactory);
     this.configMaps = new KubernetesConfigsMaps(name, workspaceId, clientFactory);
   }
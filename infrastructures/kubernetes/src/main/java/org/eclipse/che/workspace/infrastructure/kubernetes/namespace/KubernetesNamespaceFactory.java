@@ -20,6 +20,7 @@ import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
 
 /**
  * Helps to create {@link KubernetesNamespace} instances.
@@ -33,16 +34,19 @@ public class KubernetesNamespaceFactory {
   private final boolean isPredefined;
   private final String serviceAccountName;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesSharedInformers informers;
 
   @Inject
   public KubernetesNamespaceFactory(
       @Nullable @Named("che.infra.kubernetes.namespace") String namespaceName,
       @Nullable @Named("che.infra.kubernetes.service_account_name") String serviceAccountName,
-      KubernetesClientFactory clientFactory) {
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedInformers informers) {
     this.namespaceName = namespaceName;
     this.isPredefined = !isNullOrEmpty(namespaceName);
     this.serviceAccountName = serviceAccountName;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   /**
@@ -94,7 +98,7 @@ public class KubernetesNamespaceFactory {
 
   @VisibleForTesting
   KubernetesNamespace doCreateNamespace(String workspaceId, String name) {
-    return new KubernetesNamespace(clientFactory, name, workspaceId);
+    return new KubernetesNamespace(clientFactory, informers, name, workspaceId);
   }
 
   @VisibleForTesting
@@ -21,6 +21,9 @@ import java.util.List;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.ListerWatcher;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.SharedInformer;
 
 /**
  * Defines an internal API for managing {@link Service} instances in {@link
@@ -32,11 +35,17 @@ public class KubernetesServices {
   private final String namespace;
   private final String workspaceId;
   private final KubernetesClientFactory clientFactory;
+  private final KubernetesSharedInformers informers;
 
-  KubernetesServices(String namespace, String workspaceId, KubernetesClientFactory clientFactory) {
+  KubernetesServices(
+      String namespace,
+      String workspaceId,
+      KubernetesClientFactory clientFactory,
+      KubernetesSharedInformers informers) {
     this.namespace = namespace;
     this.workspaceId = workspaceId;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   /**
@@ -62,6 +71,20 @@ public class KubernetesServices {
    * @throws InfrastructureException when any exception occurs
    */
   public List<Service> get() throws InfrastructureException {
+    SharedInformer<Service> services =
+        informers.get(
+            Service.class,
+            namespace,
+            ListerWatcher.of(
+                () ->
+                    clientFactory
+                        .create(workspaceId)
+                        .services()
+                        .inNamespace(namespace)
+                        .withLabel(CHE_WORKSPACE_ID_LABEL)));
+    if (services.isSynced()) {
+      return services.list(workspaceId);
+    }
     try {
       return clientFactory
           .create(workspaceId)
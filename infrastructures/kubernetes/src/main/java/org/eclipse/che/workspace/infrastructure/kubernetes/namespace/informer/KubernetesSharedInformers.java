@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+
+/**
+ * Provides {@link SharedInformer} instances shared by all the workspaces of a namespace, one per
+ * object type and namespace.
+ *
+ * <p>Informer is started by the first request and stopped when it has no subscribers and is not
+ * used for {@link #IDLE_TIMEOUT_MIN} minutes, e.g. when all the workspaces of its namespace are
+ * stopped. Informers list the objects again every {@code
+ * che.infra.kubernetes.informer.resync_period_min} minutes, non-positive value disables periodic
+ * relisting, so the objects are listed again only when the watch is closed.
+ */
+@Singleton
+public class KubernetesSharedInformers {
+
+  static final long IDLE_TIMEOUT_MIN = 5;
+  static final long RELIST_DELAY_SEC = 5;
+
+  private final long resyncPeriodMillis;
+  private final Map<String, SharedInformer<?>> informers = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("KubernetesSharedInformers")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  @Inject
+  public KubernetesSharedInformers(
+      @Named("che.infra.kubernetes.informer.resync_period_min") long resyncPeriodMin) {
+    this.resyncPeriodMillis = MINUTES.toMillis(resyncPeriodMin);
+    executor.scheduleWithFixedDelay(() -> stopIdle(System.currentTimeMillis()), 1, 1, MINUTES);
+  }
+
+  /**
+   * Returns started informer of the objects of the given type in the namespace, the informer is
+   * created with the given lister-watcher unless it already exists.
+   *
+   * @param type type of the objects
+   * @param namespace namespace of the objects
+   * @param listerWatcher lists and watches the objects, e.g. with the client of the workspace
+   * @throws InfrastructureException when new informer can't list or watch the objects
+   */
+  @SuppressWarnings("unchecked")
+  public <T extends HasMetadata> SharedInformer<T> get(
+      Class<T> type, String namespace, ListerWatcher<T> listerWatcher)
+      throws InfrastructureException {
+    String key = type.getSimpleName() + '/' + namespace;
+    while (true) {
+      SharedInformer<T> informer =
+          (SharedInformer<T>)
+              informers.computeIfAbsent(
+                  key,
+                  k ->
+                      new SharedInformer<>(
+                          type.getSimpleName() + " objects in namespace '" + namespace + "'",
+                          listerWatcher,
+                          executor,
+                          resyncPeriodMillis,
+                          SECONDS.toMillis(RELIST_DELAY_SEC)));
+      if (informer.acquire()) {
+        return informer;
+      }
+      // stopped as idle concurrently
+      informers.remove(key, informer);
+    }
+  }
+
+  /** Stops informers which have no subscribers and are not used long enough. */
+  void stopIdle(long now) {
+    informers.forEach(
+        (key, informer) -> {
+          if (informer.stopIfIdle(now, MINUTES.toMillis(IDLE_TIMEOUT_MIN))) {
+            informers.remove(key, informer);
+          }
+        });
+  }
+
+  @PreDestroy
+  public void stop() {
+    executor.shutdownNow();
+    informers.values().forEach(SharedInformer::stop);
+    informers.clear();
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.FilterWatchListDeletable;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
+
+/** Lists and watches Kubernetes objects of a single type for {@link SharedInformer}. */
+public interface ListerWatcher<T extends HasMetadata> {
+
+  /**
+   * Returns all the objects, list metadata contains the resource version to start watching from.
+   */
+  KubernetesResourceList<T> list() throws InfrastructureException;
+
+  /** Starts watching the objects changed after the specified resource version. */
+  Watch watch(String resourceVersion, Watcher<T> watcher) throws InfrastructureException;
+
+  /** Returns {@link ListerWatcher} of the objects selected by the given client operation. */
+  static <T extends HasMetadata> ListerWatcher<T> of(Operation<T> operation) {
+    return new ListerWatcher<T>() {
+      @Override
+      public KubernetesResourceList<T> list() throws InfrastructureException {
+        try {
+          return operation.get().list();
+        } catch (KubernetesClientException e) {
+          throw new KubernetesInfrastructureException(e);
+        }
+      }
+
+      @Override
+      public Watch watch(String resourceVersion, Watcher<T> watcher)
+          throws InfrastructureException {
+        try {
+          return operation.get().withResourceVersion(resourceVersion).watch(watcher);
+        } catch (KubernetesClientException e) {
+          throw new KubernetesInfrastructureException(e);
+        }
+      }
+    };
+  }
+
+  /** Selects the objects to list and watch, e.g. pods with a label in a namespace. */
+  interface Operation<T extends HasMetadata> {
+    FilterWatchListDeletable<T, ? extends KubernetesResourceList<T>, Boolean, Watch, Watcher<T>>
+        get() throws InfrastructureException;
+  }
+}
@@ -0,0 +1,382 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer;
+
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import javax.annotation.Nullable;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps a local store of Kubernetes objects of a single type, e.g. pods of a namespace, and
+ * notifies subscribers about their changes, so many consumers share a single list and watch
+ * instead of making their own API calls.
+ *
+ * <p>The store is filled by listing the objects and then kept up to date by watching them from the
+ * version of the list. When the watch is closed, e.g. when the API server responds that the
+ * version is too old, the objects are listed again after a delay and subscribers are notified
+ * about the differences found. The same relisting is performed periodically, so the store is
+ * repaired even if a watch hangs without being closed.
+ *
+ * <p>Objects are indexed by name and by the value of {@link
+ * org.eclipse.che.workspace.infrastructure.kubernetes.Constants#CHE_WORKSPACE_ID_LABEL} label.
+ * Subscribers are notified in the thread which receives the change, so they must not block.
+ *
+ * @see KubernetesSharedInformers
+ */
+public class SharedInformer<T extends HasMetadata> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SharedInformer.class);
+
+  private final String description;
+  private final ListerWatcher<T> listerWatcher;
+  private final ScheduledExecutorService executor;
+  private final long resyncPeriodMillis;
+  private final long relistDelayMillis;
+
+  private final Map<String, T> items = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> workspaceIndex = new ConcurrentHashMap<>();
+  private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+  private volatile Watch watch;
+  private volatile long lastUsed = System.currentTimeMillis();
+  private long generation;
+  private boolean started;
+  private boolean stopped;
+  private ScheduledFuture<?> resync;
+
+  SharedInformer(
+      String description,
+      ListerWatcher<T> listerWatcher,
+      ScheduledExecutorService executor,
+      long resyncPeriodMillis,
+      long relistDelayMillis) {
+    this.description = description;
+    this.listerWatcher = listerWatcher;
+    this.executor = executor;
+    this.resyncPeriodMillis = resyncPeriodMillis;
+    this.relistDelayMillis = relistDelayMillis;
+  }
+
+  /**
+   * Returns the object with the given name or null if there is no such object in the store.
+   *
+   * @param name name of the object
+   */
+  @Nullable
+  public T get(String name) {
+    lastUsed = System.currentTimeMillis();
+    return items.get(name);
+  }
+
+  /** Returns all the objects from the store. */
+  public List<T> list() {
+    lastUsed = System.currentTimeMillis();
+    return new ArrayList<>(items.values());
+  }
+
+  /**
+   * Returns the objects labeled with the given workspace id.
+   *
+   * @param workspaceId value of the workspace id label
+   */
+  public List<T> list(String workspaceId) {
+    lastUsed = System.currentTimeMillis();
+    return workspaceIndex
+        .getOrDefault(workspaceId, emptySet())
+        .stream()
+        .map(items::get)
+        .filter(Objects::nonNull)
+        .collect(toList());
+  }
+
+  /**
+   * Returns true when the objects are being watched, so the store is up to date. Otherwise the
+   * store may miss the latest changes until the objects are listed again.
+   */
+  public boolean isSynced() {
+    return watch != null;
+  }
+
+  /**
+   * Subscribes to changes of all the objects. The watcher is closed when the informer is stopped.
+   *
+   * @param watcher receives changes of the objects
+   * @return subscription which must be closed when changes are not needed anymore
+   */
+  public Watch subscribe(Watcher<T> watcher) {
+    return subscribe(null, watcher);
+  }
+
+  /**
+   * Subscribes to changes of the object with the given name.
+   *
+   * @param name name of the object or null to receive changes of all the objects
+   * @param watcher receives changes of the object
+   * @return subscription which must be closed when changes are not needed anymore
+   */
+  public Watch subscribe(@Nullable String name, Watcher<T> watcher) {
+    lastUsed = System.currentTimeMillis();
+    Subscription subscription = new Subscription(name, watcher);
+    subscriptions.add(subscription);
+    return subscription;
+  }
+
+  /**
+   * Lists and starts watching the objects unless it is already done.
+   *
+   * @return false when the informer is stopped and can't be used anymore
+   * @throws InfrastructureException when the objects can't be listed or watched
+   */
+  synchronized boolean acquire() throws InfrastructureException {
+    if (stopped) {
+      return false;
+    }
+    lastUsed = System.currentTimeMillis();
+    if (!started) {
+      relist();
+      started = true;
+      if (resyncPeriodMillis > 0) {
+        resync =
+            executor.scheduleWithFixedDelay(
+                this::relistQuietly, resyncPeriodMillis, resyncPeriodMillis, MILLISECONDS);
+      }
+    }
+    return true;
+  }
+
+  /** Stops the informer if it has no subscribers and is not used for the given period. */
+  synchronized boolean stopIfIdle(long now, long idleTimeoutMillis) {
+    if (subscriptions.isEmpty() && now - lastUsed >= idleTimeoutMillis) {
+      stop();
+      return true;
+    }
+    return false;
+  }
+
+  /** Stops watching the objects, clears the store and closes all the subscribers. */
+  void stop() {
+    synchronized (this) {
+      if (stopped) {
+        return;
+      }
+      stopped = true;
+      if (resync != null) {
+        resync.cancel(false);
+      }
+      closeWatch();
+      items.clear();
+      workspaceIndex.clear();
+    }
+    for (Subscription subscription : subscriptions) {
+      subscription.watcher.onClose(null);
+    }
+    subscriptions.clear();
+  }
+
+  /**
+   * Replaces the store with the listed objects, notifies subscribers about the differences and
+   * starts watching the objects from the version of the list.
+   */
+  private void relist() throws InfrastructureException {
+    List<Runnable> notifications = new ArrayList<>();
+    synchronized (this) {
+      if (stopped) {
+        return;
+      }
+      closeWatch();
+      KubernetesResourceList<T> list = listerWatcher.list();
+      Map<String, T> actual = new HashMap<>();
+      for (T item : list.getItems()) {
+        actual.put(item.getMetadata().getName(), item);
+      }
+      for (T item : new ArrayList<>(items.values())) {
+        if (!actual.containsKey(item.getMetadata().getName())) {
+          remove(item);
+          notifications.add(() -> dispatch(Action.DELETED, item));
+        }
+      }
+      for (T item : actual.values()) {
+        T previous = put(item);
+        if (previous == null) {
+          notifications.add(() -> dispatch(Action.ADDED, item));
+        } else if (!Objects.equals(
+            previous.getMetadata().getResourceVersion(), item.getMetadata().getResourceVersion())) {
+          notifications.add(() -> dispatch(Action.MODIFIED, item));
+        }
+      }
+      watch =
+          listerWatcher.watch(
+              list.getMetadata().getResourceVersion(), new InformerWatcher(++generation));
+    }
+    notifications.forEach(Runnable::run);
+  }
+
+  private void relistQuietly() {
+    try {
+      relist();
+    } catch (InfrastructureException | RuntimeException e) {
+      LOG.warn("Failed to list {}, retrying. Cause: {}", description, e.getMessage());
+      scheduleRelist();
+    }
+  }
+
+  private synchronized void scheduleRelist() {
+    if (!stopped) {
+      try {
+        executor.schedule(this::relistQuietly, relistDelayMillis, MILLISECONDS);
+      } catch (RejectedExecutionException e) {
+        LOG.debug("Relisting of {} is not scheduled, informers are stopped", description);
+      }
+    }
+  }
+
+  private void closeWatch() {
+    // events of the closed watch are ignored
+    generation++;
+    if (watch != null) {
+      try {
+        watch.close();
+      } catch (KubernetesClientException e) {
+        LOG.debug("Failed to close watch of {}. Cause: {}", description, e.getMessage());
+      }
+      watch = null;
+    }
+  }
+
+  private T put(T item) {
+    T previous = items.put(item.getMetadata().getName(), item);
+    unindex(previous);
+    String workspaceId = workspaceIdOf(item);
+    if (workspaceId != null) {
+      workspaceIndex
+          .computeIfAbsent(workspaceId, id -> ConcurrentHashMap.newKeySet())
+          .add(item.getMetadata().getName());
+    }
+    return previous;
+  }
+
+  private void remove(T item) {
+    unindex(items.remove(item.getMetadata().getName()));
+  }
+
+  private void unindex(T item) {
+    String workspaceId = item == null ? null : workspaceIdOf(item);
+    if (workspaceId != null) {
+      Set<String> names = workspaceIndex.get(workspaceId);
+      if (names != null) {
+        names.remove(item.getMetadata().getName());
+        if (names.isEmpty()) {
+          workspaceIndex.remove(workspaceId);
+        }
+      }
+    }
+  }
+
+  private String workspaceIdOf(T item) {
+    Map<String, String> labels = item.getMetadata().getLabels();
+    return labels == null ? null : labels.get(CHE_WORKSPACE_ID_LABEL);
+  }
+
+  private void dispatch(Action action, T item) {
+    String name = item.getMetadata().getName();
+    for (Subscription subscription : subscriptions) {
+      if (subscription.name == null || subscription.name.equals(name)) {
+        try {
+          subscription.watcher.eventReceived(action, item);
+        } catch (RuntimeException e) {
+          LOG.error("Failed to handle {} event of {}", action, description, e);
+        }
+      }
+    }
+  }
+
+  private class InformerWatcher implements Watcher<T> {
+
+    private final long generation;
+
+    private InformerWatcher(long generation) {
+      this.generation = generation;
+    }
+
+    @Override
+    public void eventReceived(Action action, T item) {
+      synchronized (SharedInformer.this) {
+        if (stopped || generation != SharedInformer.this.generation) {
+          return;
+        }
+        if (action == Action.ADDED || action == Action.MODIFIED) {
+          put(item);
+        } else if (action == Action.DELETED) {
+          remove(item);
+        } else {
+          return;
+        }
+      }
+      dispatch(action, item);
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+      synchronized (SharedInformer.this) {
+        if (stopped || generation != SharedInformer.this.generation) {
+          return;
+        }
+        watch = null;
+      }
+      LOG.warn(
+          "Watching {} is closed, objects will be listed again. Cause: {}",
+          description,
+          cause == null ? null : cause.getMessage());
+      scheduleRelist();
+    }
+  }
+
+  private class Subscription implements Watch {
+
+    private final String name;
+    private final Watcher<T> watcher;
+
+    private Subscription(String name, Watcher<T> watcher) {
+      this.name = name;
+      this.watcher = watcher;
+    }
+
+    @Override
+    public void close() {
+      subscriptions.remove(this);
+      lastUsed = System.currentTimeMillis();
+    }
+  }
+}
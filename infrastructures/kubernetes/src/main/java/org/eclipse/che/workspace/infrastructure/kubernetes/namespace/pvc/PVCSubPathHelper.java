@@ -11,7 +11,15 @@
  */
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toSet;
+import static org.eclipse.che.commons.lang.NameGenerator.generate;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolume;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesObjectUtil.newVolumeMount;
 
@@ -24,16 +32,24 @@ import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodBuilder;
 import io.fabric8.kubernetes.api.model.PodStatus;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesDeployments;
@@ -50,6 +66,11 @@ import org.slf4j.LoggerFactory;
  * command (either {@code mkdir -p <path>} or {@code rm -rf <path>}). Reports back whether the pod
  * succeeded or failed. Supports multiple paths for one command.
  *
+ * <p>When the workspaces share a predefined namespace, the commands requested for the same PVC
+ * during the batching window are executed by a single pod. Each command of the batch is executed
+ * even if the previous ones fail and its failure is reported to the requesting workspace only.
+ * Otherwise the commands are started without waiting for the batching window.
+ *
  * <p>Note that the commands execution is needed only for {@link CommonPVCStrategy}.
  *
  * @author amisevsk
@@ -66,6 +87,9 @@ public class PVCSubPathHelper {
 
   static final String[] RM_COMMAND_BASE = new String[] {"rm", "-rf"};
   static final String[] MKDIR_COMMAND_BASE = new String[] {"mkdir", "-p"};
+  static final String[] SHELL_COMMAND_BASE = new String[] {"sh", "-c"};
+  static final String BATCH_JOB_NAME = "pvc-job";
+  static final String FAILED_COMMANDS_PREFIX = "Failed commands:";
 
   static final String IMAGE_PULL_POLICY = "IfNotPresent";
   static final String POD_RESTART_POLICY = "Never";
@@ -75,8 +99,11 @@ public class PVCSubPathHelper {
 
   private final String jobImage;
   private final String jobMemoryLimit;
+  private final long batchWindowMillis;
   private final KubernetesNamespaceFactory factory;
-  private final ExecutorService executor;
+  private final InfrastructureMetrics metrics;
+  private final ScheduledExecutorService executor;
+  private final Map<String, Batch> pendingBatches = new HashMap<>();
 
   private final SecurityContextProvisioner securityContextProvisioner;
 
@@ -84,14 +111,18 @@ public class PVCSubPathHelper {
   PVCSubPathHelper(
       @Named("che.infra.kubernetes.pvc.jobs.memorylimit") String jobMemoryLimit,
       @Named("che.infra.kubernetes.pvc.jobs.image") String jobImage,
+      @Named("che.infra.kubernetes.pvc.jobs.batch_window_ms") long batchWindowMillis,
       KubernetesNamespaceFactory factory,
-      SecurityContextProvisioner securityContextProvisioner) {
+      SecurityContextProvisioner securityContextProvisioner,
+      InfrastructureMetrics metrics) {
     this.jobMemoryLimit = jobMemoryLimit;
     this.jobImage = jobImage;
+    this.batchWindowMillis = batchWindowMillis;
     this.factory = factory;
     this.securityContextProvisioner = securityContextProvisioner;
+    this.metrics = metrics;
     this.executor =
-        Executors.newFixedThreadPool(
+        Executors.newScheduledThreadPool(
             COUNT_THREADS,
             new ThreadFactoryBuilder()
                 .setNameFormat("PVCSubPathHelper-ThreadPool-%d")
@@ -112,7 +143,14 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
-    execute(workspaceId, pvcName, MKDIR_COMMAND_BASE, dirs);
+    try {
+      submit(workspaceId, pvcName, MKDIR_COMMAND_BASE, dirs).get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while creating directories for the workspace '{}'", workspaceId);
+    } catch (ExecutionException ignored) {
+      // the failure is logged when the job is finished
+    }
   }
 
   /**
@@ -127,46 +165,120 @@ public class PVCSubPathHelper {
         pvcName,
         workspaceId,
         Arrays.toString(dirs));
-    return CompletableFuture.runAsync(
-        ThreadLocalPropagateContext.wrap(
-            () -> execute(workspaceId, pvcName, RM_COMMAND_BASE, dirs)),
-        executor);
+    return submit(workspaceId, pvcName, RM_COMMAND_BASE, dirs);
   }
 
   /**
-   * Executes the job with the specified arguments.
+   * Adds the command to the batch pending for the given PVC. The batch is started by a single job
+   * once the batching window which is opened by its first command is over.
    *
-   * @param commandBase the command base to execute
-   * @param arguments the list of arguments for the specified job
+   * @return the future which is completed when the command is executed
    */
-  @VisibleForTesting
-  void execute(String workspaceId, String pvcName, String[] commandBase, String... arguments) {
-    final String jobName = commandBase[0];
-    final String podName = jobName + '-' + workspaceId;
-    final String[] command = buildCommand(commandBase, arguments);
+  private CompletableFuture<Void> submit(
+      String workspaceId, String pvcName, String[] commandBase, String... dirs) {
+    final boolean shared = factory.isPredefined();
+    final String key = shared ? pvcName : workspaceId + '/' + pvcName;
+    final Request request = new Request(workspaceId, buildCommand(commandBase, dirs));
+    synchronized (pendingBatches) {
+      Batch batch = pendingBatches.get(key);
+      if (batch == null) {
+        final Batch newBatch = new Batch(workspaceId, pvcName);
+        // there is nobody to wait for when the namespace is not shared with other workspaces
+        executor.schedule(
+            ThreadLocalPropagateContext.wrap(() -> execute(key, newBatch)),
+            shared ? batchWindowMillis : 0,
+            MILLISECONDS);
+        pendingBatches.put(key, newBatch);
+        batch = newBatch;
+      }
+      batch.requests.add(request);
+    }
+    return request.done;
+  }
+
+  /** Closes the batch for the new commands and executes the commands collected in it. */
+  private void execute(String key, Batch batch) {
+    synchronized (pendingBatches) {
+      pendingBatches.remove(key, batch);
+    }
+    final List<Request> requests = batch.requests;
+    final long startNanos = System.nanoTime();
+    for (Request request : requests) {
+      metrics.recordTime("pvc.jobs.queue", startNanos - request.submittedNanos, NANOSECONDS);
+    }
+    final String logs;
+    final Set<Integer> failed;
+    try {
+      if (requests.size() == 1) {
+        final String[] command = requests.get(0).command;
+        logs = execute(batch.workspaceId, batch.pvcName, command[0], command, 1);
+        failed = logs == null ? emptySet() : singleton(0);
+      } else {
+        final String[] command = buildShellCommand(buildScript(requests));
+        logs = execute(batch.workspaceId, batch.pvcName, BATCH_JOB_NAME, command, requests.size());
+        failed = logs == null ? emptySet() : findFailedCommands(logs, requests.size());
+      }
+    } catch (InfrastructureException | RuntimeException ex) {
+      for (Request request : requests) {
+        LOG.error(
+            "Unable to perform '{}' command for the workspace '{}' cause: '{}'",
+            Arrays.toString(request.command),
+            request.workspaceId,
+            ex.getMessage());
+        request.done.completeExceptionally(ex);
+      }
+      return;
+    }
+    for (int i = 0; i < requests.size(); i++) {
+      final Request request = requests.get(i);
+      if (failed.contains(i)) {
+        LOG.error(
+            "Job command '{}' of the workspace '{}' execution is failed. Logs: {}",
+            Arrays.toString(request.command),
+            request.workspaceId,
+            logs.replace("\n", " \\n")); // Force logs onto one line
+        request.done.completeExceptionally(
+            new InfrastructureException(
+                format(
+                    "Job command '%s' of the workspace '%s' execution is failed",
+                    Arrays.toString(request.command), request.workspaceId)));
+      } else {
+        request.done.complete(null);
+      }
+    }
+  }
+
+  /**
+   * Executes the job with the specified command.
+   *
+   * @param jobName the name of the job which is used as the prefix of the pod name
+   * @param command the command to execute
+   * @param requests the number of the requests served by the job
+   * @return logs of the job if the command is failed, {@code null} if it succeeded
+   * @throws InfrastructureException when the job can not be executed
+   */
+  private String execute(
+      String workspaceId, String pvcName, String jobName, String[] command, int requests)
+      throws InfrastructureException {
+    final String podName = generate(jobName + '-', 8);
     final Pod pod = newPod(podName, pvcName, command);
     securityContextProvisioner.provision(pod.getSpec());
 
     KubernetesDeployments deployments = null;
+    boolean succeeded = false;
     try {
       deployments = factory.create(workspaceId).deployments();
       deployments.create(pod);
       final Pod finished = deployments.wait(podName, WAIT_POD_TIMEOUT_MIN, POD_PREDICATE::apply);
       PodStatus finishedStatus = finished.getStatus();
       if (POD_PHASE_FAILED.equals(finishedStatus.getPhase())) {
-        String logs = deployments.getPodLogs(podName);
-        LOG.error(
-            "Job command '{}' execution is failed. Logs: {}",
-            Arrays.toString(command),
-            Strings.nullToEmpty(logs).replace("\n", " \\n")); // Force logs onto one line
+        return Strings.nullToEmpty(deployments.getPodLogs(podName));
       }
-    } catch (InfrastructureException ex) {
-      LOG.error(
-          "Unable to perform '{}' command for the workspace '{}' cause: '{}'",
-          Arrays.toString(command),
-          workspaceId,
-          ex.getMessage());
+      succeeded = true;
+      return null;
     } finally {
+      metrics.increment("pvc.jobs", 1, "result", succeeded ? "success" : "failure");
+      metrics.recordAmount("pvc.jobs.requests", requests);
       if (deployments != null) {
         try {
           deployments.delete(podName);
@@ -195,6 +307,54 @@ public class PVCSubPathHelper {
         .toArray(String[]::new);
   }
 
+  /**
+   * Builds the script which executes all the commands of the batch regardless of their results and
+   * reports indexes of the failed ones, e.g. {@code Failed commands: 0 2}.
+   */
+  private String buildScript(List<Request> requests) {
+    final StringBuilder script = new StringBuilder();
+    for (int i = 0; i < requests.size(); i++) {
+      script
+          .append(Arrays.stream(requests.get(i).command).map(this::quote).collect(joining(" ")))
+          .append(" || failed=\"$failed ")
+          .append(i)
+          .append("\"; ");
+    }
+    return script
+        .append("[ -z \"$failed\" ] || { echo '")
+        .append(FAILED_COMMANDS_PREFIX)
+        .append("'\"$failed\"; exit 1; }")
+        .toString();
+  }
+
+  /**
+   * Finds indexes of the failed commands reported by the batch script, all the commands are
+   * considered failed if the job is failed before the report.
+   */
+  private Set<Integer> findFailedCommands(String logs, int count) {
+    String report = null;
+    for (String line : logs.split("\n")) {
+      if (line.startsWith(FAILED_COMMANDS_PREFIX)) {
+        report = line.substring(FAILED_COMMANDS_PREFIX.length()).trim();
+      }
+    }
+    if (report == null || report.isEmpty()) {
+      return IntStream.range(0, count).boxed().collect(toSet());
+    }
+    return Arrays.stream(report.split("\\s+")).map(Integer::valueOf).collect(toSet());
+  }
+
+  /** Builds the command which executes the given script with the shell. */
+  @VisibleForTesting
+  String[] buildShellCommand(String script) {
+    return Stream.concat(Arrays.stream(SHELL_COMMAND_BASE), Stream.of(script))
+        .toArray(String[]::new);
+  }
+
+  private String quote(String word) {
+    return '\'' + word.replace("'", "'\\''") + '\'';
+  }
+
   @PreDestroy
   void shutdown() {
     if (!executor.isShutdown()) {
@@ -239,6 +399,33 @@ public class PVCSubPathHelper {
         .build();
   }
 
+  /** The commands requested for the same PVC which are executed by a single job. */
+  private static class Batch {
+
+    final String workspaceId;
+    final String pvcName;
+    final List<Request> requests = new ArrayList<>();
+
+    Batch(String workspaceId, String pvcName) {
+      this.workspaceId = workspaceId;
+      this.pvcName = pvcName;
+    }
+  }
+
+  /** The command requested by the workspace. */
+  private static class Request {
+
+    final String workspaceId;
+    final String[] command;
+    final long submittedNanos = System.nanoTime();
+    final CompletableFuture<Void> done = new CompletableFuture<>();
+
+    Request(String workspaceId, String[] command) {
+      this.workspaceId = workspaceId;
+      this.command = command;
+    }
+  }
+
   /** Checks whether pod is Failed or Successfully finished command execution */
   static class JobFinishedPredicate implements Predicate<Pod> {
     @Override
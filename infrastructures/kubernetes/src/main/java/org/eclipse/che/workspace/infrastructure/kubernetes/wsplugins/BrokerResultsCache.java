@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.annotations.Beta;
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
+import org.eclipse.che.api.workspace.server.wsplugins.model.PluginMeta;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps workspace tooling resolved by plugin brokers, so starts of workspaces with the same plugins
+ * don't deploy brokers again.
+ *
+ * <p>Results are addressed by the hash of the sorted plugins ids, versions and urls together with
+ * the images of the brokers which resolve them. Brokers of persistent workspaces also copy plugins
+ * dependencies to the workspace volumes, so their results are reused for the same workspace only,
+ * while results of ephemeral workspaces are shared since brokers are run there as init containers
+ * of the workspace pod anyway.
+ *
+ * <p>Tooling is stored serialized, so callers are free to modify the returned plugins.
+ *
+ * <p>This API is in <b>Beta</b> and is subject to changes or removal.
+ */
+@Beta
+@Singleton
+public class BrokerResultsCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BrokerResultsCache.class);
+
+  private static final String CACHE_READS = "plugin_broker.cache.reads";
+
+  private static final TypeReference<List<ChePlugin>> TOOLING_TYPE =
+      new TypeReference<List<ChePlugin>>() {};
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+  private final Cache<String, String> results;
+  private final Map<String, String> pluginTypeToImage;
+  private final String initBrokerImage;
+  private final InfrastructureMetrics metrics;
+
+  @Inject
+  public BrokerResultsCache(
+      @Named("che.workspace.plugin_broker.images") Map<String, String> pluginTypeToImage,
+      @Named("che.workspace.plugin_broker.init.image") String initBrokerImage,
+      @Named("che.workspace.plugin_broker.cache.ttl_min") long ttlMin,
+      @Named("che.workspace.plugin_broker.cache.max_size") long maxSize,
+      InfrastructureMetrics metrics) {
+    this.pluginTypeToImage = pluginTypeToImage;
+    this.initBrokerImage = initBrokerImage;
+    this.metrics = metrics;
+    this.results =
+        CacheBuilder.newBuilder()
+            .expireAfterWrite(ttlMin, TimeUnit.MINUTES)
+            .maximumSize(ttlMin > 0 ? maxSize : 0)
+            .build();
+  }
+
+  /**
+   * Returns tooling resolved earlier for the given plugins or empty optional if there is no such
+   * result or it is expired.
+   */
+  public Optional<List<ChePlugin>> get(
+      RuntimeIdentity runtimeId, Collection<PluginMeta> pluginsMeta, boolean isEphemeral) {
+    String encodedTooling = results.getIfPresent(key(runtimeId, pluginsMeta, isEphemeral));
+    if (encodedTooling != null) {
+      try {
+        List<ChePlugin> tooling = objectMapper.readValue(encodedTooling, TOOLING_TYPE);
+        metrics.increment(CACHE_READS, 1, "result", "hit");
+        return Optional.of(tooling);
+      } catch (IOException e) {
+        LOG.warn("Failed to read cached plugin broker result. Error: " + e.getMessage(), e);
+      }
+    }
+    metrics.increment(CACHE_READS, 1, "result", "miss");
+    return Optional.empty();
+  }
+
+  /** Stores the tooling resolved by the brokers for the given plugins. */
+  public void put(
+      RuntimeIdentity runtimeId,
+      Collection<PluginMeta> pluginsMeta,
+      boolean isEphemeral,
+      List<ChePlugin> tooling) {
+    try {
+      results.put(
+          key(runtimeId, pluginsMeta, isEphemeral), objectMapper.writeValueAsString(tooling));
+    } catch (JsonProcessingException e) {
+      LOG.warn("Failed to cache plugin broker result. Error: " + e.getMessage(), e);
+    }
+  }
+
+  @VisibleForTesting
+  String key(RuntimeIdentity runtimeId, Collection<PluginMeta> pluginsMeta, boolean isEphemeral) {
+    StringBuilder key = new StringBuilder(initBrokerImage);
+    pluginsMeta
+        .stream()
+        .map(
+            meta ->
+                meta.getId()
+                    + ':'
+                    + meta.getVersion()
+                    + '@'
+                    + meta.getUrl()
+                    + '#'
+                    + pluginTypeToImage.get(meta.getType()))
+        .sorted()
+        .forEach(plugin -> key.append('\n').append(plugin));
+    if (!isEphemeral) {
+      key.append('\n').append(runtimeId.getWorkspaceId());
+    }
+    return Hashing.sha256().hashString(key, UTF_8).toString();
+  }
+}
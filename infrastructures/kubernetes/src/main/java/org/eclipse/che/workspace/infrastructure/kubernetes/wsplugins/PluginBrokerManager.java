@@ -14,6 +14,7 @@ package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
 import com.google.common.annotations.Beta;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
@@ -42,6 +43,9 @@ import org.slf4j.LoggerFactory;
  * Deploys Che plugin broker in a workspace, receives result of its execution and return resolved
  * workspace tooling or error of plugin broker execution.
  *
+ * <p>Resolved tooling is kept in {@link BrokerResultsCache}, brokers are not deployed when the
+ * tooling of the same plugins is already resolved.
+ *
  * <p>This API is in <b>Beta</b> and is subject to changes or removal.
  *
  * @author Oleksandr Garagatyi
@@ -59,6 +63,7 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
   private final BrokerEnvironmentFactory<E> brokerEnvironmentFactory;
   private final KubernetesEnvironmentProvisioner<E> environmentProvisioner;
   private final UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory;
+  private final BrokerResultsCache brokerResultsCache;
 
   @Inject
   public PluginBrokerManager(
@@ -69,6 +74,7 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
       WorkspaceVolumesStrategy volumesStrategy,
       BrokerEnvironmentFactory<E> brokerEnvironmentFactory,
       UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory,
+      BrokerResultsCache brokerResultsCache,
       @Named("che.workspace.plugin_broker.wait_timeout_min") int pluginBrokerWaitingTimeout) {
     this.factory = factory;
     this.eventService = eventService;
@@ -78,6 +84,7 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
     this.environmentProvisioner = environmentProvisioner;
     this.pluginBrokerWaitingTimeout = pluginBrokerWaitingTimeout;
     this.unrecoverablePodEventListenerFactory = unrecoverablePodEventListenerFactory;
+    this.brokerResultsCache = brokerResultsCache;
   }
 
   /**
@@ -96,6 +103,13 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
       throws InfrastructureException {
 
     String workspaceId = runtimeID.getWorkspaceId();
+    Optional<List<ChePlugin>> cachedTooling =
+        brokerResultsCache.get(runtimeID, pluginsMeta, isEphemeral);
+    if (cachedTooling.isPresent()) {
+      LOG.debug("Using cached plugin brokers result for workspace '{}'", workspaceId);
+      return cachedTooling.get();
+    }
+
     KubernetesNamespace kubernetesNamespace = factory.create(workspaceId);
     BrokersResult brokersResult = new BrokersResult();
 
@@ -114,7 +128,9 @@ public class PluginBrokerManager<E extends KubernetesEnvironment> {
             runtimeID.getWorkspaceId(), kubernetesNamespace, brokerEnvironment, brokersResult);
     LOG.debug("Entering plugin brokers deployment chain workspace '{}'", workspaceId);
     listenBrokerEvents.then(prepareStorage).then(deployBroker).then(waitBrokerResult);
-    return listenBrokerEvents.execute();
+    List<ChePlugin> tooling = listenBrokerEvents.execute();
+    brokerResultsCache.put(runtimeID, pluginsMeta, isEphemeral, tooling);
+    return tooling;
   }
 
   private ListenBrokerEvents getListenEventPhase(String workspaceId, BrokersResult brokersResult) {
@@ -13,7 +13,8 @@ package org.eclipse.che.workspace.infrastructure.kubernetes;
 
 import static java.util.Collections.emptyMap;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
@@ -27,12 +28,15 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.api.workspace.server.spi.InternalRuntime;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.KubernetesSharedPool;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.RuntimeEventsPublisher;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -53,6 +57,7 @@ public class InconsistentRuntimesDetectorTest {
 
   @Mock private RuntimeEventsPublisher eventPublisher;
   @Mock private WorkspaceRuntimes workspaceRuntimes;
+  @Mock private InfrastructureMetrics metrics;
 
   @Mock private KubernetesInternalRuntime k8sRuntime;
   @Mock private KubernetesRuntimeContext k8sContext;
@@ -62,7 +67,9 @@ public class InconsistentRuntimesDetectorTest {
   @BeforeMethod
   public void setUp() throws Exception {
     inconsistentRuntimesDetector =
-        spy(new InconsistentRuntimesDetector(eventPublisher, workspaceRuntimes));
+        spy(
+            new InconsistentRuntimesDetector(
+                eventPublisher, workspaceRuntimes, new KubernetesSharedPool(), metrics, 2));
     lenient().when(k8sRuntime.getContext()).thenReturn(k8sContext);
     lenient().when(k8sContext.getIdentity()).thenReturn(runtimeId);
 
@@ -74,7 +81,7 @@ public class InconsistentRuntimesDetectorTest {
     // given
     when(workspaceRuntimes.getRunning())
         .thenReturn(ImmutableSet.of("workspace1", "workspace2", "workspace3"));
-    doNothing().when(inconsistentRuntimesDetector).checkOne(any());
+    doReturn(false).when(inconsistentRuntimesDetector).checkOne(any());
 
     // when
     inconsistentRuntimesDetector.check();
@@ -104,6 +111,32 @@ public class InconsistentRuntimesDetectorTest {
     verify(inconsistentRuntimesDetector).checkOne("workspace3");
   }
 
+  @Test
+  public void shouldRecordPassOfConsistencyCheck() throws Exception {
+    // given
+    when(workspaceRuntimes.getRunning())
+        .thenReturn(ImmutableSet.of("workspace1", "workspace2", "workspace3"));
+    doReturn(false).when(inconsistentRuntimesDetector).checkOne(any());
+    doReturn(true).when(inconsistentRuntimesDetector).checkOne("workspace2");
+
+    // when
+    inconsistentRuntimesDetector.check();
+
+    // then
+    verify(metrics)
+        .recordTime(
+            eq("reconciliation.pass"),
+            anyLong(),
+            eq(TimeUnit.NANOSECONDS),
+            eq("reconciler"),
+            eq("kubernetes-runtimes-consistency"));
+    verify(metrics)
+        .increment("reconciliation.checked", 3, "reconciler", "kubernetes-runtimes-consistency");
+    verify(metrics)
+        .increment(
+            "reconciliation.remediations", 1, "reconciler", "kubernetes-runtimes-consistency");
+  }
+
   @Test
   public void shouldDoNothingIfRuntimeHasConsistentStateOnChecking() throws Exception {
     // given
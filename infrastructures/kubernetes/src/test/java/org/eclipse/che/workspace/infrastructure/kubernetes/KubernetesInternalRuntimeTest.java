@@ -78,6 +78,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -99,6 +100,7 @@ import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.api.workspace.server.spi.InternalInfrastructureException;
 import org.eclipse.che.api.workspace.server.spi.RuntimeStartInterruptedException;
 import org.eclipse.che.api.workspace.server.spi.StateException;
@@ -196,6 +198,7 @@ public class KubernetesInternalRuntimeTest {
   @Mock private KubernetesServerResolver kubernetesServerResolver;
   @Mock private InternalEnvironmentProvisioner internalEnvironmentProvisioner;
   @Mock private RuntimeHangingDetector runtimeHangingDetector;
+  @Mock private InfrastructureMetrics metrics;
 
   @Mock
   private KubernetesEnvironmentProvisioner<KubernetesEnvironment> kubernetesEnvironmentProvisioner;
@@ -245,6 +248,7 @@ public class KubernetesInternalRuntimeTest {
         new KubernetesInternalRuntime<>(
             13,
             5,
+            5,
             new URLRewriter.NoOpURLRewriter(),
             unrecoverablePodEventListenerFactory,
             bootstrapperFactory,
@@ -261,6 +265,7 @@ public class KubernetesInternalRuntimeTest {
             kubernetesEnvironmentProvisioner,
             toolingProvisioner,
             runtimeHangingDetector,
+            metrics,
             tracer,
             context,
             namespace);
@@ -404,6 +409,110 @@ public class KubernetesInternalRuntimeTest {
     verify(namespace.deployments(), times(1)).stopWatch();
   }
 
+  @Test(timeOut = 10_000)
+  public void createsPodsWhileWaitingForIngressesToBeReady() throws Exception {
+    final CountDownLatch podsCreated = new CountDownLatch(1);
+    final Ingress ingress = mockIngress();
+    when(deployments.deploy(any(Pod.class)))
+        .thenAnswer(
+            a -> {
+              podsCreated.countDown();
+              return a.getArguments()[0];
+            });
+    when(ingresses.wait(anyString(), anyLong(), any(), any()))
+        .thenAnswer(
+            a -> {
+              assertTrue(podsCreated.await(5, TimeUnit.SECONDS));
+              return ingress;
+            });
+
+    internalRuntime.start(emptyMap());
+
+    verify(deployments).deploy(any(Pod.class));
+    verify(ingresses).wait(eq(INGRESS_NAME), anyLong(), any(), any());
+    verifyOrderedEventsChains(
+        new MachineStatusEvent[] {newEvent(M1_NAME, STARTING), newEvent(M1_NAME, RUNNING)},
+        new MachineStatusEvent[] {newEvent(M2_NAME, STARTING), newEvent(M2_NAME, RUNNING)});
+  }
+
+  @Test(timeOut = 10_000)
+  public void interruptsWaitingForIngressesWhenStartFails() throws Exception {
+    final CountDownLatch waitStarted = new CountDownLatch(1);
+    final CountDownLatch waitInterrupted = new CountDownLatch(1);
+    when(ingresses.wait(anyString(), anyLong(), any(), any()))
+        .thenAnswer(
+            a -> {
+              waitStarted.countDown();
+              try {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+              } catch (InterruptedException ex) {
+                waitInterrupted.countDown();
+              }
+              throw new InfrastructureException("Waiting for ingress was interrupted");
+            });
+    when(services.create(any()))
+        .thenAnswer(
+            a -> {
+              assertTrue(waitStarted.await(5, TimeUnit.SECONDS));
+              throw new InfrastructureException("service creation failed");
+            });
+
+    try {
+      internalRuntime.start(emptyMap());
+      fail("Start must fail");
+    } catch (InfrastructureException expected) {
+      // service creation failed
+    }
+
+    assertTrue(waitInterrupted.await(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void recordsDurationsOfStartPhases() throws Exception {
+    internalRuntime.start(emptyMap());
+
+    for (String phase :
+        ImmutableList.of(
+            KubernetesInternalRuntime.CREATE_SECRETS_PHASE,
+            KubernetesInternalRuntime.CREATE_CONFIG_MAPS_PHASE,
+            KubernetesInternalRuntime.CREATE_SERVICES_PHASE,
+            KubernetesInternalRuntime.CREATE_INGRESSES_PHASE,
+            KubernetesInternalRuntime.WAIT_INGRESSES_PHASE,
+            KubernetesInternalRuntime.CREATE_PODS_PHASE,
+            KubernetesInternalRuntime.CREATE_DEPLOYMENTS_PHASE)) {
+      verify(metrics)
+          .recordTime(
+              eq("start.phase"),
+              anyLong(),
+              eq(TimeUnit.NANOSECONDS),
+              eq("phase"),
+              eq(phase),
+              eq("result"),
+              eq("success"));
+    }
+  }
+
+  @Test(expectedExceptions = InfrastructureException.class)
+  public void recordsFailedStartPhase() throws Exception {
+    when(services.create(any())).thenThrow(new InfrastructureException("service creation failed"));
+
+    try {
+      internalRuntime.start(emptyMap());
+    } catch (InfrastructureException rethrow) {
+      verify(metrics)
+          .recordTime(
+              eq("start.phase"),
+              anyLong(),
+              eq(TimeUnit.NANOSECONDS),
+              eq("phase"),
+              eq(KubernetesInternalRuntime.CREATE_SERVICES_PHASE),
+              eq("result"),
+              eq("failure"));
+      verify(deployments, never()).deploy(any(Pod.class));
+      throw rethrow;
+    }
+  }
+
   @Test
   public void startKubernetesEnvironmentWithDeploymentsInsteadOfPods() throws Exception {
     when(k8sEnv.getPodsCopy()).thenReturn(emptyMap());
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.cache.jpa;
+
+import static org.eclipse.che.workspace.infrastructure.kubernetes.cache.tck.TestObjects.createMachine;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.cache.tck.TestObjects.createServer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.model.workspace.runtime.ServerStatus;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesMachineImpl;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link InMemoryKubernetesMachineCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class InMemoryKubernetesMachineCacheTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final String MACHINE_NAME = "machine";
+  private static final String SERVER_NAME = "server";
+  private static final RuntimeIdentity IDENTITY =
+      new RuntimeIdentityImpl(WORKSPACE_ID, "env", "owner");
+
+  @Mock private JpaKubernetesMachineCache delegate;
+  @Mock private InfrastructureMetrics metrics;
+
+  private InMemoryKubernetesMachineCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    cache = new InMemoryKubernetesMachineCache(delegate, metrics, 60);
+    KubernetesMachineImpl machine =
+        createMachine(
+            WORKSPACE_ID,
+            MACHINE_NAME,
+            MachineStatus.STARTING,
+            ImmutableMap.of(SERVER_NAME, createServer(ServerStatus.UNKNOWN)));
+    when(delegate.getMachines(IDENTITY)).thenReturn(ImmutableMap.of(MACHINE_NAME, machine));
+  }
+
+  @Test
+  public void servesMachinesFromMemoryAfterTheyAreLoaded() throws Exception {
+    Map<String, KubernetesMachineImpl> first = cache.getMachines(IDENTITY);
+    Map<String, KubernetesMachineImpl> second = cache.getMachines(IDENTITY);
+
+    verify(delegate).getMachines(IDENTITY);
+    assertEquals(second, first);
+    assertNotSame(second.get(MACHINE_NAME), first.get(MACHINE_NAME));
+    verify(metrics)
+        .increment(
+            "runtime.cache.reads",
+            1,
+            "cache",
+            InMemoryKubernetesMachineCache.CACHE_NAME,
+            "result",
+            "hit");
+  }
+
+  @Test
+  public void loadsMachinesAgainWhenTheyAreExpired() throws Exception {
+    cache = new InMemoryKubernetesMachineCache(delegate, metrics, 0);
+
+    cache.getMachines(IDENTITY);
+    cache.getMachines(IDENTITY);
+
+    verify(delegate, times(2)).getMachines(IDENTITY);
+  }
+
+  @Test
+  public void writesUnchangedServerStatusThroughToDatabase() throws Exception {
+    // the status may be already changed in the database by another instance
+    cache.getMachines(IDENTITY);
+
+    boolean updated =
+        cache.updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.UNKNOWN);
+
+    assertFalse(updated);
+    verify(delegate).updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.UNKNOWN);
+    verify(metrics)
+        .increment(
+            "runtime.cache.writes",
+            1,
+            "cache",
+            InMemoryKubernetesMachineCache.CACHE_NAME,
+            "result",
+            "written");
+  }
+
+  @Test
+  public void writesServerStatusThroughToDatabase() throws Exception {
+    cache.getMachines(IDENTITY);
+    when(delegate.updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.RUNNING))
+        .thenReturn(true, false);
+
+    boolean updated =
+        cache.updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.RUNNING);
+
+    assertTrue(updated);
+    assertEquals(
+        cache.getServer(IDENTITY, MACHINE_NAME, SERVER_NAME).getStatus(), ServerStatus.RUNNING);
+    assertFalse(
+        cache.updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.RUNNING));
+    verify(delegate, times(2))
+        .updateServerStatus(IDENTITY, MACHINE_NAME, SERVER_NAME, ServerStatus.RUNNING);
+    verify(delegate).getMachines(IDENTITY);
+  }
+
+  @Test
+  public void writesMachineStatusThroughToDatabase() throws Exception {
+    cache.getMachines(IDENTITY);
+
+    cache.updateMachineStatus(IDENTITY, MACHINE_NAME, MachineStatus.RUNNING);
+    cache.updateMachineStatus(IDENTITY, MACHINE_NAME, MachineStatus.RUNNING);
+
+    verify(delegate, times(2)).updateMachineStatus(IDENTITY, MACHINE_NAME, MachineStatus.RUNNING);
+    verify(delegate).getMachines(IDENTITY);
+    assertEquals(
+        cache.getMachines(IDENTITY).get(MACHINE_NAME).getStatus(), MachineStatus.RUNNING);
+  }
+
+  @Test
+  public void evictsMachinesWhenUpdateFails() throws Exception {
+    cache.getMachines(IDENTITY);
+    doThrow(new InfrastructureException("error"))
+        .when(delegate)
+        .updateMachineStatus(IDENTITY, MACHINE_NAME, MachineStatus.RUNNING);
+
+    try {
+      cache.updateMachineStatus(IDENTITY, MACHINE_NAME, MachineStatus.RUNNING);
+    } catch (InfrastructureException expected) {
+    }
+    cache.getMachines(IDENTITY);
+
+    verify(delegate, times(2)).getMachines(IDENTITY);
+  }
+
+  @Test(
+      expectedExceptions = InfrastructureException.class,
+      expectedExceptionsMessageRegExp = "Server with name 'missing' was not found")
+  public void throwsExceptionWhenServerIsNotFound() throws Exception {
+    cache.getServer(IDENTITY, MACHINE_NAME, "missing");
+  }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.cache.jpa;
+
+import static java.util.Collections.emptyList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.util.Optional;
+import java.util.function.Consumer;
+import javax.persistence.OptimisticLockException;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.workspace.infrastructure.kubernetes.model.KubernetesRuntimeState;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link InMemoryKubernetesRuntimeStateCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class InMemoryKubernetesRuntimeStateCacheTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final RuntimeIdentity IDENTITY =
+      new RuntimeIdentityImpl(WORKSPACE_ID, "env", "owner");
+
+  @Mock private JpaKubernetesRuntimeStateCache delegate;
+  @Mock private InMemoryKubernetesMachineCache machineCache;
+  @Mock private EventService eventService;
+  @Mock private InfrastructureMetrics metrics;
+
+  private InMemoryKubernetesRuntimeStateCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    cache =
+        new InMemoryKubernetesRuntimeStateCache(
+            delegate, machineCache, eventService, metrics, 60);
+  }
+
+  @Test
+  public void servesStatusFromMemoryAfterStateIsLoaded() throws Exception {
+    when(delegate.get(IDENTITY)).thenReturn(Optional.of(state(WorkspaceStatus.STARTING, 1)));
+
+    assertEquals(cache.getStatus(IDENTITY), Optional.of(WorkspaceStatus.STARTING));
+    assertEquals(cache.getStatus(IDENTITY), Optional.of(WorkspaceStatus.STARTING));
+
+    verify(delegate).get(IDENTITY);
+    verify(metrics)
+        .increment(
+            "runtime.cache.reads",
+            1,
+            "cache",
+            InMemoryKubernetesRuntimeStateCache.CACHE_NAME,
+            "result",
+            "hit");
+  }
+
+  @Test
+  public void loadsStateAgainWhenItIsExpired() throws Exception {
+    cache =
+        new InMemoryKubernetesRuntimeStateCache(delegate, machineCache, eventService, metrics, 0);
+    when(delegate.get(IDENTITY)).thenReturn(Optional.of(state(WorkspaceStatus.STARTING, 1)));
+
+    cache.getStatus(IDENTITY);
+    cache.getStatus(IDENTITY);
+
+    verify(delegate, times(2)).get(IDENTITY);
+  }
+
+  @Test
+  public void doesNotCacheMissingState() throws Exception {
+    when(delegate.get(IDENTITY)).thenReturn(Optional.empty());
+
+    assertFalse(cache.getStatus(IDENTITY).isPresent());
+    assertFalse(cache.getStatus(IDENTITY).isPresent());
+
+    verify(delegate, times(2)).get(IDENTITY);
+  }
+
+  @Test
+  public void servesStatusWrittenThroughToDatabase() throws Exception {
+    when(delegate.get(IDENTITY)).thenReturn(Optional.of(state(WorkspaceStatus.STARTING, 1)));
+    when(delegate.doUpdate(eq(IDENTITY), eq(1L), any()))
+        .thenReturn(state(WorkspaceStatus.RUNNING, 2));
+    cache.getStatus(IDENTITY);
+
+    cache.updateStatus(IDENTITY, WorkspaceStatus.RUNNING);
+
+    assertEquals(cache.getStatus(IDENTITY), Optional.of(WorkspaceStatus.RUNNING));
+    verify(delegate).get(IDENTITY);
+    // machines are evicted only once when the state is loaded
+    verify(machineCache).evict(WORKSPACE_ID);
+  }
+
+  @Test
+  public void retriesUpdateAgainstStateModifiedByAnotherInstance() throws Exception {
+    // another instance has modified the state twice since it was cached
+    when(delegate.get(IDENTITY))
+        .thenReturn(
+            Optional.of(state(WorkspaceStatus.STARTING, 1)),
+            Optional.of(state(WorkspaceStatus.STOPPING, 3)));
+    when(delegate.doUpdate(eq(IDENTITY), eq(1L), any()))
+        .thenThrow(new OptimisticLockException("outdated"));
+    when(delegate.doUpdate(eq(IDENTITY), eq(3L), any()))
+        .thenReturn(state(WorkspaceStatus.STOPPED, 4));
+    cache.getStatus(IDENTITY);
+    verify(machineCache).evict(WORKSPACE_ID);
+
+    cache.updateStatus(IDENTITY, WorkspaceStatus.STOPPED);
+
+    assertEquals(cache.getStatus(IDENTITY), Optional.of(WorkspaceStatus.STOPPED));
+    verify(delegate, times(2)).get(IDENTITY);
+    verify(delegate).doUpdate(eq(IDENTITY), eq(3L), any());
+    verify(machineCache, times(2)).evict(WORKSPACE_ID);
+  }
+
+  @Test
+  public void evictsStateWhenPredicateDoesNotMatchStatusInDatabase() throws Exception {
+    when(delegate.get(IDENTITY)).thenReturn(Optional.of(state(WorkspaceStatus.STARTING, 1)));
+    when(delegate.doUpdate(eq(IDENTITY), eq(1L), any()))
+        .thenAnswer(
+            invocation -> {
+              // the status is already changed in the database
+              KubernetesRuntimeState stored = state(WorkspaceStatus.STOPPING, 1);
+              invocation.<Consumer<KubernetesRuntimeState>>getArgument(2).accept(stored);
+              return stored;
+            });
+    cache.getStatus(IDENTITY);
+
+    boolean updated =
+        cache.updateStatus(IDENTITY, s -> s == WorkspaceStatus.STARTING, WorkspaceStatus.RUNNING);
+
+    assertFalse(updated);
+    cache.getStatus(IDENTITY);
+    verify(delegate, times(2)).get(IDENTITY);
+  }
+
+  @Test
+  public void evictsStateAndMachinesWhenRuntimeIsRemoved() throws Exception {
+    when(delegate.get(IDENTITY)).thenReturn(Optional.of(state(WorkspaceStatus.STOPPING, 1)));
+    cache.getStatus(IDENTITY);
+
+    cache.remove(IDENTITY);
+    cache.getStatus(IDENTITY);
+
+    verify(delegate).remove(IDENTITY);
+    verify(delegate, times(2)).get(IDENTITY);
+  }
+
+  private KubernetesRuntimeState state(WorkspaceStatus status, long version) {
+    KubernetesRuntimeState state = mock(KubernetesRuntimeState.class);
+    lenient().when(state.getRuntimeId()).thenReturn(IDENTITY);
+    lenient().when(state.getNamespace()).thenReturn("namespace");
+    lenient().when(state.getStatus()).thenReturn(status);
+    lenient().when(state.getCommands()).thenReturn(emptyList());
+    lenient().when(state.getVersion()).thenReturn(version);
+    return state;
+  }
+}
@@ -18,6 +18,7 @@ import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_
 import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.POD_STATUS_PHASE_SUCCEEDED;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
@@ -62,6 +63,8 @@ import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.event.PodEventHandler;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.SharedInformer;
 import org.eclipse.che.workspace.infrastructure.kubernetes.util.PodEvents;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
@@ -98,6 +101,10 @@ public class KubernetesDeploymentsTest {
   @Mock private MixedOperation podsMixedOperation;
   @Mock private NonNamespaceOperation podsNamespaceOperation;
 
+  @Mock private KubernetesSharedInformers informers;
+  @Mock private SharedInformer<Pod> podInformer;
+  @Mock private Watch podInformerWatch;
+
   @Captor private ArgumentCaptor<Watcher<Pod>> watcherCaptor;
 
   // Event Mocks
@@ -158,7 +165,13 @@ public class KubernetesDeploymentsTest {
     futureDate.setYear(3000);
     when(event.getLastTimestamp()).thenReturn(PodEvents.convertDateToEventTimestamp(futureDate));
 
-    kubernetesDeployments = new KubernetesDeployments("namespace", "workspace123", clientFactory);
+    // Model informer: informers.get(Pod.class, ...).subscribe(...)
+    lenient().doReturn(podInformer).when(informers).get(eq(Pod.class), anyString(), any());
+    lenient().doReturn(podInformerWatch).when(podInformer).subscribe(any());
+    lenient().doReturn(podInformerWatch).when(podInformer).subscribe(anyString(), any());
+
+    kubernetesDeployments =
+        new KubernetesDeployments("namespace", "workspace123", clientFactory, informers);
   }
 
   @Test
@@ -242,7 +255,7 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(podInformer).subscribe(eq(POD_NAME), watcherCaptor.capture());
     Watcher<Pod> watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -257,7 +270,7 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(podInformer).subscribe(eq(POD_NAME), watcherCaptor.capture());
     Watcher<Pod> watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -281,7 +294,7 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(podInformer).subscribe(eq(POD_NAME), watcherCaptor.capture());
     Watcher<Pod> watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -305,7 +318,7 @@ public class KubernetesDeploymentsTest {
     CompletableFuture future = kubernetesDeployments.waitRunningAsync(POD_NAME);
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(podInformer).subscribe(eq(POD_NAME), watcherCaptor.capture());
     Watcher<Pod> watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -332,7 +345,7 @@ public class KubernetesDeploymentsTest {
         .create(anyString());
 
     // when
-    verify(podResource).watch(watcherCaptor.capture());
+    verify(podInformer).subscribe(eq(POD_NAME), watcherCaptor.capture());
     Watcher<Pod> watcher = watcherCaptor.getValue();
     watcher.eventReceived(Watcher.Action.MODIFIED, pod);
 
@@ -401,7 +414,9 @@ public class KubernetesDeploymentsTest {
     Watch watch = mock(Watch.class);
     doReturn(watch).when(podResource).watch(any());
 
-    new KubernetesDeployments("", "", clientFactory).doDeletePod(POD_NAME).get(5, TimeUnit.SECONDS);
+    new KubernetesDeployments("", "", clientFactory, informers)
+        .doDeletePod(POD_NAME)
+        .get(5, TimeUnit.SECONDS);
 
     verify(watch).close();
   }
@@ -416,7 +431,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory)
+      new KubernetesDeployments("", "", clientFactory, informers)
           .doDeletePod(POD_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (KubernetesInfrastructureException e) {
@@ -436,7 +451,7 @@ public class KubernetesDeploymentsTest {
     Watch watch = mock(Watch.class);
     doReturn(watch).when(podResource).watch(any());
 
-    new KubernetesDeployments("", "", clientFactory)
+    new KubernetesDeployments("", "", clientFactory, informers)
         .doDeleteDeployment(DEPLOYMENT_NAME)
         .get(5, TimeUnit.SECONDS);
 
@@ -454,7 +469,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory)
+      new KubernetesDeployments("", "", clientFactory, informers)
           .doDeleteDeployment(DEPLOYMENT_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (KubernetesInfrastructureException e) {
@@ -475,7 +490,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory)
+      new KubernetesDeployments("", "", clientFactory, informers)
           .doDeletePod(POD_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (RuntimeException e) {
@@ -494,7 +509,7 @@ public class KubernetesDeploymentsTest {
     doReturn(watch).when(podResource).watch(any());
 
     try {
-      new KubernetesDeployments("", "", clientFactory)
+      new KubernetesDeployments("", "", clientFactory, informers)
           .doDeleteDeployment(DEPLOYMENT_NAME)
           .get(5, TimeUnit.SECONDS);
     } catch (RuntimeException e) {
@@ -38,6 +38,7 @@ import io.fabric8.kubernetes.client.dsl.NonNamespaceOperation;
 import io.fabric8.kubernetes.client.dsl.Resource;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesClientFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
 import org.mockito.Mock;
 import org.mockito.stubbing.Answer;
 import org.mockito.testng.MockitoTestNGListener;
@@ -63,6 +64,7 @@ public class KubernetesNamespaceTest {
   @Mock private KubernetesSecrets secrets;
   @Mock private KubernetesConfigsMaps configMaps;
   @Mock private KubernetesClientFactory clientFactory;
+  @Mock private KubernetesSharedInformers informers;
   @Mock private KubernetesClient kubernetesClient;
   @Mock private NonNamespaceOperation namespaceOperation;
   @Mock private Resource<ServiceAccount, DoneableServiceAccount> serviceAccountResource;
@@ -99,7 +101,8 @@ public class KubernetesNamespaceTest {
   public void testKubernetesNamespacePreparingWhenNamespaceExists() throws Exception {
     // given
     prepareNamespace(NAMESPACE);
-    KubernetesNamespace namespace = new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    KubernetesNamespace namespace =
+        new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare();
@@ -112,7 +115,8 @@ public class KubernetesNamespaceTest {
 
     Resource resource = prepareNamespaceResource(NAMESPACE);
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
-    KubernetesNamespace namespace = new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID);
+    KubernetesNamespace namespace =
+        new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID);
 
     // when
     namespace.prepare();
@@ -162,7 +166,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     doThrow(KubernetesClientException.class).when(kubernetesClient).serviceAccounts();
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -173,7 +177,7 @@ public class KubernetesNamespaceTest {
     doThrow(new KubernetesClientException("error", 403, null)).when(resource).get();
     when(serviceAccountResource.get()).thenReturn(null);
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test(expectedExceptions = InfrastructureException.class)
@@ -192,7 +196,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
   }
 
   @Test
@@ -210,7 +214,7 @@ public class KubernetesNamespaceTest {
         .when(serviceAccountResource)
         .watch(any());
 
-    new KubernetesNamespace(clientFactory, NAMESPACE, WORKSPACE_ID).prepare();
+    new KubernetesNamespace(clientFactory, informers, NAMESPACE, WORKSPACE_ID).prepare();
 
     verify(serviceAccountResource).get();
     verify(serviceAccountResource).watch(any());
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.Constants.CHE_WORKSPACE_ID_LABEL;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link SharedInformer}.
+ *
+ * <p>Kubernetes API is replaced with {@link ListerWatcher} which returns the configured list and
+ * captures the watcher of the informer.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class SharedInformerTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+
+  @Mock private ListerWatcher<Pod> listerWatcher;
+  @Mock private ScheduledExecutorService executor;
+  @Mock private Watch watch;
+  @Mock private Watcher<Pod> subscriber;
+
+  @Captor private ArgumentCaptor<Watcher<Pod>> informerWatcherCaptor;
+  @Captor private ArgumentCaptor<Runnable> relistCaptor;
+
+  private SharedInformer<Pod> informer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(listerWatcher.watch(any(), any())).thenReturn(watch);
+    informer = new SharedInformer<>("pods", listerWatcher, executor, 0, 1000);
+  }
+
+  @Test
+  public void shouldListAndWatchObjectsOnFirstAcquire() throws Exception {
+    Pod pod1 = pod("pod1", "1", WORKSPACE_ID);
+    Pod pod2 = pod("pod2", "2", "other");
+    when(listerWatcher.list()).thenReturn(list("10", pod1, pod2));
+
+    assertTrue(informer.acquire());
+    assertTrue(informer.acquire());
+
+    verify(listerWatcher).list();
+    verify(listerWatcher).watch(eq("10"), any());
+    assertTrue(informer.isSynced());
+    assertEquals(informer.get("pod1"), pod1);
+    assertEquals(informer.list().size(), 2);
+    assertEquals(informer.list(WORKSPACE_ID), singletonList(pod1));
+  }
+
+  @Test
+  public void shouldDispatchWatchEventsToSubscribersOfObject() throws Exception {
+    when(listerWatcher.list()).thenReturn(list("10"));
+    informer.acquire();
+    verify(listerWatcher).watch(eq("10"), informerWatcherCaptor.capture());
+    Watcher<Pod> otherSubscriber = newSubscriber();
+    informer.subscribe("pod1", subscriber);
+    informer.subscribe("pod2", otherSubscriber);
+    Pod pod = pod("pod1", "11", WORKSPACE_ID);
+
+    informerWatcherCaptor.getValue().eventReceived(Action.ADDED, pod);
+
+    verify(subscriber).eventReceived(Action.ADDED, pod);
+    verify(otherSubscriber, never()).eventReceived(any(), any());
+    assertEquals(informer.get("pod1"), pod);
+    assertEquals(informer.list(WORKSPACE_ID), singletonList(pod));
+  }
+
+  @Test
+  public void shouldRemoveObjectFromStoreOnDeletedEvent() throws Exception {
+    Pod pod = pod("pod1", "1", WORKSPACE_ID);
+    when(listerWatcher.list()).thenReturn(list("10", pod));
+    informer.acquire();
+    verify(listerWatcher).watch(eq("10"), informerWatcherCaptor.capture());
+    informer.subscribe(subscriber);
+
+    informerWatcherCaptor.getValue().eventReceived(Action.DELETED, pod);
+
+    verify(subscriber).eventReceived(Action.DELETED, pod);
+    assertNull(informer.get("pod1"));
+    assertTrue(informer.list(WORKSPACE_ID).isEmpty());
+  }
+
+  @Test
+  public void shouldNotDispatchEventsToClosedSubscription() throws Exception {
+    when(listerWatcher.list()).thenReturn(list("10"));
+    informer.acquire();
+    verify(listerWatcher).watch(eq("10"), informerWatcherCaptor.capture());
+
+    informer.subscribe(subscriber).close();
+    informerWatcherCaptor.getValue().eventReceived(Action.ADDED, pod("pod1", "1", WORKSPACE_ID));
+
+    verifyNoMoreInteractions(subscriber);
+  }
+
+  @Test
+  public void shouldRelistAndDispatchDifferencesWhenWatchIsClosed() throws Exception {
+    Pod removed = pod("removed", "1", WORKSPACE_ID);
+    Pod unchanged = pod("unchanged", "2", WORKSPACE_ID);
+    Pod modified = pod("modified", "3", WORKSPACE_ID);
+    when(listerWatcher.list()).thenReturn(list("10", removed, unchanged, modified));
+    informer.acquire();
+    verify(listerWatcher).watch(eq("10"), informerWatcherCaptor.capture());
+    Watcher<Pod> closedWatcher = informerWatcherCaptor.getValue();
+    informer.subscribe(subscriber);
+
+    Pod newModified = pod("modified", "13", WORKSPACE_ID);
+    Pod added = pod("added", "14", WORKSPACE_ID);
+    when(listerWatcher.list()).thenReturn(list("20", unchanged, newModified, added));
+    closedWatcher.onClose(null);
+    assertFalse(informer.isSynced());
+    verify(executor).schedule(relistCaptor.capture(), eq(1000L), eq(TimeUnit.MILLISECONDS));
+    relistCaptor.getValue().run();
+
+    verify(listerWatcher).watch(eq("20"), any());
+    verify(subscriber).eventReceived(Action.DELETED, removed);
+    verify(subscriber).eventReceived(Action.MODIFIED, newModified);
+    verify(subscriber).eventReceived(Action.ADDED, added);
+    verifyNoMoreInteractions(subscriber);
+    assertTrue(informer.isSynced());
+    assertEquals(informer.list(WORKSPACE_ID).size(), 3);
+
+    // events of the closed watch are ignored
+    closedWatcher.eventReceived(Action.DELETED, unchanged);
+    assertEquals(informer.get("unchanged"), unchanged);
+  }
+
+  @Test
+  public void shouldScheduleResyncWhenPeriodIsConfigured() throws Exception {
+    informer = new SharedInformer<>("pods", listerWatcher, executor, 60_000, 1000);
+    when(listerWatcher.list()).thenReturn(list("10"));
+
+    informer.acquire();
+
+    verify(executor)
+        .scheduleWithFixedDelay(any(), eq(60_000L), eq(60_000L), eq(TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  public void shouldStopIdleInformerAndCloseWatch() throws Exception {
+    when(listerWatcher.list()).thenReturn(list("10", pod("pod1", "1", WORKSPACE_ID)));
+    informer.acquire();
+
+    assertTrue(informer.stopIfIdle(System.currentTimeMillis() + 1000, 1000));
+
+    verify(watch).close();
+    assertFalse(informer.isSynced());
+    assertNull(informer.get("pod1"));
+    assertFalse(informer.acquire());
+  }
+
+  @Test
+  public void shouldNotStopInformerWithSubscribers() throws Exception {
+    when(listerWatcher.list()).thenReturn(list("10"));
+    informer.acquire();
+    informer.subscribe(subscriber);
+
+    assertFalse(informer.stopIfIdle(System.currentTimeMillis() + 1000, 1000));
+
+    verify(watch, never()).close();
+    verify(executor, never()).schedule(any(Runnable.class), anyLong(), any());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Watcher<Pod> newSubscriber() {
+    return mock(Watcher.class);
+  }
+
+  private static Pod pod(String name, String resourceVersion, String workspaceId) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withResourceVersion(resourceVersion)
+        .addToLabels(CHE_WORKSPACE_ID_LABEL, workspaceId)
+        .endMetadata()
+        .build();
+  }
+
+  private static PodList list(String resourceVersion, Pod... pods) {
+    return new PodListBuilder()
+        .withNewMetadata()
+        .withResourceVersion(resourceVersion)
+        .endMetadata()
+        .withItems(asList(pods))
+        .build();
+  }
+}
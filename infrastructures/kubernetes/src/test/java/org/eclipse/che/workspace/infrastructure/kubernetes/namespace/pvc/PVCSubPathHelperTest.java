@@ -12,21 +12,30 @@
 package org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc;
 
 import static com.google.common.collect.ImmutableMap.of;
+import static java.lang.String.format;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.FAILED_COMMANDS_PREFIX;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.JOB_MOUNT_PATH;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.MKDIR_COMMAND_BASE;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_FAILED;
 import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.POD_PHASE_SUCCEEDED;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.RM_COMMAND_BASE;
+import static org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.PVCSubPathHelper.SHELL_COMMAND_BASE;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import io.fabric8.kubernetes.api.model.Pod;
 import io.fabric8.kubernetes.api.model.PodStatus;
@@ -35,8 +44,11 @@ import io.fabric8.kubernetes.api.model.ResourceRequirements;
 import io.fabric8.kubernetes.api.model.ResourceRequirementsBuilder;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesDeployments;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespace;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
@@ -70,6 +82,7 @@ public class PVCSubPathHelperTest {
   @Mock private KubernetesDeployments osDeployments;
   @Mock private Pod pod;
   @Mock private PodStatus podStatus;
+  @Mock private InfrastructureMetrics metrics;
 
   @Captor private ArgumentCaptor<Pod> podCaptor;
 
@@ -79,7 +92,12 @@ public class PVCSubPathHelperTest {
   public void setup() throws Exception {
     pvcSubPathHelper =
         new PVCSubPathHelper(
-            jobMemoryLimit, jobImage, k8sNamespaceFactory, securityContextProvisioner);
+            jobMemoryLimit,
+            jobImage,
+            0,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
     lenient().when(k8sNamespaceFactory.create(anyString())).thenReturn(k8sNamespace);
     lenient().when(k8sNamespace.deployments()).thenReturn(osDeployments);
     lenient().when(pod.getStatus()).thenReturn(podStatus);
@@ -146,14 +164,14 @@ public class PVCSubPathHelperTest {
   public void testLogErrorWhenJobExecutionFailed() throws Exception {
     when(podStatus.getPhase()).thenReturn(POD_PHASE_FAILED);
 
-    pvcSubPathHelper.execute(
-        WORKSPACE_ID, PVC_NAME, MKDIR_COMMAND_BASE, WORKSPACE_ID + PROJECTS_PATH);
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
 
     verify(osDeployments).create(any());
     verify(osDeployments).wait(anyString(), anyInt(), any());
     verify(podStatus).getPhase();
     verify(osDeployments).getPodLogs(any());
     verify(osDeployments).delete(anyString());
+    verify(metrics).increment("pvc.jobs", 1, "result", "failure");
   }
 
   @Test
@@ -161,8 +179,7 @@ public class PVCSubPathHelperTest {
     when(k8sNamespaceFactory.create(WORKSPACE_ID))
         .thenThrow(new InfrastructureException("Kubernetes namespace creation failed"));
 
-    pvcSubPathHelper.execute(
-        WORKSPACE_ID, PVC_NAME, MKDIR_COMMAND_BASE, WORKSPACE_ID + PROJECTS_PATH);
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
 
     verify(k8sNamespaceFactory).create(WORKSPACE_ID);
     verify(k8sNamespace, never()).deployments();
@@ -173,8 +190,7 @@ public class PVCSubPathHelperTest {
     when(osDeployments.create(any()))
         .thenThrow(new InfrastructureException("Kubernetes pod creation failed"));
 
-    pvcSubPathHelper.execute(
-        WORKSPACE_ID, PVC_NAME, MKDIR_COMMAND_BASE, WORKSPACE_ID + PROJECTS_PATH);
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
 
     verify(k8sNamespaceFactory).create(WORKSPACE_ID);
     verify(k8sNamespace).deployments();
@@ -187,12 +203,153 @@ public class PVCSubPathHelperTest {
     when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
     doThrow(InfrastructureException.class).when(osDeployments).delete(anyString());
 
-    pvcSubPathHelper.execute(
-        WORKSPACE_ID, PVC_NAME, MKDIR_COMMAND_BASE, WORKSPACE_ID + PROJECTS_PATH);
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
 
     verify(osDeployments).create(any());
     verify(osDeployments).wait(anyString(), anyInt(), any());
     verify(podStatus).getPhase();
     verify(osDeployments).delete(anyString());
   }
+
+  @Test
+  public void testExecutesCommandsRequestedWithinBatchWindowBySinglePod() throws Exception {
+    pvcSubPathHelper =
+        new PVCSubPathHelper(
+            jobMemoryLimit,
+            jobImage,
+            500,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
+    when(k8sNamespaceFactory.isPredefined()).thenReturn(true);
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
+
+    CompletableFuture<Void> removed1 =
+        pvcSubPathHelper.removeDirsAsync("workspace1", PVC_NAME, "workspace1");
+    CompletableFuture<Void> removed2 =
+        pvcSubPathHelper.removeDirsAsync("workspace2", PVC_NAME, "workspace2");
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
+
+    assertTrue(removed1.isDone());
+    assertTrue(removed2.isDone());
+    verify(osDeployments).create(podCaptor.capture());
+    final List<String> actual = podCaptor.getValue().getSpec().getContainers().get(0).getCommand();
+    final String script =
+        format(
+            "'%s' '%s' '%s' || failed=\"$failed 0\"; "
+                + "'%s' '%s' '%s' || failed=\"$failed 1\"; "
+                + "'%s' '%s' '%s' || failed=\"$failed 2\"; "
+                + "[ -z \"$failed\" ] || { echo '%s'\"$failed\"; exit 1; }",
+            RM_COMMAND_BASE[0],
+            RM_COMMAND_BASE[1],
+            JOB_MOUNT_PATH + "/workspace1",
+            RM_COMMAND_BASE[0],
+            RM_COMMAND_BASE[1],
+            JOB_MOUNT_PATH + "/workspace2",
+            MKDIR_COMMAND_BASE[0],
+            MKDIR_COMMAND_BASE[1],
+            JOB_MOUNT_PATH + '/' + WORKSPACE_ID + PROJECTS_PATH,
+            FAILED_COMMANDS_PREFIX);
+    assertEquals(actual, Arrays.asList(SHELL_COMMAND_BASE[0], SHELL_COMMAND_BASE[1], script));
+    verify(osDeployments).delete(anyString());
+    verify(metrics).increment("pvc.jobs", 1, "result", "success");
+    verify(metrics).recordAmount("pvc.jobs.requests", 3);
+    verify(metrics, times(3)).recordTime(eq("pvc.jobs.queue"), anyLong(), eq(TimeUnit.NANOSECONDS));
+  }
+
+  @Test
+  public void testBatchesCommandsPerWorkspaceWhenNamespaceIsNotPredefined() throws Exception {
+    pvcSubPathHelper =
+        new PVCSubPathHelper(
+            jobMemoryLimit,
+            jobImage,
+            500,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
+
+    CompletableFuture<Void> removed =
+        pvcSubPathHelper.removeDirsAsync("workspace1", PVC_NAME, "workspace1");
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
+    removed.get(5, TimeUnit.SECONDS);
+
+    verify(k8sNamespaceFactory).create("workspace1");
+    verify(k8sNamespaceFactory).create(WORKSPACE_ID);
+    verify(osDeployments, times(2)).create(any());
+    verify(metrics, times(2)).increment("pvc.jobs", 1, "result", "success");
+  }
+
+  @Test
+  public void testReportsFailureOfBatchCommandToRequestingWorkspaceOnly() throws Exception {
+    pvcSubPathHelper =
+        new PVCSubPathHelper(
+            jobMemoryLimit,
+            jobImage,
+            500,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
+    when(k8sNamespaceFactory.isPredefined()).thenReturn(true);
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_FAILED);
+    when(osDeployments.getPodLogs(anyString()))
+        .thenReturn("rm: cannot remove 'workspace2'\n" + FAILED_COMMANDS_PREFIX + " 1\n");
+
+    CompletableFuture<Void> removed1 =
+        pvcSubPathHelper.removeDirsAsync("workspace1", PVC_NAME, "workspace1");
+    CompletableFuture<Void> removed2 =
+        pvcSubPathHelper.removeDirsAsync("workspace2", PVC_NAME, "workspace2");
+    CompletableFuture<Void> removed3 =
+        pvcSubPathHelper.removeDirsAsync("workspace3", PVC_NAME, "workspace3");
+    CompletableFuture.allOf(removed1, removed2, removed3)
+        .handle((r, e) -> null)
+        .get(5, TimeUnit.SECONDS);
+
+    verify(osDeployments).create(any());
+    assertFalse(removed1.isCompletedExceptionally());
+    assertTrue(removed2.isCompletedExceptionally());
+    assertFalse(removed3.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testReportsFailureToAllWorkspacesWhenBatchJobFailsBeforeCommands() throws Exception {
+    pvcSubPathHelper =
+        new PVCSubPathHelper(
+            jobMemoryLimit,
+            jobImage,
+            500,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
+    when(k8sNamespaceFactory.isPredefined()).thenReturn(true);
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_FAILED);
+    when(osDeployments.getPodLogs(anyString())).thenReturn(null);
+
+    CompletableFuture<Void> removed1 =
+        pvcSubPathHelper.removeDirsAsync("workspace1", PVC_NAME, "workspace1");
+    CompletableFuture<Void> removed2 =
+        pvcSubPathHelper.removeDirsAsync("workspace2", PVC_NAME, "workspace2");
+    CompletableFuture.allOf(removed1, removed2).handle((r, e) -> null).get(5, TimeUnit.SECONDS);
+
+    assertTrue(removed1.isCompletedExceptionally());
+    assertTrue(removed2.isCompletedExceptionally());
+  }
+
+  @Test(timeOut = 5_000)
+  public void testDoesNotWaitForBatchWindowWhenNamespaceIsNotPredefined() throws Exception {
+    pvcSubPathHelper =
+        new PVCSubPathHelper(
+            jobMemoryLimit,
+            jobImage,
+            60_000,
+            k8sNamespaceFactory,
+            securityContextProvisioner,
+            metrics);
+    when(podStatus.getPhase()).thenReturn(POD_PHASE_SUCCEEDED);
+
+    pvcSubPathHelper.createDirs(WORKSPACE_ID, PVC_NAME, WORKSPACE_ID + PROJECTS_PATH);
+
+    verify(osDeployments).create(any());
+    verify(metrics).increment("pvc.jobs", 1, "result", "success");
+  }
 }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.api.workspace.server.wsplugins.model.CheContainer;
+import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
+import org.eclipse.che.api.workspace.server.wsplugins.model.PluginMeta;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link BrokerResultsCache}. */
+@Listeners(MockitoTestNGListener.class)
+public class BrokerResultsCacheTest {
+
+  private static final RuntimeIdentity RUNTIME_ID = new RuntimeIdentityImpl("ws1", "env", "owner");
+  private static final RuntimeIdentity OTHER_RUNTIME_ID =
+      new RuntimeIdentityImpl("ws2", "env", "owner");
+
+  private static final PluginMeta THEIA =
+      new PluginMeta().id("theia").version("1.0").type("Che Editor");
+  private static final PluginMeta JAVA =
+      new PluginMeta().id("java").version("2.0").type("VS Code extension");
+
+  @Mock private InfrastructureMetrics metrics;
+
+  private BrokerResultsCache cache;
+
+  @BeforeMethod
+  public void setUp() {
+    cache = createCache(60);
+  }
+
+  @Test
+  public void shouldReturnCachedToolingOfTheSamePlugins() {
+    cache.put(RUNTIME_ID, asList(THEIA, JAVA), false, tooling());
+
+    Optional<List<ChePlugin>> cached = cache.get(RUNTIME_ID, asList(JAVA, THEIA), false);
+
+    assertTrue(cached.isPresent());
+    assertEquals(cached.get(), tooling());
+    verify(metrics).increment("plugin_broker.cache.reads", 1, "result", "hit");
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedTooling() {
+    cache.put(RUNTIME_ID, singletonList(THEIA), true, tooling());
+    cache.get(RUNTIME_ID, singletonList(THEIA), true).get().get(0).setName("modified");
+
+    assertEquals(cache.get(RUNTIME_ID, singletonList(THEIA), true).get(), tooling());
+  }
+
+  @Test
+  public void shouldNotReturnToolingOfOtherPlugins() {
+    cache.put(RUNTIME_ID, asList(THEIA, JAVA), false, tooling());
+
+    assertFalse(cache.get(RUNTIME_ID, singletonList(THEIA), false).isPresent());
+    assertFalse(
+        cache
+            .get(RUNTIME_ID, asList(THEIA, new PluginMeta().id("java").version("3.0")), false)
+            .isPresent());
+    verify(metrics, times(2)).increment("plugin_broker.cache.reads", 1, "result", "miss");
+  }
+
+  @Test
+  public void shouldShareToolingOfEphemeralWorkspacesOnly() {
+    cache.put(RUNTIME_ID, singletonList(THEIA), true, tooling());
+    cache.put(RUNTIME_ID, singletonList(JAVA), false, tooling());
+
+    assertTrue(cache.get(OTHER_RUNTIME_ID, singletonList(THEIA), true).isPresent());
+    assertFalse(cache.get(OTHER_RUNTIME_ID, singletonList(JAVA), false).isPresent());
+  }
+
+  @Test
+  public void shouldAddressResultsOfPersistentWorkspacesByWorkspaceId() {
+    assertNotEquals(
+        cache.key(RUNTIME_ID, singletonList(THEIA), false),
+        cache.key(OTHER_RUNTIME_ID, singletonList(THEIA), false));
+    assertEquals(
+        cache.key(RUNTIME_ID, singletonList(THEIA), true),
+        cache.key(OTHER_RUNTIME_ID, singletonList(THEIA), true));
+  }
+
+  @Test
+  public void shouldAddressResultsByBrokerImages() {
+    BrokerResultsCache otherImagesCache =
+        new BrokerResultsCache(
+            ImmutableMap.of("Che Editor", "theia-broker:2", "VS Code extension", "vscode-broker"),
+            "init-broker",
+            60,
+            10,
+            metrics);
+
+    assertNotEquals(
+        otherImagesCache.key(RUNTIME_ID, singletonList(THEIA), true),
+        cache.key(RUNTIME_ID, singletonList(THEIA), true));
+  }
+
+  @Test
+  public void shouldNotCacheToolingWhenTtlIsZero() {
+    cache = createCache(0);
+
+    cache.put(RUNTIME_ID, singletonList(THEIA), true, tooling());
+
+    assertFalse(cache.get(RUNTIME_ID, singletonList(THEIA), true).isPresent());
+  }
+
+  private BrokerResultsCache createCache(long ttlMin) {
+    return new BrokerResultsCache(
+        ImmutableMap.of("Che Editor", "theia-broker", "VS Code extension", "vscode-broker"),
+        "init-broker",
+        ttlMin,
+        10,
+        metrics);
+  }
+
+  private static List<ChePlugin> tooling() {
+    ChePlugin plugin = new ChePlugin();
+    plugin.setId("theia");
+    plugin.setVersion("1.0");
+    plugin.setName("theia-ide");
+    CheContainer container = new CheContainer();
+    container.setName("theia");
+    container.setImage("eclipse/che-theia:next");
+    plugin.setContainers(singletonList(container));
+    return singletonList(plugin);
+  }
+}
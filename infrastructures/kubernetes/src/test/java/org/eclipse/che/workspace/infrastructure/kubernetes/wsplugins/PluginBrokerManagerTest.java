@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+import org.eclipse.che.api.workspace.server.wsplugins.model.ChePlugin;
+import org.eclipse.che.api.workspace.server.wsplugins.model.PluginMeta;
+import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesEnvironmentProvisioner;
+import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizer;
+import org.eclipse.che.workspace.infrastructure.kubernetes.environment.KubernetesEnvironment;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.pvc.WorkspaceVolumesStrategy;
+import org.eclipse.che.workspace.infrastructure.kubernetes.util.UnrecoverablePodEventListenerFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.wsplugins.brokerphases.BrokerEnvironmentFactory;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link PluginBrokerManager}. */
+@Listeners(MockitoTestNGListener.class)
+public class PluginBrokerManagerTest {
+
+  private static final RuntimeIdentity RUNTIME_ID = new RuntimeIdentityImpl("ws1", "env", "owner");
+  private static final RuntimeIdentity OTHER_RUNTIME_ID =
+      new RuntimeIdentityImpl("ws2", "env", "owner");
+  private static final List<PluginMeta> PLUGINS =
+      singletonList(new PluginMeta().id("theia").version("1.0").type("Che Editor"));
+
+  @Mock private KubernetesNamespaceFactory namespaceFactory;
+  @Mock private EventService eventService;
+  @Mock private KubernetesPluginsToolingValidator pluginsValidator;
+  @Mock private KubernetesEnvironmentProvisioner<KubernetesEnvironment> environmentProvisioner;
+  @Mock private WorkspaceVolumesStrategy volumesStrategy;
+  @Mock private BrokerEnvironmentFactory<KubernetesEnvironment> brokerEnvironmentFactory;
+  @Mock private UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory;
+  @Mock private StartSynchronizer startSynchronizer;
+  @Mock private InfrastructureMetrics metrics;
+
+  private BrokerResultsCache brokerResultsCache;
+  private PluginBrokerManager<KubernetesEnvironment> manager;
+
+  @BeforeMethod
+  public void setUp() {
+    brokerResultsCache =
+        new BrokerResultsCache(
+            ImmutableMap.of("Che Editor", "theia-broker"), "init-broker", 60, 10, metrics);
+    manager =
+        new PluginBrokerManager<>(
+            namespaceFactory,
+            eventService,
+            pluginsValidator,
+            environmentProvisioner,
+            volumesStrategy,
+            brokerEnvironmentFactory,
+            unrecoverablePodEventListenerFactory,
+            brokerResultsCache,
+            3);
+  }
+
+  @Test
+  public void shouldNotDeployBrokerWhenToolingIsCached() throws Exception {
+    brokerResultsCache.put(RUNTIME_ID, PLUGINS, false, tooling());
+
+    List<ChePlugin> tooling = manager.getTooling(RUNTIME_ID, startSynchronizer, PLUGINS, false);
+
+    assertEquals(tooling, tooling());
+    verifyZeroInteractions(
+        namespaceFactory,
+        brokerEnvironmentFactory,
+        environmentProvisioner,
+        volumesStrategy,
+        eventService);
+  }
+
+  @Test
+  public void shouldReuseToolingOfEphemeralWorkspaceInOtherWorkspace() throws Exception {
+    brokerResultsCache.put(RUNTIME_ID, PLUGINS, true, tooling());
+
+    List<ChePlugin> tooling =
+        manager.getTooling(OTHER_RUNTIME_ID, startSynchronizer, PLUGINS, true);
+
+    assertEquals(tooling, tooling());
+    verifyZeroInteractions(namespaceFactory, brokerEnvironmentFactory);
+  }
+
+  @Test
+  public void shouldDeployBrokerForOtherPersistentWorkspaceWithTheSamePlugins() throws Exception {
+    brokerResultsCache.put(RUNTIME_ID, PLUGINS, false, tooling());
+    // stops the broker deployment once it is started
+    when(namespaceFactory.create(OTHER_RUNTIME_ID.getWorkspaceId()))
+        .thenThrow(new InfrastructureException("broker deployment"));
+
+    try {
+      manager.getTooling(OTHER_RUNTIME_ID, startSynchronizer, PLUGINS, false);
+      fail("Broker must be deployed for other persistent workspace");
+    } catch (InfrastructureException e) {
+      assertEquals(e.getMessage(), "broker deployment");
+    }
+
+    verify(namespaceFactory).create(OTHER_RUNTIME_ID.getWorkspaceId());
+  }
+
+  private static List<ChePlugin> tooling() {
+    ChePlugin plugin = new ChePlugin();
+    plugin.setId("theia");
+    plugin.setVersion("1.0");
+    plugin.setName("theia-ide");
+    return singletonList(plugin);
+  }
+}
@@ -16,10 +16,9 @@ import io.fabric8.kubernetes.api.model.ConfigMap;
 import io.fabric8.kubernetes.api.model.Secret;
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.openshift.api.model.Route;
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import javax.inject.Inject;
 import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.URLRewriter.NoOpURLRewriter;
@@ -27,11 +26,11 @@ import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
 import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.annotation.Traced;
 import org.eclipse.che.commons.tracing.OptionalTracer;
-import org.eclipse.che.commons.tracing.TracingTags;
 import org.eclipse.che.workspace.infrastructure.kubernetes.KubernetesInternalRuntime;
 import org.eclipse.che.workspace.infrastructure.kubernetes.RuntimeHangingDetector;
 import org.eclipse.che.workspace.infrastructure.kubernetes.StartSynchronizerFactory;
@@ -53,12 +52,15 @@ import org.eclipse.che.workspace.infrastructure.openshift.server.OpenShiftServer
  */
 public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShiftEnvironment> {
 
+  private static final String CREATE_ROUTES_PHASE = "createRoutes";
+
   private final OpenShiftProject project;
 
   @Inject
   public OpenShiftInternalRuntime(
       @Named("che.infra.kubernetes.workspace_start_timeout_min") int workspaceStartTimeout,
       @Named("che.infra.kubernetes.ingress_start_timeout_min") int ingressStartTimeout,
+      @Named("che.infra.kubernetes.objects_creation_parallelism") int objectsCreationParallelism,
       NoOpURLRewriter urlRewriter,
       UnrecoverablePodEventListenerFactory unrecoverablePodEventListenerFactory,
       KubernetesBootstrapperFactory bootstrapperFactory,
@@ -75,12 +77,14 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
       OpenShiftEnvironmentProvisioner kubernetesEnvironmentProvisioner,
       SidecarToolingProvisioner<OpenShiftEnvironment> toolingProvisioner,
       RuntimeHangingDetector runtimeHangingDetector,
+      InfrastructureMetrics metrics,
       @Nullable OptionalTracer tracer,
       @Assisted OpenShiftRuntimeContext context,
       @Assisted OpenShiftProject project) {
     super(
         workspaceStartTimeout,
         ingressStartTimeout,
+        objectsCreationParallelism,
         urlRewriter,
         unrecoverablePodEventListenerFactory,
         bootstrapperFactory,
@@ -97,72 +101,36 @@ public class OpenShiftInternalRuntime extends KubernetesInternalRuntime<OpenShif
         kubernetesEnvironmentProvisioner,
         toolingProvisioner,
         runtimeHangingDetector,
+        metrics,
         tracer,
         context,
         project);
     this.project = project;
   }
 
+  /**
+   * Create all machine related objects and start machines.
+   *
+   * <p>Secrets, config maps, services and routes don't depend on each other and are created
+   * concurrently. Pods are created when the objects they may refer to exist.
+   *
+   * @throws InfrastructureException when any error occurs while creating OpenShift objects
+   */
   @Override
   @Traced
   protected void startMachines() throws InfrastructureException {
     OpenShiftEnvironment osEnv = getContext().getEnvironment();
-    String workspaceId = getContext().getIdentity().getWorkspaceId();
-
-    createSecrets(osEnv, workspaceId);
-    createConfigMaps(osEnv, workspaceId);
-    List<Service> createdServices = createServices(osEnv, workspaceId);
-    List<Route> createdRoutes = createRoutes(osEnv, workspaceId);
-
-    listenEvents();
-
-    doStartMachine(new OpenShiftServerResolver(createdServices, createdRoutes));
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createSecrets(OpenShiftEnvironment env, String workspaceId) throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (Secret secret : env.getSecrets().values()) {
-      project.secrets().create(secret);
-    }
-  }
-
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  void createConfigMaps(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    for (ConfigMap configMap : env.getConfigMaps().values()) {
-      project.configMaps().create(configMap);
-    }
-  }
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Service> createServices(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Service> servicesToCreate = env.getServices().values();
-    List<Service> createdServices = new ArrayList<>(servicesToCreate.size());
-    for (Service service : servicesToCreate) {
-      createdServices.add(project.services().create(service));
-    }
+    CompletableFuture<List<Secret>> secrets = createSecrets(osEnv);
+    CompletableFuture<List<ConfigMap>> configMaps = createConfigMaps(osEnv);
+    CompletableFuture<List<Service>> services = createServices(osEnv);
+    CompletableFuture<List<Route>> routes =
+        createAsync(CREATE_ROUTES_PHASE, osEnv.getRoutes().values(), project.routes()::create);
 
-    return createdServices;
-  }
+    await(CompletableFuture.allOf(secrets, configMaps, services));
 
-  @Traced
-  @SuppressWarnings("WeakerAccess") // package-private so that interception is possible
-  List<Route> createRoutes(OpenShiftEnvironment env, String workspaceId)
-      throws InfrastructureException {
-    TracingTags.WORKSPACE_ID.set(workspaceId);
-    Collection<Route> routesToCreate = env.getRoutes().values();
-    List<Route> createdRoutes = new ArrayList<>(routesToCreate.size());
-    for (Route route : routesToCreate) {
-      createdRoutes.add(project.routes().create(route));
-    }
+    listenEvents();
 
-    return createdRoutes;
+    doStartMachine(services.thenCombine(routes, OpenShiftServerResolver::new));
   }
 }
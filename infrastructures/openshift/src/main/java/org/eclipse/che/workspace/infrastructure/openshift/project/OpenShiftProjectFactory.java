@@ -20,6 +20,7 @@ import javax.inject.Named;
 import org.eclipse.che.api.workspace.server.spi.InfrastructureException;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.KubernetesNamespaceFactory;
+import org.eclipse.che.workspace.infrastructure.kubernetes.namespace.informer.KubernetesSharedInformers;
 import org.eclipse.che.workspace.infrastructure.openshift.OpenShiftClientFactory;
 
 /**
@@ -33,16 +34,19 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
   private final String projectName;
   private final String serviceAccountName;
   private final OpenShiftClientFactory clientFactory;
+  private final KubernetesSharedInformers informers;
 
   @Inject
   public OpenShiftProjectFactory(
       @Nullable @Named("che.infra.openshift.project") String projectName,
       @Nullable @Named("che.infra.kubernetes.service_account_name") String serviceAccountName,
-      OpenShiftClientFactory clientFactory) {
-    super(projectName, serviceAccountName, clientFactory);
+      OpenShiftClientFactory clientFactory,
+      KubernetesSharedInformers informers) {
+    super(projectName, serviceAccountName, clientFactory, informers);
     this.projectName = projectName;
     this.serviceAccountName = serviceAccountName;
     this.clientFactory = clientFactory;
+    this.informers = informers;
   }
 
   /**
@@ -86,7 +90,7 @@ public class OpenShiftProjectFactory extends KubernetesNamespaceFactory {
 
   @VisibleForTesting
   OpenShiftProject doCreateProject(String workspaceId, String name) {
-    return new OpenShiftProject(clientFactory, name, workspaceId);
+    return new OpenShiftProject(clientFactory, informers, name, workspaceId);
   }
 
   @VisibleForTesting
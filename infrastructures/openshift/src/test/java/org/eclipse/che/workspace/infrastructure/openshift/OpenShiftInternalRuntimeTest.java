@@ -53,6 +53,8 @@ import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import org.eclipse.che.api.core.model.workspace.runtime.MachineStatus;
 import org.eclipse.che.api.core.model.workspace.runtime.RuntimeIdentity;
 import org.eclipse.che.api.core.notification.EventService;
@@ -64,6 +66,7 @@ import org.eclipse.che.api.workspace.server.hc.ServersCheckerFactory;
 import org.eclipse.che.api.workspace.server.hc.probe.ProbeScheduler;
 import org.eclipse.che.api.workspace.server.hc.probe.WorkspaceProbesFactory;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeIdentityImpl;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 import org.eclipse.che.api.workspace.server.spi.environment.InternalMachineConfig;
 import org.eclipse.che.api.workspace.server.spi.provision.InternalEnvironmentProvisioner;
 import org.eclipse.che.api.workspace.shared.dto.event.MachineStatusEvent;
@@ -162,11 +165,14 @@ public class OpenShiftInternalRuntimeTest {
     MockitoAnnotations.initMocks(this);
 
     when(startSynchronizerFactory.create(any())).thenReturn(startSynchronizer);
+    when(startSynchronizer.getStartFailure()).thenReturn(new CompletableFuture<>());
+    when(startSynchronizer.getStartTimeoutMillis()).thenReturn(TimeUnit.MINUTES.toMillis(1));
 
     internalRuntime =
         new OpenShiftInternalRuntime(
             13,
             5,
+            5,
             new URLRewriter.NoOpURLRewriter(),
             unrecoverablePodEventListenerFactory,
             bootstrapperFactory,
@@ -175,7 +181,7 @@ public class OpenShiftInternalRuntimeTest {
             probesScheduler,
             workspaceProbesFactory,
             new RuntimeEventsPublisher(eventService),
-            mock(KubernetesSharedPool.class),
+            new KubernetesSharedPool(),
             runtimeStateCache,
             machinesCache,
             startSynchronizerFactory,
@@ -183,6 +189,7 @@ public class OpenShiftInternalRuntimeTest {
             kubernetesEnvironmentProvisioner,
             toolingProvisioner,
             runtimeHangingDetector,
+            new InfrastructureMetrics(),
             tracer,
             context,
             project);
@@ -15,7 +15,9 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
+import static javax.persistence.LockModeType.PESSIMISTIC_WRITE;
 import static org.eclipse.che.api.core.Pages.iterate;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
 
 import com.google.inject.persist.Transactional;
 import java.util.List;
@@ -85,8 +87,21 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
   public WorkspaceImpl update(WorkspaceImpl update)
       throws NotFoundException, ConflictException, ServerException {
     requireNonNull(update, "Required non-null update");
+    return update(update, null, false);
+  }
+
+  @Override
+  public WorkspaceImpl update(WorkspaceImpl update, String revision)
+      throws NotFoundException, ConflictException, ServerException {
+    requireNonNull(update, "Required non-null update");
+    requireNonNull(revision, "Required non-null revision");
+    return update(update, revision, true);
+  }
+
+  private WorkspaceImpl update(WorkspaceImpl update, String revision, boolean checkRevision)
+      throws NotFoundException, ConflictException, ServerException {
     try {
-      return new WorkspaceImpl(doUpdate(update));
+      return new WorkspaceImpl(doUpdate(update, revision, checkRevision));
     } catch (DuplicateKeyException dkEx) {
       throw new ConflictException(
           format(
@@ -237,6 +252,7 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
 
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, "0");
     if (workspace.getConfig() != null) {
       workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
     }
@@ -261,11 +277,23 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
   }
 
   @Transactional
-  protected WorkspaceImpl doUpdate(WorkspaceImpl update) throws NotFoundException {
+  protected WorkspaceImpl doUpdate(WorkspaceImpl update, String revision, boolean checkRevision)
+      throws NotFoundException, ConflictException {
     EntityManager manager = managerProvider.get();
-    if (manager.find(WorkspaceImpl.class, update.getId()) == null) {
+    // the row stays locked until the end of transaction, so concurrent updates can't get
+    // the same revision and it can't change between the check and the update
+    WorkspaceImpl existing = manager.find(WorkspaceImpl.class, update.getId(), PESSIMISTIC_WRITE);
+    if (existing == null) {
       throw new NotFoundException(format("Workspace with id '%s' doesn't exist", update.getId()));
     }
+    String actual = existing.getAttributes().getOrDefault(REVISION_ATTRIBUTE_NAME, "0");
+    if (checkRevision && !revision.equals(actual)) {
+      throw new ConflictException(
+          format(
+              "Workspace '%s' revision '%s' doesn't match the expected '%s'",
+              update.getId(), actual, revision));
+    }
+    update.getAttributes().put(REVISION_ATTRIBUTE_NAME, Long.toString(Long.parseLong(actual) + 1));
     if (update.getConfig() != null) {
       update.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
     }
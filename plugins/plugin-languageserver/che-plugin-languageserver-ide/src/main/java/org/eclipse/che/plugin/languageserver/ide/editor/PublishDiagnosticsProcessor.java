@@ -13,6 +13,10 @@ package org.eclipse.che.plugin.languageserver.ide.editor;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
 import org.eclipse.che.ide.api.editor.EditorAgent;
 import org.eclipse.che.ide.api.editor.EditorPartPresenter;
@@ -22,11 +26,17 @@ import org.eclipse.che.ide.api.editor.texteditor.TextEditor;
 import org.eclipse.che.ide.resource.Path;
 import org.eclipse.lsp4j.Diagnostic;
 
-/** @author Anatolii Bazko */
+/**
+ * Shows published diagnostics in the opened editors. Diagnostics of each language server and file
+ * are kept, so the delta notifications are applied to them.
+ *
+ * @author Anatolii Bazko
+ */
 @Singleton
 public class PublishDiagnosticsProcessor {
 
   private final EditorAgent editorAgent;
+  private final Map<String, List<Diagnostic>> diagnostics = new HashMap<>();
 
   @Inject
   public PublishDiagnosticsProcessor(EditorAgent editorAgent) {
@@ -34,6 +44,7 @@ public class PublishDiagnosticsProcessor {
   }
 
   public void processDiagnostics(ExtendedPublishDiagnosticsParams diagnosticsMessage) {
+    List<Diagnostic> fileDiagnostics = update(diagnosticsMessage);
     EditorPartPresenter openedEditor =
         editorAgent.getOpenedEditor(new Path(diagnosticsMessage.getParams().getUri()));
     // TODO add markers
@@ -49,7 +60,7 @@ public class PublishDiagnosticsProcessor {
         String languageServerId = diagnosticsMessage.getLanguageServerId();
         collector.beginReporting(languageServerId);
         try {
-          for (Diagnostic diagnostic : diagnosticsMessage.getParams().getDiagnostics()) {
+          for (Diagnostic diagnostic : fileDiagnostics) {
             collector.acceptDiagnostic(languageServerId, diagnostic);
           }
         } finally {
@@ -58,4 +69,29 @@ public class PublishDiagnosticsProcessor {
       }
     }
   }
+
+  /** Applies the notification to the kept diagnostics and returns the current ones. */
+  private List<Diagnostic> update(ExtendedPublishDiagnosticsParams diagnosticsMessage) {
+    String key =
+        diagnosticsMessage.getLanguageServerId() + ':' + diagnosticsMessage.getParams().getUri();
+    List<Diagnostic> current;
+    if (diagnosticsMessage.isDelta()) {
+      current = diagnostics.getOrDefault(key, new ArrayList<>());
+      if (diagnosticsMessage.getRemovedDiagnostics() != null) {
+        for (Diagnostic removed : diagnosticsMessage.getRemovedDiagnostics()) {
+          current.remove(removed);
+        }
+      }
+      current.addAll(diagnosticsMessage.getParams().getDiagnostics());
+    } else {
+      current = new ArrayList<>(diagnosticsMessage.getParams().getDiagnostics());
+    }
+
+    if (current.isEmpty()) {
+      diagnostics.remove(key);
+    } else {
+      diagnostics.put(key, current);
+    }
+    return current;
+  }
 }
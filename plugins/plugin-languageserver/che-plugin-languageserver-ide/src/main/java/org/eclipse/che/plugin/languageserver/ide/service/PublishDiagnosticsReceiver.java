@@ -51,7 +51,7 @@ public class PublishDiagnosticsReceiver {
     transmitter
         .newRequest()
         .endpointId(WS_AGENT_JSON_RPC_ENDPOINT_ID)
-        .methodName("textDocument/publishDiagnostics/subscribe")
+        .methodName("textDocument/publishDiagnostics/subscribeToDeltas")
         .noParams()
         .sendAndSkipResult();
   }
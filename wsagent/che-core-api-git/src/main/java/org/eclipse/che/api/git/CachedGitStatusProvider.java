@@ -11,10 +11,10 @@
  */
 package org.eclipse.che.api.git;
 
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.getLastModifiedTime;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toSet;
 import static org.eclipse.che.api.fs.server.WsPathUtils.SEPARATOR;
 import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
 import static org.eclipse.che.api.fs.server.WsPathUtils.resolve;
@@ -22,25 +22,27 @@ import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.ADD
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.MODIFIED;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.NOT_MODIFIED;
 import static org.eclipse.che.api.project.server.VcsStatusProvider.VcsStatus.UNTRACKED;
-import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.attribute.FileTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import javax.inject.Singleton;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.fs.server.WsPathUtils;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.shared.FileChangedEventDto;
 import org.eclipse.che.api.git.shared.Status;
@@ -48,31 +50,38 @@ import org.eclipse.che.api.git.shared.StatusChangedEventDto;
 import org.eclipse.che.api.project.server.ProjectManager;
 import org.eclipse.che.api.project.server.VcsStatusProvider;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
-import org.eclipse.che.api.project.server.notification.ProjectCreatedEvent;
 import org.eclipse.che.api.project.server.notification.ProjectDeletedEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Git implementation of {@link VcsStatusProvider} based on a {@link Map} which contains statuses of
- * all workspace projects. The map is updated by Git events and by checking the file's modification
- * time to update the map if the files were changed bypassing the file-watchers e.g. the file wasn't
- * opened neither in the project explorer tree, neither in the editor, but was changed in the
- * terminal.
+ * Git implementation of {@link VcsStatusProvider} that answers from in-memory snapshots of statuses
+ * of workspace projects. Git is asked only for the statuses of items that are not known yet or that
+ * are reported dirty, either by the file watcher (see {@link GitStatusFileChangeConsumer}) or by
+ * the changed modification time of a requested item, e.g. the file was changed in the terminal
+ * while it was opened neither in the project explorer tree, nor in the editor. A snapshot of a
+ * project is dropped only when git index or HEAD of the project is changed, and replaced by the
+ * full project status when it is published by Git events.
+ *
+ * <p>Snapshots are safe to be accessed concurrently from request and event threads.
  *
  * @author Igor Vinokur
  */
+@Singleton
 public class CachedGitStatusProvider implements VcsStatusProvider {
 
   private static final Logger LOG = LoggerFactory.getLogger(CachedGitStatusProvider.class);
 
+  private static final String GIT_DIR = ".git";
+  private static final String INDEX_FILE = "index";
+  private static final String HEAD_FILE = "HEAD";
+
   private final GitConnectionFactory gitConnectionFactory;
   private final PathTransformer pathTransformer;
   private final ProjectManager projectManager;
   private final RootDirPathProvider rootDirPathProvider;
   private final EventService eventService;
-  private final Map<String, Status> statusCache;
-  private final Map<String, FileTime> projectFiles;
+  private final Map<String, ProjectStatus> statusCache;
 
   @Inject
   public CachedGitStatusProvider(
@@ -86,75 +95,79 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
     this.projectManager = projectManager;
     this.rootDirPathProvider = rootDirPathProvider;
     this.eventService = eventService;
-    this.statusCache = new HashMap<>();
-    this.projectFiles = new HashMap<>();
+    this.statusCache = new ConcurrentHashMap<>();
   }
 
   @PostConstruct
   private void postConstruct() {
     subscribeToEvents();
-    collectProjectFiles(rootDirPathProvider.get());
-  }
-
-  private void collectProjectFiles(String root) {
-    try {
-      Set<Path> filePaths =
-          Files.walk(Paths.get(root)).filter(Files::isRegularFile).collect(toSet());
-      for (Path path : filePaths) {
-        String filePath = path.toString();
-        projectFiles.put(filePath, getLastModifiedTime(Paths.get(filePath)));
-      }
-    } catch (IOException exception) {
-      LOG.error(exception.getMessage());
-    }
   }
 
   private void subscribeToEvents() {
     eventService.subscribe(
-        event -> statusCache.put(event.getProjectName(), event.getStatus()),
+        event -> {
+          ProjectStatus projectStatus = new ProjectStatus(event.getStatus());
+          statusCache.put(absolutize(event.getProjectName()), projectStatus);
+        },
         StatusChangedEventDto.class);
 
     eventService.subscribe(
         event -> {
-          String filePath = event.getPath();
-          FileChangedEventDto.Status status = event.getStatus();
-          Status statusDto = newDto(Status.class);
-          if (status == FileChangedEventDto.Status.ADDED) {
-            statusDto.setAdded(singletonList(filePath));
-          } else if (status == FileChangedEventDto.Status.MODIFIED) {
-            statusDto.setModified(singletonList(filePath));
-          } else if (status == FileChangedEventDto.Status.UNTRACKED) {
-            statusDto.setModified(singletonList(filePath));
+          String wsPath = absolutize(event.getPath());
+          int projectPathEnd = wsPath.indexOf(SEPARATOR, 1);
+          if (projectPathEnd < 0) {
+            return;
           }
+          String projectPath = wsPath.substring(0, projectPathEnd);
+          String itemPath = wsPath.substring(projectPath.length() + 1);
 
-          updateCachedStatus(
-              Paths.get(filePath).getParent().getFileName().toString(),
-              singletonList(filePath),
-              statusDto);
-
-          try {
-            projectFiles.put(
-                filePath, getLastModifiedTime(Paths.get(rootDirPathProvider.get() + filePath)));
-          } catch (IOException exception) {
-            LOG.error(exception.getMessage());
+          ProjectStatus projectStatus = statusCache.get(projectPath);
+          if (projectStatus != null) {
+            projectStatus.update(itemPath, toVcsStatus(event.getStatus()), null);
           }
         },
         FileChangedEventDto.class);
 
     eventService.subscribe(
-        event -> collectProjectFiles(pathTransformer.transform(event.getProjectPath()).toString()),
-        ProjectCreatedEvent.class);
-
-    eventService.subscribe(
-        event -> {
-          String projectFsPath = pathTransformer.transform(event.getProjectPath()).toString();
-          projectFiles.keySet().removeIf(file -> file.startsWith(projectFsPath));
-          statusCache.remove(
-              event.getProjectPath().substring(event.getProjectPath().lastIndexOf('/') + 1));
-        },
+        event -> statusCache.remove(absolutize(event.getProjectPath())),
         ProjectDeletedEvent.class);
   }
 
+  /**
+   * Marks an item as dirty so its status is re-checked on the next request. Changes of git index or
+   * HEAD drop the whole snapshot of the corresponding project, changes of other items of the git
+   * directory are ignored.
+   *
+   * @param fsPath file system path of the changed item
+   */
+  void onFileChanged(Path fsPath) {
+    if (!fsPath.startsWith(Paths.get(rootDirPathProvider.get()))) {
+      return;
+    }
+
+    String wsPath = pathTransformer.transform(fsPath);
+    Optional<String> projectPath =
+        projectManager.getClosest(wsPath).map(ProjectConfig::getPath).map(WsPathUtils::absolutize);
+    if (!projectPath.isPresent() || projectPath.get().equals(wsPath)) {
+      return;
+    }
+
+    String itemPath = wsPath.substring(projectPath.get().length() + 1);
+    if (itemPath.startsWith(GIT_DIR + SEPARATOR)) {
+      String gitItem = itemPath.substring(GIT_DIR.length() + 1);
+      if (INDEX_FILE.equals(gitItem) || HEAD_FILE.equals(gitItem)) {
+        LOG.debug("Git index or HEAD of project '{}' is changed", projectPath.get());
+        statusCache.remove(projectPath.get());
+      }
+      return;
+    }
+
+    ProjectStatus projectStatus = statusCache.get(projectPath.get());
+    if (projectStatus != null) {
+      projectStatus.markDirty(itemPath);
+    }
+  }
+
   @Override
   public String getVcsName() {
     return GitProjectType.TYPE_ID;
@@ -170,22 +183,11 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
       wsPath = wsPath.substring(wsPath.startsWith(SEPARATOR) ? 1 : 0);
       String itemPath = wsPath.substring(wsPath.indexOf(SEPARATOR) + 1);
 
-      Status status =
-          getStatus(
-              project.getName(),
+      return getStatus(
+              absolutize(project.getPath()),
               pathTransformer.transform(project.getPath()).toString(),
-              singletonList(itemPath));
-
-      if (status.getUntracked().contains(itemPath)) {
-        return UNTRACKED;
-      } else if (status.getAdded().contains(itemPath)) {
-        return ADDED;
-      } else if (status.getModified().contains(itemPath)
-          || status.getChanged().contains(itemPath)) {
-        return MODIFIED;
-      } else {
-        return NOT_MODIFIED;
-      }
+              singletonList(itemPath))
+          .get(itemPath);
     } catch (GitException | NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
@@ -201,122 +203,153 @@ public class CachedGitStatusProvider implements VcsStatusProvider {
               .getClosest(absolutize(wsPath))
               .orElseThrow(() -> new NotFoundException("Can't find project"));
 
-      Status status =
+      Map<String, VcsStatus> statuses =
           getStatus(
-              project.getName(), pathTransformer.transform(project.getPath()).toString(), paths);
-
-      paths.forEach(
-          path -> {
-            String itemWsPath = resolve(project.getPath(), path);
-            if (status.getUntracked().contains(path)) {
-              result.put(itemWsPath, UNTRACKED);
-            } else if (status.getAdded().contains(path)) {
-              result.put(itemWsPath, ADDED);
-            } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
-              result.put(itemWsPath, MODIFIED);
-            } else {
-              result.put(itemWsPath, NOT_MODIFIED);
-            }
-          });
+              absolutize(project.getPath()),
+              pathTransformer.transform(project.getPath()).toString(),
+              paths);
 
+      paths.forEach(path -> result.put(resolve(project.getPath(), path), statuses.get(path)));
     } catch (NotFoundException e) {
       throw new ServerException(e.getMessage());
     }
     return result;
   }
 
-  private Status getStatus(String projectName, String projectFsPath, List<String> paths)
-      throws GitException {
-    if (statusCache.get(projectName) == null || haveChanges(projectFsPath, paths)) {
-      updateCachedStatus(
-          projectName, paths, gitConnectionFactory.getConnection(projectFsPath).status(paths));
+  private Map<String, VcsStatus> getStatus(
+      String projectPath, String projectFsPath, List<String> paths) throws GitException {
+    ProjectStatus projectStatus =
+        statusCache.computeIfAbsent(projectPath, it -> new ProjectStatus());
+
+    Map<String, VcsStatus> result = new HashMap<>();
+    Map<String, Long> toCheck = new HashMap<>();
+    for (String path : paths) {
+      long modified = getLastModified(resolve(projectFsPath, path));
+      VcsStatus status = projectStatus.get(path, modified);
+      if (status != null) {
+        result.put(path, status);
+      } else {
+        toCheck.put(path, modified);
+      }
+    }
+
+    if (!toCheck.isEmpty()) {
+      List<String> checkPaths = paths.stream().filter(toCheck::containsKey).collect(toList());
+      Status status;
+      try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
+        status = connection.status(checkPaths);
+      }
+      for (String path : checkPaths) {
+        VcsStatus vcsStatus = toVcsStatus(status, path);
+        projectStatus.update(path, vcsStatus, toCheck.get(path));
+        result.put(path, vcsStatus);
+      }
     }
 
-    return statusCache.get(projectName);
+    return result;
   }
 
-  private boolean haveChanges(String projectPath, List<String> paths) {
-    boolean statusChanged = false;
+  private static long getLastModified(String fsPath) {
+    try {
+      return getLastModifiedTime(Paths.get(fsPath)).toMillis();
+    } catch (NoSuchFileException e) {
+      return ProjectStatus.MISSING;
+    } catch (IOException e) {
+      LOG.error(e.getMessage());
+      return ProjectStatus.MISSING;
+    }
+  }
 
-    for (String path : paths) {
-      String filePath = resolve(projectPath, path);
-      FileTime fileTime = projectFiles.get(filePath);
-      try {
-        FileTime currentFileTime = getLastModifiedTime(Paths.get(filePath));
-        if (fileTime == null || !fileTime.equals(currentFileTime)) {
-          projectFiles.put(filePath, currentFileTime);
-          statusChanged = true;
-        }
-      } catch (IOException exception) {
-        if (exception instanceof NoSuchFileException) {
-          statusChanged = projectFiles.remove(filePath) != null;
-        } else {
-          LOG.error(exception.getMessage());
+  private static VcsStatus toVcsStatus(Status status, String path) {
+    if (status.getUntracked().contains(path)) {
+      return UNTRACKED;
+    } else if (status.getAdded().contains(path)) {
+      return ADDED;
+    } else if (status.getModified().contains(path) || status.getChanged().contains(path)) {
+      return MODIFIED;
+    } else {
+      return NOT_MODIFIED;
+    }
+  }
+
+  private static VcsStatus toVcsStatus(FileChangedEventDto.Status status) {
+    switch (status) {
+      case ADDED:
+        return ADDED;
+      case MODIFIED:
+        return MODIFIED;
+      case UNTRACKED:
+        return UNTRACKED;
+      default:
+        return NOT_MODIFIED;
+    }
+  }
+
+  /**
+   * In-memory snapshot of statuses of project items. Snapshot may be complete, i.e. built from the
+   * full project status, in this case items that are absent in the snapshot are not modified.
+   */
+  private static class ProjectStatus {
+    static final long MISSING = -1;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> dirty = newConcurrentHashSet();
+    private final boolean complete;
+
+    ProjectStatus() {
+      this.complete = false;
+    }
+
+    ProjectStatus(Status status) {
+      this.complete = true;
+      status.getUntracked().forEach(it -> entries.put(it, new Entry(UNTRACKED, null)));
+      status.getModified().forEach(it -> entries.put(it, new Entry(MODIFIED, null)));
+      status.getChanged().forEach(it -> entries.put(it, new Entry(MODIFIED, null)));
+      status.getAdded().forEach(it -> entries.put(it, new Entry(ADDED, null)));
+    }
+
+    /**
+     * Returns known status of an item or {@code null} if the item must be checked by git. Unknown
+     * modification time of an entry is replaced with the given one.
+     */
+    VcsStatus get(String path, long modified) {
+      if (dirty.remove(path)) {
+        return null;
+      }
+
+      Entry entry = entries.get(path);
+      if (entry == null) {
+        if (!complete) {
+          return null;
         }
+        entry = new Entry(NOT_MODIFIED, null);
+      }
+
+      if (entry.modified == null) {
+        entries.put(path, new Entry(entry.status, modified));
+      } else if (!Objects.equals(entry.modified, modified)) {
+        return null;
       }
+
+      return entry.status;
     }
 
-    return statusChanged;
+    void update(String path, VcsStatus status, Long modified) {
+      entries.put(path, new Entry(status, modified));
+    }
+
+    void markDirty(String path) {
+      dirty.add(path);
+    }
   }
 
-  private void updateCachedStatus(String project, List<String> paths, Status changes) {
-    Status cachedStatus = statusCache.get(project);
+  private static class Entry {
+    final VcsStatus status;
+    final Long modified;
 
-    if (cachedStatus == null) {
-      statusCache.put(project, changes);
-      return;
+    Entry(VcsStatus status, Long modified) {
+      this.status = status;
+      this.modified = modified;
     }
-
-    List<String> added =
-        cachedStatus.getAdded().stream().filter(path -> !paths.contains(path)).collect(toList());
-    added.addAll(changes.getAdded());
-
-    List<String> changed =
-        cachedStatus.getChanged().stream().filter(path -> !paths.contains(path)).collect(toList());
-    changed.addAll(changes.getChanged());
-
-    List<String> modified =
-        cachedStatus.getModified().stream().filter(path -> !paths.contains(path)).collect(toList());
-    modified.addAll(changes.getModified());
-
-    List<String> untracked =
-        cachedStatus.getModified().stream().filter(path -> !paths.contains(path)).collect(toList());
-    untracked.addAll(changes.getUntracked());
-
-    List<String> missing =
-        cachedStatus.getMissing().stream().filter(path -> !paths.contains(path)).collect(toList());
-    missing.addAll(changes.getMissing());
-
-    List<String> removed =
-        cachedStatus.getRemoved().stream().filter(path -> !paths.contains(path)).collect(toList());
-    removed.addAll(changes.getRemoved());
-
-    List<String> conflicting =
-        cachedStatus
-            .getConflicting()
-            .stream()
-            .filter(path -> !paths.contains(path))
-            .collect(toList());
-    conflicting.addAll(changes.getConflicting());
-
-    List<String> untrackedFolders =
-        cachedStatus
-            .getUntrackedFolders()
-            .stream()
-            .filter(path -> !paths.contains(path))
-            .collect(toList());
-    untrackedFolders.addAll(changes.getUntrackedFolders());
-
-    Status status = newDto(Status.class);
-    status.setAdded(added);
-    status.setChanged(changed);
-    status.setModified(modified);
-    status.setUntracked(untracked);
-    status.setMissing(missing);
-    status.setRemoved(removed);
-    status.setConflicting(conflicting);
-    status.setUntrackedFolders(untrackedFolders);
-
-    statusCache.put(project, status);
   }
 }
@@ -131,7 +131,7 @@ public class GitCheckoutDetector {
   private Consumer<String> fsEventConsumer() {
     return it -> {
       try {
-        String content = fsManager.readAsString(it);
+        String content = fsManager.readAsString(it).trim();
         Type type = content.contains("ref:") ? BRANCH : REVISION;
         String name = type == REVISION ? content : PATTERN.split(content)[1];
         String project = it.substring(1, it.indexOf('/', 1));
@@ -36,6 +36,7 @@ import org.eclipse.che.api.git.params.RmParams;
 import org.eclipse.che.api.git.params.TagCreateParams;
 import org.eclipse.che.api.git.shared.Branch;
 import org.eclipse.che.api.git.shared.BranchListMode;
+import org.eclipse.che.api.git.shared.DiffCommitFile;
 import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.GitUser;
 import org.eclipse.che.api.git.shared.MergeResult;
@@ -228,6 +229,16 @@ public interface GitConnection extends Closeable {
    */
   LogPage log(LogParams params) throws GitException;
 
+  /**
+   * Get files changed by a commit comparing to its first parent.
+   *
+   * @param commit commit id or any other revision string that points to a commit
+   * @param filePath if not {@code null} only changes of this file or folder are returned
+   * @return list of changed files
+   * @throws GitException if commit is not found or any other error occurs
+   */
+  List<DiffCommitFile> getCommitDiffFiles(String commit, String filePath) throws GitException;
+
   /**
    * List references in a remote repository.
    *
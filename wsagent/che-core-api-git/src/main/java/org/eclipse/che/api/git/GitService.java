@@ -66,6 +66,7 @@ import org.eclipse.che.api.git.shared.CommitRequest;
 import org.eclipse.che.api.git.shared.Commiters;
 import org.eclipse.che.api.git.shared.ConfigRequest;
 import org.eclipse.che.api.git.shared.Constants;
+import org.eclipse.che.api.git.shared.DiffCommitFile;
 import org.eclipse.che.api.git.shared.DiffType;
 import org.eclipse.che.api.git.shared.EditedRegion;
 import org.eclipse.che.api.git.shared.FetchRequest;
@@ -195,8 +196,7 @@ public class GitService {
             + "' to '"
             + request.getWorkingDir()
             + "' started");
-    GitConnection gitConnection = getGitConnection();
-    try {
+    try (GitConnection gitConnection = getGitConnection()) {
       gitConnection.clone(
           CloneParams.create(request.getRemoteUri())
               // On-the-fly resolving of repository's working directory.
@@ -220,7 +220,6 @@ public class GitService {
               + " seconds ("
               + seconds / 60
               + " minutes)");
-      gitConnection.close();
     }
   }
 
@@ -332,7 +331,8 @@ public class GitService {
       @QueryParam("since") String revisionRangeSince,
       @QueryParam("until") String revisionRangeUntil,
       @QueryParam("skip") @DefaultValue("0") int skip,
-      @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount)
+      @QueryParam("maxCount") @DefaultValue(Constants.DEFAULT_PAGE_SIZE_QUERY_PARAM) int maxCount,
+      @QueryParam("headersOnly") boolean headersOnly)
       throws ApiException {
     try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.log(
@@ -341,7 +341,19 @@ public class GitService {
               .withRevisionRangeSince(revisionRangeSince)
               .withRevisionRangeUntil(revisionRangeUntil)
               .withMaxCount(maxCount)
-              .withSkip(skip));
+              .withSkip(skip)
+              .withHeadersOnly(headersOnly));
+    }
+  }
+
+  @GET
+  @Path("log/files")
+  @Produces(MediaType.APPLICATION_JSON)
+  public List<DiffCommitFile> getCommitDiffFiles(
+      @Required @QueryParam("commit") String commit, @QueryParam("filePath") String filePath)
+      throws ApiException {
+    try (GitConnection gitConnection = getGitConnection()) {
+      return gitConnection.getCommitDiffFiles(commit, filePath);
     }
   }
 
@@ -493,15 +505,12 @@ public class GitService {
   @Consumes(MediaType.APPLICATION_JSON)
   @Produces(MediaType.APPLICATION_JSON)
   public Tag tagCreate(TagCreateRequest request) throws ApiException {
-    GitConnection gitConnection = getGitConnection();
-    try {
+    try (GitConnection gitConnection = getGitConnection()) {
       return gitConnection.tagCreate(
           TagCreateParams.create(request.getName())
               .withCommit(request.getCommit())
               .withMessage(request.getMessage())
               .withForce(request.isForce()));
-    } finally {
-      gitConnection.close();
     }
   }
 
@@ -597,6 +606,7 @@ public class GitService {
     return pathTransformer.transform(wsRelatedProjectPath).toString();
   }
 
+  /** Returns connection to the project repository, the caller is responsible for closing it. */
   private GitConnection getGitConnection() throws ApiException {
     return gitConnectionFactory.getConnection(getAbsoluteProjectPath(projectPath));
   }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.git;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Notifies {@link CachedGitStatusProvider} about created, updated and deleted file system items, so
+ * statuses of only those items are re-checked.
+ */
+@Singleton
+class GitStatusFileChangeConsumer implements Consumer<Path> {
+
+  private final CachedGitStatusProvider statusProvider;
+
+  @Inject
+  GitStatusFileChangeConsumer(CachedGitStatusProvider statusProvider) {
+    this.statusProvider = statusProvider;
+  }
+
+  @Override
+  public void accept(Path path) {
+    statusProvider.onFileChanged(path);
+  }
+}
@@ -71,8 +71,10 @@ public class GitStatusProvider implements VcsStatusProvider {
       String projectFsPath = pathTransformer.transform(project.getPath()).toString();
       wsPath = wsPath.substring(wsPath.startsWith(SEPARATOR) ? 1 : 0);
       String itemPath = wsPath.substring(wsPath.indexOf(SEPARATOR) + 1);
-      Status status =
-          gitConnectionFactory.getConnection(projectFsPath).status(singletonList(itemPath));
+      Status status;
+      try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
+        status = connection.status(singletonList(itemPath));
+      }
       if (status.getUntracked().contains(itemPath)) {
         return UNTRACKED;
       } else if (status.getAdded().contains(itemPath)) {
@@ -98,7 +100,10 @@ public class GitStatusProvider implements VcsStatusProvider {
               .getClosest(absolutize(wsPath))
               .orElseThrow(() -> new NotFoundException("Can't find project"));
       String projectFsPath = pathTransformer.transform(project.getPath()).toString();
-      Status status = gitConnectionFactory.getConnection(projectFsPath).status(paths);
+      Status status;
+      try (GitConnection connection = gitConnectionFactory.getConnection(projectFsPath)) {
+        status = connection.status(paths);
+      }
       paths.forEach(
           path -> {
             String itemWsPath = resolve(project.getPath(), path);
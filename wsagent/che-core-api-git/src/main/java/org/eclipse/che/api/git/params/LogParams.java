@@ -27,6 +27,7 @@ public class LogParams {
   private String filePath;
   private int skip;
   private int maxCount;
+  private boolean headersOnly;
 
   private LogParams() {
     skip = -1;
@@ -172,4 +173,28 @@ public class LogParams {
     this.fileFilter = fileFilter;
     return this;
   }
+
+  /**
+   * Returns {@code true} if only commit headers are requested. Branches of such commits are
+   * resolved for the whole page at once and changed files are not computed, they can be fetched
+   * separately by {@link org.eclipse.che.api.git.GitConnection#getCommitDiffFiles(String, String)}.
+   */
+  public boolean isHeadersOnly() {
+    return headersOnly;
+  }
+
+  /** Set whether only commit headers are requested. */
+  public void setHeadersOnly(boolean headersOnly) {
+    this.headersOnly = headersOnly;
+  }
+
+  /**
+   * Create a {@link LogParams} object based on a given flag of requesting only commit headers.
+   *
+   * @param headersOnly {@code true} to request only commit headers
+   */
+  public LogParams withHeadersOnly(boolean headersOnly) {
+    this.headersOnly = headersOnly;
+    return this;
+  }
 }
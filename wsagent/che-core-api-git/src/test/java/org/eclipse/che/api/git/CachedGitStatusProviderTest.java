@@ -25,6 +25,8 @@ import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.AssertJUnit.assertEquals;
 import static org.testng.AssertJUnit.assertTrue;
@@ -95,7 +97,7 @@ public class CachedGitStatusProviderTest {
     when(projectManager.getClosest(anyString())).thenReturn(Optional.of(registeredProject));
     String projectName = projectPath.getName(projectPath.getNameCount() - 1).toString();
     when(registeredProject.getPath()).thenReturn("/" + projectName);
-    when(registeredProject.getName()).thenReturn(projectName);
+    lenient().when(registeredProject.getName()).thenReturn(projectName);
     Path path = mock(Path.class);
     when(path.toString()).thenReturn(projectPath.toString());
     when(pathTransformer.transform("/" + projectName)).thenReturn(path);
@@ -248,4 +250,56 @@ public class CachedGitStatusProviderTest {
     // then
     assertTrue(statusMap.get(PATH + "1") == MODIFIED);
   }
+
+  @Test
+  public void shouldNotCallGitForKnownNotChangedItem() throws Exception {
+    // given
+    List<String> paths = singletonList(NORMALIZED_PATH + "2");
+    when(gitConnection.status(paths)).thenReturn(newDto(Status.class));
+    gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // when
+    Map<String, VcsStatus> statusMap = gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // then
+    assertTrue(statusMap.get(PATH + "2") == NOT_MODIFIED);
+    verify(gitConnection, times(1)).status(paths);
+  }
+
+  @Test
+  public void shouldRecheckItemReportedByFileWatcher() throws Exception {
+    // given
+    List<String> paths = singletonList(NORMALIZED_PATH + "3");
+    Status status = newDto(Status.class);
+    status.setModified(new ArrayList<>(paths));
+    when(gitConnection.status(paths)).thenReturn(newDto(Status.class)).thenReturn(status);
+    gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // when
+    Path file = projectPath.resolve(NORMALIZED_PATH + "3");
+    when(pathTransformer.transform(file)).thenReturn(PATH + "3");
+    gitStatusProvider.onFileChanged(file);
+    Map<String, VcsStatus> statusMap = gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // then
+    assertTrue(statusMap.get(PATH + "3") == MODIFIED);
+    verify(gitConnection, times(2)).status(paths);
+  }
+
+  @Test
+  public void shouldRecheckAllItemsWhenGitIndexIsChanged() throws Exception {
+    // given
+    List<String> paths = singletonList(NORMALIZED_PATH + "4");
+    when(gitConnection.status(paths)).thenReturn(newDto(Status.class));
+    gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // when
+    Path index = projectPath.resolve(".git/index");
+    when(pathTransformer.transform(index)).thenReturn("/project/.git/index");
+    gitStatusProvider.onFileChanged(index);
+    gitStatusProvider.getStatus(NORMALIZED_PATH, paths);
+
+    // then
+    verify(gitConnection, times(2)).status(paths);
+  }
 }
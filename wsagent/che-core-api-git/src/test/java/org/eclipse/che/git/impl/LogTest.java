@@ -11,10 +11,12 @@
  */
 package org.eclipse.che.git.impl;
 
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.git.impl.GitTestUtil.addFile;
 import static org.eclipse.che.git.impl.GitTestUtil.cleanupTestRepo;
 import static org.eclipse.che.git.impl.GitTestUtil.connectToInitializedGitRepository;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.io.Files;
@@ -29,6 +31,8 @@ import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.api.git.params.AddParams;
 import org.eclipse.che.api.git.params.CommitParams;
 import org.eclipse.che.api.git.params.LogParams;
+import org.eclipse.che.api.git.shared.Branch;
+import org.eclipse.che.api.git.shared.DiffCommitFile;
 import org.eclipse.che.api.git.shared.Revision;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
@@ -339,4 +343,87 @@ public class LogTest {
     assertEquals(thirdAndFourthCommits.get(0).getMessage(), "add 4.txt file");
     assertEquals(thirdAndFourthCommits.get(1).getMessage(), "add 3.txt file");
   }
+
+  @Test(
+      dataProvider = "GitConnectionFactory",
+      dataProviderClass = GitConnectionFactoryProvider.class)
+  public void testHeadersOnlyLogResolvesSameBranchesAsFullLog(
+      GitConnectionFactory connectionFactory) throws GitException, IOException {
+    // given
+    GitConnection connection = createRepositoryWithBranches(connectionFactory, 30, 3);
+
+    // when
+    List<Revision> fullCommits =
+        connection.log(LogParams.create().withSkip(5).withMaxCount(10)).getCommits();
+    List<Revision> headerCommits =
+        connection
+            .log(LogParams.create().withSkip(5).withMaxCount(10).withHeadersOnly(true))
+            .getCommits();
+
+    // then
+    assertEquals(headerCommits.size(), 10);
+    for (int i = 0; i < fullCommits.size(); i++) {
+      Revision full = fullCommits.get(i);
+      Revision header = headerCommits.get(i);
+      assertEquals(header.getId(), full.getId());
+      assertEquals(header.getMessage(), full.getMessage());
+      assertEquals(header.getCommitParent(), full.getCommitParent());
+      assertEquals(branchNames(header), branchNames(full));
+      assertTrue(header.getDiffCommitFile().isEmpty());
+    }
+  }
+
+  @Test(
+      dataProvider = "GitConnectionFactory",
+      dataProviderClass = GitConnectionFactoryProvider.class)
+  public void testGetCommitDiffFiles(GitConnectionFactory connectionFactory)
+      throws GitException, IOException {
+    // given
+    GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+    addFile(connection, "1.txt", "someChanges");
+    connection.add(AddParams.create());
+    connection.commit(CommitParams.create("add 1.txt file"));
+
+    addFile(connection, "1.txt", "newChanges");
+    addFile(connection, "2.txt", "newChanges");
+    connection.add(AddParams.create());
+    String commitId = connection.commit(CommitParams.create("change files")).getId();
+
+    // when
+    List<DiffCommitFile> allFiles = connection.getCommitDiffFiles(commitId, null);
+    List<DiffCommitFile> filteredFiles = connection.getCommitDiffFiles(commitId, "2.txt");
+
+    // then
+    assertEquals(allFiles.size(), 2);
+    assertEquals(allFiles.get(0).getNewPath(), "1.txt");
+    assertEquals(allFiles.get(0).getChangeType(), "MODIFY");
+    assertEquals(allFiles.get(1).getNewPath(), "2.txt");
+    assertEquals(allFiles.get(1).getChangeType(), "ADD");
+    assertEquals(filteredFiles.size(), 1);
+    assertEquals(filteredFiles.get(0).getNewPath(), "2.txt");
+  }
+
+  /**
+   * Creates a repository with the given number of commits, where a branch is created each {@code
+   * branchEach} commits. Can be used with bigger numbers to measure log performance on
+   * repositories with lots of branches.
+   */
+  private GitConnection createRepositoryWithBranches(
+      GitConnectionFactory connectionFactory, int commits, int branchEach)
+      throws GitException, IOException {
+    GitConnection connection = connectToInitializedGitRepository(connectionFactory, repository);
+    for (int i = 0; i < commits; i++) {
+      addFile(connection, "file.txt", "change " + i);
+      connection.add(AddParams.create());
+      connection.commit(CommitParams.create("commit " + i));
+      if (i % branchEach == 0) {
+        connection.branchCreate("branch-" + i, null);
+      }
+    }
+    return connection;
+  }
+
+  private static List<String> branchNames(Revision revision) {
+    return revision.getBranches().stream().map(Branch::getName).sorted().collect(toList());
+  }
 }
@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.api.languageserver.shared.model;
 
+import java.util.List;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 
 /**
@@ -22,6 +24,8 @@ import org.eclipse.lsp4j.PublishDiagnosticsParams;
 public class ExtendedPublishDiagnosticsParams {
   private PublishDiagnosticsParams params;
   private String languageServerId;
+  private List<Diagnostic> removedDiagnostics;
+  private boolean delta;
 
   public ExtendedPublishDiagnosticsParams() {}
 
@@ -45,4 +49,26 @@ public class ExtendedPublishDiagnosticsParams {
   public void setLanguageServerId(String languageServerId) {
     this.languageServerId = languageServerId;
   }
+
+  /**
+   * Returns whether the notification carries only the changes since the previous notification for
+   * the same language server and file, in which case {@link #getParams()} holds the added
+   * diagnostics and {@link #getRemovedDiagnostics()} the removed ones.
+   */
+  public boolean isDelta() {
+    return delta;
+  }
+
+  public void setDelta(boolean delta) {
+    this.delta = delta;
+  }
+
+  /** Returns diagnostics removed since the previous notification, set for deltas only. */
+  public List<Diagnostic> getRemovedDiagnostics() {
+    return removedDiagnostics;
+  }
+
+  public void setRemovedDiagnostics(List<Diagnostic> removedDiagnostics) {
+    this.removedDiagnostics = removedDiagnostics;
+  }
 }
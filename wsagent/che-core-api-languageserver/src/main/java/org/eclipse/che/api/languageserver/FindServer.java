@@ -31,10 +31,15 @@ public class FindServer {
   private final FindId findId;
   private final Registry<ServerCapabilities> serverCapabilities;
   private final Registry<LanguageServer> languageServers;
+  private final LanguageServerLifecycleManager lifecycleManager;
 
   @Inject
-  FindServer(RegistryContainer registryContainer, FindId findId) {
+  FindServer(
+      RegistryContainer registryContainer,
+      FindId findId,
+      LanguageServerLifecycleManager lifecycleManager) {
     this.findId = findId;
+    this.lifecycleManager = lifecycleManager;
     this.serverCapabilities = registryContainer.serverCapabilitiesRegistry;
     this.languageServers = registryContainer.languageServerRegistry;
   }
@@ -50,7 +55,8 @@ public class FindServer {
   }
 
   /**
-   * Finds initialized language server instance that corresponds to a specified id.
+   * Finds initialized language server instance that corresponds to a specified id. Found server is
+   * considered used, so it is not shut down as an idle one.
    *
    * @param id language server id
    * @return language server instance or <code>null</code> if no sever found
@@ -65,6 +71,8 @@ public class FindServer {
     if (languageServer == null) {
       return null;
     }
+
+    lifecycleManager.touch(id);
     return new ExtendedLanguageServer(id, serverCapabilities, languageServer);
   }
 }
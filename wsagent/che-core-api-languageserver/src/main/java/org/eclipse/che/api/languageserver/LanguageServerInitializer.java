@@ -14,15 +14,18 @@ package org.eclipse.che.api.languageserver;
 import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.*;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
@@ -44,6 +47,11 @@ import org.slf4j.LoggerFactory;
  * connection establishing, language server instance creation and initialization, language server
  * capabilities accumulation.
  *
+ * <p>Language servers that match the same path are initialized concurrently, the number of language
+ * servers initialized at the same time is limited. Initialized language server may be shut down
+ * with {@link #shutdown(String)}, in that case it is initialized again on the next {@link
+ * #initialize(String)} call.
+ *
  * @author Dmytro Kulieshov
  */
 @Singleton
@@ -51,6 +59,8 @@ public class LanguageServerInitializer {
   private static Logger LOG = LoggerFactory.getLogger(LanguageServerInitializer.class);
 
   private final ExecutorService executor;
+  private final Semaphore initializationPermits;
+  private final LanguageServerMetrics metrics;
 
   private final EventService eventService;
   private final CheLanguageClientFactory cheLanguageClientFactory;
@@ -75,8 +85,12 @@ public class LanguageServerInitializer {
       FindId findId,
       EventService eventService,
       CheLanguageClientFactory cheLanguageClientFactory,
-      InitializeParamsProvider initializeParamsProvider) {
+      InitializeParamsProvider initializeParamsProvider,
+      LanguageServerMetrics metrics,
+      @Named("che.lsp.initialization.max_parallel") int maxParallelInitializations) {
     this.executor = newCachedThreadPool(getFactory());
+    this.initializationPermits = new Semaphore(maxParallelInitializations);
+    this.metrics = metrics;
 
     this.configInitializer = configInitializer;
     this.eventService = eventService;
@@ -116,17 +130,16 @@ public class LanguageServerInitializer {
           LOG.debug("Started language servers initialization, file path '{}'", wsPath);
 
           configInitializer.initialize();
-          Set<ServerCapabilities> serverCapabilitiesSet =
+          List<CompletableFuture<ServerCapabilities>> initializations =
               findId
                   .byPath(wsPath)
                   .stream()
-                  .map(this::initializeIOStreams)
-                  .filter(Objects::nonNull)
-                  .map(this::createServerInstance)
-                  .filter(Objects::nonNull)
-                  .map(id -> initializeServerInstance(id, wsPath))
-                  .filter(Objects::nonNull)
-                  .map(serverCapabilitiesRegistry::getOrNull)
+                  .map(id -> supplyAsync(() -> initializeServer(id, wsPath), executor))
+                  .collect(toList());
+          Set<ServerCapabilities> serverCapabilitiesSet =
+              initializations
+                  .stream()
+                  .map(CompletableFuture::join)
                   .filter(Objects::nonNull)
                   .collect(toSet());
 
@@ -145,6 +158,72 @@ public class LanguageServerInitializer {
         executor);
   }
 
+  /**
+   * Shuts down the language server with a specified id and destroys its process if the server was
+   * started by Che, so it is started again on the next {@link #initialize(String)} call. Does
+   * nothing if the server is not initialized.
+   *
+   * @param id language server id
+   */
+  public void shutdown(String id) {
+    try {
+      synchronized (idRegistry.get(id)) {
+        serverCapabilitiesRegistry.remove(id);
+        ioStreamRegistry.remove(id);
+        LanguageServer languageServer = languageServerRegistry.remove(id);
+        if (languageServer == null) {
+          return;
+        }
+
+        LOG.info("Shutting down language server '{}'", id);
+        try {
+          languageServer.shutdown().get(10, SECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+          LOG.warn("Language server '{}' didn't shut down gracefully", id, e);
+        }
+        languageServer.exit();
+
+        CommunicationProvider communicationProvider = communicationProviderRegistry.get(id);
+        if (communicationProvider instanceof ProcessCommunicationProvider) {
+          ((ProcessCommunicationProvider) communicationProvider).destroy();
+        }
+      }
+    } catch (LanguageServerException e) {
+      LOG.error("Can't shut down language server '{}'", id, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private ServerCapabilities initializeServer(String id, String wsPath) {
+    ServerCapabilities serverCapabilities = serverCapabilitiesRegistry.getOrNull(id);
+    if (serverCapabilities != null) {
+      return serverCapabilities;
+    }
+
+    try {
+      initializationPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+
+    long start = System.nanoTime();
+    try {
+      String initializedId = initializeIOStreams(id);
+      if (initializedId != null) {
+        initializedId = createServerInstance(initializedId);
+      }
+      if (initializedId != null) {
+        initializedId = initializeServerInstance(initializedId, wsPath);
+      }
+      return initializedId == null ? null : serverCapabilitiesRegistry.getOrNull(initializedId);
+    } finally {
+      initializationPermits.release();
+      metrics.record("initialize." + id, System.nanoTime() - start);
+    }
+  }
+
   private String initializeIOStreams(String id) {
     try {
       LOG.debug("Initializing of IO streams for server '{}': started", id);
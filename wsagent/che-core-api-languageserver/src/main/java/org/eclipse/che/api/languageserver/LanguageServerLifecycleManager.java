@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.core.util.ProcessUtil;
+import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
+import org.eclipse.che.api.languageserver.RegistryContainer.Registry;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts language servers on demand and shuts down the idle ones.
+ *
+ * <p>Language servers that match an opened document are initialized when the document is opened,
+ * unless they are already running. Language servers whose processes are started by Che are shut
+ * down when they have no opened documents and are not used for the configured period, they are
+ * started again once a matching document is opened. Language servers which are used without
+ * opened documents, e.g. by the Java extension calls, can be excluded from shutdown.
+ *
+ * <p>Resident memory of each language server process, including its child processes, is exposed
+ * with {@link LanguageServerMetrics} as {@code memory.<id>.rss_kb} gauge, which is registered
+ * when the server is initialized, no matter what started it, and removed when it is shut down.
+ */
+@Singleton
+class LanguageServerLifecycleManager {
+  private static final Logger LOG = LoggerFactory.getLogger(LanguageServerLifecycleManager.class);
+
+  private static final Path PROC = Paths.get("/proc");
+
+  private final long idleTimeoutMillis;
+  private final Set<String> excludedIds;
+  private final LanguageServerInitializer initializer;
+  private final LanguageServerConfigInitializer configInitializer;
+  private final FindId findId;
+  private final LanguageServerMetrics metrics;
+  private final Registry<ServerCapabilities> serverCapabilitiesRegistry;
+  private final Registry<CommunicationProvider> communicationProviderRegistry;
+  private final EventService eventService;
+  private final EventSubscriber<LanguageServerInitializedEvent> initializedSubscriber =
+      event -> registerMemoryGauge(event.getId());
+
+  private final Map<String, Long> lastUsed = new ConcurrentHashMap<>();
+  private final Map<String, Set<String>> openedDocuments = new ConcurrentHashMap<>();
+  // guards idle check and shutdown of a server from concurrent opening of its document
+  private final Object idleLock = new Object();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("LanguageServerLifecycleManager")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  @Inject
+  LanguageServerLifecycleManager(
+      @Named("che.lsp.idle_shutdown_timeout_min") long idleTimeoutMinutes,
+      @Named("che.lsp.idle_shutdown.excluded_ids") String[] excludedIds,
+      LanguageServerInitializer initializer,
+      LanguageServerConfigInitializer configInitializer,
+      FindId findId,
+      RegistryContainer registryContainer,
+      EventService eventService,
+      LanguageServerMetrics metrics) {
+    this.idleTimeoutMillis = MINUTES.toMillis(idleTimeoutMinutes);
+    this.excludedIds = new HashSet<>(asList(excludedIds));
+    this.initializer = initializer;
+    this.configInitializer = configInitializer;
+    this.findId = findId;
+    this.metrics = metrics;
+    this.eventService = eventService;
+    this.serverCapabilitiesRegistry = registryContainer.serverCapabilitiesRegistry;
+    this.communicationProviderRegistry = registryContainer.communicationProviderRegistry;
+  }
+
+  @PostConstruct
+  void start() {
+    eventService.subscribe(initializedSubscriber, LanguageServerInitializedEvent.class);
+    if (idleTimeoutMillis > 0) {
+      long period = Math.min(idleTimeoutMillis, MINUTES.toMillis(1));
+      scheduler.scheduleWithFixedDelay(
+          () -> shutdownIdle(System.currentTimeMillis()), period, period, MILLISECONDS);
+    }
+  }
+
+  @PreDestroy
+  void stop() {
+    eventService.unsubscribe(initializedSubscriber, LanguageServerInitializedEvent.class);
+    scheduler.shutdownNow();
+  }
+
+  /**
+   * Records usage of the language server, so it is not considered idle.
+   *
+   * @param id language server id
+   */
+  void touch(String id) {
+    lastUsed.put(id, System.currentTimeMillis());
+  }
+
+  /**
+   * Initializes language servers that match the opened document and are not running. Language
+   * servers with opened documents are never shut down.
+   *
+   * @param wsPath absolute workspace path of the opened document
+   * @return future which is completed when all the matching servers are running or failed to start
+   */
+  CompletableFuture<Void> documentOpened(String wsPath) {
+    configInitializer.initialize();
+    Set<String> ids = findId.byPath(wsPath);
+    boolean running;
+    synchronized (idleLock) {
+      for (String id : ids) {
+        openedDocuments.computeIfAbsent(id, it -> ConcurrentHashMap.newKeySet()).add(wsPath);
+        touch(id);
+      }
+      running = ids.stream().allMatch(serverCapabilitiesRegistry::contains);
+    }
+
+    if (running) {
+      return completedFuture(null);
+    }
+    LOG.debug("Starting language servers for opened document '{}'", wsPath);
+    return initializer
+        .initialize(wsPath)
+        .handle(
+            (capabilities, error) -> {
+              if (error != null) {
+                LOG.error("Can't start language servers for '{}'", wsPath, error);
+              }
+              return null;
+            });
+  }
+
+  /**
+   * Records that the document is not opened anymore.
+   *
+   * @param wsPath absolute workspace path of the closed document
+   */
+  void documentClosed(String wsPath) {
+    for (String id : findId.byPath(wsPath)) {
+      openedDocuments.getOrDefault(id, emptySet()).remove(wsPath);
+      touch(id);
+    }
+  }
+
+  /** Shuts down language servers which have no opened documents and are not used long enough. */
+  void shutdownIdle(long now) {
+    for (String id : serverCapabilitiesRegistry.getAll().keySet()) {
+      CommunicationProvider communicationProvider = communicationProviderRegistry.getOrNull(id);
+      if (!(communicationProvider instanceof ProcessCommunicationProvider)
+          || excludedIds.contains(id)
+          || !openedDocuments.getOrDefault(id, emptySet()).isEmpty()) {
+        continue;
+      }
+
+      // server initialized without a use, e.g. by the IDE request, is idle since now
+      long idleSince = lastUsed.computeIfAbsent(id, it -> now);
+      if (now - idleSince >= idleTimeoutMillis) {
+        synchronized (idleLock) {
+          if (openedDocuments.getOrDefault(id, emptySet()).isEmpty()) {
+            LOG.info("Language server '{}' is idle for {} ms", id, now - idleSince);
+            initializer.shutdown(id);
+            metrics.removeGauge(memoryGaugeName(id));
+            lastUsed.remove(id);
+            metrics.increment("idle_shutdown." + id, 1);
+          }
+        }
+      }
+    }
+  }
+
+  private void registerMemoryGauge(String id) {
+    if (communicationProviderRegistry.getOrNull(id) instanceof ProcessCommunicationProvider) {
+      metrics.gauge(memoryGaugeName(id), () -> residentMemoryKb(id));
+    }
+  }
+
+  private static String memoryGaugeName(String id) {
+    return "memory." + id + ".rss_kb";
+  }
+
+  /** Returns resident memory of the language server process tree or -1 if it is unknown. */
+  private long residentMemoryKb(String id) {
+    CommunicationProvider communicationProvider = communicationProviderRegistry.getOrNull(id);
+    if (!(communicationProvider instanceof ProcessCommunicationProvider)) {
+      return -1;
+    }
+
+    Process process = ((ProcessCommunicationProvider) communicationProvider).getProcess();
+    if (process == null || !process.isAlive() || !Files.isDirectory(PROC)) {
+      return -1;
+    }
+
+    try {
+      return processTreeMemoryKb(PROC, ProcessUtil.getPid(process));
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Can't read memory usage of language server '{}'", id, e);
+      return -1;
+    }
+  }
+
+  /**
+   * Sums resident memory of the process and all its descendants, read from the given proc file
+   * system.
+   */
+  static long processTreeMemoryKb(Path proc, int pid) throws IOException {
+    Map<Integer, Set<Integer>> children = new HashMap<>();
+    try (DirectoryStream<Path> processes = Files.newDirectoryStream(proc, "[0-9]*")) {
+      for (Path process : processes) {
+        int parent = parentPid(process);
+        if (parent > 0) {
+          children
+              .computeIfAbsent(parent, it -> new HashSet<>())
+              .add(Integer.parseInt(process.getFileName().toString()));
+        }
+      }
+    }
+
+    long total = 0;
+    Deque<Integer> queue = new ArrayDeque<>();
+    queue.add(pid);
+    while (!queue.isEmpty()) {
+      int current = queue.poll();
+      total += processMemoryKb(proc.resolve(Integer.toString(current)));
+      queue.addAll(children.getOrDefault(current, emptySet()));
+    }
+    return total;
+  }
+
+  /** Returns parent process id from {@code stat} file, or -1 if the process has gone. */
+  private static int parentPid(Path process) {
+    try {
+      String stat = new String(Files.readAllBytes(process.resolve("stat")));
+      // command name may contain spaces, so fields are counted from its closing parenthesis
+      String[] fields = stat.substring(stat.lastIndexOf(')') + 2).split(" ");
+      return Integer.parseInt(fields[1]);
+    } catch (IOException | RuntimeException e) {
+      return -1;
+    }
+  }
+
+  /** Returns {@code VmRSS} value from {@code status} file, or 0 if the process has gone. */
+  private static long processMemoryKb(Path process) {
+    try (BufferedReader reader = Files.newBufferedReader(process.resolve("status"))) {
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith("VmRSS:")) {
+          return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      LOG.debug("Can't read status of process '{}'", process, e);
+    }
+    return 0;
+  }
+}
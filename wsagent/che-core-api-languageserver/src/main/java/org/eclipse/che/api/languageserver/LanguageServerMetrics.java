@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import javax.inject.Singleton;
+
+/**
+ * Keeps counters, timers and gauges of the language server layer, e.g. time spent waiting for each
+ * of the language servers. Values are exposed with the {@code languageServer/metrics} JSON-RPC
+ * method as a flat map where timer values are represented by {@code <name>.count}, {@code
+ * <name>.total_ms} and {@code <name>.max_ms} entries. Gauges are evaluated on each snapshot, gauges
+ * with negative values are omitted.
+ */
+@Singleton
+public class LanguageServerMetrics {
+  private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+  /** Increments the counter with the given name by the given amount. */
+  public void increment(String name, long amount) {
+    counters.computeIfAbsent(name, it -> new LongAdder()).add(amount);
+  }
+
+  /** Records the given duration to the timer with the given name. */
+  public void record(String name, long durationNanos) {
+    timers.computeIfAbsent(name, it -> new Timer()).record(durationNanos);
+  }
+
+  /** Registers the gauge with the given name, replacing the previously registered one. */
+  public void gauge(String name, LongSupplier value) {
+    gauges.put(name, value);
+  }
+
+  /** Removes the gauge with the given name. */
+  public void removeGauge(String name) {
+    gauges.remove(name);
+  }
+
+  /** Returns whether the gauge with the given name is registered. */
+  public boolean hasGauge(String name) {
+    return gauges.containsKey(name);
+  }
+
+  /** Returns current values of all the counters and timers sorted by name. */
+  public Map<String, Long> snapshot() {
+    Map<String, Long> snapshot = new TreeMap<>();
+    counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+    timers.forEach(
+        (name, timer) -> {
+          snapshot.put(name + ".count", timer.count.sum());
+          snapshot.put(name + ".total_ms", NANOSECONDS.toMillis(timer.total.sum()));
+          snapshot.put(name + ".max_ms", NANOSECONDS.toMillis(timer.max.get()));
+        });
+    gauges.forEach(
+        (name, gauge) -> {
+          long value = gauge.getAsLong();
+          if (value >= 0) {
+            snapshot.put(name, value);
+          }
+        });
+    return snapshot;
+  }
+
+  private static class Timer {
+    final LongAdder count = new LongAdder();
+    final LongAdder total = new LongAdder();
+    final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    void record(long durationNanos) {
+      count.increment();
+      total.add(durationNanos);
+      max.accumulate(durationNanos);
+    }
+  }
+}
@@ -48,11 +48,20 @@ public class LanguageServerModule extends AbstractModule {
     newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.create"))
         .addBinding()
         .to(LanguageServerCreateFileWatcher.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.create"))
+        .addBinding()
+        .to(ResponseCacheFileChangeConsumer.class);
     newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.update"))
         .addBinding()
         .to(LanguageServerUpdateFileWatcher.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.update"))
+        .addBinding()
+        .to(ResponseCacheFileChangeConsumer.class);
     newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.delete"))
         .addBinding()
         .to(LanguageServerDeleteFileWatcher.class);
+    newSetBinder(binder(), new TypeLiteral<Consumer<Path>>() {}, Names.named("che.fs.file.delete"))
+        .addBinding()
+        .to(ResponseCacheFileChangeConsumer.class);
   }
 }
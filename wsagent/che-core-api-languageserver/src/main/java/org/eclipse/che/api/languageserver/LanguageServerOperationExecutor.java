@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.languageserver.util.LSOperation;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends requests to language servers without blocking the calling thread. Unlike {@code
+ * OperationUtil} the caller gets a future which is completed once the responses are handled, so
+ * JSON-RPC processing threads are not parked for the whole language server round trip.
+ *
+ * <p>Responses are handled with {@link LSOperation#handleResult(Object, Object)} calls which are
+ * never executed concurrently for the same operation, so results can be merged to plain
+ * collections. When operation is finished, e.g. timed out or superseded by another operation with
+ * the same key, requests that are still pending are cancelled and the future is completed with the
+ * results merged so far.
+ *
+ * <p>Time spent waiting for each language server is recorded to {@link LanguageServerMetrics}.
+ */
+@Singleton
+public class LanguageServerOperationExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(LanguageServerOperationExecutor.class);
+
+  private final LanguageServerMetrics metrics;
+  private final Map<String, Execution<?, ?>> executions = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService timeouts =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("LanguageServerOperationTimeouts")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  @Inject
+  public LanguageServerOperationExecutor(LanguageServerMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Starts the operation on all the servers it can be performed on and merges all the results.
+   *
+   * @param key key of the operation, if not {@code null} a pending operation with the same key is
+   *     considered superseded and is finished immediately
+   * @param servers language servers to start the operation on
+   * @param op operation
+   * @param timeoutMillis time to wait for the responses
+   * @param result supplier of the merged result, called once the operation is finished
+   * @return future which is completed with the merged result
+   */
+  public <R, T> CompletableFuture<T> merge(
+      String key,
+      Collection<ExtendedLanguageServer> servers,
+      LSOperation<ExtendedLanguageServer, R> op,
+      long timeoutMillis,
+      Supplier<T> result) {
+    return new Execution<>(key, op, result, false).start(servers, timeoutMillis);
+  }
+
+  /**
+   * Starts the operation on all the servers it can be performed on and finishes it as soon as the
+   * first result is accepted by {@link LSOperation#handleResult(Object, Object)}.
+   *
+   * @param key key of the operation, if not {@code null} a pending operation with the same key is
+   *     considered superseded and is finished immediately
+   * @param servers language servers to start the operation on
+   * @param op operation
+   * @param timeoutMillis time to wait for the responses
+   * @param result supplier of the result, called once the operation is finished
+   * @return future which is completed with the result
+   */
+  public <R, T> CompletableFuture<T> firstResult(
+      String key,
+      Collection<ExtendedLanguageServer> servers,
+      LSOperation<ExtendedLanguageServer, R> op,
+      long timeoutMillis,
+      Supplier<T> result) {
+    return new Execution<>(key, op, result, true).start(servers, timeoutMillis);
+  }
+
+  /**
+   * Returns a future which is completed with the response of a single language server request or
+   * fails with {@link TimeoutException} if the response is not received in time, in which case the
+   * request is cancelled.
+   *
+   * @param server language server the request is sent to
+   * @param request pending request
+   * @param timeoutMillis time to wait for the response
+   * @return future with the response
+   */
+  public <R> CompletableFuture<R> withTimeout(
+      ExtendedLanguageServer server, CompletableFuture<R> request, long timeoutMillis) {
+    long start = System.nanoTime();
+    CompletableFuture<R> response = new CompletableFuture<>();
+    ScheduledFuture<?> timeout =
+        timeouts.schedule(
+            () -> {
+              if (response.completeExceptionally(new TimeoutException())) {
+                metrics.increment("timeout." + server.getId(), 1);
+                request.cancel(true);
+              }
+            },
+            timeoutMillis,
+            MILLISECONDS);
+    request.whenComplete(
+        (value, error) -> {
+          timeout.cancel(false);
+          if (!(unwrap(error) instanceof CancellationException)) {
+            metrics.record("wait." + server.getId(), System.nanoTime() - start);
+          }
+          if (error == null) {
+            response.complete(value);
+          } else {
+            response.completeExceptionally(unwrap(error));
+          }
+        });
+    return response;
+  }
+
+  @PreDestroy
+  void shutdown() {
+    timeouts.shutdownNow();
+  }
+
+  private static Throwable unwrap(Throwable error) {
+    return error instanceof CompletionException && error.getCause() != null
+        ? error.getCause()
+        : error;
+  }
+
+  /** State of a single operation started on a set of language servers. */
+  private class Execution<R, T> {
+    private final String key;
+    private final LSOperation<ExtendedLanguageServer, R> op;
+    private final Supplier<T> result;
+    private final boolean firstWins;
+    private final CompletableFuture<T> done = new CompletableFuture<>();
+    private final Map<ExtendedLanguageServer, CompletableFuture<R>> requests =
+        new LinkedHashMap<>();
+
+    // number of requests without response, plus one while the requests are being sent
+    private int pending = 1;
+
+    private Execution(
+        String key,
+        LSOperation<ExtendedLanguageServer, R> op,
+        Supplier<T> result,
+        boolean firstWins) {
+      this.key = key;
+      this.op = op;
+      this.result = result;
+      this.firstWins = firstWins;
+    }
+
+    private CompletableFuture<T> start(
+        Collection<ExtendedLanguageServer> servers, long timeoutMillis) {
+      if (key != null) {
+        Execution<?, ?> previous = executions.put(key, this);
+        if (previous != null) {
+          metrics.increment("superseded", 1);
+          previous.finishIfPending();
+        }
+      }
+
+      for (ExtendedLanguageServer server : servers) {
+        if (op.canDo(server)) {
+          send(server);
+        }
+      }
+
+      ScheduledFuture<?> timeout =
+          timeouts.schedule(this::finishIfPending, timeoutMillis, MILLISECONDS);
+      done.whenComplete((value, error) -> timeout.cancel(false));
+
+      synchronized (this) {
+        if (--pending == 0 && !done.isDone()) {
+          finish();
+        }
+      }
+      return done;
+    }
+
+    private void send(ExtendedLanguageServer server) {
+      long start = System.nanoTime();
+      CompletableFuture<R> request;
+      try {
+        request = op.start(server);
+      } catch (RuntimeException e) {
+        LOG.info("Exception occurred in op", e);
+        return;
+      }
+
+      synchronized (this) {
+        if (done.isDone()) {
+          request.cancel(true);
+          return;
+        }
+        pending++;
+        requests.put(server, request);
+      }
+      request.whenComplete((value, error) -> onResponse(server, start, value, error));
+    }
+
+    private void onResponse(ExtendedLanguageServer server, long start, R value, Throwable error) {
+      Throwable cause = unwrap(error);
+      if (cause instanceof CancellationException) {
+        metrics.increment("cancelled." + server.getId(), 1);
+      } else {
+        metrics.record("wait." + server.getId(), System.nanoTime() - start);
+        if (cause != null) {
+          LOG.info("Exception occurred in request", cause);
+        }
+      }
+
+      synchronized (this) {
+        if (done.isDone()) {
+          return;
+        }
+        boolean accepted = cause == null && handleResult(server, value);
+        if ((accepted && firstWins) || --pending == 0) {
+          finish();
+        }
+      }
+    }
+
+    private boolean handleResult(ExtendedLanguageServer server, R value) {
+      try {
+        return op.handleResult(server, value);
+      } catch (RuntimeException e) {
+        LOG.info("Exception occurred in op", e);
+        return false;
+      }
+    }
+
+    private synchronized void finishIfPending() {
+      if (!done.isDone()) {
+        finish();
+      }
+    }
+
+    /** Must be called while holding the lock of this execution. */
+    private void finish() {
+      if (key != null) {
+        executions.remove(key, this);
+      }
+
+      try {
+        done.complete(result.get());
+      } catch (RuntimeException e) {
+        done.completeExceptionally(e);
+      }
+
+      for (CompletableFuture<R> request : requests.values()) {
+        request.cancel(true);
+      }
+    }
+  }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Collections.unmodifiableList;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.lsp4j.Position;
+
+/**
+ * Keeps responses of idempotent language server requests, e.g. hover or definition, so repeated
+ * requests for the same document state are not sent to the language server again. Responses are
+ * kept per method, language server, document and position, cache is bounded and least recently
+ * used responses are evicted when the size limit is reached.
+ *
+ * <p>Document state is tracked by invalidations instead of document versions: the document is
+ * invalidated when it is changed, saved, opened or closed in the editor and when it is changed on
+ * the file system. Invalidation drops responses about the document itself and all the responses of
+ * workspace scoped requests, as they may depend on the content of other documents. Responses
+ * received for requests sent before an invalidation are not cached, for that invalidations are
+ * remembered only while there are requests in flight sent before them.
+ *
+ * <p>Cached responses are shared by all the requests they are returned to, so they must not be
+ * modified. List responses are kept as unmodifiable copies, their items are converted to new
+ * objects by the callers instead of being changed.
+ *
+ * <p>Hits and misses are counted per method with {@link LanguageServerMetrics}.
+ */
+@Singleton
+public class LanguageServerResponseCache {
+  private final Map<Key, Object> responses;
+  private final Map<String, Long> invalidatedAt = new HashMap<>();
+  /** Generations at which the requests in flight were sent, mapped to the number of requests. */
+  private final TreeMap<Long, Integer> inFlight = new TreeMap<>();
+  private final LanguageServerMetrics metrics;
+  private final boolean enabled;
+
+  private long generation;
+
+  @Inject
+  public LanguageServerResponseCache(
+      @Named("che.lsp.response_cache.max_size") int maxSize, LanguageServerMetrics metrics) {
+    this.metrics = metrics;
+    this.enabled = maxSize > 0;
+    this.responses =
+        new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+            return size() > maxSize;
+          }
+        };
+  }
+
+  /**
+   * Returns cached response of a request whose result depends only on the content of the given
+   * document, or sends the request if there is no such response.
+   *
+   * @param method name of the request method
+   * @param server language server to send the request to
+   * @param wsPath absolute workspace path of the document
+   * @param position position in the document or {@code null} if the request is not positional
+   * @param request sends the request to the language server
+   * @return future which is completed with the response
+   */
+  public <R> CompletableFuture<R> document(
+      String method,
+      ExtendedLanguageServer server,
+      String wsPath,
+      Position position,
+      Supplier<CompletableFuture<R>> request) {
+    return get(new Key(method, server.getId(), wsPath, position, true), request);
+  }
+
+  /**
+   * Returns cached response of a request whose result may depend on the content of any of the
+   * workspace documents, or sends the request if there is no such response.
+   *
+   * @param method name of the request method
+   * @param server language server to send the request to
+   * @param wsPath absolute workspace path of the document
+   * @param position position in the document or {@code null} if the request is not positional
+   * @param request sends the request to the language server
+   * @return future which is completed with the response
+   */
+  public <R> CompletableFuture<R> workspace(
+      String method,
+      ExtendedLanguageServer server,
+      String wsPath,
+      Position position,
+      Supplier<CompletableFuture<R>> request) {
+    return get(new Key(method, server.getId(), wsPath, position, false), request);
+  }
+
+  /**
+   * Drops responses about the given document and responses of all the workspace scoped requests.
+   *
+   * @param wsPath absolute workspace path of the document
+   */
+  public void invalidate(String wsPath) {
+    synchronized (responses) {
+      generation++;
+      if (!inFlight.isEmpty()) {
+        invalidatedAt.put(wsPath, generation);
+      }
+      responses.keySet().removeIf(key -> !key.documentScoped || key.wsPath.equals(wsPath));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <R> CompletableFuture<R> get(Key key, Supplier<CompletableFuture<R>> request) {
+    if (!enabled) {
+      return request.get();
+    }
+
+    long started;
+    synchronized (responses) {
+      Object response = responses.get(key);
+      if (response != null) {
+        metrics.increment("response_cache.hit." + key.method, 1);
+        return CompletableFuture.completedFuture((R) response);
+      }
+      started = generation;
+      inFlight.merge(started, 1, Integer::sum);
+    }
+
+    metrics.increment("response_cache.miss." + key.method, 1);
+    CompletableFuture<R> future;
+    try {
+      future = request.get();
+    } catch (RuntimeException e) {
+      complete(key, null, started);
+      throw e;
+    }
+    future.whenComplete((response, error) -> complete(key, response, started));
+    return future;
+  }
+
+  private void complete(Key key, Object response, long started) {
+    synchronized (responses) {
+      if (response != null) {
+        boolean invalidated =
+            key.documentScoped
+                ? invalidatedAt.getOrDefault(key.wsPath, 0L) > started
+                : generation > started;
+        if (!invalidated) {
+          responses.put(key, readOnly(response));
+        }
+      }
+
+      inFlight.computeIfPresent(started, (at, count) -> count == 1 ? null : count - 1);
+      // invalidations not newer than the oldest request in flight can't affect any response
+      if (inFlight.isEmpty()) {
+        invalidatedAt.clear();
+      } else {
+        long oldest = inFlight.firstKey();
+        invalidatedAt.values().removeIf(invalidated -> invalidated <= oldest);
+      }
+    }
+  }
+
+  private static Object readOnly(Object response) {
+    if (response instanceof List) {
+      return unmodifiableList(new ArrayList<>((List<?>) response));
+    }
+    return response;
+  }
+
+  @VisibleForTesting
+  int trackedInvalidations() {
+    synchronized (responses) {
+      return invalidatedAt.size();
+    }
+  }
+
+  private static class Key {
+    final String method;
+    final String serverId;
+    final String wsPath;
+    final String position;
+    final boolean documentScoped;
+
+    Key(String method, String serverId, String wsPath, Position position, boolean documentScoped) {
+      this.method = method;
+      this.serverId = serverId;
+      this.wsPath = wsPath;
+      this.position = position == null ? null : position.getLine() + ":" + position.getCharacter();
+      this.documentScoped = documentScoped;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return method.equals(other.method)
+          && serverId.equals(other.serverId)
+          && wsPath.equals(other.wsPath)
+          && Objects.equals(position, other.position);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(method, serverId, wsPath, position);
+    }
+  }
+}
@@ -16,6 +16,7 @@ import static java.util.concurrent.TimeUnit.MINUTES;
 
 import com.google.inject.Singleton;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
@@ -44,17 +45,20 @@ class LanguageServerService {
   private final LanguageServerInitializer languageServerInitializer;
   private final Registry<String> languageFilterRegistry;
   private final LanguageServerConfigInitializer configInitializer;
+  private final LanguageServerMetrics metrics;
 
   @Inject
   LanguageServerService(
       RequestHandlerConfigurator configurator,
       LanguageServerInitializer languageServerInitializer,
       RegistryContainer registryContainer,
-      LanguageServerConfigInitializer configInitializer) {
+      LanguageServerConfigInitializer configInitializer,
+      LanguageServerMetrics metrics) {
     this.configurator = configurator;
     this.languageServerInitializer = languageServerInitializer;
     this.languageFilterRegistry = registryContainer.languageFilterRegistry;
     this.configInitializer = configInitializer;
+    this.metrics = metrics;
   }
 
   @PostConstruct
@@ -72,6 +76,13 @@ class LanguageServerService {
         .noParams()
         .resultAsListOfDto(LanguageRegexDto.class)
         .withSupplier(this::getLanguageRegexes);
+
+    configurator
+        .newConfiguration()
+        .methodName("languageServer/metrics")
+        .noParams()
+        .resultAsDto(Map.class)
+        .withSupplier(metrics::snapshot);
   }
 
   private List<LanguageRegexDto> getLanguageRegexes() {
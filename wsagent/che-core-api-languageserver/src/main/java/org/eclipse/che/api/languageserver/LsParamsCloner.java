@@ -105,8 +105,9 @@ class LsParamsCloner {
         didChangeTextDocumentParams.getContentChanges();
     VersionedTextDocumentIdentifier textDocument = didChangeTextDocumentParams.getTextDocument();
 
+    // content changes are never modified once received, so they are shared by all the clones
     DidChangeTextDocumentParams cloned = new DidChangeTextDocumentParams();
-    cloned.setContentChanges(cloneTDCCE(contentChanges));
+    cloned.setContentChanges(contentChanges);
     cloned.setTextDocument(clone(textDocument));
 
     return cloned;
@@ -128,37 +129,6 @@ class LsParamsCloner {
     return cloned;
   }
 
-  List<TextDocumentContentChangeEvent> cloneTDCCE(
-      List<TextDocumentContentChangeEvent> textDocumentContentChangeEvents) {
-    if (textDocumentContentChangeEvents == null) {
-      return null;
-    }
-
-    List<TextDocumentContentChangeEvent> cloned =
-        new ArrayList<>(textDocumentContentChangeEvents.size());
-    textDocumentContentChangeEvents.stream().map(this::clone).forEach(cloned::add);
-
-    return cloned;
-  }
-
-  TextDocumentContentChangeEvent clone(
-      TextDocumentContentChangeEvent textDocumentContentChangeEvent) {
-    if (textDocumentContentChangeEvent == null) {
-      return null;
-    }
-
-    Range range = textDocumentContentChangeEvent.getRange();
-    Integer rangeLength = textDocumentContentChangeEvent.getRangeLength();
-    String text = textDocumentContentChangeEvent.getText();
-
-    TextDocumentContentChangeEvent cloned = new TextDocumentContentChangeEvent();
-    cloned.setRange(clone(range));
-    cloned.setRangeLength(rangeLength);
-    cloned.setText(text);
-
-    return cloned;
-  }
-
   DocumentOnTypeFormattingParams clone(
       DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
     if (documentOnTypeFormattingParams == null) {
@@ -15,13 +15,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import org.apache.commons.io.IOUtils;
+import org.eclipse.che.api.core.util.ProcessUtil;
 import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This implementation provides communication to a process that runs a language server. Besides that
- * it also lazily starts the language server process.
+ * it also lazily starts the language server process, which is started again after it is destroyed
+ * with {@link #destroy()}.
  *
  * @author Dmytro Kulieshov
  */
@@ -32,7 +34,7 @@ public class ProcessCommunicationProvider implements CommunicationProvider {
   private final String languageServerName;
   private final StatusChecker statusChecker;
 
-  private Process process;
+  private volatile Process process;
 
   public ProcessCommunicationProvider(ProcessBuilder processBuilder, String languageServerName) {
     this.processBuilder = processBuilder;
@@ -65,26 +67,42 @@ public class ProcessCommunicationProvider implements CommunicationProvider {
   }
 
   @Override
-  public InputStream getInputStream() throws LanguageServerException {
+  public synchronized InputStream getInputStream() throws LanguageServerException {
     startProcessLazily();
 
     return process.getInputStream();
   }
 
   @Override
-  public OutputStream getOutputStream() throws LanguageServerException {
+  public synchronized OutputStream getOutputStream() throws LanguageServerException {
     startProcessLazily();
 
     return process.getOutputStream();
   }
 
   @Override
-  public StatusChecker getStatusChecker() throws LanguageServerException {
+  public synchronized StatusChecker getStatusChecker() throws LanguageServerException {
     startProcessLazily();
 
     return statusChecker;
   }
 
+  /** Returns the language server process or {@code null} if it is not started. */
+  public synchronized Process getProcess() {
+    return process;
+  }
+
+  /** Kills the language server process if it is started, so it is started again on next use. */
+  public synchronized void destroy() {
+    if (process != null) {
+      LOG.debug("Destroying process of '{}'", languageServerName);
+      if (process.isAlive()) {
+        ProcessUtil.kill(process);
+      }
+      process = null;
+    }
+  }
+
   private void startProcessLazily() throws LanguageServerException {
     LOG.debug("Starting process lazily");
     if (process == null) {
@@ -11,34 +11,93 @@
  */
 package org.eclipse.che.api.languageserver;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptySet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-/** Transmits 'textDocument/publishDiagnostics' over the JSON-RPC */
+/**
+ * Transmits 'textDocument/publishDiagnostics' over the JSON-RPC.
+ *
+ * <p>Diagnostics last sent for each language server and file are remembered, so publications
+ * identical to the last sent one are suppressed. Publications of the same language server and file
+ * are sent not more often than once per configured interval, publications received in between are
+ * replaced by the latest one. Remembered diagnostics of a file are dropped with {@link
+ * #forget(String)} when the file is opened or closed, so that reopened editor receives them again.
+ *
+ * <p>Clients which subscribe with 'textDocument/publishDiagnostics/subscribeToDeltas' receive only
+ * the diagnostics added and removed since the previous publication they received for the same
+ * language server and file, see {@link ExtendedPublishDiagnosticsParams#isDelta()}. The first
+ * publication after subscription or after the file is forgotten is always a full one. Size of the
+ * payloads which are not sent thanks to the suppression and the deltas is reported as {@code
+ * diagnostics.bytes_saved} metric.
+ */
 @Singleton
 class PublishDiagnosticsParamsJsonRpcTransmitter {
   private static final Logger LOG =
       LoggerFactory.getLogger(PublishDiagnosticsParamsJsonRpcTransmitter.class);
 
   private final Set<String> endpointIds = new CopyOnWriteArraySet<>();
+  private final Set<String> deltaEndpointIds = new CopyOnWriteArraySet<>();
+  private final Map<String, Map<String, PublishedDiagnostics>> published =
+      new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("PublishDiagnosticsTransmitter")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private final long publishIntervalMillis;
+  private final LanguageServerMetrics metrics;
+
+  private RequestTransmitter requestTransmitter;
 
   @Inject
-  private void subscribe(
+  PublishDiagnosticsParamsJsonRpcTransmitter(
+      @Named("che.lsp.diagnostics.publish_interval_ms") long publishIntervalMillis,
+      LanguageServerMetrics metrics) {
+    this.publishIntervalMillis = publishIntervalMillis;
+    this.metrics = metrics;
+  }
+
+  @Inject
+  void subscribe(
       LanguageServerPathTransformer languageServerPathTransformer,
       EventService eventService,
       RequestTransmitter requestTransmitter) {
+    this.requestTransmitter = requestTransmitter;
     eventService.subscribe(
         event -> {
           PublishDiagnosticsParams params = event.getParams();
@@ -48,15 +107,10 @@ class PublishDiagnosticsParamsJsonRpcTransmitter {
               String wsPath =
                   languageServerPathTransformer.toWsPath(event.getLanguageServerId(), uri);
               params.setUri(wsPath);
-              endpointIds.forEach(
-                  endpointId ->
-                      requestTransmitter
-                          .newRequest()
-                          .endpointId(endpointId)
-                          .methodName("textDocument/publishDiagnostics")
-                          .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(event))
-                          .sendAndSkipResult());
-
+              published
+                  .computeIfAbsent(wsPath, it -> new ConcurrentHashMap<>())
+                  .computeIfAbsent(event.getLanguageServerId(), it -> new PublishedDiagnostics())
+                  .publish(event);
             } catch (URISyntaxException e) {
               LOG.error("Can't parse diagnostic URI: {}", params.getUri(), e);
             }
@@ -65,6 +119,172 @@ class PublishDiagnosticsParamsJsonRpcTransmitter {
         ExtendedPublishDiagnosticsParams.class);
   }
 
+  /**
+   * Drops remembered diagnostics of the file, so the next publication for it is sent even if it is
+   * identical to the previous one.
+   *
+   * @param wsPath absolute workspace path of the file
+   */
+  void forget(String wsPath) {
+    published.remove(wsPath);
+  }
+
+  /**
+   * Subscribes the endpoint to the diagnostics publications.
+   *
+   * @param endpointId id of the subscribed endpoint
+   * @param deltas whether the endpoint accepts delta publications
+   */
+  @VisibleForTesting
+  void addEndpoint(String endpointId, boolean deltas) {
+    // a resubscribed endpoint may have lost the diagnostics the deltas would be based on
+    published.values().forEach(it -> it.values().forEach(p -> p.forgetReceiver(endpointId)));
+    if (deltas) {
+      deltaEndpointIds.add(endpointId);
+    } else {
+      deltaEndpointIds.remove(endpointId);
+    }
+    endpointIds.add(endpointId);
+  }
+
+  private void removeEndpoint(String endpointId) {
+    endpointIds.remove(endpointId);
+    deltaEndpointIds.remove(endpointId);
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void send(String endpointId, ExtendedPublishDiagnosticsParamsDto dto) {
+    requestTransmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName("textDocument/publishDiagnostics")
+        .paramsAsDto(dto)
+        .sendAndSkipResult();
+  }
+
+  /** Returns the diagnostics changes between the given publications. */
+  private static ExtendedPublishDiagnosticsParams delta(
+      List<Diagnostic> previous, ExtendedPublishDiagnosticsParams event) {
+    Multiset<Diagnostic> removed = HashMultiset.create(previous);
+    List<Diagnostic> added =
+        event
+            .getParams()
+            .getDiagnostics()
+            .stream()
+            .filter(diagnostic -> !removed.remove(diagnostic))
+            .collect(toList());
+
+    ExtendedPublishDiagnosticsParams delta =
+        new ExtendedPublishDiagnosticsParams(
+            event.getLanguageServerId(),
+            new PublishDiagnosticsParams(event.getParams().getUri(), added));
+    delta.setRemovedDiagnostics(new ArrayList<>(removed));
+    delta.setDelta(true);
+    return delta;
+  }
+
+  private static long sizeOf(ExtendedPublishDiagnosticsParamsDto dto) {
+    return dto.toJson().getBytes(UTF_8).length;
+  }
+
+  /** Publication state of the diagnostics of a single language server for a single file. */
+  private class PublishedDiagnostics {
+    private List<Diagnostic> lastSent;
+    private long lastSentBytes;
+    private Set<String> lastReceivers = emptySet();
+    private long lastSentAt;
+    private ExtendedPublishDiagnosticsParams pending;
+    private boolean scheduled;
+
+    private synchronized void publish(ExtendedPublishDiagnosticsParams event) {
+      if (pending != null) {
+        metrics.increment("diagnostics.throttled", 1);
+      } else if (event.getParams().getDiagnostics().equals(lastSent)) {
+        suppress();
+        return;
+      }
+      pending = event;
+
+      if (!scheduled) {
+        long delay = lastSentAt + publishIntervalMillis - System.currentTimeMillis();
+        if (delay <= 0) {
+          sendPending();
+        } else {
+          scheduled = true;
+          scheduler.schedule(this::flush, delay, MILLISECONDS);
+        }
+      }
+    }
+
+    private synchronized void flush() {
+      scheduled = false;
+      try {
+        sendPending();
+      } catch (RuntimeException e) {
+        LOG.error("Can't publish diagnostics", e);
+      }
+    }
+
+    private void sendPending() {
+      ExtendedPublishDiagnosticsParams event = pending;
+      pending = null;
+      if (event == null) {
+        return;
+      }
+
+      List<Diagnostic> diagnostics = event.getParams().getDiagnostics();
+      if (diagnostics.equals(lastSent)) {
+        suppress();
+        return;
+      }
+
+      ExtendedPublishDiagnosticsParamsDto full = new ExtendedPublishDiagnosticsParamsDto(event);
+      long fullBytes = sizeOf(full);
+      ExtendedPublishDiagnosticsParamsDto delta = null;
+      long deltaBytes = 0;
+      Set<String> receivers = new HashSet<>();
+      for (String endpointId : endpointIds) {
+        boolean acceptsDelta =
+            deltaEndpointIds.contains(endpointId) && lastReceivers.contains(endpointId);
+        if (acceptsDelta && delta == null) {
+          delta = new ExtendedPublishDiagnosticsParamsDto(delta(lastSent, event));
+          deltaBytes = sizeOf(delta);
+        }
+        // delta of entirely changed diagnostics may be larger than the full publication
+        if (acceptsDelta && deltaBytes < fullBytes) {
+          send(endpointId, delta);
+          metrics.increment("diagnostics.bytes_saved", fullBytes - deltaBytes);
+        } else {
+          send(endpointId, full);
+        }
+        receivers.add(endpointId);
+      }
+
+      lastSent = new ArrayList<>(diagnostics);
+      lastSentBytes = fullBytes;
+      lastReceivers = receivers;
+      lastSentAt = System.currentTimeMillis();
+      metrics.increment("diagnostics.sent", 1);
+    }
+
+    /** Records the publication identical to the last sent one, which is not sent again. */
+    private void suppress() {
+      metrics.increment("diagnostics.suppressed", 1);
+      metrics.increment("diagnostics.bytes_saved", lastSentBytes * endpointIds.size());
+    }
+
+    private synchronized void forgetReceiver(String endpointId) {
+      if (lastReceivers.contains(endpointId)) {
+        lastReceivers = new HashSet<>(lastReceivers);
+        lastReceivers.remove(endpointId);
+      }
+    }
+  }
+
   @Inject
   private void configureSubscribeHandler(RequestHandlerConfigurator requestHandler) {
     requestHandler
@@ -72,7 +292,17 @@ class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/subscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::add);
+        .withConsumer(endpointId -> addEndpoint(endpointId, false));
+  }
+
+  @Inject
+  private void configureSubscribeToDeltasHandler(RequestHandlerConfigurator requestHandler) {
+    requestHandler
+        .newConfiguration()
+        .methodName("textDocument/publishDiagnostics/subscribeToDeltas")
+        .noParams()
+        .noResult()
+        .withConsumer(endpointId -> addEndpoint(endpointId, true));
   }
 
   @Inject
@@ -82,6 +312,6 @@ class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/unsubscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::remove);
+        .withConsumer(this::removeEndpoint);
   }
 }
@@ -67,6 +67,17 @@ class RegistryContainer {
       return id;
     }
 
+    /**
+     * Remove an element from the registry
+     *
+     * @param id language server id
+     * @return removed element or <code>null</code> if no value is stored for specified language
+     *     server
+     */
+    T remove(String id) {
+      return innerRegistry.remove(id);
+    }
+
     /**
      * Checks if the registry already contain the value for the specified language server.
      *
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.api.fs.server.PathTransformer;
+
+/**
+ * Invalidates responses kept by {@link LanguageServerResponseCache} about created, updated and
+ * deleted files, as their content may have been changed not by the editor.
+ */
+@Singleton
+class ResponseCacheFileChangeConsumer implements Consumer<Path> {
+
+  private final LanguageServerResponseCache responseCache;
+  private final PathTransformer pathTransformer;
+
+  @Inject
+  ResponseCacheFileChangeConsumer(
+      LanguageServerResponseCache responseCache, PathTransformer pathTransformer) {
+    this.responseCache = responseCache;
+    this.pathTransformer = pathTransformer;
+  }
+
+  @Override
+  public void accept(Path path) {
+    responseCache.invalidate(pathTransformer.transform(path));
+  }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Comparator.comparing;
+import static java.util.Comparator.naturalOrder;
+import static java.util.Comparator.nullsFirst;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces document changes that are received within a configured window into a single {@code
+ * didChange} notification, so language servers don't recompute diagnostics on every keystroke.
+ *
+ * <p>Buffered changes are ordered by document version before forwarding, as notifications of the
+ * same document may be processed by different JSON-RPC threads. Consecutive typing on the same line
+ * is merged into a single insertion, and changes preceding a full content change are dropped.
+ * Requests that depend on the document content must call {@link #flush(String)} first.
+ *
+ * <p>Numbers of received and forwarded notifications are recorded to {@link LanguageServerMetrics},
+ * so the merge ratio can be derived from them.
+ */
+@Singleton
+public class TextDocumentChangeCoalescer {
+  private static final Logger LOG = LoggerFactory.getLogger(TextDocumentChangeCoalescer.class);
+
+  private static final Comparator<DidChangeTextDocumentParams> BY_VERSION =
+      comparing(it -> it.getTextDocument().getVersion(), nullsFirst(naturalOrder()));
+
+  private final long windowMillis;
+  private final LanguageServerMetrics metrics;
+  private final Map<String, PendingChanges> documents = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("TextDocumentChangeCoalescer")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  @Inject
+  public TextDocumentChangeCoalescer(
+      @Named("che.lsp.did_change.coalesce_window_ms") long windowMillis,
+      LanguageServerMetrics metrics) {
+    this.windowMillis = windowMillis;
+    this.metrics = metrics;
+  }
+
+  /**
+   * Buffers the change of a document until the coalescing window is over or the document is
+   * flushed.
+   *
+   * @param params change notification received from a client
+   * @param forwarder consumer that forwards coalesced notification to the language servers
+   */
+  public void change(
+      DidChangeTextDocumentParams params, Consumer<DidChangeTextDocumentParams> forwarder) {
+    metrics.increment("did_change.received", 1);
+    metrics.increment("did_change.content_changes.received", params.getContentChanges().size());
+
+    if (windowMillis <= 0) {
+      forward(params, forwarder);
+      return;
+    }
+
+    String uri = params.getTextDocument().getUri();
+    documents.computeIfAbsent(uri, PendingChanges::new).add(params, forwarder);
+  }
+
+  /**
+   * Forwards buffered changes of the document immediately.
+   *
+   * @param uri document identifier
+   */
+  public void flush(String uri) {
+    PendingChanges pending = documents.get(uri);
+    if (pending != null) {
+      pending.flush();
+    }
+  }
+
+  /**
+   * Forwards buffered changes of the document and stops tracking it.
+   *
+   * @param uri document identifier
+   */
+  public void close(String uri) {
+    PendingChanges pending = documents.remove(uri);
+    if (pending != null) {
+      pending.flush();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  private void forward(
+      DidChangeTextDocumentParams params, Consumer<DidChangeTextDocumentParams> forwarder) {
+    metrics.increment("did_change.forwarded", 1);
+    metrics.increment("did_change.content_changes.forwarded", params.getContentChanges().size());
+    forwarder.accept(params);
+  }
+
+  /**
+   * Returns changes equivalent to the given ones. Changes preceding a full content change are
+   * dropped and consecutive single line insertions are merged.
+   */
+  static List<TextDocumentContentChangeEvent> compact(
+      List<TextDocumentContentChangeEvent> changes) {
+    LinkedList<TextDocumentContentChangeEvent> result = new LinkedList<>();
+    for (TextDocumentContentChangeEvent change : changes) {
+      if (change.getRange() == null) {
+        result.clear();
+        result.add(change);
+      } else if (!result.isEmpty() && isContinuation(result.getLast(), change)) {
+        TextDocumentContentChangeEvent last = result.removeLast();
+        Position start = last.getRange().getStart();
+        TextDocumentContentChangeEvent merged = new TextDocumentContentChangeEvent();
+        merged.setRange(new Range(start, start));
+        merged.setRangeLength(0);
+        merged.setText(last.getText() + change.getText());
+        result.add(merged);
+      } else {
+        result.add(change);
+      }
+    }
+    return new ArrayList<>(result);
+  }
+
+  /** Whether the next change inserts text right after the text inserted by the previous one. */
+  private static boolean isContinuation(
+      TextDocumentContentChangeEvent previous, TextDocumentContentChangeEvent next) {
+    if (!isSingleLineInsertion(previous) || !isSingleLineInsertion(next)) {
+      return false;
+    }
+    Position end = previous.getRange().getStart();
+    Position nextStart = next.getRange().getStart();
+    return end.getLine() == nextStart.getLine()
+        && end.getCharacter() + previous.getText().length() == nextStart.getCharacter();
+  }
+
+  private static boolean isSingleLineInsertion(TextDocumentContentChangeEvent change) {
+    Range range = change.getRange();
+    return range != null
+        && range.getStart().equals(range.getEnd())
+        && change.getText() != null
+        && change.getText().indexOf('\n') < 0
+        && change.getText().indexOf('\r') < 0;
+  }
+
+  /** Changes of a single document which are not forwarded yet. */
+  private class PendingChanges {
+    private final String uri;
+    private final List<DidChangeTextDocumentParams> buffered = new ArrayList<>();
+
+    private Consumer<DidChangeTextDocumentParams> forwarder;
+    private ScheduledFuture<?> scheduledFlush;
+    private Integer lastForwardedVersion;
+
+    private PendingChanges(String uri) {
+      this.uri = uri;
+    }
+
+    private synchronized void add(
+        DidChangeTextDocumentParams params, Consumer<DidChangeTextDocumentParams> forwarder) {
+      this.buffered.add(params);
+      this.forwarder = forwarder;
+      if (scheduledFlush == null) {
+        scheduledFlush = scheduler.schedule(this::flush, windowMillis, MILLISECONDS);
+      }
+    }
+
+    private synchronized void flush() {
+      if (scheduledFlush != null) {
+        scheduledFlush.cancel(false);
+        scheduledFlush = null;
+      }
+      if (buffered.isEmpty()) {
+        return;
+      }
+
+      // stable sort keeps the order of receiving for the changes without version
+      buffered.sort(BY_VERSION);
+      Integer firstVersion = buffered.get(0).getTextDocument().getVersion();
+      if (firstVersion != null
+          && lastForwardedVersion != null
+          && firstVersion <= lastForwardedVersion) {
+        LOG.warn(
+            "Change of '{}' with version {} is received after version {} is forwarded",
+            uri,
+            firstVersion,
+            lastForwardedVersion);
+      }
+
+      List<TextDocumentContentChangeEvent> changes = new ArrayList<>();
+      buffered.forEach(it -> changes.addAll(it.getContentChanges()));
+      VersionedTextDocumentIdentifier last = buffered.get(buffered.size() - 1).getTextDocument();
+      buffered.clear();
+
+      VersionedTextDocumentIdentifier textDocument = new VersionedTextDocumentIdentifier();
+      textDocument.setUri(uri);
+      textDocument.setVersion(last.getVersion());
+      lastForwardedVersion = last.getVersion();
+
+      DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+      params.setTextDocument(textDocument);
+      params.setContentChanges(compact(changes));
+      try {
+        forward(params, forwarder);
+      } catch (RuntimeException e) {
+        LOG.error("Can't forward changes of '{}'", uri, e);
+      }
+    }
+  }
+}
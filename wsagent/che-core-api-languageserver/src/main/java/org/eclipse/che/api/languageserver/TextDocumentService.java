@@ -36,20 +36,21 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
 import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcError;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcPromise;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.CommandDto;
@@ -76,7 +77,6 @@ import org.eclipse.che.api.languageserver.shared.util.CharStreamIterator;
 import org.eclipse.che.api.languageserver.shared.util.LinearRangeComparator;
 import org.eclipse.che.api.languageserver.util.LSOperation;
 import org.eclipse.che.api.languageserver.util.LineReader;
-import org.eclipse.che.api.languageserver.util.OperationUtil;
 import org.eclipse.che.jdt.ls.extension.api.dto.LinearRange;
 import org.eclipse.lsp4j.CodeAction;
 import org.eclipse.lsp4j.CodeActionParams;
@@ -131,6 +131,13 @@ public class TextDocumentService {
   private final FsManager fsManager;
   private final LanguageServerPathTransformer languageServerPathTransformer;
   private final LsParamsCloner lsParamsCloner;
+  private final LanguageServerOperationExecutor operationExecutor;
+  private final TextDocumentChangeCoalescer changeCoalescer;
+  private final PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter;
+  private final LanguageServerResponseCache responseCache;
+  private final LanguageServerLifecycleManager lifecycleManager;
+  // notifications of a document are queued until its didOpen is forwarded to the started servers
+  private final Map<String, CompletableFuture<Void>> pendingOpens = new ConcurrentHashMap<>();
 
   @Inject
   public TextDocumentService(
@@ -138,57 +145,68 @@ public class TextDocumentService {
       RequestHandlerConfigurator requestHandler,
       FsManager fsManager,
       LanguageServerPathTransformer languageServerPathTransformer,
-      LsParamsCloner lsParamsCloner) {
+      LsParamsCloner lsParamsCloner,
+      LanguageServerOperationExecutor operationExecutor,
+      TextDocumentChangeCoalescer changeCoalescer,
+      PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter,
+      LanguageServerResponseCache responseCache,
+      LanguageServerLifecycleManager lifecycleManager) {
     this.findServer = findServer;
     this.requestHandler = requestHandler;
     this.fsManager = fsManager;
     this.languageServerPathTransformer = languageServerPathTransformer;
     this.lsParamsCloner = lsParamsCloner;
+    this.operationExecutor = operationExecutor;
+    this.changeCoalescer = changeCoalescer;
+    this.diagnosticsTransmitter = diagnosticsTransmitter;
+    this.responseCache = responseCache;
+    this.lifecycleManager = lifecycleManager;
   }
 
   @PostConstruct
   public void configureMethods() {
-    dtoToDtoList(
+    dtoToPromiseDtoList(
         "definition", TextDocumentPositionParams.class, LocationDto.class, this::definition);
-    dtoToDtoList("codeAction", CodeActionParams.class, CommandDto.class, this::codeAction);
-    dtoToDtoList(
+    dtoToPromiseDtoList("codeAction", CodeActionParams.class, CommandDto.class, this::codeAction);
+    dtoToPromiseDtoList(
         "documentSymbol",
         DocumentSymbolParams.class,
         SymbolInformationDto.class,
         this::documentSymbol);
-    dtoToDtoList("formatting", DocumentFormattingParams.class, TextEditDto.class, this::formatting);
-    dtoToDtoList(
+    dtoToPromiseDtoList(
+        "formatting", DocumentFormattingParams.class, TextEditDto.class, this::formatting);
+    dtoToPromiseDtoList(
         "rangeFormatting",
         DocumentRangeFormattingParams.class,
         TextEditDto.class,
         this::rangeFormatting);
-    dtoToDtoList("references", ReferenceParams.class, LocationDto.class, this::references);
-    dtoToDtoList(
+    dtoToPromiseDtoList("references", ReferenceParams.class, LocationDto.class, this::references);
+    dtoToPromiseDtoList(
         "onTypeFormatting",
         DocumentOnTypeFormattingParams.class,
         TextEditDto.class,
         this::onTypeFormatting);
 
-    dtoToDto(
+    dtoToPromiseDto(
         "completionItem/resolve",
         ExtendedCompletionItem.class,
         ExtendedCompletionItemDto.class,
         this::completionItemResolve);
-    dtoToDto(
+    dtoToPromiseDto(
         "documentHighlight",
         TextDocumentPositionParams.class,
-        DocumentHighlight.class,
+        DocumentHighlightDto.class,
         this::documentHighlight);
-    dtoToDto(
+    dtoToPromiseDto(
         "completion", CompletionParams.class, ExtendedCompletionListDto.class, this::completion);
-    dtoToDto("hover", TextDocumentPositionParams.class, HoverDto.class, this::hover);
-    dtoToDto(
+    dtoToPromiseDto("hover", TextDocumentPositionParams.class, HoverDto.class, this::hover);
+    dtoToPromiseDto(
         "signatureHelp",
         TextDocumentPositionParams.class,
         SignatureHelpDto.class,
         this::signatureHelp);
 
-    dtoToDto("rename", RenameParams.class, RenameResultDto.class, this::rename);
+    dtoToPromiseDto("rename", RenameParams.class, RenameResultDto.class, this::rename);
 
     dtoToNothing("didChange", DidChangeTextDocumentParams.class, this::didChange);
     dtoToNothing("didClose", DidCloseTextDocumentParams.class, this::didClose);
@@ -199,19 +217,21 @@ public class TextDocumentService {
         .newConfiguration()
         .methodName("textDocument/fileContent")
         .paramsAsString()
-        .resultAsString()
-        .withFunction(this::getFileContent);
+        .resultAsPromiseDto(String.class)
+        .withPromise(wsPath -> toPromise(getFileContent(wsPath)));
 
     requestHandler
         .newConfiguration()
         .methodName("textDocument/snippets")
         .paramsAsDto(SnippetParameters.class)
-        .resultAsListOfDto(SnippetResult.class)
-        .withFunction(this::getSnippets);
+        .resultAsPromiseListOfDto(SnippetResult.class)
+        .withPromise(params -> toPromise(getSnippets(params)));
   }
 
-  private List<CommandDto> codeAction(CodeActionParams params) {
+  private CompletableFuture<List<CommandDto>> codeAction(
+      String endpointId, CodeActionParams params) {
     String wsPath = params.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
     List<CommandDto> result = new ArrayList<>();
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
     LSOperation<ExtendedLanguageServer, List<Either<Command, CodeAction>>> op =
@@ -246,13 +266,14 @@ public class TextDocumentService {
             return false;
           }
         };
-    OperationUtil.doInParallel(servers, op, 10000);
-    return result;
+    return operationExecutor.merge(null, servers, op, 10000, () -> result);
   }
 
-  private ExtendedCompletionListDto completion(CompletionParams completionParams) {
+  private CompletableFuture<ExtendedCompletionListDto> completion(
+      String endpointId, CompletionParams completionParams) {
     TextDocumentIdentifier textDocument = completionParams.getTextDocument();
     String wsPath = textDocument.getUri();
+    changeCoalescer.flush(wsPath);
 
     ExtendedCompletionListDto[] result = new ExtendedCompletionListDto[1];
     result[0] = new ExtendedCompletionListDto();
@@ -301,18 +322,21 @@ public class TextDocumentService {
           }
         };
 
+    // completion for a newer document version supersedes the pending one
+    String key = operationKey(endpointId, "completion", wsPath);
     Set<ExtendedLanguageServer> languageServers = findServer.byPath(wsPath);
-    OperationUtil.doInSequence(languageServers, lsOperation, 10000);
-
-    return result[0];
+    return operationExecutor.merge(key, languageServers, lsOperation, 10000, () -> result[0]);
   }
 
-  private List<SymbolInformationDto> documentSymbol(DocumentSymbolParams documentSymbolParams) {
+  private CompletableFuture<List<SymbolInformationDto>> documentSymbol(
+      String endpointId, DocumentSymbolParams documentSymbolParams) {
     String wsPath = documentSymbolParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
     List<SymbolInformationDto> result = new ArrayList<>();
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
 
-    OperationUtil.doInParallel(
+    return operationExecutor.merge(
+        null,
         servers,
         new LSOperation<ExtendedLanguageServer, List<Either<SymbolInformation, DocumentSymbol>>>() {
 
@@ -324,11 +348,20 @@ public class TextDocumentService {
           @Override
           public CompletableFuture<List<Either<SymbolInformation, DocumentSymbol>>> start(
               ExtendedLanguageServer element) {
-            DocumentSymbolParams clonedDocumentSymbolParams =
-                lsParamsCloner.clone(documentSymbolParams);
-            URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
-            clonedDocumentSymbolParams.getTextDocument().setUri(uri.toString());
-            return element.getTextDocumentService().documentSymbol(clonedDocumentSymbolParams);
+            return responseCache.document(
+                "documentSymbol",
+                element,
+                wsPath,
+                null,
+                () -> {
+                  DocumentSymbolParams clonedDocumentSymbolParams =
+                      lsParamsCloner.clone(documentSymbolParams);
+                  URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
+                  clonedDocumentSymbolParams.getTextDocument().setUri(uri.toString());
+                  return element
+                      .getTextDocumentService()
+                      .documentSymbol(clonedDocumentSymbolParams);
+                });
           }
 
           @Override
@@ -340,9 +373,11 @@ public class TextDocumentService {
                   // minimal fix for https://github.com/eclipse/che/issues/11139 when updating
                   // lsp4j
                   if (o.isLeft()) {
+                    // cached symbols are shared, so the uri is fixed on the converted copy
                     SymbolInformation si = o.getLeft();
-                    si.getLocation().setUri(removePrefixUri(si.getLocation().getUri()));
-                    result.add(new SymbolInformationDto(si));
+                    SymbolInformationDto symbol = new SymbolInformationDto(si);
+                    symbol.getLocation().setUri(removePrefixUri(si.getLocation().getUri()));
+                    result.add(symbol);
                   } else {
                     URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
                     result.addAll(convertDocumentSymbol(o.getRight(), uri.toString()));
@@ -364,16 +399,19 @@ public class TextDocumentService {
             return result;
           }
         },
-        10000);
-    return result;
+        10000,
+        () -> result);
   }
 
-  private List<LocationDto> references(ReferenceParams referenceParams) {
+  private CompletableFuture<List<LocationDto>> references(
+      String endpointId, ReferenceParams referenceParams) {
     String wsPath = referenceParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
 
     List<LocationDto> result = new ArrayList<>();
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
-    OperationUtil.doInParallel(
+    return operationExecutor.merge(
+        null,
         servers,
         new LSOperation<ExtendedLanguageServer, List<? extends Location>>() {
 
@@ -401,15 +439,18 @@ public class TextDocumentService {
             return true;
           }
         },
-        30000);
-    return result;
+        30000,
+        () -> result);
   }
 
-  private List<LocationDto> definition(TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<List<LocationDto>> definition(
+      String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
     String wsPath = textDocumentPositionParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
     List<LocationDto> result = new ArrayList<>();
-    OperationUtil.doInParallel(
+    return operationExecutor.merge(
+        null,
         servers,
         new LSOperation<ExtendedLanguageServer, List<? extends Location>>() {
 
@@ -420,15 +461,24 @@ public class TextDocumentService {
 
           @Override
           public CompletableFuture<List<? extends Location>> start(ExtendedLanguageServer element) {
-            TextDocumentPositionParams clonedTextDocumentPositionParams =
-                lsParamsCloner.clone(textDocumentPositionParams);
-            if (wsPath.startsWith(ROOT)) {
-              URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
-              clonedTextDocumentPositionParams.getTextDocument().setUri(uri.toString());
-            } else {
-              clonedTextDocumentPositionParams.getTextDocument().setUri(wsPath);
-            }
-            return element.getTextDocumentService().definition(clonedTextDocumentPositionParams);
+            return responseCache.workspace(
+                "definition",
+                element,
+                wsPath,
+                textDocumentPositionParams.getPosition(),
+                () -> {
+                  TextDocumentPositionParams clonedTextDocumentPositionParams =
+                      lsParamsCloner.clone(textDocumentPositionParams);
+                  if (wsPath.startsWith(ROOT)) {
+                    URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
+                    clonedTextDocumentPositionParams.getTextDocument().setUri(uri.toString());
+                  } else {
+                    clonedTextDocumentPositionParams.getTextDocument().setUri(wsPath);
+                  }
+                  return element
+                      .getTextDocumentService()
+                      .definition(clonedTextDocumentPositionParams);
+                });
           }
 
           @Override
@@ -436,45 +486,49 @@ public class TextDocumentService {
               ExtendedLanguageServer element, List<? extends Location> locations) {
             locations.forEach(
                 o -> {
-                  o.setUri(removePrefixUri(o.getUri()));
-                  result.add(new LocationDto(o));
+                  // cached locations are shared, so the uri is fixed on the converted copy
+                  LocationDto location = new LocationDto(o);
+                  location.setUri(removePrefixUri(o.getUri()));
+                  result.add(location);
                 });
             return true;
           }
         },
-        30000);
-    return result;
+        30000,
+        () -> result);
   }
 
-  private ExtendedCompletionItemDto completionItemResolve(ExtendedCompletionItem unresolved) {
-    try {
-      ExtendedLanguageServer languageServer = findServer.byId(unresolved.getLanguageServerId());
-
-      if (languageServer == null) {
-        return new ExtendedCompletionItemDto(unresolved);
-      } else {
-        ExtendedCompletionItem res = new ExtendedCompletionItem();
-        res.setItem(
-            languageServer
-                .getTextDocumentService()
-                .resolveCompletionItem(unresolved.getItem())
-                .get());
-        res.setLanguageServerId(unresolved.getLanguageServerId());
-        return new ExtendedCompletionItemDto(res);
-      }
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+  private CompletableFuture<ExtendedCompletionItemDto> completionItemResolve(
+      String endpointId, ExtendedCompletionItem unresolved) {
+    ExtendedLanguageServer languageServer = findServer.byId(unresolved.getLanguageServerId());
+
+    if (languageServer == null) {
+      return CompletableFuture.completedFuture(new ExtendedCompletionItemDto(unresolved));
     }
+    CompletableFuture<CompletionItem> request =
+        languageServer.getTextDocumentService().resolveCompletionItem(unresolved.getItem());
+    return operationExecutor
+        .withTimeout(languageServer, request, 10000)
+        .thenApply(
+            item -> {
+              ExtendedCompletionItem res = new ExtendedCompletionItem();
+              res.setItem(item);
+              res.setLanguageServerId(unresolved.getLanguageServerId());
+              return new ExtendedCompletionItemDto(res);
+            });
   }
 
-  private HoverDto hover(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<HoverDto> hover(
+      String endpointId, TextDocumentPositionParams positionParams) {
     String wsPath = positionParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
 
     Hover result = new Hover();
     StringBuilder content = new StringBuilder();
 
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
-    OperationUtil.doInParallel(
+    return operationExecutor.merge(
+        operationKey(endpointId, "hover", wsPath),
         servers,
         new LSOperation<ExtendedLanguageServer, Hover>() {
 
@@ -485,11 +539,19 @@ public class TextDocumentService {
 
           @Override
           public CompletableFuture<Hover> start(ExtendedLanguageServer element) {
-            TextDocumentPositionParams clonedPositionParams = lsParamsCloner.clone(positionParams);
-            URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
-            clonedPositionParams.getTextDocument().setUri(uri.toString());
+            return responseCache.workspace(
+                "hover",
+                element,
+                wsPath,
+                positionParams.getPosition(),
+                () -> {
+                  TextDocumentPositionParams clonedPositionParams =
+                      lsParamsCloner.clone(positionParams);
+                  URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
+                  clonedPositionParams.getTextDocument().setUri(uri.toString());
 
-            return element.getTextDocumentService().hover(clonedPositionParams);
+                  return element.getTextDocumentService().hover(clonedPositionParams);
+                });
           }
 
           @Override
@@ -530,16 +592,20 @@ public class TextDocumentService {
             return true;
           }
         },
-        10000);
-    MarkupContent markupContent = new MarkupContent();
-    markupContent.setKind(MarkupKind.MARKDOWN);
-    markupContent.setValue(content.toString());
-    result.setContents(markupContent);
-    return new HoverDto(result);
+        10000,
+        () -> {
+          MarkupContent markupContent = new MarkupContent();
+          markupContent.setKind(MarkupKind.MARKDOWN);
+          markupContent.setValue(content.toString());
+          result.setContents(markupContent);
+          return new HoverDto(result);
+        });
   }
 
-  private SignatureHelpDto signatureHelp(TextDocumentPositionParams positionParams) {
+  private CompletableFuture<SignatureHelpDto> signatureHelp(
+      String endpointId, TextDocumentPositionParams positionParams) {
     String wsPath = positionParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
 
     SignatureHelpDto[] result = new SignatureHelpDto[1];
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
@@ -569,104 +635,94 @@ public class TextDocumentService {
             return false;
           }
         };
-    OperationUtil.doInSequence(servers, op, 10000);
-    return result[0];
+    String key = operationKey(endpointId, "signatureHelp", wsPath);
+    return operationExecutor.firstResult(key, servers, op, 10000, () -> result[0]);
   }
 
-  private List<TextEditDto> formatting(DocumentFormattingParams documentFormattingParams) {
-    try {
-      String wsPath = documentFormattingParams.getTextDocument().getUri();
-
-      Optional<ExtendedLanguageServer> serverOptional =
-          findServer
-              .byPath(wsPath)
-              .stream()
-              .filter(s -> truish(s.getCapabilities().getDocumentFormattingProvider()))
-              .findFirst();
-      if (serverOptional.isPresent()) {
-        String lsId = serverOptional.get().getId();
-        URI uri = languageServerPathTransformer.toFsURI(lsId, wsPath);
-        documentFormattingParams.getTextDocument().setUri(uri.toString());
-        return serverOptional
-            .get()
-            .getTextDocumentService()
-            .formatting(documentFormattingParams)
-            .get(5000, TimeUnit.MILLISECONDS)
+  private CompletableFuture<List<TextEditDto>> formatting(
+      String endpointId, DocumentFormattingParams documentFormattingParams) {
+    String wsPath = documentFormattingParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
+
+    Optional<ExtendedLanguageServer> serverOptional =
+        findServer
+            .byPath(wsPath)
             .stream()
-            .map(TextEditDto::new)
-            .collect(Collectors.toList());
-      } else {
-        return emptyList();
-      }
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+            .filter(s -> truish(s.getCapabilities().getDocumentFormattingProvider()))
+            .findFirst();
+    if (serverOptional.isPresent()) {
+      ExtendedLanguageServer server = serverOptional.get();
+      URI uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath);
+      documentFormattingParams.getTextDocument().setUri(uri.toString());
+      return toTextEdits(
+          server, server.getTextDocumentService().formatting(documentFormattingParams));
+    } else {
+      return CompletableFuture.completedFuture(emptyList());
     }
   }
 
-  private List<TextEditDto> rangeFormatting(
-      DocumentRangeFormattingParams documentRangeFormattingParams) {
-    try {
-      String wsPath = documentRangeFormattingParams.getTextDocument().getUri();
-      Optional<ExtendedLanguageServer> serverOptional =
-          findServer
-              .byPath(wsPath)
-              .stream()
-              .filter(s -> truish(s.getCapabilities().getDocumentRangeFormattingProvider()))
-              .findFirst();
-      if (serverOptional.isPresent()) {
-        String lsId = serverOptional.get().getId();
-        URI uri = languageServerPathTransformer.toFsURI(lsId, wsPath);
-        documentRangeFormattingParams.getTextDocument().setUri(uri.toString());
-
-        return serverOptional
-            .get()
-            .getTextDocumentService()
-            .rangeFormatting(documentRangeFormattingParams)
-            .get()
+  private CompletableFuture<List<TextEditDto>> rangeFormatting(
+      String endpointId, DocumentRangeFormattingParams documentRangeFormattingParams) {
+    String wsPath = documentRangeFormattingParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
+    Optional<ExtendedLanguageServer> serverOptional =
+        findServer
+            .byPath(wsPath)
             .stream()
-            .map(TextEditDto::new)
-            .collect(Collectors.toList());
-      } else {
-        return emptyList();
-      }
-
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+            .filter(s -> truish(s.getCapabilities().getDocumentRangeFormattingProvider()))
+            .findFirst();
+    if (serverOptional.isPresent()) {
+      ExtendedLanguageServer server = serverOptional.get();
+      URI uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath);
+      documentRangeFormattingParams.getTextDocument().setUri(uri.toString());
+
+      return toTextEdits(
+          server, server.getTextDocumentService().rangeFormatting(documentRangeFormattingParams));
+    } else {
+      return CompletableFuture.completedFuture(emptyList());
     }
   }
 
-  private List<TextEditDto> onTypeFormatting(
-      DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
-    try {
-      String wsPath = documentOnTypeFormattingParams.getTextDocument().getUri();
-      Optional<ExtendedLanguageServer> serverOptional =
-          findServer
-              .byPath(wsPath)
-              .stream()
-              .filter(it -> it.getCapabilities().getDocumentOnTypeFormattingProvider() != null)
-              .findFirst();
-      if (serverOptional.isPresent()) {
-        String lsId = serverOptional.get().getId();
-        URI uri = languageServerPathTransformer.toFsURI(lsId, wsPath);
-        documentOnTypeFormattingParams.getTextDocument().setUri(uri.toString());
-
-        return serverOptional
-            .get()
-            .getTextDocumentService()
-            .onTypeFormatting(documentOnTypeFormattingParams)
-            .get()
+  private CompletableFuture<List<TextEditDto>> onTypeFormatting(
+      String endpointId, DocumentOnTypeFormattingParams documentOnTypeFormattingParams) {
+    String wsPath = documentOnTypeFormattingParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
+    Optional<ExtendedLanguageServer> serverOptional =
+        findServer
+            .byPath(wsPath)
             .stream()
-            .map(TextEditDto::new)
-            .collect(Collectors.toList());
-      } else {
-        return emptyList();
-      }
-    } catch (InterruptedException | ExecutionException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+            .filter(it -> it.getCapabilities().getDocumentOnTypeFormattingProvider() != null)
+            .findFirst();
+    if (serverOptional.isPresent()) {
+      ExtendedLanguageServer server = serverOptional.get();
+      URI uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath);
+      documentOnTypeFormattingParams.getTextDocument().setUri(uri.toString());
+
+      return toTextEdits(
+          server,
+          server.getTextDocumentService().onTypeFormatting(documentOnTypeFormattingParams));
+    } else {
+      return CompletableFuture.completedFuture(emptyList());
     }
   }
 
+  private CompletableFuture<List<TextEditDto>> toTextEdits(
+      ExtendedLanguageServer server,
+      CompletableFuture<? extends List<? extends TextEdit>> request) {
+    return operationExecutor
+        .withTimeout(server, request, 5000)
+        .thenApply(edits -> edits.stream().map(TextEditDto::new).collect(Collectors.toList()));
+  }
+
   private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
+    String wsPath = didChangeTextDocumentParams.getTextDocument().getUri();
+    responseCache.invalidate(wsPath);
+    changeCoalescer.change(
+        didChangeTextDocumentParams,
+        params -> forwardAfterOpen(wsPath, "didChange", () -> forwardChange(params)));
+  }
+
+  private void forwardChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
     String wsPath = didChangeTextDocumentParams.getTextDocument().getUri();
     findServer
         .byPath(wsPath)
@@ -681,6 +737,49 @@ public class TextDocumentService {
   }
 
   private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
+    String wsPath = openTextDocumentParams.getTextDocument().getUri();
+    diagnosticsTransmitter.forget(wsPath);
+    responseCache.invalidate(wsPath);
+    // servers which are not running are started lazily, the handler thread doesn't wait for them
+    CompletableFuture<Void> opened =
+        lifecycleManager
+            .documentOpened(wsPath)
+            .thenRun(() -> forwardOpen(openTextDocumentParams))
+            .exceptionally(
+                e -> {
+                  LOG.error("Can't forward didOpen of '{}'", wsPath, e);
+                  return null;
+                });
+    pendingOpens.put(wsPath, opened);
+    opened.whenComplete((ignored, error) -> pendingOpens.remove(wsPath, opened));
+  }
+
+  /**
+   * Forwards a notification of the document once its pending didOpen is forwarded, otherwise
+   * immediately. Queued notifications are forwarded in the order of receiving.
+   */
+  private void forwardAfterOpen(String wsPath, String method, Runnable forward) {
+    CompletableFuture<Void> queued =
+        pendingOpens.computeIfPresent(
+            wsPath,
+            (path, pending) ->
+                pending.isDone()
+                    ? null
+                    : pending
+                        .thenRun(forward)
+                        .exceptionally(
+                            e -> {
+                              LOG.error("Can't forward {} of '{}'", method, wsPath, e);
+                              return null;
+                            }));
+    if (queued == null) {
+      forward.run();
+    } else {
+      queued.whenComplete((ignored, error) -> pendingOpens.remove(wsPath, queued));
+    }
+  }
+
+  private void forwardOpen(DidOpenTextDocumentParams openTextDocumentParams) {
     String wsPath = openTextDocumentParams.getTextDocument().getUri();
     findServer
         .byPath(wsPath)
@@ -695,6 +794,15 @@ public class TextDocumentService {
   }
 
   private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
+    String wsPath = didCloseTextDocumentParams.getTextDocument().getUri();
+    changeCoalescer.close(wsPath);
+    diagnosticsTransmitter.forget(wsPath);
+    responseCache.invalidate(wsPath);
+    lifecycleManager.documentClosed(wsPath);
+    forwardAfterOpen(wsPath, "didClose", () -> forwardClose(didCloseTextDocumentParams));
+  }
+
+  private void forwardClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
     String wsPath = didCloseTextDocumentParams.getTextDocument().getUri();
     findServer
         .byPath(wsPath)
@@ -709,6 +817,13 @@ public class TextDocumentService {
   }
 
   private void didSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
+    String wsPath = didSaveTextDocumentParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
+    responseCache.invalidate(wsPath);
+    forwardAfterOpen(wsPath, "didSave", () -> forwardSave(didSaveTextDocumentParams));
+  }
+
+  private void forwardSave(DidSaveTextDocumentParams didSaveTextDocumentParams) {
     String wsPath = didSaveTextDocumentParams.getTextDocument().getUri();
     findServer
         .byPath(wsPath)
@@ -722,78 +837,52 @@ public class TextDocumentService {
             });
   }
 
-  private DocumentHighlightDto documentHighlight(
-      TextDocumentPositionParams textDocumentPositionParams) {
+  private CompletableFuture<DocumentHighlightDto> documentHighlight(
+      String endpointId, TextDocumentPositionParams textDocumentPositionParams) {
     String wsPath = textDocumentPositionParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
 
-    @SuppressWarnings("unchecked")
-    List<DocumentHighlightDto>[] result = new List[1];
-    LSOperation<ExtendedLanguageServer, List<DocumentHighlightDto>> op =
-        new LSOperation<ExtendedLanguageServer, List<DocumentHighlightDto>>() {
+    DocumentHighlightDto[] result = new DocumentHighlightDto[1];
+    Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
+    LSOperation<ExtendedLanguageServer, List<? extends DocumentHighlight>> op =
+        new LSOperation<ExtendedLanguageServer, List<? extends DocumentHighlight>>() {
 
           @Override
-          public boolean canDo(ExtendedLanguageServer servers) {
-            return true;
+          public boolean canDo(ExtendedLanguageServer element) {
+            return truish(element.getCapabilities().getDocumentHighlightProvider());
           }
 
           @Override
-          public CompletableFuture<List<DocumentHighlightDto>> start(
+          public CompletableFuture<List<? extends DocumentHighlight>> start(
               ExtendedLanguageServer element) {
-            return CompletableFuture.supplyAsync(
-                () -> {
-                  List<DocumentHighlightDto> res = new ArrayList<>();
-                  LSOperation<ExtendedLanguageServer, List<? extends DocumentHighlight>> op2 =
-                      new LSOperation<ExtendedLanguageServer, List<? extends DocumentHighlight>>() {
-
-                        @Override
-                        public boolean canDo(ExtendedLanguageServer lsProxy) {
-                          return truish(lsProxy.getCapabilities().getDocumentHighlightProvider());
-                        }
-
-                        @Override
-                        public CompletableFuture<List<? extends DocumentHighlight>> start(
-                            ExtendedLanguageServer element) {
-                          TextDocumentPositionParams clonedTextDocumentPositionParams =
-                              lsParamsCloner.clone(textDocumentPositionParams);
-                          URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
-                          clonedTextDocumentPositionParams.getTextDocument().setUri(uri.toString());
-
-                          return element
-                              .getTextDocumentService()
-                              .documentHighlight(clonedTextDocumentPositionParams);
-                        }
-
-                        @Override
-                        public boolean handleResult(
-                            ExtendedLanguageServer element,
-                            List<? extends DocumentHighlight> result) {
-
-                          return false;
-                        }
-                      };
-                  OperationUtil.doInParallel(Collections.singleton(element), op2, 10000);
-
-                  return res;
-                });
+            TextDocumentPositionParams clonedTextDocumentPositionParams =
+                lsParamsCloner.clone(textDocumentPositionParams);
+            URI uri = languageServerPathTransformer.toFsURI(element.getId(), wsPath);
+            clonedTextDocumentPositionParams.getTextDocument().setUri(uri.toString());
+
+            return element
+                .getTextDocumentService()
+                .documentHighlight(clonedTextDocumentPositionParams);
           }
 
           @Override
           public boolean handleResult(
-              ExtendedLanguageServer element, List<DocumentHighlightDto> list) {
-            result[0] = list;
-            return !list.isEmpty();
+              ExtendedLanguageServer element, List<? extends DocumentHighlight> highlights) {
+            if (highlights != null && !highlights.isEmpty()) {
+              result[0] = new DocumentHighlightDto(highlights.get(0));
+              return true;
+            }
+            return false;
           }
         };
-    OperationUtil.doInSequence(findServer.byPath(wsPath), op, 10000);
-
-    if (!result[0].isEmpty()) {
-      return result[0].get(0);
-    }
-    return null;
+    String key = operationKey(endpointId, "documentHighlight", wsPath);
+    return operationExecutor.firstResult(key, servers, op, 10000, () -> result[0]);
   }
 
-  private RenameResultDto rename(RenameParams renameParams) {
+  private CompletableFuture<RenameResultDto> rename(
+      String endpointId, RenameParams renameParams) {
     String wsPath = renameParams.getTextDocument().getUri();
+    changeCoalescer.flush(wsPath);
 
     Map<String, ExtendedWorkspaceEdit> edits = new ConcurrentHashMap<>();
     Set<ExtendedLanguageServer> servers = findServer.byPath(wsPath);
@@ -820,8 +909,12 @@ public class TextDocumentService {
             return true;
           }
         };
-    OperationUtil.doInParallel(servers, op, TimeUnit.SECONDS.toMillis(30));
-    return new RenameResultDto(new RenameResult(edits));
+    return operationExecutor.merge(
+        null,
+        servers,
+        op,
+        TimeUnit.SECONDS.toMillis(30),
+        () -> new RenameResultDto(new RenameResult(edits)));
   }
 
   private void addRenameResult(
@@ -937,84 +1030,89 @@ public class TextDocumentService {
     return extendedEdit;
   }
 
-  private String getFileContent(String wsPath) {
-    try {
-      Optional<ExtendedLanguageServer> serverOptional =
-          findServer
-              .byPath(wsPath)
-              .stream()
-              .filter(s -> s.getServer() instanceof FileContentAccess)
-              .findFirst();
-      if (serverOptional.isPresent()) {
-        String uri;
-        if (wsPath.startsWith(ROOT)) {
-          uri =
-              languageServerPathTransformer
-                  .toFsURI(serverOptional.get().getId(), wsPath)
-                  .toString();
-        } else {
-          uri = wsPath;
-        }
+  private CompletableFuture<String> getFileContent(String wsPath) {
+    Optional<ExtendedLanguageServer> serverOptional =
+        findServer
+            .byPath(wsPath)
+            .stream()
+            .filter(s -> s.getServer() instanceof FileContentAccess)
+            .findFirst();
+    if (!serverOptional.isPresent()) {
+      return CompletableFuture.completedFuture(null);
+    }
 
-        return ((FileContentAccess) serverOptional.get().getServer())
-            .getFileContent(uri)
-            .get(5000, TimeUnit.MILLISECONDS);
-      } else {
-        return null;
-      }
-    } catch (InterruptedException | ExecutionException | TimeoutException e) {
-      throw new JsonRpcException(-27000, e.getMessage());
+    ExtendedLanguageServer server = serverOptional.get();
+    String uri;
+    if (wsPath.startsWith(ROOT)) {
+      uri = languageServerPathTransformer.toFsURI(server.getId(), wsPath).toString();
+    } else {
+      uri = wsPath;
     }
+    CompletableFuture<String> request =
+        ((FileContentAccess) server.getServer()).getFileContent(uri);
+    return operationExecutor.withTimeout(server, request, 5000);
   }
 
-  List<SnippetResult> getSnippets(SnippetParameters params) {
-    try {
-      String uri = params.getUri();
-      if (LanguageServiceUtils.isWorkspaceUri(uri)) {
-        uri = LanguageServiceUtils.workspaceURIToFileURI(uri);
-      }
-      Reader content = null;
-
-      if (LanguageServiceUtils.isProjectUri(uri)) {
-        String path = LanguageServiceUtils.removePrefixUri(uri);
-        String wsPath = absolutize(path);
+  CompletableFuture<List<SnippetResult>> getSnippets(SnippetParameters params) {
+    String uri = params.getUri();
+    if (LanguageServiceUtils.isWorkspaceUri(uri)) {
+      uri = LanguageServiceUtils.workspaceURIToFileURI(uri);
+    }
 
-        if (fsManager.existsAsFile(wsPath)) {
-          content = new InputStreamReader(new BufferedInputStream(fsManager.read(wsPath)));
-        }
-      } else {
-        String fileContent = getFileContent(uri);
-        if (fileContent != null) {
-          content = new StringReader(fileContent);
-        }
+    CompletableFuture<Reader> content;
+    if (LanguageServiceUtils.isProjectUri(uri)) {
+      String path = LanguageServiceUtils.removePrefixUri(uri);
+      String wsPath = absolutize(path);
+      try {
+        content =
+            CompletableFuture.completedFuture(
+                fsManager.existsAsFile(wsPath)
+                    ? new InputStreamReader(new BufferedInputStream(fsManager.read(wsPath)))
+                    : null);
+      } catch (ServerException | NotFoundException | ConflictException e) {
+        LOG.error("error editing file", e);
+        content = new CompletableFuture<>();
+        content.completeExceptionally(new JsonRpcException(-27000, e.getMessage()));
       }
+    } else {
+      // content of a file outside of projects, e.g. in a jar, is provided by the language server
+      content =
+          getFileContent(uri)
+              .thenApply(fileContent -> fileContent == null ? null : new StringReader(fileContent));
+    }
+    return content.thenApply(reader -> getSnippets(params, reader));
+  }
 
-      if (content != null) {
-        ArrayList<LinearRange> ranges = new ArrayList<>(params.getRanges());
-        try {
-          List<SnippetResult> result = new ArrayList<>();
-          Collections.sort(ranges, LinearRangeComparator.INSTANCE);
-          LineReader lineReader = new LineReader(content);
-          for (LinearRange range : ranges) {
-            lineReader.readTo(range.getOffset());
-            String snippet = lineReader.getCurrentLine();
-            int offsetInLine = range.getOffset() - lineReader.getCurrentLineStartOffset();
-            int lengthInLine = Math.min(snippet.length() - offsetInLine, range.getLength());
-            LinearRange rangeInLine = new LinearRange(offsetInLine, lengthInLine);
-            result.add(
-                new SnippetResult(range, snippet, lineReader.getCurrentLineIndex(), rangeInLine));
-          }
-          return result;
-        } finally {
-          content.close();
-        }
-      } else {
-        LOG.error("did not find file " + params.getUri());
-        throw new JsonRpcException(-27000, "File not found for edit: " + params.getUri());
+  private static List<SnippetResult> getSnippets(SnippetParameters params, Reader content) {
+    if (content == null) {
+      LOG.error("did not find file " + params.getUri());
+      throw new JsonRpcException(-27000, "File not found for edit: " + params.getUri());
+    }
+
+    ArrayList<LinearRange> ranges = new ArrayList<>(params.getRanges());
+    try {
+      List<SnippetResult> result = new ArrayList<>();
+      Collections.sort(ranges, LinearRangeComparator.INSTANCE);
+      LineReader lineReader = new LineReader(content);
+      for (LinearRange range : ranges) {
+        lineReader.readTo(range.getOffset());
+        String snippet = lineReader.getCurrentLine();
+        int offsetInLine = range.getOffset() - lineReader.getCurrentLineStartOffset();
+        int lengthInLine = Math.min(snippet.length() - offsetInLine, range.getLength());
+        LinearRange rangeInLine = new LinearRange(offsetInLine, lengthInLine);
+        result.add(
+            new SnippetResult(range, snippet, lineReader.getCurrentLineIndex(), rangeInLine));
       }
-    } catch (ServerException | NotFoundException | IOException | ConflictException e) {
+      return result;
+    } catch (IOException e) {
       LOG.error("error editing file", e);
       throw new JsonRpcException(-27000, e.getMessage());
+    } finally {
+      try {
+        content.close();
+      } catch (IOException e) {
+        LOG.warn("Can't close file content", e);
+      }
     }
   }
 
@@ -1027,24 +1125,52 @@ public class TextDocumentService {
         .withConsumer(consumer);
   }
 
-  private <P, R> void dtoToDtoList(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
+  private <P, R> void dtoToPromiseDtoList(
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      BiFunction<String, P, CompletableFuture<List<R>>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsListOfDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseListOfDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(function.apply(endpointId, params)));
   }
 
-  private <P, R> void dtoToDto(
-      String name, Class<P> pClass, Class<R> rClass, Function<P, R> function) {
+  private <P, R> void dtoToPromiseDto(
+      String name,
+      Class<P> pClass,
+      Class<R> rClass,
+      BiFunction<String, P, CompletableFuture<R>> function) {
     requestHandler
         .newConfiguration()
         .methodName("textDocument/" + name)
         .paramsAsDto(pClass)
-        .resultAsDto(rClass)
-        .withFunction(function);
+        .resultAsPromiseDto(rClass)
+        .withPromiseBiFunction(
+            (endpointId, params) -> toPromise(function.apply(endpointId, params)));
+  }
+
+  private static <R> JsonRpcPromise<R> toPromise(CompletableFuture<R> future) {
+    JsonRpcPromise<R> promise = new JsonRpcPromise<>();
+    future.whenComplete(
+        (result, error) -> {
+          if (error == null) {
+            promise.resolve(null, result);
+          } else {
+            Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+            LOG.debug("Language server request failed", cause);
+            promise.reject(null, new JsonRpcError(-27000, String.valueOf(cause.getMessage())));
+          }
+        });
+    return promise;
+  }
+
+  /** Returns key of an operation which supersedes pending operation of the same client. */
+  private static String operationKey(String endpointId, String method, String wsPath) {
+    return endpointId + ':' + method + ':' + wsPath;
   }
 
   private boolean truish(Boolean b) {
@@ -34,6 +34,7 @@ public class FindServerTest {
   private static final String WS_PATH = "path";
 
   @Mock private FindId findId;
+  @Mock private LanguageServerLifecycleManager lifecycleManager;
 
   private RegistryContainer registryContainer;
 
@@ -47,7 +48,7 @@ public class FindServerTest {
   @BeforeMethod
   public void setUp() {
     registryContainer = new RegistryContainer();
-    findServer = new FindServer(registryContainer, findId);
+    findServer = new FindServer(registryContainer, findId, lifecycleManager);
   }
 
   @Test
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Collections.singleton;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.languageserver.LanguageServerConfig.CommunicationProvider;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link LanguageServerLifecycleManager} */
+@Listeners(MockitoTestNGListener.class)
+public class LanguageServerLifecycleManagerTest {
+  private static final String ID = "ls";
+  private static final String WS_PATH = "/project/Test.java";
+  private static final String EXCLUDED_ID = "excluded";
+  private static final long TIMEOUT_MINUTES = 10;
+
+  @Mock private LanguageServerInitializer initializer;
+  @Mock private LanguageServerConfigInitializer configInitializer;
+  @Mock private FindId findId;
+  @Mock private ProcessCommunicationProvider processCommunicationProvider;
+  @Mock private CommunicationProvider socketCommunicationProvider;
+  @Mock private EventService eventService;
+
+  @Captor private ArgumentCaptor<EventSubscriber<LanguageServerInitializedEvent>> subscriberCaptor;
+
+  private RegistryContainer registryContainer;
+  private LanguageServerMetrics metrics;
+  private LanguageServerLifecycleManager lifecycleManager;
+
+  @BeforeMethod
+  public void setUp() {
+    registryContainer = new RegistryContainer();
+    metrics = new LanguageServerMetrics();
+    lifecycleManager =
+        new LanguageServerLifecycleManager(
+            TIMEOUT_MINUTES,
+            new String[] {EXCLUDED_ID},
+            initializer,
+            configInitializer,
+            findId,
+            registryContainer,
+            eventService,
+            metrics);
+  }
+
+  @Test
+  public void shouldShutdownIdleServer() {
+    initialized(processCommunicationProvider);
+
+    lifecycleManager.shutdownIdle(0);
+    verify(initializer, never()).shutdown(anyString());
+
+    lifecycleManager.shutdownIdle(MINUTES.toMillis(TIMEOUT_MINUTES));
+    verify(initializer).shutdown(ID);
+  }
+
+  @Test
+  public void shouldNotShutdownServerWithOpenedDocument() {
+    initialized(processCommunicationProvider);
+    when(findId.byPath(WS_PATH)).thenReturn(singleton(ID));
+
+    lifecycleManager.documentOpened(WS_PATH);
+    lifecycleManager.shutdownIdle(Long.MAX_VALUE);
+    verify(initializer, never()).shutdown(anyString());
+
+    lifecycleManager.documentClosed(WS_PATH);
+    lifecycleManager.shutdownIdle(Long.MAX_VALUE);
+    verify(initializer).shutdown(ID);
+  }
+
+  @Test
+  public void shouldNotShutdownServerNotStartedByChe() {
+    initialized(socketCommunicationProvider);
+
+    lifecycleManager.shutdownIdle(0);
+    lifecycleManager.shutdownIdle(Long.MAX_VALUE);
+
+    verify(initializer, never()).shutdown(anyString());
+  }
+
+  @Test
+  public void shouldNotShutdownExcludedServer() {
+    registryContainer.serverCapabilitiesRegistry.add(EXCLUDED_ID, new ServerCapabilities());
+    registryContainer.communicationProviderRegistry.add(EXCLUDED_ID, processCommunicationProvider);
+
+    lifecycleManager.shutdownIdle(0);
+    lifecycleManager.shutdownIdle(Long.MAX_VALUE);
+
+    verify(initializer, never()).shutdown(anyString());
+  }
+
+  @Test
+  public void shouldStartServersOnDocumentOpen() {
+    registryContainer.communicationProviderRegistry.add(ID, processCommunicationProvider);
+    when(findId.byPath(WS_PATH)).thenReturn(singleton(ID));
+    when(initializer.initialize(WS_PATH)).thenReturn(completedFuture(new ServerCapabilities()));
+
+    lifecycleManager.documentOpened(WS_PATH);
+
+    verify(configInitializer).initialize();
+    verify(initializer).initialize(WS_PATH);
+  }
+
+  @Test
+  public void shouldNotWaitForServersStartOnDocumentOpen() {
+    registryContainer.communicationProviderRegistry.add(ID, processCommunicationProvider);
+    when(findId.byPath(WS_PATH)).thenReturn(singleton(ID));
+    CompletableFuture<ServerCapabilities> initialization = new CompletableFuture<>();
+    when(initializer.initialize(WS_PATH)).thenReturn(initialization);
+
+    CompletableFuture<Void> opened = lifecycleManager.documentOpened(WS_PATH);
+    assertFalse(opened.isDone());
+
+    initialization.complete(new ServerCapabilities());
+    assertTrue(opened.isDone());
+  }
+
+  @Test
+  public void shouldCompleteDocumentOpenWhenServerFailsToStart() {
+    registryContainer.communicationProviderRegistry.add(ID, processCommunicationProvider);
+    when(findId.byPath(WS_PATH)).thenReturn(singleton(ID));
+    CompletableFuture<ServerCapabilities> initialization = new CompletableFuture<>();
+    initialization.completeExceptionally(new IllegalStateException("can't start"));
+    when(initializer.initialize(WS_PATH)).thenReturn(initialization);
+
+    CompletableFuture<Void> opened = lifecycleManager.documentOpened(WS_PATH);
+
+    assertTrue(opened.isDone());
+    assertFalse(opened.isCompletedExceptionally());
+  }
+
+  @Test
+  public void shouldRegisterMemoryGaugeOnInitializationAndRemoveItOnShutdown() {
+    lifecycleManager.start();
+    verify(eventService)
+        .subscribe(subscriberCaptor.capture(), eq(LanguageServerInitializedEvent.class));
+    initialized(processCommunicationProvider);
+
+    subscriberCaptor.getValue().onEvent(new LanguageServerInitializedEvent(ID, null, WS_PATH));
+    assertTrue(metrics.hasGauge("memory." + ID + ".rss_kb"));
+
+    lifecycleManager.shutdownIdle(0);
+    lifecycleManager.shutdownIdle(MINUTES.toMillis(TIMEOUT_MINUTES));
+    assertFalse(metrics.hasGauge("memory." + ID + ".rss_kb"));
+    lifecycleManager.stop();
+  }
+
+  @Test
+  public void shouldNotRegisterMemoryGaugeOfServerNotStartedByChe() {
+    lifecycleManager.start();
+    verify(eventService)
+        .subscribe(subscriberCaptor.capture(), eq(LanguageServerInitializedEvent.class));
+    initialized(socketCommunicationProvider);
+
+    subscriberCaptor.getValue().onEvent(new LanguageServerInitializedEvent(ID, null, WS_PATH));
+
+    assertFalse(metrics.hasGauge("memory." + ID + ".rss_kb"));
+    lifecycleManager.stop();
+  }
+
+  @Test
+  public void shouldSumMemoryOfProcessTree() throws Exception {
+    Path proc = Files.createTempDirectory("proc");
+    process(proc, 10, 1, 100);
+    process(proc, 11, 10, 50);
+    process(proc, 12, 1, 1000);
+
+    assertEquals(LanguageServerLifecycleManager.processTreeMemoryKb(proc, 10), 150);
+  }
+
+  private void initialized(CommunicationProvider communicationProvider) {
+    registryContainer.serverCapabilitiesRegistry.add(ID, new ServerCapabilities());
+    registryContainer.communicationProviderRegistry.add(ID, communicationProvider);
+  }
+
+  private static void process(Path proc, int pid, int parentPid, long rssKb) throws Exception {
+    Path dir = Files.createDirectory(proc.resolve(Integer.toString(pid)));
+    Files.write(dir.resolve("stat"), (pid + " (java (ls)) S " + parentPid + " 1 1 0").getBytes());
+    Files.write(dir.resolve("status"), ("Name:\tjava\nVmRSS:\t  " + rssKb + " kB\n").getBytes());
+  }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.eclipse.che.api.languageserver.util.LSOperation;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link LanguageServerOperationExecutor} */
+public class LanguageServerOperationExecutorTest {
+
+  private ExtendedLanguageServer first;
+  private ExtendedLanguageServer second;
+
+  private Map<ExtendedLanguageServer, CompletableFuture<String>> requests;
+  private List<String> results;
+
+  private LanguageServerMetrics metrics;
+  private LanguageServerOperationExecutor executor;
+
+  @BeforeMethod
+  public void setUp() {
+    first = new ExtendedLanguageServer("first", null, null);
+    second = new ExtendedLanguageServer("second", null, null);
+    requests = new HashMap<>();
+    results = new ArrayList<>();
+    metrics = new LanguageServerMetrics();
+    executor = new LanguageServerOperationExecutor(metrics);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void shouldMergeResultsOfAllServers() throws Exception {
+    CompletableFuture<List<String>> future =
+        executor.merge(null, asList(first, second), new Operation(), 10000, () -> results);
+
+    requests.get(second).complete("second-result");
+    assertFalse(future.isDone());
+    requests.get(first).complete("first-result");
+
+    assertEquals(future.get(1, SECONDS), asList("second-result", "first-result"));
+    assertEquals(metrics.snapshot().get("wait.first.count"), Long.valueOf(1));
+    assertEquals(metrics.snapshot().get("wait.second.count"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldIgnoreFailedRequests() throws Exception {
+    CompletableFuture<List<String>> future =
+        executor.merge(null, asList(first, second), new Operation(), 10000, () -> results);
+
+    requests.get(first).completeExceptionally(new RuntimeException("failed"));
+    requests.get(second).complete("second-result");
+
+    assertEquals(future.get(1, SECONDS), asList("second-result"));
+  }
+
+  @Test
+  public void shouldFinishOnFirstAcceptedResultAndCancelOtherRequests() throws Exception {
+    CompletableFuture<List<String>> future =
+        executor.firstResult(null, asList(first, second), new Operation(), 10000, () -> results);
+
+    requests.get(second).complete("second-result");
+
+    assertEquals(future.get(1, SECONDS), asList("second-result"));
+    assertTrue(requests.get(first).isCancelled());
+    assertEquals(metrics.snapshot().get("cancelled.first"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldFinishWithPartialResultOnTimeout() throws Exception {
+    CompletableFuture<List<String>> future =
+        executor.merge(null, asList(first, second), new Operation(), 100, () -> results);
+
+    requests.get(first).complete("first-result");
+
+    assertEquals(future.get(1, SECONDS), asList("first-result"));
+    assertTrue(requests.get(second).isCancelled());
+  }
+
+  @Test
+  public void shouldFinishSupersededOperation() throws Exception {
+    CompletableFuture<List<String>> superseded =
+        executor.merge("key", asList(first), new Operation(), 10000, () -> results);
+    CompletableFuture<String> supersededRequest = requests.get(first);
+
+    List<String> newResults = new ArrayList<>();
+    CompletableFuture<List<String>> future =
+        executor.merge("key", asList(first), new Operation(newResults), 10000, () -> newResults);
+
+    assertEquals(superseded.get(1, SECONDS), asList());
+    assertTrue(supersededRequest.isCancelled());
+    assertFalse(future.isDone());
+
+    requests.get(first).complete("first-result");
+
+    assertEquals(future.get(1, SECONDS), asList("first-result"));
+    assertEquals(metrics.snapshot().get("superseded"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldCompleteImmediatelyWhenNoServerCanPerformOperation() throws Exception {
+    CompletableFuture<List<String>> future =
+        executor.merge(null, asList(), new Operation(), 10000, () -> results);
+
+    assertEquals(future.get(1, SECONDS), asList());
+  }
+
+  private class Operation implements LSOperation<ExtendedLanguageServer, String> {
+    private final List<String> target;
+
+    Operation() {
+      this(results);
+    }
+
+    Operation(List<String> target) {
+      this.target = target;
+    }
+
+    @Override
+    public boolean canDo(ExtendedLanguageServer server) {
+      return true;
+    }
+
+    @Override
+    public CompletableFuture<String> start(ExtendedLanguageServer server) {
+      CompletableFuture<String> request = new CompletableFuture<>();
+      requests.put(server, request);
+      return request;
+    }
+
+    @Override
+    public boolean handleResult(ExtendedLanguageServer server, String result) {
+      target.add(result);
+      return true;
+    }
+  }
+}
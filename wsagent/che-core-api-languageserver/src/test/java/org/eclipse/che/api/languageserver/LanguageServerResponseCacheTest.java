@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.lsp4j.Position;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link LanguageServerResponseCache} */
+public class LanguageServerResponseCacheTest {
+  private static final String FILE = "/project/A.java";
+  private static final String OTHER_FILE = "/project/B.java";
+
+  private ExtendedLanguageServer server;
+  private LanguageServerMetrics metrics;
+  private LanguageServerResponseCache cache;
+  private AtomicInteger requests;
+
+  @BeforeMethod
+  public void setUp() {
+    server = new ExtendedLanguageServer("ls", null, null);
+    metrics = new LanguageServerMetrics();
+    cache = new LanguageServerResponseCache(10, metrics);
+    requests = new AtomicInteger();
+  }
+
+  @Test
+  public void shouldReturnCachedResponse() throws Exception {
+    assertEquals(hover(FILE, 1).get(), "response 1");
+    assertEquals(hover(FILE, 1).get(), "response 1");
+    assertEquals(hover(FILE, 2).get(), "response 2");
+
+    assertEquals(requests.get(), 2);
+    assertEquals(metrics.snapshot().get("response_cache.hit.hover"), Long.valueOf(1));
+    assertEquals(metrics.snapshot().get("response_cache.miss.hover"), Long.valueOf(2));
+  }
+
+  @Test
+  public void shouldDropResponsesOnInvalidation() throws Exception {
+    hover(FILE, 1).get();
+    symbols(FILE).get();
+    symbols(OTHER_FILE).get();
+
+    cache.invalidate(OTHER_FILE);
+    hover(FILE, 1).get();
+    symbols(FILE).get();
+    symbols(OTHER_FILE).get();
+
+    // workspace scoped hover and symbols of the invalidated file are requested again
+    assertEquals(requests.get(), 5);
+  }
+
+  @Test
+  public void shouldNotCacheResponseOfRequestSentBeforeInvalidation() throws Exception {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    cache.workspace("hover", server, FILE, new Position(0, 1), () -> pending);
+    cache.invalidate(FILE);
+    pending.complete("outdated");
+
+    assertEquals(hover(FILE, 1).get(), "response 1");
+  }
+
+  @Test
+  public void shouldForgetInvalidationsWhenNoRequestsAreInFlight() throws Exception {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    cache.document("documentSymbol", server, FILE, null, () -> pending);
+    cache.invalidate(FILE);
+    cache.invalidate(OTHER_FILE);
+    assertEquals(cache.trackedInvalidations(), 2);
+
+    pending.complete("outdated");
+    cache.invalidate(FILE);
+
+    assertEquals(cache.trackedInvalidations(), 0);
+    assertEquals(symbols(FILE).get(), "symbols 1");
+  }
+
+  @Test
+  public void shouldForgetInvalidationsOnFailedRequest() {
+    CompletableFuture<String> pending = new CompletableFuture<>();
+    cache.document("documentSymbol", server, FILE, null, () -> pending);
+    cache.invalidate(FILE);
+
+    pending.completeExceptionally(new IllegalStateException("server is stopped"));
+
+    assertEquals(cache.trackedInvalidations(), 0);
+  }
+
+  @Test
+  public void shouldKeepCopyOfListResponse() throws Exception {
+    List<String> response = new ArrayList<>();
+    response.add("symbol");
+    cache.document("documentSymbol", server, FILE, null, () -> completedFuture(response)).get();
+    response.add("added by caller");
+
+    List<String> cached =
+        cache.<List<String>>document("documentSymbol", server, FILE, null, () -> null).get();
+
+    assertEquals(cached.size(), 1);
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void shouldNotAllowModificationOfCachedListResponse() throws Exception {
+    cache
+        .document("documentSymbol", server, FILE, null, () -> completedFuture(new ArrayList<>()))
+        .get();
+
+    cache.<List<String>>document("documentSymbol", server, FILE, null, () -> null).get().add("x");
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedResponses() throws Exception {
+    for (int i = 0; i < 11; i++) {
+      hover(FILE, i).get();
+    }
+    hover(FILE, 0).get();
+
+    assertEquals(requests.get(), 12);
+  }
+
+  private CompletableFuture<String> hover(String wsPath, int character) {
+    return cache.workspace(
+        "hover",
+        server,
+        wsPath,
+        new Position(0, character),
+        () -> completedFuture("response " + requests.incrementAndGet()));
+  }
+
+  private CompletableFuture<String> symbols(String wsPath) {
+    return cache.document(
+        "documentSymbol",
+        server,
+        wsPath,
+        null,
+        () -> completedFuture("symbols " + requests.incrementAndGet()));
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.EndpointIdConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.MethodNameConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.ParamsConfigurator;
+import org.eclipse.che.api.core.jsonrpc.commons.transmission.SendConfiguratorFromOne;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
+import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.eclipse.lsp4j.Range;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link PublishDiagnosticsParamsJsonRpcTransmitter} */
+@Listeners(MockitoTestNGListener.class)
+public class PublishDiagnosticsParamsJsonRpcTransmitterTest {
+  private static final String LS_ID = "ls";
+  private static final String WS_PATH = "/project/Test.java";
+  private static final String ENDPOINT_ID = "endpoint";
+
+  @Mock private LanguageServerPathTransformer languageServerPathTransformer;
+  @Mock private RequestTransmitter requestTransmitter;
+  @Mock private EndpointIdConfigurator endpointIdConfigurator;
+  @Mock private MethodNameConfigurator methodNameConfigurator;
+  @Mock private ParamsConfigurator paramsConfigurator;
+  @Mock private SendConfiguratorFromOne<ExtendedPublishDiagnosticsParams> sendConfigurator;
+
+  @Captor private ArgumentCaptor<ExtendedPublishDiagnosticsParams> paramsCaptor;
+
+  private EventService eventService;
+  private LanguageServerMetrics metrics;
+  private PublishDiagnosticsParamsJsonRpcTransmitter transmitter;
+
+  @BeforeMethod
+  public void setUp() {
+    when(languageServerPathTransformer.toWsPath(anyString(), any(URI.class))).thenReturn(WS_PATH);
+
+    eventService = new EventService();
+    metrics = new LanguageServerMetrics();
+    transmitter = new PublishDiagnosticsParamsJsonRpcTransmitter(60_000, metrics);
+    transmitter.subscribe(languageServerPathTransformer, eventService, requestTransmitter);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transmitter.shutdown();
+  }
+
+  @Test
+  public void shouldSuppressIdenticalDiagnostics() {
+    publish(singletonList(diagnostic("error")));
+    publish(singletonList(diagnostic("error")));
+
+    assertEquals(metrics.snapshot().get("diagnostics.sent"), Long.valueOf(1));
+    assertEquals(metrics.snapshot().get("diagnostics.suppressed"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldThrottleChangedDiagnostics() {
+    publish(singletonList(diagnostic("first")));
+    publish(singletonList(diagnostic("second")));
+    publish(emptyList());
+
+    assertEquals(metrics.snapshot().get("diagnostics.sent"), Long.valueOf(1));
+    assertEquals(metrics.snapshot().get("diagnostics.throttled"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldResendDiagnosticsOfForgottenFile() {
+    publish(singletonList(diagnostic("error")));
+    transmitter.forget(WS_PATH);
+    publish(singletonList(diagnostic("error")));
+
+    assertEquals(metrics.snapshot().get("diagnostics.sent"), Long.valueOf(2));
+    assertNull(metrics.snapshot().get("diagnostics.suppressed"));
+  }
+
+  @Test
+  public void shouldSendDeltasToEndpointSubscribedToThem() {
+    withoutThrottling();
+    mockSending();
+    transmitter.addEndpoint(ENDPOINT_ID, true);
+
+    List<Diagnostic> diagnostics = diagnostics(10);
+    publish(diagnostics);
+    diagnostics = new ArrayList<>(diagnostics);
+    diagnostics.set(0, diagnostic("added"));
+    publish(diagnostics);
+
+    verify(paramsConfigurator, times(2)).paramsAsDto(paramsCaptor.capture());
+    ExtendedPublishDiagnosticsParams full = paramsCaptor.getAllValues().get(0);
+    assertFalse(full.isDelta());
+    assertEquals(full.getParams().getDiagnostics().size(), 10);
+    ExtendedPublishDiagnosticsParams delta = paramsCaptor.getAllValues().get(1);
+    assertTrue(delta.isDelta());
+    assertEquals(delta.getParams().getDiagnostics().size(), 1);
+    assertEquals(delta.getParams().getDiagnostics().get(0).getMessage(), "added");
+    assertEquals(delta.getRemovedDiagnostics().size(), 1);
+    assertEquals(delta.getRemovedDiagnostics().get(0).getMessage(), "error 0");
+    assertTrue(metrics.snapshot().get("diagnostics.bytes_saved") > 0);
+  }
+
+  @Test
+  public void shouldSendFullDiagnosticsToEndpointNotSubscribedToDeltas() {
+    withoutThrottling();
+    mockSending();
+    transmitter.addEndpoint(ENDPOINT_ID, false);
+
+    publish(diagnostics(10));
+    publish(diagnostics(11));
+
+    verify(paramsConfigurator, times(2)).paramsAsDto(paramsCaptor.capture());
+    assertFalse(paramsCaptor.getAllValues().get(1).isDelta());
+    assertEquals(paramsCaptor.getAllValues().get(1).getParams().getDiagnostics().size(), 11);
+    assertNull(metrics.snapshot().get("diagnostics.bytes_saved"));
+  }
+
+  @Test
+  public void shouldSendFullDiagnosticsToResubscribedEndpoint() {
+    withoutThrottling();
+    mockSending();
+    transmitter.addEndpoint(ENDPOINT_ID, true);
+
+    publish(diagnostics(10));
+    transmitter.addEndpoint(ENDPOINT_ID, true);
+    publish(diagnostics(11));
+
+    verify(paramsConfigurator, times(2)).paramsAsDto(paramsCaptor.capture());
+    assertFalse(paramsCaptor.getAllValues().get(1).isDelta());
+  }
+
+  @Test
+  public void shouldReportBytesSavedBySuppression() {
+    mockSending();
+    transmitter.addEndpoint(ENDPOINT_ID, false);
+
+    publish(singletonList(diagnostic("error")));
+    publish(singletonList(diagnostic("error")));
+
+    verify(paramsConfigurator).paramsAsDto(paramsCaptor.capture());
+    long size =
+        ((ExtendedPublishDiagnosticsParamsDto) paramsCaptor.getValue())
+            .toJson()
+            .getBytes(UTF_8)
+            .length;
+    assertEquals(metrics.snapshot().get("diagnostics.bytes_saved"), Long.valueOf(size));
+  }
+
+  private void withoutThrottling() {
+    transmitter.shutdown();
+    eventService = new EventService();
+    transmitter = new PublishDiagnosticsParamsJsonRpcTransmitter(0, metrics);
+    transmitter.subscribe(languageServerPathTransformer, eventService, requestTransmitter);
+  }
+
+  private void mockSending() {
+    when(requestTransmitter.newRequest()).thenReturn(endpointIdConfigurator);
+    when(endpointIdConfigurator.endpointId(ENDPOINT_ID)).thenReturn(methodNameConfigurator);
+    when(methodNameConfigurator.methodName("textDocument/publishDiagnostics"))
+        .thenReturn(paramsConfigurator);
+    when(paramsConfigurator.paramsAsDto(any(ExtendedPublishDiagnosticsParams.class)))
+        .thenReturn(sendConfigurator);
+  }
+
+  private void publish(List<Diagnostic> diagnostics) {
+    PublishDiagnosticsParams params = new PublishDiagnosticsParams("file:///test", diagnostics);
+    eventService.publish(new ExtendedPublishDiagnosticsParams(LS_ID, params));
+  }
+
+  private static List<Diagnostic> diagnostics(int count) {
+    List<Diagnostic> diagnostics = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      diagnostics.add(diagnostic("error " + i));
+    }
+    return diagnostics;
+  }
+
+  private static Diagnostic diagnostic(String message) {
+    return new Diagnostic(new Range(new Position(0, 0), new Position(0, 1)), message);
+  }
+}
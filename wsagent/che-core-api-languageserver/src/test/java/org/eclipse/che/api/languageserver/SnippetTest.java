@@ -39,7 +39,8 @@ public class SnippetTest {
     when(fsManager.existsAsFile(any())).thenReturn(true);
     when(fsManager.read(anyString()))
         .thenReturn(getClass().getResourceAsStream("/snippettest/File1.txt"));
-    service = new TextDocumentService(null, null, fsManager, null, null);
+    service =
+        new TextDocumentService(null, null, fsManager, null, null, null, null, null, null, null);
   }
 
   @Test
@@ -65,6 +66,6 @@ public class SnippetTest {
     for (int i = 0; i < ranges.length - 1; i += 2) {
       r.add(new LinearRange(ranges[i], ranges[i + 1]));
     }
-    return service.getSnippets(new SnippetParameters("file:///projects/foo", r));
+    return service.getSnippets(new SnippetParameters("file:///projects/foo", r)).join();
   }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.Position;
+import org.eclipse.lsp4j.Range;
+import org.eclipse.lsp4j.TextDocumentContentChangeEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link TextDocumentChangeCoalescer} */
+public class TextDocumentChangeCoalescerTest {
+  private static final String URI = "/project/Test.java";
+
+  private List<DidChangeTextDocumentParams> forwarded;
+  private LanguageServerMetrics metrics;
+  private TextDocumentChangeCoalescer coalescer;
+
+  @BeforeMethod
+  public void setUp() {
+    forwarded = new CopyOnWriteArrayList<>();
+    metrics = new LanguageServerMetrics();
+    coalescer = new TextDocumentChangeCoalescer(60_000, metrics);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    coalescer.shutdown();
+  }
+
+  @Test
+  public void shouldMergeTypingIntoSingleChange() {
+    coalescer.change(params(1, insert(0, 4, "a")), forwarded::add);
+    coalescer.change(params(2, insert(0, 5, "b")), forwarded::add);
+    coalescer.change(params(3, insert(0, 6, "c")), forwarded::add);
+
+    assertTrue(forwarded.isEmpty());
+    coalescer.flush(URI);
+
+    assertEquals(forwarded.size(), 1);
+    DidChangeTextDocumentParams params = forwarded.get(0);
+    assertEquals(params.getTextDocument().getVersion(), Integer.valueOf(3));
+    assertEquals(params.getContentChanges().size(), 1);
+    assertEquals(params.getContentChanges().get(0).getText(), "abc");
+    assertEquals(params.getContentChanges().get(0).getRange(), range(0, 4, 0, 4));
+    assertEquals(metrics.snapshot().get("did_change.received"), Long.valueOf(3));
+    assertEquals(metrics.snapshot().get("did_change.forwarded"), Long.valueOf(1));
+  }
+
+  @Test
+  public void shouldForwardChangesOrderedByVersion() {
+    TextDocumentContentChangeEvent first = change(range(1, 0, 1, 3), "");
+    TextDocumentContentChangeEvent second = change(range(0, 0, 0, 0), "\n");
+
+    coalescer.change(params(2, second), forwarded::add);
+    coalescer.change(params(1, first), forwarded::add);
+    coalescer.flush(URI);
+
+    assertEquals(forwarded.size(), 1);
+    assertEquals(forwarded.get(0).getTextDocument().getVersion(), Integer.valueOf(2));
+    assertEquals(forwarded.get(0).getContentChanges(), asList(first, second));
+  }
+
+  @Test
+  public void shouldDropChangesPrecedingFullContentChange() {
+    TextDocumentContentChangeEvent full = change(null, "class Test {}");
+
+    coalescer.change(params(1, insert(0, 0, "a")), forwarded::add);
+    coalescer.change(params(2, full), forwarded::add);
+    coalescer.flush(URI);
+
+    assertEquals(forwarded.get(0).getContentChanges(), singletonList(full));
+  }
+
+  @Test
+  public void shouldNotMergeNonAdjacentInsertions() {
+    coalescer.change(params(1, insert(0, 4, "a")), forwarded::add);
+    coalescer.change(params(2, insert(0, 10, "b")), forwarded::add);
+    coalescer.change(params(3, insert(0, 11, "\n")), forwarded::add);
+    coalescer.flush(URI);
+
+    assertEquals(forwarded.get(0).getContentChanges().size(), 3);
+  }
+
+  @Test
+  public void shouldForwardPendingChangesOnClose() {
+    coalescer.change(params(1, insert(0, 0, "a")), forwarded::add);
+    coalescer.close(URI);
+
+    assertEquals(forwarded.size(), 1);
+
+    coalescer.flush(URI);
+    assertEquals(forwarded.size(), 1);
+  }
+
+  @Test
+  public void shouldForwardChangesImmediatelyWhenCoalescingIsDisabled() {
+    coalescer.shutdown();
+    coalescer = new TextDocumentChangeCoalescer(0, metrics);
+
+    DidChangeTextDocumentParams params = params(1, insert(0, 0, "a"));
+    coalescer.change(params, forwarded::add);
+
+    assertEquals(forwarded, singletonList(params));
+  }
+
+  @Test
+  public void shouldForwardChangesWhenWindowIsOver() throws Exception {
+    coalescer.shutdown();
+    coalescer = new TextDocumentChangeCoalescer(10, metrics);
+
+    coalescer.change(params(1, insert(0, 0, "a")), forwarded::add);
+
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (forwarded.isEmpty() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals(forwarded.size(), 1);
+    assertEquals(forwarded.get(0).getContentChanges().get(0).getText(), "a");
+  }
+
+  private static DidChangeTextDocumentParams params(
+      int version, TextDocumentContentChangeEvent change) {
+    VersionedTextDocumentIdentifier textDocument = new VersionedTextDocumentIdentifier();
+    textDocument.setUri(URI);
+    textDocument.setVersion(version);
+    DidChangeTextDocumentParams params = new DidChangeTextDocumentParams();
+    params.setTextDocument(textDocument);
+    params.setContentChanges(singletonList(change));
+    return params;
+  }
+
+  private static TextDocumentContentChangeEvent insert(int line, int character, String text) {
+    return change(range(line, character, line, character), text);
+  }
+
+  private static TextDocumentContentChangeEvent change(Range range, String text) {
+    TextDocumentContentChangeEvent change = new TextDocumentContentChangeEvent();
+    change.setRange(range);
+    change.setText(text);
+    return change;
+  }
+
+  private static Range range(int startLine, int startCharacter, int endLine, int endCharacter) {
+    return new Range(
+        new Position(startLine, startCharacter), new Position(endLine, endCharacter));
+  }
+}
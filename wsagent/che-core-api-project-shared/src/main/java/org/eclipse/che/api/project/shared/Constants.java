@@ -52,6 +52,7 @@ public class Constants {
     public static final String PROJECT_RECOGNIZE = "project/recognize";
     public static final String PROJECT_VERIFY = "project/verify";
     public static final String PROJECT_IMPORT = "project/import";
+    public static final String PROJECT_GET_CHILDREN = "project/getChildren";
 
     public static final int NOT_FOUND = -27100;
     public static final int BAD_REQUEST = -27101;
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.shared.dto.service;
+
+import org.eclipse.che.dto.shared.DTO;
+
+@DTO
+public interface GetChildrenRequestDto {
+  String getWsPath();
+
+  void setWsPath(String wsPath);
+
+  GetChildrenRequestDto withWsPath(String wsPath);
+
+  boolean isIncludeFiles();
+
+  void setIncludeFiles(boolean includeFiles);
+
+  GetChildrenRequestDto withIncludeFiles(boolean includeFiles);
+
+  /** Maximal number of children to return, server default is used if not positive. */
+  int getBatchSize();
+
+  void setBatchSize(int batchSize);
+
+  GetChildrenRequestDto withBatchSize(int batchSize);
+
+  /** Token returned with the previous batch, or {@code null} to get the first batch. */
+  String getContinuationToken();
+
+  void setContinuationToken(String continuationToken);
+
+  GetChildrenRequestDto withContinuationToken(String continuationToken);
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.shared.dto.service;
+
+import java.util.List;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.dto.shared.DTO;
+
+@DTO
+public interface GetChildrenResponseDto {
+  List<ItemReference> getChildren();
+
+  void setChildren(List<ItemReference> children);
+
+  GetChildrenResponseDto withChildren(List<ItemReference> children);
+
+  /** Token to get the next batch with, or {@code null} if there are no more children. */
+  String getContinuationToken();
+
+  void setContinuationToken(String continuationToken);
+
+  GetChildrenResponseDto withContinuationToken(String continuationToken);
+}
@@ -26,12 +26,16 @@ import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
 /**
  * In-memory implementation of working copy for opened editor on client.
  *
+ * <p>Editor changes are applied to a {@link PieceTable} so each change takes logarithmic time
+ * regardless of the content size, content is materialized only when it is requested.
+ *
  * @author Roman Nikitenko
  */
 public class EditorWorkingCopy {
   private String path;
   private String projectPath;
   private byte[] content;
+  private PieceTable buffer;
 
   /**
    * Creates a working copy for opened editor on client.
@@ -52,10 +56,8 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public byte[] getContentAsBytes() {
-    if (content == null) {
-      content = new byte[0];
-    }
-    return Arrays.copyOf(content, content.length);
+    byte[] bytes = materialize();
+    return Arrays.copyOf(bytes, bytes.length);
   }
 
   /**
@@ -63,8 +65,8 @@ public class EditorWorkingCopy {
    *
    * @return content ot the working copy
    */
-  public String getContentAsString() {
-    return new String(getContentAsBytes());
+  public synchronized String getContentAsString() {
+    return buffer != null ? buffer.toString() : new String(materialize());
   }
 
   /**
@@ -73,7 +75,7 @@ public class EditorWorkingCopy {
    * @return content ot the working copy
    */
   public InputStream getContent() {
-    return new ByteArrayInputStream(getContentAsBytes());
+    return new ByteArrayInputStream(materialize());
   }
 
   /**
@@ -82,8 +84,9 @@ public class EditorWorkingCopy {
    * @param content content
    * @return current working copy after updating content
    */
-  EditorWorkingCopy updateContent(byte[] content) {
+  synchronized EditorWorkingCopy updateContent(byte[] content) {
     this.content = content;
+    this.buffer = null;
     return this;
   }
 
@@ -127,22 +130,33 @@ public class EditorWorkingCopy {
       int offset = changes.getOffset();
       int removedCharCount = changes.getRemovedCharCount();
 
-      String newContent = null;
-      String oldContent = getContentAsString();
       EditorChangesDto.Type type = changes.getType();
-      if (type == INSERT) {
-        newContent = new StringBuilder(oldContent).insert(offset, text).toString();
+      if (type != INSERT && (type != REMOVE || removedCharCount <= 0)) {
+        return;
       }
 
-      if (type == REMOVE && removedCharCount > 0) {
-        newContent =
-            new StringBuilder(oldContent).delete(offset, offset + removedCharCount).toString();
+      if (buffer == null) {
+        buffer = new PieceTable(new String(materialize()));
       }
 
-      if (newContent != null) {
-        updateContent(newContent);
+      if (type == INSERT) {
+        buffer.insert(offset, text);
+      } else {
+        buffer.delete(offset, removedCharCount);
       }
+      content = null;
+    }
+  }
+
+  /**
+   * Returns content bytes, encoding them from the buffer if they are not up to date. Returned array
+   * is shared, so it must not be modified.
+   */
+  private synchronized byte[] materialize() {
+    if (content == null) {
+      content = buffer != null ? buffer.toString().getBytes() : new byte[0];
     }
+    return content;
   }
 
   /** Returns the path to the persistent working copy */
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static java.lang.String.format;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Text buffer based on a piece table. The text is described by a sequence of pieces each of them
+ * referencing a range either in the original text or in the append-only buffer that keeps all the
+ * inserted text. Pieces are kept in a randomized balanced tree (treap) ordered by their position in
+ * the text, so insertion and removal take logarithmic time regardless of the text length. The text
+ * is materialized lazily and cached until the next modification.
+ *
+ * <p>Offsets are expressed in UTF-16 chars, the same way as editor changes are. This class is not
+ * thread safe.
+ */
+class PieceTable {
+  private final String original;
+  private final StringBuilder added = new StringBuilder();
+
+  private Node root;
+  private String text;
+
+  PieceTable(String original) {
+    this.original = original;
+    this.root = original.isEmpty() ? null : new Node(false, 0, original.length());
+    this.text = original;
+  }
+
+  /** Returns the length of the text. */
+  int length() {
+    return length(root);
+  }
+
+  /**
+   * Inserts text at the given offset.
+   *
+   * @param offset offset to insert at
+   * @param value text to insert
+   * @throws IndexOutOfBoundsException if offset is out of the text bounds
+   */
+  void insert(int offset, String value) {
+    checkRange(offset, 0);
+    if (value.isEmpty()) {
+      return;
+    }
+
+    Node piece = new Node(true, added.length(), value.length());
+    added.append(value);
+
+    Node[] parts = split(root, offset);
+    root = merge(merge(parts[0], piece), parts[1]);
+    text = null;
+  }
+
+  /**
+   * Removes the given count of chars starting at the given offset.
+   *
+   * @param offset offset to start removal from
+   * @param count number of chars to remove
+   * @throws IndexOutOfBoundsException if removed range is out of the text bounds
+   */
+  void delete(int offset, int count) {
+    checkRange(offset, count);
+    if (count == 0) {
+      return;
+    }
+
+    Node[] head = split(root, offset);
+    Node[] tail = split(head[1], count);
+    root = merge(head[0], tail[1]);
+    text = null;
+  }
+
+  /** Returns the text, materializing it if it was modified since the last call. */
+  @Override
+  public String toString() {
+    if (text == null) {
+      StringBuilder builder = new StringBuilder(length());
+      append(root, builder);
+      text = builder.toString();
+    }
+    return text;
+  }
+
+  private void checkRange(int offset, int count) {
+    int length = length();
+    if (offset < 0 || count < 0 || offset + count > length) {
+      throw new IndexOutOfBoundsException(
+          format("Range [%d, %d) is out of text bounds [0, %d)", offset, offset + count, length));
+    }
+  }
+
+  private void append(Node node, StringBuilder builder) {
+    while (node != null) {
+      append(node.left, builder);
+      CharSequence source = node.added ? added : original;
+      builder.append(source, node.start, node.start + node.length);
+      node = node.right;
+    }
+  }
+
+  /** Splits a tree into two trees holding the first {@code offset} chars and the rest. */
+  private static Node[] split(Node node, int offset) {
+    if (node == null) {
+      return new Node[] {null, null};
+    }
+
+    int leftLength = length(node.left);
+    if (offset <= leftLength) {
+      Node[] parts = split(node.left, offset);
+      node.left = parts[1];
+      node.update();
+      return new Node[] {parts[0], node};
+    }
+
+    if (offset >= leftLength + node.length) {
+      Node[] parts = split(node.right, offset - leftLength - node.length);
+      node.right = parts[0];
+      node.update();
+      return new Node[] {node, parts[1]};
+    }
+
+    // split point is inside of this node's piece
+    int pieceOffset = offset - leftLength;
+    Node tail = new Node(node.added, node.start + pieceOffset, node.length - pieceOffset);
+    Node right = merge(tail, node.right);
+
+    node.length = pieceOffset;
+    node.right = null;
+    node.update();
+
+    return new Node[] {node, right};
+  }
+
+  /** Merges two trees where all the pieces of the first one precede pieces of the second one. */
+  private static Node merge(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+
+    if (left.priority > right.priority) {
+      left.right = merge(left.right, right);
+      left.update();
+      return left;
+    }
+
+    right.left = merge(left, right.left);
+    right.update();
+    return right;
+  }
+
+  private static int length(Node node) {
+    return node == null ? 0 : node.total;
+  }
+
+  private static class Node {
+    final boolean added;
+    final int start;
+    final int priority = ThreadLocalRandom.current().nextInt();
+
+    int length;
+    int total;
+    Node left;
+    Node right;
+
+    Node(boolean added, int start, int length) {
+      this.added = added;
+      this.start = start;
+      this.length = length;
+      this.total = length;
+    }
+
+    void update() {
+      total = length(left) + length + length(right);
+    }
+  }
+}
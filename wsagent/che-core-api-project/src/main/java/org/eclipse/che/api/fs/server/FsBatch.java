@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered list of file system operations applied at once with {@link FsManager#apply(FsBatch)}.
+ * Parents of the target items are created if they are missing.
+ */
+public class FsBatch {
+
+  /** Kind of a batch operation */
+  public enum Type {
+    CREATE_FILE,
+    CREATE_DIR,
+    UPDATE,
+    COPY,
+    MOVE,
+    DELETE
+  }
+
+  private final List<Operation> operations = new ArrayList<>();
+
+  /** Creates or overwrites file with the content */
+  public FsBatch createFile(String wsPath, InputStream content) {
+    return add(new Operation(Type.CREATE_FILE, absolutize(wsPath), null, content, true));
+  }
+
+  /** Creates or overwrites file with UTF-8 encoded content */
+  public FsBatch createFile(String wsPath, String content) {
+    return createFile(wsPath, new ByteArrayInputStream(content.getBytes(UTF_8)));
+  }
+
+  /** Creates directory, existing directory is overwritten */
+  public FsBatch createDir(String wsPath) {
+    return add(new Operation(Type.CREATE_DIR, absolutize(wsPath), null, null, true));
+  }
+
+  /** Updates content of an existing file */
+  public FsBatch update(String wsPath, InputStream content) {
+    return add(new Operation(Type.UPDATE, absolutize(wsPath), null, content, false));
+  }
+
+  /** Updates content of an existing file with UTF-8 encoded content */
+  public FsBatch update(String wsPath, String content) {
+    return update(wsPath, new ByteArrayInputStream(content.getBytes(UTF_8)));
+  }
+
+  /** Copies file or directory */
+  public FsBatch copy(String srcWsPath, String dstWsPath, boolean overwrite) {
+    return add(
+        new Operation(Type.COPY, absolutize(srcWsPath), absolutize(dstWsPath), null, overwrite));
+  }
+
+  /** Moves file or directory */
+  public FsBatch move(String srcWsPath, String dstWsPath, boolean overwrite) {
+    return add(
+        new Operation(Type.MOVE, absolutize(srcWsPath), absolutize(dstWsPath), null, overwrite));
+  }
+
+  /** Deletes file or directory if it exists */
+  public FsBatch delete(String wsPath) {
+    return add(new Operation(Type.DELETE, absolutize(wsPath), null, null, false));
+  }
+
+  /** Returns operations in the order they were added */
+  public List<Operation> getOperations() {
+    return unmodifiableList(operations);
+  }
+
+  public boolean isEmpty() {
+    return operations.isEmpty();
+  }
+
+  private FsBatch add(Operation operation) {
+    operations.add(operation);
+    return this;
+  }
+
+  /** Single batch operation */
+  public static class Operation {
+    private final Type type;
+    private final String wsPath;
+    private final String dstWsPath;
+    private final InputStream content;
+    private final boolean overwrite;
+
+    private Operation(
+        Type type, String wsPath, String dstWsPath, InputStream content, boolean overwrite) {
+      this.type = type;
+      this.wsPath = wsPath;
+      this.dstWsPath = dstWsPath;
+      this.content = content;
+      this.overwrite = overwrite;
+    }
+
+    public Type getType() {
+      return type;
+    }
+
+    /** Returns path of the item, source path for copy and move operations */
+    public String getWsPath() {
+      return wsPath;
+    }
+
+    /** Returns destination path for copy and move operations, {@code null} otherwise */
+    public String getDstWsPath() {
+      return dstWsPath;
+    }
+
+    /** Returns content for create file and update operations, {@code null} otherwise */
+    public InputStream getContent() {
+      return content;
+    }
+
+    public boolean isOverwrite() {
+      return overwrite;
+    }
+
+    @Override
+    public String toString() {
+      return type + " " + wsPath + (dstWsPath == null ? "" : " -> " + dstWsPath);
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server;
+
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Net changes made by an {@link FsBatch}: items that did not exist before the batch and exist
+ * after it are created, items that existed before and after it are updated, items that existed
+ * before and do not exist after it are deleted. Items of created or deleted directories are not
+ * listed separately.
+ *
+ * <p>The change set is published with {@link org.eclipse.che.api.core.notification.EventService}
+ * once the batch is applied.
+ */
+public class FsChangeSet {
+  private final Set<String> created;
+  private final Set<String> updated;
+  private final Set<String> deleted;
+
+  public FsChangeSet(Set<String> created, Set<String> updated, Set<String> deleted) {
+    this.created = unmodifiableSet(new LinkedHashSet<>(created));
+    this.updated = unmodifiableSet(new LinkedHashSet<>(updated));
+    this.deleted = unmodifiableSet(new LinkedHashSet<>(deleted));
+  }
+
+  /** Returns absolute workspace paths of created items */
+  public Set<String> getCreated() {
+    return created;
+  }
+
+  /** Returns absolute workspace paths of updated items */
+  public Set<String> getUpdated() {
+    return updated;
+  }
+
+  /** Returns absolute workspace paths of deleted items */
+  public Set<String> getDeleted() {
+    return deleted;
+  }
+
+  public boolean isEmpty() {
+    return created.isEmpty() && updated.isEmpty() && deleted.isEmpty();
+  }
+
+  @Override
+  public String toString() {
+    return "FsChangeSet{created=" + created + ", updated=" + updated + ", deleted=" + deleted + '}';
+  }
+}
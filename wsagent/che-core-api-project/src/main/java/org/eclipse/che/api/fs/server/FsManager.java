@@ -11,16 +11,17 @@
  */
 package org.eclipse.che.api.fs.server;
 
-import java.io.BufferedReader;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.util.Set;
 import java.util.function.BiConsumer;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import org.apache.commons.io.IOUtils;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
@@ -77,17 +78,33 @@ public interface FsManager {
    */
   InputStream zip(String wsPath) throws NotFoundException, ConflictException, ServerException;
 
+  /**
+   * Zips a file or a directory denoted by the path to an output stream, the stream is not closed
+   *
+   * @param wsPath absolute workspace item path
+   * @param output stream to write the archive to
+   * @throws NotFoundException is thrown if the item does not exist
+   * @throws ServerException is thrown if an error occurred during operation execution
+   */
+  void zip(String wsPath, OutputStream output)
+      throws NotFoundException, ConflictException, ServerException;
+
   /**
    * Unzips an input stream to a specified workspace path
    *
    * @param wsPath absolute workspace directory path
-   * @return
+   * @param progress consumer of extraction progress messages
    * @throws NotFoundException is thrown if destination does not exist
    * @throws ConflictException is thrown if destination is not a directory
    * @throws ServerException is thrown if an error occurred during operation execution
    */
   void unzip(
-      String wsPath, InputStream packed, boolean overwrite, boolean withParents, boolean skipRoot)
+      String wsPath,
+      InputStream packed,
+      boolean overwrite,
+      boolean withParents,
+      boolean skipRoot,
+      Consumer<String> progress)
       throws NotFoundException, ServerException, ConflictException;
 
   /**
@@ -158,6 +175,21 @@ public interface FsManager {
   void move(String srcWsPath, String dstWsPath, boolean overwrite, boolean withParents)
       throws NotFoundException, ConflictException, ServerException;
 
+  /**
+   * Applies operations of the batch in their order. File watcher events and file tree walking are
+   * suspended for the items of the batch while it is applied, then the net changes are reported
+   * at once to file watcher operations and published as {@link FsChangeSet}. Application stops at
+   * the first failed operation, changes made by the preceding operations are reported anyway.
+   *
+   * @param batch operations to apply
+   * @return net changes made by the batch
+   * @throws NotFoundException is thrown when an item an operation is applied to does not exist
+   * @throws ConflictException is thrown when an item an operation creates already exists and
+   *     overwrite is disabled
+   * @throws ServerException is thrown is an error occurred during operation execution
+   */
+  FsChangeSet apply(FsBatch batch) throws NotFoundException, ConflictException, ServerException;
+
   /**
    * Get names of all files in a directory
    *
@@ -311,26 +343,20 @@ public interface FsManager {
     createDir(wsPath, true, true);
   }
 
-  /** Read file as String */
+  /** Read file as UTF-8 String, line separators are kept as is */
   default String readAsString(String wsPath)
       throws NotFoundException, ConflictException, ServerException {
     try (InputStream inputStream = read(wsPath)) {
-      InputStreamReader isr = new InputStreamReader(inputStream);
-      BufferedReader br = new BufferedReader(isr);
-      return br.lines().collect(Collectors.joining("\n"));
+      return IOUtils.toString(inputStream, UTF_8);
     } catch (IOException e) {
       throw new ServerException(e);
     }
   }
 
-  /** Update file with String */
+  /** Update file with UTF-8 encoded String */
   default void update(String wsPath, String content)
       throws NotFoundException, ConflictException, ServerException {
-    try (InputStream inputStream = new ByteArrayInputStream(content.getBytes())) {
-      update(wsPath, inputStream);
-    } catch (IOException e) {
-      throw new ServerException(e);
-    }
+    update(wsPath, new ByteArrayInputStream(content.getBytes(UTF_8)));
   }
 
   /** Shortcut to delete(wsPath, true) */
@@ -350,6 +376,13 @@ public interface FsManager {
     move(srcWsPath, dstWsPath, true, true);
   }
 
+  /** Shortcut to unzip(wsPath, packed, overwrite, withParents, skipRoot, it -> {}) */
+  default void unzip(
+      String wsPath, InputStream packed, boolean overwrite, boolean withParents, boolean skipRoot)
+      throws NotFoundException, ServerException, ConflictException {
+    unzip(wsPath, packed, overwrite, withParents, skipRoot, it -> {});
+  }
+
   /** Shortcut to unzip(wsPath, packed, true, true, skipRoot) */
   default void unzip(String wsPath, InputStream packed, boolean skipRoot)
       throws NotFoundException, ServerException, ConflictException {
@@ -22,11 +22,14 @@ import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.fs.server.FsBatch;
+import org.eclipse.che.api.fs.server.FsChangeSet;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.fs.server.PathTransformer;
 
@@ -36,13 +39,18 @@ public class ExecutiveFsManager implements FsManager {
 
   private final FsOperations fsOperations;
   private final ZipArchiver zipArchiver;
+  private final FsBatchExecutor fsBatchExecutor;
   private final PathTransformer pathTransformer;
 
   @Inject
   public ExecutiveFsManager(
-      FsOperations fsOperations, ZipArchiver zipArchiver, PathTransformer pathTransformer) {
+      FsOperations fsOperations,
+      ZipArchiver zipArchiver,
+      FsBatchExecutor fsBatchExecutor,
+      PathTransformer pathTransformer) {
     this.fsOperations = fsOperations;
     this.zipArchiver = zipArchiver;
+    this.fsBatchExecutor = fsBatchExecutor;
     this.pathTransformer = pathTransformer;
   }
 
@@ -94,13 +102,26 @@ public class ExecutiveFsManager implements FsManager {
     return zipArchiver.zip(fsPath);
   }
 
+  @Override
+  public void zip(String wsPath, OutputStream output)
+      throws NotFoundException, ConflictException, ServerException {
+    Path fsPath = pathTransformer.transform(wsPath);
+
+    zipArchiver.zip(fsPath, output);
+  }
+
   @Override
   public void unzip(
-      String wsPath, InputStream packed, boolean overwrite, boolean withParents, boolean skipRoot)
+      String wsPath,
+      InputStream packed,
+      boolean overwrite,
+      boolean withParents,
+      boolean skipRoot,
+      Consumer<String> progress)
       throws NotFoundException, ServerException, ConflictException {
     Path fsPath = pathTransformer.transform(wsPath);
 
-    zipArchiver.unzip(fsPath, packed, overwrite, withParents, skipRoot);
+    zipArchiver.unzip(fsPath, packed, overwrite, withParents, skipRoot, progress);
   }
 
   @Override
@@ -176,6 +197,12 @@ public class ExecutiveFsManager implements FsManager {
     }
   }
 
+  @Override
+  public FsChangeSet apply(FsBatch batch)
+      throws NotFoundException, ConflictException, ServerException {
+    return fsBatchExecutor.apply(batch, this);
+  }
+
   @Override
   public boolean isFile(String wsPath) {
     Path fsPath = pathTransformer.transform(wsPath);
@@ -0,0 +1,257 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static org.eclipse.che.api.fs.server.WsPathUtils.isRoot;
+import static org.eclipse.che.api.fs.server.WsPathUtils.parentOf;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.fs.server.FsBatch;
+import org.eclipse.che.api.fs.server.FsBatch.Operation;
+import org.eclipse.che.api.fs.server.FsChangeSet;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.impl.FileTreeWalker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Applies {@link FsBatch} operations with the given file system manager and reports their net
+ * changes at once.
+ *
+ * <p>Items of the batch, or their top-most ancestors created by the batch, are excluded from file
+ * watching and file tree walking only while the batch is applied, so events of other items are not
+ * lost. Net changes are dispatched to file watcher operations, e.g. the ones of project tree and
+ * editor trackers, including the operations registered to items within the changed subtrees, and
+ * published with {@link EventService}. Subtrees of the batch are rescanned by the file tree walker,
+ * so search index is updated within a single walk.
+ */
+@Singleton
+class FsBatchExecutor {
+  private static final Logger LOG = LoggerFactory.getLogger(FsBatchExecutor.class);
+
+  private final Provider<FileWatcherManager> fileWatcherManager;
+  private final Provider<FileTreeWalker> fileTreeWalker;
+  private final PathTransformer pathTransformer;
+  private final EventService eventService;
+
+  @Inject
+  FsBatchExecutor(
+      Provider<FileWatcherManager> fileWatcherManager,
+      Provider<FileTreeWalker> fileTreeWalker,
+      PathTransformer pathTransformer,
+      EventService eventService) {
+    this.fileWatcherManager = fileWatcherManager;
+    this.fileTreeWalker = fileTreeWalker;
+    this.pathTransformer = pathTransformer;
+    this.eventService = eventService;
+  }
+
+  /**
+   * Applies batch operations in their order with the given file system manager.
+   *
+   * @param batch operations to apply
+   * @param fsManager file system manager to apply operations with
+   * @return net changes made by the batch
+   */
+  FsChangeSet apply(FsBatch batch, FsManager fsManager)
+      throws NotFoundException, ConflictException, ServerException {
+    if (batch.isEmpty()) {
+      return new FsChangeSet(new LinkedHashSet<>(), new LinkedHashSet<>(), new LinkedHashSet<>());
+    }
+
+    Set<Path> roots = getRoots(batch, fsManager);
+    PathMatcher matcher = it -> roots.stream().anyMatch(it::startsWith);
+    FileWatcherManager watcherManager = fileWatcherManager.get();
+    FileTreeWalker treeWalker = fileTreeWalker.get();
+
+    watcherManager.addExcludeMatcher(matcher);
+    roots.forEach(treeWalker::suspend);
+
+    Changes changes = new Changes();
+    FsChangeSet changeSet;
+    try {
+      for (Operation operation : batch.getOperations()) {
+        apply(operation, fsManager, changes);
+      }
+    } finally {
+      roots.forEach(treeWalker::resume);
+      watcherManager.removeExcludeMatcher(matcher);
+
+      changeSet = changes.toChangeSet();
+      if (!changeSet.isEmpty()) {
+        LOG.debug("Batch of {} operations is applied: {}", batch.getOperations().size(), changeSet);
+        watcherManager.dispatch(changeSet);
+        eventService.publish(changeSet);
+      }
+    }
+    return changeSet;
+  }
+
+  private void apply(Operation operation, FsManager fsManager, Changes changes)
+      throws NotFoundException, ConflictException, ServerException {
+    String wsPath = operation.getWsPath();
+    String dstWsPath = operation.getDstWsPath();
+    boolean overwrite = operation.isOverwrite();
+
+    switch (operation.getType()) {
+      case CREATE_FILE:
+        {
+          String created = getTopMostMissing(wsPath, fsManager);
+          fsManager.createFile(wsPath, operation.getContent(), overwrite, true);
+          changes.created(created);
+          break;
+        }
+      case CREATE_DIR:
+        {
+          String created = getTopMostMissing(wsPath, fsManager);
+          fsManager.createDir(wsPath, overwrite, true);
+          changes.created(created);
+          break;
+        }
+      case UPDATE:
+        fsManager.update(wsPath, operation.getContent());
+        changes.updated(wsPath);
+        break;
+      case COPY:
+        {
+          String created = getTopMostMissing(dstWsPath, fsManager);
+          fsManager.copy(wsPath, dstWsPath, overwrite, true);
+          changes.created(created);
+          break;
+        }
+      case MOVE:
+        {
+          String created = getTopMostMissing(dstWsPath, fsManager);
+          fsManager.move(wsPath, dstWsPath, overwrite, true);
+          changes.deleted(wsPath);
+          changes.created(created);
+          break;
+        }
+      case DELETE:
+        if (fsManager.exists(wsPath)) {
+          fsManager.delete(wsPath, true);
+          changes.deleted(wsPath);
+        }
+        break;
+      default:
+        throw new ServerException("Unsupported batch operation: " + operation);
+    }
+  }
+
+  /** Returns file system paths of the top-most items affected by the batch. */
+  private Set<Path> getRoots(FsBatch batch, FsManager fsManager) {
+    Set<Path> paths = new HashSet<>();
+    for (Operation operation : batch.getOperations()) {
+      paths.add(pathTransformer.transform(getTopMostMissing(operation.getWsPath(), fsManager)));
+      if (operation.getDstWsPath() != null) {
+        String dst = getTopMostMissing(operation.getDstWsPath(), fsManager);
+        paths.add(pathTransformer.transform(dst));
+      }
+    }
+
+    Set<Path> roots = new HashSet<>();
+    for (Path path : paths) {
+      Path ancestor = path.getParent();
+      while (ancestor != null && !paths.contains(ancestor)) {
+        ancestor = ancestor.getParent();
+      }
+      if (ancestor == null) {
+        roots.add(path);
+      }
+    }
+    return roots;
+  }
+
+  /**
+   * Returns the item itself if its parent exists, otherwise the top-most missing ancestor that is
+   * going to be created along with the item.
+   */
+  private static String getTopMostMissing(String wsPath, FsManager fsManager) {
+    String result = wsPath;
+    while (!isRoot(result) && !isRoot(parentOf(result)) && !fsManager.exists(parentOf(result))) {
+      result = parentOf(result);
+    }
+    return result;
+  }
+
+  /** Accumulates net changes of the batch operations. */
+  private static class Changes {
+    final NavigableSet<String> created = new TreeSet<>();
+    final NavigableSet<String> updated = new TreeSet<>();
+    final NavigableSet<String> deleted = new TreeSet<>();
+
+    void created(String wsPath) {
+      if (isWithin(created, wsPath)) {
+        return;
+      }
+
+      removeWithin(updated, wsPath);
+      if (deleted.remove(wsPath)) {
+        updated.add(wsPath);
+      } else {
+        created.add(wsPath);
+      }
+    }
+
+    void updated(String wsPath) {
+      if (!isWithin(created, wsPath)) {
+        updated.add(wsPath);
+      }
+    }
+
+    void deleted(String wsPath) {
+      boolean wasCreated = created.contains(wsPath);
+      removeWithin(created, wsPath);
+      removeWithin(updated, wsPath);
+      removeWithin(deleted, wsPath);
+      if (!wasCreated && !isWithin(created, wsPath)) {
+        deleted.add(wsPath);
+      }
+    }
+
+    FsChangeSet toChangeSet() {
+      return new FsChangeSet(created, updated, deleted);
+    }
+
+    /** Shows if the path or any of its ancestors is in the set. */
+    private static boolean isWithin(Set<String> wsPaths, String wsPath) {
+      for (String it = wsPath; !isRoot(it); it = parentOf(it)) {
+        if (wsPaths.contains(it)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /** Removes the path and all its descendants from the set. */
+    private static void removeWithin(NavigableSet<String> wsPaths, String wsPath) {
+      wsPaths.remove(wsPath);
+      // descendants are ordered between "path/" and "path0" as '0' follows '/'
+      wsPaths.subSet(wsPath + '/', true, wsPath + '0', false).clear();
+    }
+  }
+}
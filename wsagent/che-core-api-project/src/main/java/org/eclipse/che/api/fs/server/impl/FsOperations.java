@@ -11,8 +11,11 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.util.stream.Collectors.toSet;
-import static org.apache.commons.io.FileUtils.copyInputStreamToFile;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.UPDATE_TMP_SUFFIX;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toUpdateTmpPrefix;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -22,6 +25,7 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Arrays;
@@ -168,11 +172,51 @@ class FsOperations {
     }
   }
 
+  /**
+   * Writes content to a temporary file next to the updated one and moves it over the updated file,
+   * so readers never see partially written content and the file is left intact if writing fails.
+   * File watcher skips the temporary file and reports the replacement as a modification.
+   */
   void update(Path fsPath, InputStream content) throws ServerException {
+    Path tmpFsPath = null;
     try {
-      copyInputStreamToFile(content, fsPath.toFile());
+      Path target = Files.isSymbolicLink(fsPath) ? fsPath.toRealPath() : fsPath;
+      String prefix = toUpdateTmpPrefix(target.getFileName().toString());
+      tmpFsPath = Files.createTempFile(target.getParent(), prefix, UPDATE_TMP_SUFFIX);
+      Files.copy(content, tmpFsPath, REPLACE_EXISTING);
+      copyPermissions(target, tmpFsPath);
+
+      try {
+        Files.move(tmpFsPath, target, ATOMIC_MOVE, REPLACE_EXISTING);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(tmpFsPath, target, REPLACE_EXISTING);
+      }
     } catch (IOException e) {
       throw new ServerException("Failed to update file: " + fsPath, e);
+    } finally {
+      if (tmpFsPath != null) {
+        deleteQuietly(tmpFsPath);
+      }
+    }
+  }
+
+  private static void copyPermissions(Path from, Path to) throws IOException {
+    if (!Files.exists(from)) {
+      return;
+    }
+
+    try {
+      Files.setPosixFilePermissions(to, Files.getPosixFilePermissions(from));
+    } catch (UnsupportedOperationException e) {
+      // not a POSIX file system, temporary file has default permissions
+    }
+  }
+
+  private static void deleteQuietly(Path fsPath) {
+    try {
+      Files.deleteIfExists(fsPath);
+    } catch (IOException e) {
+      // temporary file is already moved or can't be removed
     }
   }
 
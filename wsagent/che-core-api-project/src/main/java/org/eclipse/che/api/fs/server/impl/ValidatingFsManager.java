@@ -19,11 +19,14 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.fs.server.FsBatch;
+import org.eclipse.che.api.fs.server.FsChangeSet;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.fs.server.PathTransformer;
 
@@ -38,15 +41,18 @@ public class ValidatingFsManager implements FsManager {
   private final FsOperations fsOperations;
   private final PathTransformer pathTransformer;
   private final FsManager suspendingFsManager;
+  private final FsBatchExecutor fsBatchExecutor;
 
   @Inject
   public ValidatingFsManager(
       FsOperations fsOperations,
       PathTransformer pathTransformer,
-      ExecutiveFsManager suspendingFsManager) {
+      ExecutiveFsManager suspendingFsManager,
+      FsBatchExecutor fsBatchExecutor) {
     this.fsOperations = fsOperations;
     this.pathTransformer = pathTransformer;
     this.suspendingFsManager = suspendingFsManager;
+    this.fsBatchExecutor = fsBatchExecutor;
   }
 
   public void createFile(String wsPath, boolean overwrite, boolean withParents)
@@ -97,8 +103,25 @@ public class ValidatingFsManager implements FsManager {
     return suspendingFsManager.zip(wsPath);
   }
 
+  public void zip(String wsPath, OutputStream output)
+      throws NotFoundException, ServerException, ConflictException {
+    Path fsPath = pathTransformer.transform(wsPath);
+
+    boolean exists = fsOperations.exists(fsPath);
+    if (!exists) {
+      throw new NotFoundException("Can't zip item, it does not exist: " + wsPath);
+    }
+
+    suspendingFsManager.zip(wsPath, output);
+  }
+
   public void unzip(
-      String wsPath, InputStream packed, boolean overwrite, boolean withParents, boolean skipRoot)
+      String wsPath,
+      InputStream packed,
+      boolean overwrite,
+      boolean withParents,
+      boolean skipRoot,
+      Consumer<String> progress)
       throws NotFoundException, ConflictException, ServerException {
     Path fsPath = pathTransformer.transform(wsPath);
 
@@ -112,7 +135,7 @@ public class ValidatingFsManager implements FsManager {
       throw new ConflictException("Can't unzip item, parent is not directory: " + wsPath);
     }
 
-    suspendingFsManager.unzip(wsPath, packed, overwrite, withParents, skipRoot);
+    suspendingFsManager.unzip(wsPath, packed, overwrite, withParents, skipRoot, progress);
   }
 
   public void delete(String wsPath, boolean quietly)
@@ -177,6 +200,12 @@ public class ValidatingFsManager implements FsManager {
     suspendingFsManager.move(srcWsPath, dstWsPath, overwrite, withParents);
   }
 
+  /** Applies the batch operations one by one, each of them is validated before it is applied */
+  public FsChangeSet apply(FsBatch batch)
+      throws NotFoundException, ConflictException, ServerException {
+    return fsBatchExecutor.apply(batch, this);
+  }
+
   public InputStream read(String wsPath)
       throws NotFoundException, ServerException, ConflictException {
     Path fsPath = pathTransformer.transform(wsPath);
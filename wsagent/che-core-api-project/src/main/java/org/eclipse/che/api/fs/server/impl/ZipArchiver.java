@@ -11,119 +11,276 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
-import static java.nio.file.Files.createTempFile;
-import static java.nio.file.Files.newInputStream;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.IOUtils;
 import org.eclipse.che.api.core.ServerException;
-import org.eclipse.che.api.fs.server.PathTransformer;
-import org.eclipse.che.api.fs.server.WsPathUtils;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.impl.FileTreeWalker;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 
+/**
+ * Packs file system items to zip archives and extracts them.
+ *
+ * <p>Archives are written while walking the file tree, directly to the given output stream.
+ * Extraction spools the archive to a temporary file to read its central directory, then creates
+ * directories and removes overwritten items in archive order and writes file entries concurrently.
+ * File watcher events and file tree walking are suspended for the target subtree during the
+ * extraction, so clients and search index are not notified about each extracted file separately.
+ */
 @Singleton
 class ZipArchiver {
 
-  private final Path root;
+  private final Provider<FileWatcherManager> fileWatcherManager;
+  private final Provider<FileTreeWalker> fileTreeWalker;
+  private final ExecutorService executor;
 
   @Inject
-  ZipArchiver(PathTransformer pathTransformer) {
-    this.root = pathTransformer.transform(WsPathUtils.ROOT);
+  ZipArchiver(
+      @Named("che.fs.zip.extract_threads") int extractThreads,
+      Provider<FileWatcherManager> fileWatcherManager,
+      Provider<FileTreeWalker> fileTreeWalker) {
+    this.fileWatcherManager = fileWatcherManager;
+    this.fileTreeWalker = fileTreeWalker;
+    this.executor =
+        Executors.newFixedThreadPool(
+            Math.max(1, extractThreads),
+            new ThreadFactoryBuilder()
+                .setNameFormat("ZipArchiver-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
   }
 
-  private static void zip(Path zipRoot, File zipInFile, ZipOutputStream zos) throws IOException {
-    if (zipInFile.isDirectory()) {
-      File[] files = zipInFile.listFiles();
-      for (File file : files == null ? new File[0] : files) {
-        zip(zipRoot, file, zos);
+  InputStream zip(Path fsPath) throws ServerException {
+    try {
+      Path outFile = Files.createTempFile(fsPath.getFileName().toString(), ".zip");
+      try (OutputStream output = Files.newOutputStream(outFile)) {
+        zip(fsPath, output);
       }
-      return;
-    }
 
-    try (FileInputStream fis = new FileInputStream(zipInFile); ) {
-      String zipEntryName = zipRoot.relativize(zipInFile.toPath()).toString();
-      ZipEntry zipEntry = new ZipEntry(zipEntryName);
-      zos.putNextEntry(zipEntry);
-      IOUtils.copy(fis, zos);
+      return Files.newInputStream(outFile, DELETE_ON_CLOSE);
+    } catch (IOException e) {
+      throw new ServerException("Failed to zip item: " + fsPath, e);
     }
   }
 
-  InputStream zip(Path fsPath) throws ServerException {
+  /**
+   * Writes zip archive of the given item to the output stream, which is left open.
+   *
+   * @param fsPath file or directory to archive
+   * @param output stream to write the archive to
+   * @throws ServerException if the item can't be read or the archive can't be written
+   */
+  void zip(Path fsPath, OutputStream output) throws ServerException {
     try {
-      File inFile = fsPath.toFile();
-      File outFile = createTempFile(fsPath.getFileName().toString(), ".zip").toFile();
-
-      try (FileOutputStream fos = new FileOutputStream(outFile);
-          ZipOutputStream zos = new ZipOutputStream(fos)) {
-        zip(fsPath, inFile, zos);
+      ZipOutputStream zos = new ZipOutputStream(output);
+      if (Files.isDirectory(fsPath)) {
+        Files.walkFileTree(
+            fsPath,
+            new SimpleFileVisitor<Path>() {
+              @Override
+              public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                  throws IOException {
+                putEntry(zos, fsPath.relativize(file).toString(), file);
+                return CONTINUE;
+              }
+            });
+      } else {
+        putEntry(zos, fsPath.getFileName().toString(), fsPath);
       }
-
-      return newInputStream(outFile.toPath());
+      zos.finish();
     } catch (IOException e) {
       throw new ServerException("Failed to zip item: " + fsPath, e);
     }
   }
 
+  private static void putEntry(ZipOutputStream zos, String name, Path file) throws IOException {
+    // symbolic links are archived with the content they point to
+    if (!Files.isRegularFile(file)) {
+      return;
+    }
+
+    ZipEntry zipEntry = new ZipEntry(name.replace(File.separatorChar, '/'));
+    zipEntry.setTime(Files.getLastModifiedTime(file).toMillis());
+    zos.putNextEntry(zipEntry);
+    Files.copy(file, zos);
+    zos.closeEntry();
+  }
+
   void unzip(
-      Path fsPath, InputStream content, boolean overwrite, boolean withParents, boolean skipRoot)
+      Path fsPath,
+      InputStream content,
+      boolean overwrite,
+      boolean withParents,
+      boolean skipRoot,
+      Consumer<String> progress)
       throws ServerException {
+    Path zipFile = null;
+    Runnable resume = suspend(fsPath);
     try {
       if (withParents) {
         Files.createDirectories(fsPath);
       }
 
-      try (ZipInputStream zis = new ZipInputStream(content)) {
-        ZipEntry zipEntry = zis.getNextEntry();
-
-        String prefixToSkip = null;
-        if (zipEntry.isDirectory() && skipRoot) {
-          prefixToSkip = zipEntry.getName();
-          zipEntry = zis.getNextEntry();
-        }
+      zipFile = Files.createTempFile("unzip", ".zip");
+      Files.copy(content, zipFile, REPLACE_EXISTING);
 
-        while (zipEntry != null) {
-          String name =
-              prefixToSkip != null
-                  ? zipEntry.getName().replaceFirst(prefixToSkip, "")
-                  : zipEntry.getName();
-          Path path = fsPath.resolve(name);
-
-          if (overwrite) {
-            if (path.toFile().isDirectory()) {
-              FileUtils.deleteDirectory(path.toFile());
-            } else {
-              Files.deleteIfExists(path);
-            }
-          } else {
-            if (Files.exists(path)) {
-              throw new ServerException("Failed to unzip item: file " + path + " already exist");
-            }
-          }
-
-          if (zipEntry.isDirectory()) {
-            Files.createDirectory(path);
-          } else {
-            try (FileOutputStream fos = new FileOutputStream(path.toFile())) {
-              IOUtils.copy(zis, fos);
-            }
-          }
-
-          zipEntry = zis.getNextEntry();
-        }
+      try (ZipFile zip = new ZipFile(zipFile.toFile())) {
+        extract(zip, fsPath, overwrite, skipRoot, progress);
       }
     } catch (IOException e) {
       throw new ServerException("Failed to unzip item " + fsPath, e);
+    } finally {
+      resume.run();
+      if (zipFile != null) {
+        FileUtils.deleteQuietly(zipFile.toFile());
+      }
     }
   }
+
+  private void extract(
+      ZipFile zip, Path fsPath, boolean overwrite, boolean skipRoot, Consumer<String> progress)
+      throws IOException, ServerException {
+    List<? extends ZipEntry> entries = Collections.list(zip.entries());
+    String prefixToSkip =
+        skipRoot && !entries.isEmpty() && entries.get(0).isDirectory()
+            ? entries.get(0).getName()
+            : null;
+
+    Path target = fsPath.toAbsolutePath().normalize();
+    List<ZipEntry> files = new ArrayList<>();
+    List<Path> filePaths = new ArrayList<>();
+    for (ZipEntry zipEntry : entries) {
+      String name = zipEntry.getName();
+      if (prefixToSkip != null && name.startsWith(prefixToSkip)) {
+        name = name.substring(prefixToSkip.length());
+      }
+      if (name.isEmpty()) {
+        continue;
+      }
+
+      Path path = target.resolve(name).normalize();
+      if (!path.startsWith(target) || path.equals(target)) {
+        throw new ServerException(
+            "Failed to unzip item: entry " + zipEntry.getName() + " is outside of " + fsPath);
+      }
+
+      if (overwrite) {
+        if (Files.isDirectory(path)) {
+          FileUtils.deleteDirectory(path.toFile());
+        } else {
+          Files.deleteIfExists(path);
+        }
+      } else if (Files.exists(path)) {
+        throw new ServerException("Failed to unzip item: file " + path + " already exist");
+      }
+
+      if (zipEntry.isDirectory()) {
+        Files.createDirectories(path);
+      } else {
+        files.add(zipEntry);
+        filePaths.add(path);
+      }
+    }
+
+    int total = files.size();
+    int step = Math.max(1, total / 10);
+    AtomicInteger extracted = new AtomicInteger();
+    progress.accept("Extracting " + total + " files");
+
+    List<Future<?>> futures = new ArrayList<>(total);
+    for (int i = 0; i < total; i++) {
+      ZipEntry zipEntry = files.get(i);
+      Path path = filePaths.get(i);
+      futures.add(
+          executor.submit(
+              () -> {
+                Files.createDirectories(path.getParent());
+                try (InputStream input = zip.getInputStream(zipEntry)) {
+                  if (overwrite) {
+                    Files.copy(input, path, REPLACE_EXISTING);
+                  } else {
+                    Files.copy(input, path);
+                  }
+                }
+
+                int count = extracted.incrementAndGet();
+                if (count % step == 0 || count == total) {
+                  progress.accept("Extracted " + count + " of " + total + " files");
+                }
+                return null;
+              }));
+    }
+
+    awaitAll(futures);
+  }
+
+  private static void awaitAll(List<Future<?>> futures) throws IOException, ServerException {
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      throw new ServerException(cause.getMessage(), cause);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException("Extraction is interrupted", e);
+    } finally {
+      futures.forEach(it -> it.cancel(true));
+    }
+  }
+
+  /** Suspends file watcher events and file tree walking for the subtree, returns resume action. */
+  private Runnable suspend(Path fsPath) {
+    PathMatcher subtree = it -> it.startsWith(fsPath);
+    FileWatcherManager watcherManager = fileWatcherManager.get();
+    FileTreeWalker treeWalker = fileTreeWalker.get();
+
+    watcherManager.addExcludeMatcher(subtree);
+    treeWalker.suspend(fsPath);
+    return () -> {
+      watcherManager.removeExcludeMatcher(subtree);
+      treeWalker.resume(fsPath);
+    };
+  }
 }
@@ -23,6 +23,8 @@ import org.eclipse.che.api.project.shared.dto.service.CreateRequestDto;
 import org.eclipse.che.api.project.shared.dto.service.CreateResponseDto;
 import org.eclipse.che.api.project.shared.dto.service.DeleteRequestDto;
 import org.eclipse.che.api.project.shared.dto.service.DeleteResponseDto;
+import org.eclipse.che.api.project.shared.dto.service.GetChildrenRequestDto;
+import org.eclipse.che.api.project.shared.dto.service.GetChildrenResponseDto;
 import org.eclipse.che.api.project.shared.dto.service.GetRequestDto;
 import org.eclipse.che.api.project.shared.dto.service.GetResponseDto;
 import org.eclipse.che.api.project.shared.dto.service.ImportRequestDto;
@@ -57,6 +59,13 @@ public class ProjectJsonRpcServiceConfigurator {
         .resultAsDto(GetResponseDto.class)
         .withFunction(service::get);
 
+    handlers
+        .newConfiguration()
+        .methodName(PROJECT_GET_CHILDREN)
+        .paramsAsDto(GetChildrenRequestDto.class)
+        .resultAsDto(GetChildrenResponseDto.class)
+        .withFunction(service::getChildren);
+
     handlers
         .newConfiguration()
         .methodName(PROJECT_CREATE)
@@ -31,6 +31,7 @@ import javax.ws.rs.Consumes;
 import javax.ws.rs.DELETE;
 import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
 import javax.ws.rs.POST;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
@@ -39,6 +40,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.UriBuilder;
 import javax.ws.rs.core.UriInfo;
@@ -396,18 +398,23 @@ public class ProjectService {
   @ApiOperation(value = "Get file content", notes = "Get file content by its name")
   @ApiResponses({
     @ApiResponse(code = 200, message = "OK"),
+    @ApiResponse(code = 206, message = "Requested range of the file content"),
+    @ApiResponse(code = 304, message = "File is not modified"),
     @ApiResponse(code = 403, message = "User not authorized to call this operation"),
     @ApiResponse(code = 404, message = "Not found"),
+    @ApiResponse(code = 416, message = "Requested range can't be satisfied"),
     @ApiResponse(code = 500, message = "Internal Server Error")
   })
   @GET
   @Path("/file/{path:.*}")
   public Response getFile(
-      @ApiParam(value = "Path to a file", required = true) @PathParam("path") String wsPath)
+      @ApiParam(value = "Path to a file", required = true) @PathParam("path") String wsPath,
+      @Context Request request,
+      @HeaderParam("Range") String range)
       throws IOException, NotFoundException, ForbiddenException, ServerException,
           ConflictException {
 
-    return getProjectServiceApi().getFile(wsPath);
+    return getProjectServiceApi().getFile(wsPath, request, range);
   }
 
   @PUT
@@ -514,10 +521,11 @@ public class ProjectService {
   public Response importZip(
       @ApiParam(value = "Path to a location (where import to?)") @PathParam("path") String wsPath,
       InputStream zip,
-      @DefaultValue("false") @QueryParam("skipFirstLevel") Boolean skipFirstLevel)
+      @DefaultValue("false") @QueryParam("skipFirstLevel") Boolean skipFirstLevel,
+      @QueryParam("clientId") String clientId)
       throws NotFoundException, ConflictException, ForbiddenException, ServerException {
 
-    return getProjectServiceApi().importZip(wsPath, zip, skipFirstLevel);
+    return getProjectServiceApi().importZip(wsPath, zip, skipFirstLevel, clientId);
   }
 
   @GET
@@ -532,7 +540,7 @@ public class ProjectService {
     @ApiResponse(code = 404, message = "Not found"),
     @ApiResponse(code = 500, message = "Internal Server Error")
   })
-  public InputStream exportZip(
+  public Response exportZip(
       @ApiParam(value = "Path to resource to be exported") @PathParam("path") String wsPath)
       throws NotFoundException, ForbiddenException, ServerException, ConflictException {
 
@@ -543,10 +551,12 @@ public class ProjectService {
   @Path("/export/file/{path:.*}")
   @Produces(MediaType.APPLICATION_OCTET_STREAM)
   public Response exportFile(
-      @ApiParam(value = "Path to resource to be imported") @PathParam("path") String wsPath)
+      @ApiParam(value = "Path to resource to be imported") @PathParam("path") String wsPath,
+      @Context Request request,
+      @HeaderParam("Range") String range)
       throws NotFoundException, ForbiddenException, ServerException, ConflictException {
 
-    return getProjectServiceApi().exportFile(wsPath);
+    return getProjectServiceApi().exportFile(wsPath, request, range);
   }
 
   @GET
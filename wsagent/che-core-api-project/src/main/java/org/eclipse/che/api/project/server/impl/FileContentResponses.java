@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardOpenOption.READ;
+import static javax.ws.rs.core.Response.Status.PARTIAL_CONTENT;
+import static javax.ws.rs.core.Response.Status.REQUESTED_RANGE_NOT_SATISFIABLE;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.StreamingOutput;
+
+/**
+ * Builds responses that transfer file content directly from the file channel to the response
+ * stream, without intermediate buffering streams.
+ *
+ * <p>Responses are tagged with a weak entity tag computed from the file modification time and
+ * size, so conditional requests for unchanged files are answered with {@code 304 Not Modified}.
+ * Single byte range requests are answered with {@code 206 Partial Content}, multiple ranges are
+ * not supported and the whole content is returned for them.
+ */
+class FileContentResponses {
+  private static final Pattern BYTE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+  private FileContentResponses() {}
+
+  /** Returns entity tag of the file content described by the given attributes. */
+  static EntityTag entityTag(BasicFileAttributes attributes) {
+    return new EntityTag(
+        Long.toHexString(attributes.lastModifiedTime().toMillis())
+            + '-'
+            + Long.toHexString(attributes.size()),
+        true);
+  }
+
+  /**
+   * Returns builder of response that transfers content of the given file.
+   *
+   * @param file file to transfer
+   * @param request request to evaluate preconditions of, may be {@code null}
+   * @param range value of {@code Range} header or {@code null}
+   * @return builder of the response, it is up to the caller to set content type
+   * @throws IOException if attributes of the file can't be read
+   */
+  static ResponseBuilder download(Path file, Request request, String range) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    EntityTag entityTag = entityTag(attributes);
+    Date lastModified = new Date(attributes.lastModifiedTime().toMillis());
+
+    if (request != null) {
+      ResponseBuilder notModified = request.evaluatePreconditions(lastModified, entityTag);
+      if (notModified != null) {
+        return notModified.tag(entityTag);
+      }
+    }
+
+    long size = attributes.size();
+    long[] bounds = parseRange(range, size);
+
+    ResponseBuilder builder;
+    if (bounds == null) {
+      builder = Response.ok().entity(transfer(file, 0, size));
+      bounds = new long[] {0, size - 1};
+    } else if (bounds[0] > bounds[1]) {
+      return Response.status(REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header("Content-Range", "bytes */" + size);
+    } else {
+      builder =
+          Response.status(PARTIAL_CONTENT)
+              .entity(transfer(file, bounds[0], bounds[1] - bounds[0] + 1))
+              .header("Content-Range", format("bytes %d-%d/%d", bounds[0], bounds[1], size));
+    }
+
+    return builder
+        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(bounds[1] - bounds[0] + 1))
+        .header("Accept-Ranges", "bytes")
+        .tag(entityTag)
+        .lastModified(lastModified);
+  }
+
+  /**
+   * Returns inclusive bounds of the requested range, where the first bound is greater than the
+   * last one if the range can't be satisfied, or {@code null} if the whole content is requested.
+   */
+  private static long[] parseRange(String range, long size) {
+    if (range == null) {
+      return null;
+    }
+
+    Matcher matcher = BYTE_RANGE.matcher(range.trim());
+    if (!matcher.matches() || (matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+      return null;
+    }
+
+    try {
+      if (matcher.group(1).isEmpty()) {
+        long suffix = Long.parseLong(matcher.group(2));
+        return new long[] {Math.max(0, size - suffix), size - 1};
+      }
+
+      long first = Long.parseLong(matcher.group(1));
+      long last = matcher.group(2).isEmpty() ? size - 1 : Long.parseLong(matcher.group(2));
+      return new long[] {first, Math.min(last, size - 1)};
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static StreamingOutput transfer(Path file, long position, long count) {
+    return output -> {
+      try (FileChannel channel = FileChannel.open(file, READ)) {
+        WritableByteChannel target = Channels.newChannel(output);
+        long offset = position;
+        long remaining = count;
+        while (remaining > 0) {
+          long transferred = channel.transferTo(offset, remaining, target);
+          if (transferred <= 0) {
+            // file is truncated after its size was read
+            break;
+          }
+          offset += transferred;
+          remaining -= transferred;
+        }
+      }
+    };
+  }
+}
@@ -60,15 +60,18 @@ public class ProjectJsonRpcServiceBackEnd {
   private final ProjectManager projectManager;
   private final RequestTransmitter requestTransmitter;
   private final EventService eventService;
+  private final ProjectTreeBatchReader treeBatchReader;
 
   @Inject
   public ProjectJsonRpcServiceBackEnd(
       ProjectManager projectManager,
       RequestTransmitter requestTransmitter,
-      EventService eventService) {
+      EventService eventService,
+      ProjectTreeBatchReader treeBatchReader) {
     this.projectManager = projectManager;
     this.requestTransmitter = requestTransmitter;
     this.eventService = eventService;
+    this.treeBatchReader = treeBatchReader;
   }
 
   public GetResponseDto get(GetRequestDto getRequestDto) {
@@ -104,6 +107,10 @@ public class ProjectJsonRpcServiceBackEnd {
     return perform(this::createBatchProjectsInternally, endpointId, createProjectsRequest);
   }
 
+  public GetChildrenResponseDto getChildren(GetChildrenRequestDto getChildrenRequestDto) {
+    return perform(this::getChildrenInternally, getChildrenRequestDto);
+  }
+
   private GetResponseDto getInternally(GetRequestDto request)
       throws ServerException, ConflictException, ForbiddenException, BadRequestException,
           NotFoundException {
@@ -121,6 +128,15 @@ public class ProjectJsonRpcServiceBackEnd {
     return response;
   }
 
+  private GetChildrenResponseDto getChildrenInternally(GetChildrenRequestDto request)
+      throws ServerException, NotFoundException {
+    return treeBatchReader.read(
+        request.getWsPath(),
+        request.isIncludeFiles(),
+        request.getBatchSize(),
+        request.getContinuationToken());
+  }
+
   private CreateResponseDto createInternally(CreateRequestDto request)
       throws ServerException, ConflictException, ForbiddenException, BadRequestException,
           NotFoundException {
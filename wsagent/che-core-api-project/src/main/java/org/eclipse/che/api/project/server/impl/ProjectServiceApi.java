@@ -11,7 +11,7 @@
  */
 package org.eclipse.che.api.project.server.impl;
 
-import static java.io.File.separator;
+import static java.nio.file.Files.readAttributes;
 import static java.util.Collections.unmodifiableSet;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toMap;
@@ -33,8 +33,9 @@ import com.google.inject.assistedinject.AssistedInject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -42,11 +43,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.apache.commons.fileupload.FileItem;
 import org.apache.tika.Tika;
@@ -61,6 +65,7 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.rest.ServiceContext;
+import org.eclipse.che.api.fs.server.FsBatch;
 import org.eclipse.che.api.fs.server.FsDtoConverter;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.ProjectManager;
@@ -92,6 +97,7 @@ import org.eclipse.che.api.search.server.Searcher;
 import org.eclipse.che.api.search.server.impl.SearchResultEntry;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -252,7 +258,7 @@ public class ProjectServiceApi {
           .map(ProjectDeletedEvent::new)
           .ifPresent(eventService::publish);
     } else {
-      fsManager.delete(wsPath);
+      fsManager.apply(new FsBatch().delete(wsPath));
     }
   }
 
@@ -404,17 +410,19 @@ public class ProjectServiceApi {
     return Response.ok("", MediaType.TEXT_HTML).build();
   }
 
-  /** Get file with specified location */
-  public Response getFile(String wsPath)
+  /**
+   * Get file with specified location, supports conditional requests based on entity tag and
+   * modification time and single byte range requests
+   */
+  public Response getFile(String wsPath, Request request, String range)
       throws IOException, NotFoundException, ForbiddenException, ServerException,
           ConflictException {
     wsPath = absolutize(wsPath);
 
-    InputStream inputStream = fsManager.read(wsPath);
-    String name = wsPath.substring(wsPath.lastIndexOf(separator));
-    String type = getTIKA().detect(name);
+    Path file = getFilePath(wsPath);
+    String type = getTIKA().detect(nameOf(wsPath));
 
-    return Response.ok().entity(inputStream).type(type).build();
+    return FileContentResponses.download(file, request, range).type(type).build();
   }
 
   /** Update file with specified location and content */
@@ -432,7 +440,15 @@ public class ProjectServiceApi {
 
     eventService.publish(new ProjectItemModifiedEvent(UPDATED, project, wsPath, false));
 
-    return Response.ok().build();
+    // entity tag of the new content lets the client skip reloading the file it has just saved
+    try {
+      Path file = fsManager.toIoFile(wsPath).toPath();
+      return Response.ok()
+          .tag(FileContentResponses.entityTag(readAttributes(file, BasicFileAttributes.class)))
+          .build();
+    } catch (IOException e) {
+      return Response.ok().build();
+    }
   }
 
   /** Copy file system item from specified source location to specified destination location */
@@ -448,7 +464,7 @@ public class ProjectServiceApi {
     if (projectManager.isRegistered(srcWsPath)) {
       projectManager.copy(srcWsPath, dstWsPath, overwrite);
     } else {
-      fsManager.copy(srcWsPath, dstWsPath, overwrite, true);
+      fsManager.apply(new FsBatch().copy(srcWsPath, dstWsPath, overwrite));
     }
 
     String method = fsManager.existsAsFile(srcWsPath) ? "getFile" : "getChildren";
@@ -496,7 +512,7 @@ public class ProjectServiceApi {
       eventService.publish(new ProjectDeletedEvent(wsPath));
       eventService.publish(new ProjectCreatedEvent(dstWsPath));
     } else {
-      fsManager.move(wsPath, dstWsPath, overwrite, true);
+      fsManager.apply(new FsBatch().move(wsPath, dstWsPath, overwrite));
     }
 
     String method = fsManager.existsAsFile(wsPath) ? "getFile" : "getChildren";
@@ -541,12 +557,22 @@ public class ProjectServiceApi {
     return resolveSources(wsPath);
   }
 
-  /** Import zipped data into specified location */
-  public Response importZip(String wsPath, InputStream zip, Boolean skipFirstLevel)
+  /**
+   * Import zipped data into specified location, extraction progress is sent to the client with the
+   * given id if it is specified
+   */
+  public Response importZip(
+      String wsPath, InputStream zip, Boolean skipFirstLevel, String clientId)
       throws NotFoundException, ConflictException, ForbiddenException, ServerException {
     wsPath = absolutize(wsPath);
 
-    fsManager.unzip(wsPath, zip, skipFirstLevel);
+    Consumer<String> progress = it -> {};
+    if (clientId != null) {
+      String name = nameOf(wsPath);
+      BiConsumer<String, String> consumer = jsonRpcImportConsumer(clientId);
+      progress = it -> consumer.accept(name, it);
+    }
+    fsManager.unzip(wsPath, zip, true, true, skipFirstLevel, progress);
 
     Response response =
         Response.created(
@@ -561,28 +587,41 @@ public class ProjectServiceApi {
     return response;
   }
 
-  /** Zip content under specified location */
-  public InputStream exportZip(String wsPath)
+  /** Zip content under specified location, the archive is streamed while it is being created */
+  public Response exportZip(String wsPath)
       throws NotFoundException, ForbiddenException, ServerException, ConflictException {
-    wsPath = absolutize(wsPath);
+    String absoluteWsPath = absolutize(wsPath);
+
+    if (!fsManager.exists(absoluteWsPath)) {
+      throw new NotFoundException("Can't zip item, it does not exist: " + absoluteWsPath);
+    }
 
-    return fsManager.zip(wsPath);
+    StreamingOutput archive =
+        output -> {
+          try {
+            fsManager.zip(absoluteWsPath, output);
+          } catch (NotFoundException | ConflictException | ServerException e) {
+            throw new IOException(e.getMessage(), e);
+          }
+        };
+    return Response.ok(archive, ExtMediaType.APPLICATION_ZIP).build();
   }
 
-  public Response exportFile(String wsPath)
+  public Response exportFile(String wsPath, Request request, String range)
       throws NotFoundException, ForbiddenException, ServerException, ConflictException {
     wsPath = absolutize(wsPath);
 
-    InputStream inputStream = fsManager.read(wsPath);
-    long length = fsManager.length(wsPath);
-    long lastModified = fsManager.lastModified(wsPath);
+    Path file = getFilePath(wsPath);
     String name = nameOf(wsPath);
 
-    return Response.ok(inputStream, getTIKA().detect(name))
-        .lastModified(new Date(lastModified))
-        .header(HttpHeaders.CONTENT_LENGTH, Long.toString(length))
-        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + '"')
-        .build();
+    try {
+      return FileContentResponses.download(file, request, range)
+          .type(getTIKA().detect(name))
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + '"')
+          .build();
+    } catch (IOException e) {
+      throw new ServerException("Can't read file " + wsPath, e);
+    }
   }
 
   /** Get children list defined by specified location */
@@ -774,6 +813,18 @@ public class ProjectServiceApi {
     return vcsStatusInjector.injectVcsStatusTreeElements(nodes);
   }
 
+  private Path getFilePath(String wsPath) throws NotFoundException, ConflictException {
+    if (!fsManager.exists(wsPath)) {
+      throw new NotFoundException("Can't read file, it does not exist: " + wsPath);
+    }
+
+    if (!fsManager.isFile(wsPath)) {
+      throw new ConflictException("Can't read file, it is not a file: " + wsPath);
+    }
+
+    return fsManager.toIoFile(wsPath).toPath();
+  }
+
   private Set<String> applyTreeFilter(String parentWsPath, Set<String> childrenWsPaths) {
     if (!isRoot(parentWsPath)) {
       return childrenWsPaths;
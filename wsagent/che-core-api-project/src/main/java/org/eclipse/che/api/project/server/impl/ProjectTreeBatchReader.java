@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.eclipse.che.api.fs.server.WsPathUtils.absolutize;
+import static org.eclipse.che.api.fs.server.WsPathUtils.isRoot;
+import static org.eclipse.che.api.fs.server.WsPathUtils.resolve;
+import static org.eclipse.che.api.project.shared.Constants.CHE_DIR;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.NotDirectoryException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.shared.RegisteredProject;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.service.GetChildrenResponseDto;
+
+/**
+ * Reads children of a folder in batches, so big folders, e.g. {@code node_modules}, can be expanded
+ * without building and serializing all of their items at once.
+ *
+ * <p>Children are sorted by name and the continuation token is the name of the last returned
+ * child, so no state is kept between requests and children created or removed in between are
+ * handled naturally. Sorted names of recently read folders are remembered along with the folder
+ * modification time, so paging through a folder lists it once, and it is listed again only when
+ * its entries change. Attributes are read once per returned child and VCS status is requested once
+ * per batch.
+ */
+@Singleton
+public class ProjectTreeBatchReader {
+
+  private final int maxBatchSize;
+  private final PathTransformer pathTransformer;
+  private final ProjectManager projectManager;
+  private final ProjectServiceVcsStatusInjector vcsStatusInjector;
+  private final Cache<String, Listing> listings =
+      CacheBuilder.newBuilder().maximumSize(16).expireAfterAccess(1, MINUTES).build();
+
+  @Inject
+  public ProjectTreeBatchReader(
+      @Named("che.project.tree.max_batch_size") int maxBatchSize,
+      PathTransformer pathTransformer,
+      ProjectManager projectManager,
+      ProjectServiceVcsStatusInjector vcsStatusInjector) {
+    this.maxBatchSize = maxBatchSize;
+    this.pathTransformer = pathTransformer;
+    this.projectManager = projectManager;
+    this.vcsStatusInjector = vcsStatusInjector;
+  }
+
+  /**
+   * Returns the next batch of folder children. Items are not provided with links.
+   *
+   * @param wsPath absolute workspace path of the folder
+   * @param includeFiles whether to include files or folders only
+   * @param batchSize maximal number of children to return, server default is used if not positive
+   * @param continuationToken token returned with the previous batch or {@code null}
+   * @return batch of children along with the token to get the next batch with
+   * @throws NotFoundException if there is no such folder
+   * @throws ServerException if the folder can't be read
+   */
+  public GetChildrenResponseDto read(
+      String wsPath, boolean includeFiles, int batchSize, String continuationToken)
+      throws NotFoundException, ServerException {
+    wsPath = absolutize(wsPath);
+    int limit = batchSize > 0 ? Math.min(batchSize, maxBatchSize) : maxBatchSize;
+
+    Path dir = pathTransformer.transform(wsPath);
+    String[] names = getListing(wsPath, dir).names;
+    int next = continuationToken == null ? 0 : firstAfter(names, continuationToken);
+
+    RegisteredProject parentProject = projectManager.getClosestOrNull(wsPath);
+    List<ItemReference> children = new ArrayList<>(Math.min(limit, names.length - next));
+    String last = null;
+    while (children.size() < limit && next < names.length) {
+      String name = names[next++];
+      last = name;
+
+      BasicFileAttributes attributes = readAttributes(dir.resolve(name));
+      if (attributes == null
+          || !(attributes.isDirectory() || attributes.isRegularFile())
+          || (!includeFiles && !attributes.isDirectory())) {
+        continue;
+      }
+      children.add(asDto(resolve(wsPath, name), name, attributes, parentProject));
+    }
+
+    return newDto(GetChildrenResponseDto.class)
+        .withChildren(vcsStatusInjector.injectVcsStatus(children))
+        .withContinuationToken(next < names.length ? last : null);
+  }
+
+  /** Returns remembered folder listing if the folder is not modified since, lists it otherwise. */
+  private Listing getListing(String wsPath, Path dir) throws NotFoundException, ServerException {
+    BasicFileAttributes attributes = readAttributes(dir);
+    if (attributes == null || !attributes.isDirectory()) {
+      throw new NotFoundException("Can't find folder " + wsPath);
+    }
+
+    Listing listing = listings.getIfPresent(wsPath);
+    if (listing == null || !listing.modified.equals(attributes.lastModifiedTime())) {
+      listing = new Listing(attributes.lastModifiedTime(), listNames(wsPath, dir));
+      listings.put(wsPath, listing);
+    }
+    return listing;
+  }
+
+  /** Returns sorted names of folder children. */
+  private static String[] listNames(String wsPath, Path dir)
+      throws NotFoundException, ServerException {
+    String excluded = isRoot(wsPath) ? CHE_DIR : null;
+    List<String> names = new ArrayList<>();
+    try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+      for (Path entry : entries) {
+        String name = entry.getFileName().toString();
+        if (!name.equals(excluded)) {
+          names.add(name);
+        }
+      }
+    } catch (NoSuchFileException | NotDirectoryException e) {
+      throw new NotFoundException("Can't find folder " + wsPath);
+    } catch (IOException e) {
+      throw new ServerException("Can't read folder " + wsPath + ": " + e.getMessage(), e);
+    }
+    String[] sorted = names.toArray(new String[0]);
+    Arrays.sort(sorted);
+    return sorted;
+  }
+
+  /** Returns index of the first name that follows the given one. */
+  private static int firstAfter(String[] names, String name) {
+    int index = Arrays.binarySearch(names, name);
+    return index >= 0 ? index + 1 : -index - 1;
+  }
+
+  /** Returns attributes of the item or {@code null} if it is removed or can't be read. */
+  private static BasicFileAttributes readAttributes(Path fsPath) {
+    try {
+      return Files.readAttributes(fsPath, BasicFileAttributes.class);
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  private ItemReference asDto(
+      String wsPath, String name, BasicFileAttributes attributes, RegisteredProject parentProject) {
+    ItemReference itemReference =
+        newDto(ItemReference.class)
+            .withName(name)
+            .withPath(wsPath)
+            .withModified(attributes.lastModifiedTime().toMillis());
+
+    RegisteredProject project = attributes.isDirectory() ? projectManager.getOrNull(wsPath) : null;
+    if (project != null) {
+      itemReference.withType("project").withProject(project.getPath());
+      itemReference.setProjectConfig(ProjectDtoConverter.asDto(project));
+    } else if (attributes.isDirectory()) {
+      itemReference.withType("folder");
+    } else {
+      itemReference.withType("file").withContentLength(attributes.size());
+    }
+
+    if (project == null && parentProject != null) {
+      itemReference.withProject(parentProject.getPath());
+    }
+    return itemReference;
+  }
+
+  private static class Listing {
+    final FileTime modified;
+    final String[] names;
+
+    Listing(FileTime modified, String[] names) {
+      this.modified = modified;
+      this.names = names;
+    }
+  }
+}
@@ -12,35 +12,59 @@
 package org.eclipse.che.api.project.server.impl;
 
 import static java.util.Collections.unmodifiableSet;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.eclipse.che.api.project.server.impl.ProjectDtoConverter.asDto;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.ws.rs.core.UriBuilder;
 import org.eclipse.che.api.core.ApiException;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Runtime;
-import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.config.ProjectConfig;
 import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
 import org.eclipse.che.api.project.shared.RegisteredProject;
 import org.eclipse.che.api.workspace.server.WorkspaceService;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsSyncDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Synchronizes projects registered on the agent with the workspace configuration on the master.
+ *
+ * <p>Projects known to the master are indexed by path together with the revision of the workspace
+ * they were read at, so each synchronization sends only the difference in a single request. Sync
+ * requests made during the configured debounce period are coalesced into one, when the period is
+ * not positive projects are synchronized immediately. Failed coalesced synchronization is retried
+ * with a growing delay, not synchronized changes are sent with the retry.
+ */
 @Singleton
 public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, WorkspaceKeeper {
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceProjectSynchronizer.class);
 
+  private static final long MAX_RETRY_DELAY_MS = 60_000;
+
   private final ProjectConfigRegistry projectConfigRegistry;
   private final HttpJsonRequestFactory httpJsonRequestFactory;
   private final WorkspaceSyncCommunication workspaceSyncCommunication;
@@ -48,50 +72,125 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
   private final String apiEndpoint;
   private final String workspaceId;
   private final Runtime workspaceRuntime;
+  private final long debounceMillis;
+
+  private final Map<String, ProjectConfigDto> remoteProjects = new HashMap<>();
+  private final AtomicBoolean scheduled = new AtomicBoolean();
+  private final ScheduledExecutorService executor =
+      Executors.newSingleThreadScheduledExecutor(
+          new ThreadFactoryBuilder()
+              .setNameFormat("WorkspaceProjectSynchronizer")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(true)
+              .build());
+
+  private String revision;
+  private int failures;
 
   @Inject
   public WorkspaceProjectSynchronizer(
       @Named("che.api") String apiEndpoint,
+      @Named("che.project.sync.debounce_ms") long debounceMillis,
+      HttpJsonRequestFactory httpJsonRequestFactory,
+      WorkspaceSyncCommunication workspaceSyncCommunication,
+      ProjectConfigRegistry projectConfigRegistry)
+      throws ServerException {
+    this(
+        apiEndpoint,
+        System.getenv("CHE_WORKSPACE_ID"),
+        debounceMillis,
+        httpJsonRequestFactory,
+        workspaceSyncCommunication,
+        projectConfigRegistry);
+  }
+
+  @VisibleForTesting
+  WorkspaceProjectSynchronizer(
+      String apiEndpoint,
+      String workspaceId,
+      long debounceMillis,
       HttpJsonRequestFactory httpJsonRequestFactory,
       WorkspaceSyncCommunication workspaceSyncCommunication,
       ProjectConfigRegistry projectConfigRegistry)
       throws ServerException {
     this.apiEndpoint = apiEndpoint;
+    this.debounceMillis = debounceMillis;
     this.httpJsonRequestFactory = httpJsonRequestFactory;
     this.workspaceSyncCommunication = workspaceSyncCommunication;
     this.projectConfigRegistry = projectConfigRegistry;
 
-    this.workspaceId = System.getenv("CHE_WORKSPACE_ID");
+    this.workspaceId = workspaceId;
 
     LOG.info("Workspace ID: " + workspaceId);
     LOG.info("API Endpoint: " + apiEndpoint);
 
     // check connection
-    workspaceRuntime = workspaceDto().getRuntime();
+    WorkspaceDto workspace = workspaceDto();
+    workspaceRuntime = workspace.getRuntime();
+    reset(workspace);
   }
 
   @Override
   public void synchronize() throws ServerException {
+    if (debounceMillis <= 0) {
+      doSynchronize();
+    } else if (scheduled.compareAndSet(false, true)) {
+      executor.schedule(this::synchronizeScheduled, debounceMillis, MILLISECONDS);
+    }
+  }
 
-    List<ProjectConfigDto> remote = workspaceDto().getConfig().getProjects();
+  @Override
+  public Set<ProjectConfig> getProjects() throws ServerException {
+    WorkspaceDto workspace = workspaceDto();
+    synchronized (this) {
+      reset(workspace);
+    }
+    return unmodifiableSet(new HashSet<>(workspace.getConfig().getProjects()));
+  }
 
-    // check on removed
-    List<ProjectConfig> removed = new ArrayList<>();
-    for (ProjectConfig r : remote) {
-      if (!projectConfigRegistry.get(r.getPath()).isPresent()) {
-        removed.add(r);
+  @Override
+  public Runtime getRuntime() throws ServerException {
+    return workspaceRuntime;
+  }
+
+  /** Sends pending changes, so they are not lost when the agent is stopped. */
+  @PreDestroy
+  void stop() {
+    executor.shutdownNow();
+    if (scheduled.getAndSet(false)) {
+      try {
+        doSynchronize();
+      } catch (ServerException e) {
+        LOG.error("Can't synchronize projects of workspace '{}'", workspaceId, e);
       }
     }
+  }
 
-    for (ProjectConfig r : removed) {
-      remove(r);
+  private void synchronizeScheduled() {
+    // changes made from now on are sent with the next synchronization
+    scheduled.set(false);
+    try {
+      doSynchronize();
+      failures = 0;
+    } catch (ServerException e) {
+      failures++;
+      long delay = Math.min(debounceMillis << Math.min(failures, 16), MAX_RETRY_DELAY_MS);
+      LOG.error(
+          "Can't synchronize projects of workspace '{}', retrying in {} ms",
+          workspaceId,
+          delay,
+          e);
+      if (scheduled.compareAndSet(false, true)) {
+        executor.schedule(this::synchronizeScheduled, delay, MILLISECONDS);
+      }
     }
+  }
 
-    // update or add
+  private synchronized void doSynchronize() throws ServerException {
+    Map<String, ProjectConfigDto> updated = new HashMap<>();
+    List<RegisteredProject> synced = new ArrayList<>();
     for (RegisteredProject project : projectConfigRegistry.getAll()) {
-
       if (!project.isSynced() && !project.isDetected()) {
-
         final ProjectConfig config =
             new NewProjectConfigImpl(
                 project.getPath(),
@@ -102,87 +201,89 @@ public class WorkspaceProjectSynchronizer implements ProjectSynchronizer, Worksp
                 project.getPersistableAttributes(),
                 null,
                 project.getSource());
+        updated.put(project.getPath(), asDto(config));
+        synced.add(project);
+      }
+    }
 
-        boolean found = false;
-        for (ProjectConfig r : remote) {
-          if (r.getPath().equals(project.getPath())) {
-            update(config);
-            found = true;
-          }
+    List<String> removed = new ArrayList<>();
+    boolean sent = false;
+    for (int attempt = 0; ; attempt++) {
+      removed.clear();
+      for (String path : remoteProjects.keySet()) {
+        if (!projectConfigRegistry.get(path).isPresent()) {
+          removed.add(path);
         }
-
-        if (!found) {
-          add(config);
+      }
+      List<ProjectConfigDto> changed = new ArrayList<>();
+      for (ProjectConfigDto config : updated.values()) {
+        if (!config.equals(remoteProjects.get(config.getPath()))) {
+          changed.add(config);
         }
+      }
+      if (changed.isEmpty() && removed.isEmpty()) {
+        break;
+      }
 
-        project.setSynced(true);
+      try {
+        revision =
+            sync(
+                newDto(ProjectsSyncDto.class)
+                    .withRevision(revision)
+                    .withUpdated(changed)
+                    .withRemoved(removed));
+        sent = true;
+        break;
+      } catch (ConflictException e) {
+        if (attempt > 0) {
+          throw new ServerException(e.getMessage());
+        }
+        // workspace is updated not by this agent, the change is based on its current state
+        LOG.debug("Workspace '{}' is updated since revision '{}'", workspaceId, revision);
+        reset(workspaceDto());
       }
     }
 
-    workspaceSyncCommunication.synchronizeWorkspace();
-  }
-
-  @Override
-  public Set<ProjectConfig> getProjects() throws ServerException {
-
-    WorkspaceConfig config = workspaceDto().getConfig();
-    Set<ProjectConfig> projectConfigs = new HashSet<>(config.getProjects());
-
-    return unmodifiableSet(projectConfigs);
-  }
-
-  private void add(ProjectConfig project) throws ServerException {
-    final UriBuilder builder =
-        UriBuilder.fromUri(apiEndpoint)
-            .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "addProject");
-    final String href = builder.build(workspaceId).toString();
-    try {
-      httpJsonRequestFactory.fromUrl(href).usePostMethod().setBody(asDto(project)).request();
-    } catch (IOException | ApiException e) {
-      throw new ServerException(e.getMessage());
+    remoteProjects.keySet().removeAll(removed);
+    remoteProjects.putAll(updated);
+    synced.forEach(project -> project.setSynced(true));
+    if (sent) {
+      workspaceSyncCommunication.synchronizeWorkspace();
     }
   }
 
-  @Override
-  public Runtime getRuntime() throws ServerException {
-    return workspaceRuntime;
-  }
-
-  private void update(ProjectConfig project) throws ServerException {
-
+  /** Sends the change to the master and returns the new revision of the workspace. */
+  private String sync(ProjectsSyncDto change) throws ConflictException, ServerException {
     final UriBuilder builder =
         UriBuilder.fromUri(apiEndpoint)
             .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "updateProject");
-    final String href =
-        builder.build(new String[] {workspaceId, project.getPath()}, false).toString();
+            .path(WorkspaceService.class, "syncProjects");
+    final String href = builder.build(workspaceId).toString();
     try {
-      httpJsonRequestFactory.fromUrl(href).usePutMethod().setBody(asDto(project)).request();
+      return httpJsonRequestFactory
+          .fromUrl(href)
+          .usePutMethod()
+          .setBody(change)
+          .request()
+          .asDto(ProjectsSyncDto.class)
+          .getRevision();
+    } catch (ConflictException e) {
+      throw e;
     } catch (IOException | ApiException e) {
       throw new ServerException(e.getMessage());
     }
   }
 
-  private void remove(ProjectConfig project) throws ServerException {
-
-    final UriBuilder builder =
-        UriBuilder.fromUri(apiEndpoint)
-            .path(WorkspaceService.class)
-            .path(WorkspaceService.class, "deleteProject");
-
-    final String href =
-        builder.build(new String[] {workspaceId, project.getPath()}, false).toString();
-    try {
-      httpJsonRequestFactory.fromUrl(href).useDeleteMethod().request();
-    } catch (IOException | ApiException e) {
-      throw new ServerException(e.getMessage());
+  private void reset(WorkspaceDto workspace) {
+    remoteProjects.clear();
+    for (ProjectConfigDto project : workspace.getConfig().getProjects()) {
+      remoteProjects.put(project.getPath(), project);
     }
+    revision = workspace.getAttributes().getOrDefault(REVISION_ATTRIBUTE_NAME, "0");
   }
 
   /** @return WorkspaceDto */
   private WorkspaceDto workspaceDto() throws ServerException {
-
     final UriBuilder builder =
         UriBuilder.fromUri(apiEndpoint)
             .path(WorkspaceService.class)
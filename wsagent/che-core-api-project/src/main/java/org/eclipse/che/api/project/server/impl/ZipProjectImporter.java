@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -29,10 +30,13 @@ import org.eclipse.che.api.core.model.workspace.config.SourceStorage;
 import org.eclipse.che.api.core.util.LineConsumer;
 import org.eclipse.che.api.fs.server.FsManager;
 import org.eclipse.che.api.project.server.ProjectImporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /** @author Vitaly Parfonov */
 @Singleton
 public class ZipProjectImporter implements ProjectImporter {
+  private static final Logger LOG = LoggerFactory.getLogger(ZipProjectImporter.class);
 
   private final FsManager fsManager;
 
@@ -86,17 +90,32 @@ public class ZipProjectImporter implements ProjectImporter {
       throw new IOException(String.format("Can't find %s", location));
     }
 
-    try (InputStream zip = url.openStream()) {
+    if (supplier == null) {
+      supplier = () -> LineConsumer.DEV_NULL;
+    }
+
+    try (InputStream zip = url.openStream();
+        LineConsumer output = supplier.get()) {
       boolean skipFirstLevel = false;
       Map<String, String> parameters = src.getParameters();
       if (parameters != null && parameters.containsKey("skipFirstLevel")) {
         skipFirstLevel = Boolean.parseBoolean(parameters.get("skipFirstLevel"));
       }
 
-      fsManager.unzip(dst, zip, skipFirstLevel);
+      fsManager.unzip(dst, zip, true, true, skipFirstLevel, progress(output));
     }
   }
 
+  private static Consumer<String> progress(LineConsumer output) {
+    return message -> {
+      try {
+        output.writeLine(message);
+      } catch (IOException e) {
+        LOG.debug("Can't send import progress message '{}'", message, e);
+      }
+    };
+  }
+
   @Override
   public SourceCategory getSourceCategory() {
     return SourceCategory.ARCHIVE;
@@ -14,6 +14,7 @@ package org.eclipse.che.api.watcher.server;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.function.Consumer;
+import org.eclipse.che.api.fs.server.FsChangeSet;
 
 /** Facade for all dynamic file watcher system related operations. */
 public interface FileWatcherManager {
@@ -126,4 +127,13 @@ public interface FileWatcherManager {
    * @return true if path is within excludes, false otherwise
    */
   boolean isExcluded(Path path);
+
+  /**
+   * Notifies registered operations about changes made while file watcher events for the changed
+   * items were excluded, as if they were reported by file watcher system. Exclude matchers are not
+   * applied to the changes.
+   *
+   * @param changes changes to notify about
+   */
+  void dispatch(FsChangeSet changes);
 }
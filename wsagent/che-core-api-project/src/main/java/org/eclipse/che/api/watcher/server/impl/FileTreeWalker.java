@@ -11,14 +11,19 @@
  */
 package org.eclipse.che.api.watcher.server.impl;
 
+import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.FileVisitResult.CONTINUE;
 import static java.nio.file.FileVisitResult.SKIP_SUBTREE;
 import static java.nio.file.Files.exists;
+import static java.nio.file.Files.newDirectoryStream;
+import static java.nio.file.Files.readAttributes;
 import static java.nio.file.Files.walkFileTree;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
 import static java.util.stream.Collectors.toSet;
 
 import com.google.inject.Inject;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.FileVisitResult;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
@@ -26,9 +31,11 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import javax.inject.Named;
@@ -41,12 +48,23 @@ import org.slf4j.LoggerFactory;
 /**
  * Walks a file system tree, register addition, update and removal of file system items. On events
  * runs corresponding consumers that can be registered in DI configuration modules.
+ *
+ * <p>Most of the walks are incremental: only modification times of tracked directories are checked
+ * and only directories whose modification time changed, as well as items reported by the file
+ * watcher, are rescanned. Modification of a file content does not change the modification time of
+ * its directory, so each {@code che.fs.tree_walker.full_walk_passes} pass a full walk over the
+ * whole tree is performed to reconcile items that are not covered by file watcher.
+ *
+ * <p>Walking of a subtree can be suspended for the time of a bulk operation, e.g. extraction of an
+ * archive, so consumers are not notified about intermediate states. The subtree is rescanned once
+ * it is resumed.
  */
 @Singleton
 public class FileTreeWalker {
   private static final Logger LOG = LoggerFactory.getLogger(FileTreeWalker.class);
 
   private final Path root;
+  private final int fullWalkPasses;
 
   private final Set<Consumer<Path>> directoryUpdateConsumers;
   private final Set<Consumer<Path>> directoryCreateConsumers;
@@ -58,14 +76,24 @@ public class FileTreeWalker {
   private final Set<Consumer<Path>> fileDeleteConsumers;
   private final Set<PathMatcher> fileExcludes;
 
-  private final Map<Path, Long> files = new HashMap<>();
-  private final Map<Path, Long> directories = new HashMap<>();
+  private final Map<Path, Long> files = new ConcurrentHashMap<>();
+  private final Map<Path, Long> directories = new ConcurrentHashMap<>();
+  private final Map<Path, Set<Path>> entries = new ConcurrentHashMap<>();
+  private final Set<Path> dirtyPaths = newConcurrentHashSet();
+  private final Set<Path> resumedPaths = newConcurrentHashSet();
+  private final Map<Path, Integer> suspended = new ConcurrentHashMap<>();
 
-  private boolean initialized;
+  private final AtomicLong lastWalkDuration = new AtomicLong();
+  private final AtomicLong lastWalkExamined = new AtomicLong();
+
+  private volatile boolean initialized;
+  private int passes;
 
   @Inject
   public FileTreeWalker(
       RootDirPathProvider pathProvider,
+      FileWatcherEventHandler fileWatcherEventHandler,
+      @Named("che.fs.tree_walker.full_walk_passes") int fullWalkPasses,
       @Named("che.fs.directory.update") Set<Consumer<Path>> directoryUpdateConsumers,
       @Named("che.fs.directory.create") Set<Consumer<Path>> directoryCreateConsumers,
       @Named("che.fs.directory.delete") Set<Consumer<Path>> directoryDeleteConsumers,
@@ -75,6 +103,7 @@ public class FileTreeWalker {
       @Named("che.fs.file.delete") Set<Consumer<Path>> fileDeleteConsumers,
       @Named("che.fs.file.excludes") Set<PathMatcher> fileExcludes) {
     this.root = Paths.get(pathProvider.get());
+    this.fullWalkPasses = Math.max(1, fullWalkPasses);
 
     this.directoryUpdateConsumers = directoryUpdateConsumers;
     this.directoryCreateConsumers = directoryCreateConsumers;
@@ -86,124 +115,347 @@ public class FileTreeWalker {
 
     this.directoryExcludes = directoryExcludes;
     this.fileExcludes = fileExcludes;
+
+    fileWatcherEventHandler.addListener(this::markDirty);
   }
 
   @PostConstruct
   void initialize() {
     try {
-      walkFileTree(
-          root,
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              directories.put(dir, attrs.lastModifiedTime().toMillis());
+      track(root, false, new AtomicLong());
+    } catch (IOException e) {
+      LOG.error("Error while walking file tree", e);
+    }
 
-              return CONTINUE;
-            }
+    initialized = true;
+  }
 
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
+  /**
+   * Marks file system item as the one that must be checked during the next walk regardless of
+   * modification time of its parent directory.
+   *
+   * @param path absolute file system path
+   */
+  void markDirty(Path path) {
+    if (path.startsWith(root)) {
+      dirtyPaths.add(path);
+    }
+  }
 
-              files.put(file, attrs.lastModifiedTime().toMillis());
+  /**
+   * Suspends walking of a subtree until {@link #resume(Path)} is called, suspensions of the same
+   * subtree are counted.
+   *
+   * @param path absolute file system path of the subtree root
+   */
+  public void suspend(Path path) {
+    suspended.merge(path, 1, Integer::sum);
+  }
 
-              return CONTINUE;
-            }
-          });
-    } catch (IOException e) {
-      LOG.error("Error while walking file tree", e);
+  /**
+   * Resumes walking of a subtree suspended with {@link #suspend(Path)}, all the tracked directories
+   * of the subtree are rescanned during the next walk, as files may be overwritten without changing
+   * modification time of the directories.
+   *
+   * @param path absolute file system path of the subtree root
+   */
+  public void resume(Path path) {
+    if (suspended.computeIfPresent(path, (it, count) -> count > 1 ? count - 1 : null) == null
+        && path.startsWith(root)) {
+      resumedPaths.add(path);
+      markDirty(path);
     }
+  }
 
-    initialized = true;
+  /** Returns duration of the last walk in milliseconds. */
+  public long getLastWalkDuration() {
+    return lastWalkDuration.get();
+  }
+
+  /** Returns number of file system items examined during the last walk. */
+  public long getLastWalkExamined() {
+    return lastWalkExamined.get();
   }
 
   @ScheduleRate(period = 10)
-  void walk() {
+  synchronized void walk() {
     if (!initialized) {
       return;
     }
 
-    try {
-      LOG.debug("Tree walk started");
-
-      Set<Path> deletedFiles = files.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      fileDeleteConsumers.forEach(deletedFiles::forEach);
-      files.keySet().removeAll(deletedFiles);
-
-      Set<Path> deletedDirectories =
-          directories.keySet().stream().filter(it -> !exists(it)).collect(toSet());
-      directoryDeleteConsumers.forEach(deletedDirectories::forEach);
-      directories.keySet().removeAll(deletedDirectories);
-
-      walkFileTree(
-          root,
-          new SimpleFileVisitor<Path>() {
-            @Override
-            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
-                throws IOException {
-              for (PathMatcher matcher : directoryExcludes) {
-                if (matcher.matches(dir)) {
-                  return SKIP_SUBTREE;
-                }
-              }
-
-              updateFsTreeAndAcceptConsumables(
-                  directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs);
-
-              return CONTINUE;
-            }
-
-            @Override
-            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
-              for (PathMatcher matcher : fileExcludes) {
-                if (matcher.matches(file)) {
-                  return CONTINUE;
-                }
-              }
+    boolean full = ++passes % fullWalkPasses == 0;
+    long started = System.currentTimeMillis();
+    AtomicLong examined = new AtomicLong();
 
-              updateFsTreeAndAcceptConsumables(
-                  files, fileUpdateConsumers, fileCreateConsumers, file, attrs);
+    try {
+      LOG.debug("Tree walk started, full: {}", full);
 
-              return CONTINUE;
-            }
-          });
-      LOG.debug("Tree walk finished");
+      if (full) {
+        dirtyPaths.clear();
+        resumedPaths.clear();
+        walkFull(examined);
+      } else {
+        walkIncremental(examined);
+      }
     } catch (NoSuchFileException e) {
       LOG.debug(
           "Trying to process a file, however seems like it is already not present: {}",
           e.getMessage());
     } catch (Exception e) {
       LOG.error("Error while walking file tree", e);
+    } finally {
+      lastWalkDuration.set(System.currentTimeMillis() - started);
+      lastWalkExamined.set(examined.get());
+
+      LOG.debug(
+          "Tree walk finished, full: {}, duration: {} ms, examined items: {}",
+          full,
+          lastWalkDuration.get(),
+          lastWalkExamined.get());
     }
   }
 
-  private void updateFsTreeAndAcceptConsumables(
+  private void walkFull(AtomicLong examined) throws IOException {
+    Set<Path> deletedFiles =
+        files.keySet().stream().filter(it -> !isSuspended(it) && !exists(it)).collect(toSet());
+    deletedFiles.forEach(this::untrack);
+
+    Set<Path> deletedDirectories =
+        directories
+            .keySet()
+            .stream()
+            .filter(it -> !isSuspended(it) && !exists(it))
+            .collect(toSet());
+    deletedDirectories.forEach(this::untrack);
+
+    examined.addAndGet(deletedFiles.size() + deletedDirectories.size());
+
+    track(root, true, examined);
+  }
+
+  private void walkIncremental(AtomicLong examined) throws IOException {
+    Set<Path> modifiedDirectories = new HashSet<>();
+
+    for (Map.Entry<Path, Long> entry : directories.entrySet()) {
+      Path dir = entry.getKey();
+      if (isSuspended(dir)) {
+        continue;
+      }
+      examined.incrementAndGet();
+
+      try {
+        BasicFileAttributes attrs = readAttributes(dir, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        if (attrs.lastModifiedTime().toMillis() != entry.getValue()) {
+          modifiedDirectories.add(dir);
+        }
+      } catch (NoSuchFileException e) {
+        // removal is going to be detected while rescanning a parent directory
+        modifiedDirectories.add(dir.equals(root) ? dir : dir.getParent());
+      }
+    }
+
+    Set<Path> resumed = new HashSet<>(resumedPaths);
+    resumedPaths.removeAll(resumed);
+    for (Path path : resumed) {
+      directories
+          .keySet()
+          .stream()
+          .filter(it -> it.startsWith(path) && !isSuspended(it))
+          .forEach(modifiedDirectories::add);
+    }
+
+    Set<Path> dirty = new HashSet<>(dirtyPaths);
+    dirtyPaths.removeAll(dirty);
+    for (Path path : dirty) {
+      if (isSuspended(path)) {
+        continue;
+      }
+
+      if (directories.containsKey(path)) {
+        modifiedDirectories.add(path);
+        continue;
+      }
+
+      examined.incrementAndGet();
+      try {
+        BasicFileAttributes attrs = readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        if (attrs.isDirectory()) {
+          modifiedDirectories.add(path.getParent());
+        } else if (directories.containsKey(path.getParent()) && !isExcluded(fileExcludes, path)) {
+          update(files, fileUpdateConsumers, fileCreateConsumers, path, attrs, true);
+        }
+      } catch (NoSuchFileException e) {
+        untrack(path);
+      }
+    }
+
+    for (Path dir : modifiedDirectories) {
+      rescan(dir, examined);
+    }
+  }
+
+  /** Lists directory entries and synchronizes them with the tracked ones, without recursion. */
+  private void rescan(Path dir, AtomicLong examined) throws IOException {
+    if (!directories.containsKey(dir) || isSuspended(dir)) {
+      return;
+    }
+
+    BasicFileAttributes dirAttrs;
+    try {
+      dirAttrs = readAttributes(dir, BasicFileAttributes.class, NOFOLLOW_LINKS);
+    } catch (NoSuchFileException e) {
+      untrack(dir);
+      return;
+    }
+    update(directories, directoryUpdateConsumers, directoryCreateConsumers, dir, dirAttrs, true);
+
+    Set<Path> present = new HashSet<>();
+    try (DirectoryStream<Path> stream = newDirectoryStream(dir)) {
+      for (Path path : stream) {
+        examined.incrementAndGet();
+
+        if (isSuspended(path)) {
+          // keep tracked items of suspended subtree as is until it is resumed
+          if (files.containsKey(path) || directories.containsKey(path)) {
+            present.add(path);
+          }
+          continue;
+        }
+
+        BasicFileAttributes attrs;
+        try {
+          attrs = readAttributes(path, BasicFileAttributes.class, NOFOLLOW_LINKS);
+        } catch (NoSuchFileException e) {
+          continue;
+        }
+
+        if (attrs.isDirectory()) {
+          if (isExcluded(directoryExcludes, path)) {
+            continue;
+          }
+
+          present.add(path);
+          if (directories.containsKey(path)) {
+            update(
+                directories, directoryUpdateConsumers, directoryCreateConsumers, path, attrs, true);
+          } else {
+            track(path, true, examined);
+          }
+        } else {
+          if (isExcluded(fileExcludes, path)) {
+            continue;
+          }
+
+          present.add(path);
+          update(files, fileUpdateConsumers, fileCreateConsumers, path, attrs, true);
+        }
+      }
+    }
+
+    Set<Path> children = entries.get(dir);
+    if (children != null) {
+      children
+          .stream()
+          .filter(it -> !present.contains(it))
+          .collect(toSet())
+          .forEach(this::untrack);
+    }
+  }
+
+  /** Recursively walks a directory registering all of its entries. */
+  private void track(Path start, boolean notify, AtomicLong examined) throws IOException {
+    walkFileTree(
+        start,
+        new SimpleFileVisitor<Path>() {
+          @Override
+          public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
+            examined.incrementAndGet();
+
+            if (isExcluded(directoryExcludes, dir) || isSuspended(dir)) {
+              return SKIP_SUBTREE;
+            }
+
+            update(
+                directories, directoryUpdateConsumers, directoryCreateConsumers, dir, attrs, notify);
+
+            return CONTINUE;
+          }
+
+          @Override
+          public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+            examined.incrementAndGet();
+
+            if (isExcluded(fileExcludes, file) || isSuspended(file)) {
+              return CONTINUE;
+            }
+
+            update(files, fileUpdateConsumers, fileCreateConsumers, file, attrs, notify);
+
+            return CONTINUE;
+          }
+        });
+  }
+
+  /** Removes an item and all of its tracked descendants, running corresponding consumers. */
+  private void untrack(Path path) {
+    Set<Path> children = entries.remove(path);
+    if (children != null) {
+      children.forEach(this::untrack);
+    }
+
+    Set<Path> siblings = entries.get(path.getParent());
+    if (siblings != null) {
+      siblings.remove(path);
+    }
+
+    if (files.remove(path) != null) {
+      fileDeleteConsumers.forEach(it -> it.accept(path));
+    } else if (directories.remove(path) != null) {
+      directoryDeleteConsumers.forEach(it -> it.accept(path));
+    }
+  }
+
+  private void update(
       Map<Path, Long> items,
       Set<Consumer<Path>> updateConsumer,
       Set<Consumer<Path>> createConsumer,
       Path path,
-      BasicFileAttributes attrs) {
+      BasicFileAttributes attrs,
+      boolean notify) {
     Long lastModifiedActual = attrs.lastModifiedTime().toMillis();
+    Long lastModifiedStored = items.put(path, lastModifiedActual);
+
+    if (lastModifiedStored == null) {
+      if (!path.equals(root)) {
+        entries.computeIfAbsent(path.getParent(), it -> newConcurrentHashSet()).add(path);
+      }
+      if (notify) {
+        createConsumer.forEach(it -> it.accept(path));
+      }
+    } else if (!lastModifiedActual.equals(lastModifiedStored) && notify) {
+      updateConsumer.forEach(it -> it.accept(path));
+    }
+  }
+
+  private boolean isSuspended(Path path) {
+    if (suspended.isEmpty()) {
+      return false;
+    }
+
+    for (Path subtree : suspended.keySet()) {
+      if (path.startsWith(subtree)) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-    if (items.containsKey(path)) {
-      Long lastModifiedStored = items.get(path);
-      if (!lastModifiedActual.equals(lastModifiedStored)) {
-        items.put(path, lastModifiedActual);
-        updateConsumer.forEach(it -> it.accept(path));
+  private static boolean isExcluded(Set<PathMatcher> excludes, Path path) {
+    for (PathMatcher matcher : excludes) {
+      if (matcher.matches(path)) {
+        return true;
       }
-    } else {
-      items.put(path, lastModifiedActual);
-      createConsumer.forEach(it -> it.accept(path));
     }
+    return false;
   }
 }
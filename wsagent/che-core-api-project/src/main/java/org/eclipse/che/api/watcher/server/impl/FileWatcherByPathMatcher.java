@@ -123,9 +123,27 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
 
     LOG.debug("Registered matcher operation set with id '{}'", operationId);
 
+    walk(Paths.get(pathProvider.get()), matcher);
+
+    return operationId;
+  }
+
+  /**
+   * Accepts items of the subtree that match any of the registered matchers, e.g. the ones of a
+   * folder created by a bulk operation which file system events are not reported item by item.
+   *
+   * @param root root of the subtree
+   */
+  void acceptTree(Path root) {
+    if (!matchers.isEmpty()) {
+      walk(root, path -> matchers.keySet().stream().anyMatch(it -> it.matches(path)));
+    }
+  }
+
+  private void walk(Path start, PathMatcher matcher) {
     try {
       Files.walkFileTree(
-          Paths.get(pathProvider.get()),
+          start,
           new SimpleFileVisitor<Path>() {
             @Override
             public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) {
@@ -160,8 +178,6 @@ public class FileWatcherByPathMatcher implements Consumer<Path> {
     } catch (IOException e) {
       LOG.error("Can't watch because of: {}", e.getLocalizedMessage(), e);
     }
-
-    return operationId;
   }
 
   void unwatch(int operationId) {
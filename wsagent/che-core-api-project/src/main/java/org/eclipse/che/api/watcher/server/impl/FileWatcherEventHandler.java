@@ -13,11 +13,14 @@ package org.eclipse.che.api.watcher.server.impl;
 
 import static com.google.common.collect.Sets.newConcurrentHashSet;
 import static java.nio.file.Files.isDirectory;
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toInternalPath;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.WatchEvent;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -41,6 +44,7 @@ public class FileWatcherEventHandler {
   private final AtomicInteger idCounter = new AtomicInteger();
 
   private final Map<Path, Set<FileWatcherOperation>> operations = new ConcurrentHashMap<>();
+  private final Set<Consumer<Path>> listeners = newConcurrentHashSet();
 
   private final Path root;
 
@@ -101,6 +105,33 @@ public class FileWatcherEventHandler {
     return dir;
   }
 
+  /**
+   * Returns paths with registered operations that are located within the given directory, deeper
+   * paths go first.
+   *
+   * @param dir directory
+   * @return registered descendants of the directory
+   */
+  List<Path> getRegisteredWithin(Path dir) {
+    return operations
+        .keySet()
+        .stream()
+        .filter(it -> it.startsWith(dir) && !it.equals(dir))
+        .sorted(comparingInt(Path::getNameCount).reversed())
+        .collect(toList());
+  }
+
+  /**
+   * Adds a listener that is notified about each item reported by file watcher system regardless of
+   * registered operations. Path passed to the listener is in a normal operation system file system
+   * form.
+   *
+   * @param listener listener
+   */
+  void addListener(Consumer<Path> listener) {
+    listeners.add(listener);
+  }
+
   /**
    * Handles event passed form file watcher system. Path parameter is expected to be passed in a
    * normal operation system file system form and is transformed into internal virtual file system
@@ -115,6 +146,8 @@ public class FileWatcherEventHandler {
     Set<FileWatcherOperation> dirOperations = operations.get(dir);
     Set<FileWatcherOperation> itemOperations = operations.get(path);
 
+    listeners.forEach(it -> it.accept(path));
+
     if (dirOperations != null) {
       dirOperations
           .stream()
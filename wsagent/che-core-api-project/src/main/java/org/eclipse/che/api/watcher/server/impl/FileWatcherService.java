@@ -19,6 +19,7 @@ import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.getUpdatedByTmp;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
@@ -31,9 +32,11 @@ import java.nio.file.WatchEvent.Kind;
 import java.nio.file.WatchEvent.Modifier;
 import java.nio.file.WatchKey;
 import java.nio.file.WatchService;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadFactory;
@@ -270,6 +273,8 @@ public class FileWatcherService {
           continue;
         }
 
+        // files replaced by moving their temporary update files over them
+        Set<Path> replaced = new HashSet<>();
         List<WatchEvent<?>> watchEvents = watchKey.pollEvents();
         while (!watchEvents.isEmpty()) {
           if (suspended.get()) {
@@ -291,6 +296,17 @@ public class FileWatcherService {
             Path item = ev.context();
             Path path = dir.resolve(item).toAbsolutePath();
 
+            Path updated = getUpdatedByTmp(path);
+            if (updated != null) {
+              if (kind == ENTRY_DELETE) {
+                replaced.add(updated);
+              }
+              continue;
+            }
+            if (kind == ENTRY_CREATE && replaced.remove(path)) {
+              kind = ENTRY_MODIFY;
+            }
+
             if (excludePatternsRegistry.isExcluded(path)) {
               LOG.debug("Path is within exclude list, skipping...");
               continue;
@@ -17,6 +17,38 @@ import java.util.Set;
 
 public class FileWatcherUtils {
 
+  /** Suffix of temporary files that are written and then moved over the files they update. */
+  public static final String UPDATE_TMP_SUFFIX = ".che-update";
+
+  /**
+   * Returns prefix of temporary files that update the file with the given name, temporary file
+   * names are built of the prefix, a random number and {@link #UPDATE_TMP_SUFFIX}.
+   *
+   * @param fileName name of the updated file
+   * @return temporary file name prefix
+   */
+  public static String toUpdateTmpPrefix(String fileName) {
+    return "." + fileName + ".";
+  }
+
+  /**
+   * Returns the file that is updated with the given temporary file
+   *
+   * @param path path being examined
+   * @return path of the updated file or null if the path is not a temporary update file
+   */
+  public static Path getUpdatedByTmp(Path path) {
+    Path fileName = path.getFileName();
+    String name = fileName == null ? "" : fileName.toString();
+    if (!name.startsWith(".") || !name.endsWith(UPDATE_TMP_SUFFIX)) {
+      return null;
+    }
+
+    String withRandom = name.substring(1, name.length() - UPDATE_TMP_SUFFIX.length());
+    int separator = withRandom.lastIndexOf('.');
+    return separator > 0 ? path.resolveSibling(withRandom.substring(0, separator)) : null;
+  }
+
   /**
    * Transform internal path representation into normal path representation
    *
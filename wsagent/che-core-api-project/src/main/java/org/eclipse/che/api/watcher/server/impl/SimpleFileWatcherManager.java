@@ -11,6 +11,10 @@
  */
 package org.eclipse.che.api.watcher.server.impl;
 
+import static java.nio.file.Files.exists;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toNormalPath;
 
 import com.google.inject.Inject;
@@ -19,6 +23,7 @@ import java.nio.file.PathMatcher;
 import java.nio.file.Paths;
 import java.util.function.Consumer;
 import javax.inject.Singleton;
+import org.eclipse.che.api.fs.server.FsChangeSet;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
 import org.slf4j.Logger;
@@ -33,17 +38,20 @@ public class SimpleFileWatcherManager implements FileWatcherManager {
   private final FileWatcherByPathMatcher fileWatcherByPathMatcher;
   private final Path root;
   private final FileWatcherExcludePatternsRegistry excludePatternsRegistry;
+  private final FileWatcherEventHandler eventHandler;
 
   @Inject
   public SimpleFileWatcherManager(
       RootDirPathProvider pathProvider,
       FileWatcherByPathValue watcherByPathValue,
       FileWatcherByPathMatcher watcherByPathMatcher,
-      FileWatcherExcludePatternsRegistry excludePatternsRegistry) {
+      FileWatcherExcludePatternsRegistry excludePatternsRegistry,
+      FileWatcherEventHandler eventHandler) {
     this.fileWatcherByPathMatcher = watcherByPathMatcher;
     this.fileWatcherByPathValue = watcherByPathValue;
     this.root = Paths.get(pathProvider.get()).normalize().toAbsolutePath();
     this.excludePatternsRegistry = excludePatternsRegistry;
+    this.eventHandler = eventHandler;
   }
 
   @Override
@@ -104,4 +112,34 @@ public class SimpleFileWatcherManager implements FileWatcherManager {
   public boolean isExcluded(Path path) {
     return excludePatternsRegistry.isExcluded(path);
   }
+
+  @Override
+  public void dispatch(FsChangeSet changes) {
+    LOG.debug("Dispatching changes '{}'", changes);
+
+    // changes are reported for the top-most items, so operations registered to the items of
+    // deleted and created subtrees are notified separately
+    for (String deleted : changes.getDeleted()) {
+      Path path = toNormalPath(root, deleted);
+      for (Path registered : eventHandler.getRegisteredWithin(path)) {
+        eventHandler.handle(registered, ENTRY_DELETE);
+        fileWatcherByPathMatcher.accept(registered);
+      }
+      eventHandler.handle(path, ENTRY_DELETE);
+      fileWatcherByPathMatcher.accept(path);
+    }
+
+    for (String created : changes.getCreated()) {
+      Path path = toNormalPath(root, created);
+      eventHandler.handle(path, ENTRY_CREATE);
+      for (Path registered : eventHandler.getRegisteredWithin(path)) {
+        if (exists(registered)) {
+          eventHandler.handle(registered, ENTRY_CREATE);
+        }
+      }
+      fileWatcherByPathMatcher.acceptTree(path);
+    }
+
+    changes.getUpdated().forEach(it -> eventHandler.handle(toNormalPath(root, it), ENTRY_MODIFY));
+  }
 }
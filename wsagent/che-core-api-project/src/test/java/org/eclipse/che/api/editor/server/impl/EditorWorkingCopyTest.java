@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.editor.server.impl;
+
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.INSERT;
+import static org.eclipse.che.api.project.shared.dto.EditorChangesDto.Type.REMOVE;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.io.ByteStreams;
+import java.util.Random;
+import org.eclipse.che.api.project.shared.dto.EditorChangesDto;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/** Tests for {@link EditorWorkingCopy} */
+public class EditorWorkingCopyTest {
+  private static final String PATH = "/project/file";
+  private static final String PROJECT_PATH = "/project";
+
+  @Test
+  public void shouldApplyInsertChange() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy(PATH, PROJECT_PATH, "hello".getBytes());
+
+    workingCopy.applyChanges(insert(5, " world"));
+    workingCopy.applyChanges(insert(0, ">"));
+
+    assertEquals(workingCopy.getContentAsString(), ">hello world");
+    assertEquals(workingCopy.getContentAsBytes(), ">hello world".getBytes());
+    assertEquals(ByteStreams.toByteArray(workingCopy.getContent()), ">hello world".getBytes());
+  }
+
+  @Test
+  public void shouldApplyRemoveChange() throws Exception {
+    EditorWorkingCopy workingCopy =
+        new EditorWorkingCopy(PATH, PROJECT_PATH, "hello world".getBytes());
+
+    workingCopy.applyChanges(remove(5, 6));
+    workingCopy.applyChanges(remove(0, 1));
+
+    assertEquals(workingCopy.getContentAsString(), "ello");
+  }
+
+  @Test
+  public void shouldIgnoreEmptyRemoveChange() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy(PATH, PROJECT_PATH, "hello".getBytes());
+
+    workingCopy.applyChanges(remove(1, 0));
+
+    assertEquals(workingCopy.getContentAsString(), "hello");
+  }
+
+  @Test
+  public void shouldReplaceChangesWhenContentIsUpdated() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy(PATH, PROJECT_PATH, "hello".getBytes());
+    workingCopy.applyChanges(insert(0, "abc"));
+
+    workingCopy.updateContent("new content");
+    workingCopy.applyChanges(insert(3, "!"));
+
+    assertEquals(workingCopy.getContentAsString(), "new! content");
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void shouldThrowExceptionWhenChangeIsOutOfContentBounds() throws Exception {
+    EditorWorkingCopy workingCopy = new EditorWorkingCopy(PATH, PROJECT_PATH, "hello".getBytes());
+
+    workingCopy.applyChanges(remove(3, 10));
+  }
+
+  @Test(dataProvider = "contentSizes")
+  public void shouldReplayEditSession(int size) throws Exception {
+    Random random = new Random(size);
+    StringBuilder expected = new StringBuilder(size);
+    for (int i = 0; i < size; i++) {
+      expected.append(i % 80 == 79 ? '\n' : (char) ('a' + random.nextInt(26)));
+    }
+    EditorWorkingCopy workingCopy =
+        new EditorWorkingCopy(PATH, PROJECT_PATH, expected.toString().getBytes());
+
+    // typing bursts at random positions interleaved with backspaces
+    int offset = 0;
+    for (int i = 0; i < 10_000; i++) {
+      if (i % 50 == 0) {
+        offset = random.nextInt(expected.length());
+      }
+      if (random.nextInt(5) == 0 && offset > 0) {
+        offset--;
+        expected.delete(offset, offset + 1);
+        workingCopy.applyChanges(remove(offset, 1));
+      } else {
+        String text = String.valueOf((char) ('a' + random.nextInt(26)));
+        expected.insert(offset, text);
+        workingCopy.applyChanges(insert(offset, text));
+        offset++;
+      }
+    }
+
+    assertEquals(workingCopy.getContentAsString(), expected.toString());
+  }
+
+  @DataProvider
+  public static Object[][] contentSizes() {
+    return new Object[][] {{1024 * 1024}, {10 * 1024 * 1024}};
+  }
+
+  private static EditorChangesDto insert(int offset, String text) {
+    return newDto(EditorChangesDto.class).withType(INSERT).withOffset(offset).withText(text);
+  }
+
+  private static EditorChangesDto remove(int offset, int count) {
+    return newDto(EditorChangesDto.class)
+        .withType(REMOVE)
+        .withOffset(offset)
+        .withRemovedCharCount(count);
+  }
+}
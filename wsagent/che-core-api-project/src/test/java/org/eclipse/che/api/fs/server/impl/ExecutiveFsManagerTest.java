@@ -11,16 +11,20 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.function.BiConsumer;
+import org.eclipse.che.api.fs.server.FsBatch;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -55,6 +59,7 @@ public class ExecutiveFsManagerTest {
 
   @Mock private FsOperations fsOperations;
   @Mock private ZipArchiver zipArchiver;
+  @Mock private FsBatchExecutor fsBatchExecutor;
   @Mock private PathTransformer pathTransformer;
   @InjectMocks private ExecutiveFsManager executiveFsManager;
 
@@ -194,11 +199,21 @@ public class ExecutiveFsManagerTest {
     verify(zipArchiver).zip(FS_PATH);
   }
 
+  @Test
+  public void shouldZipArchiverZipOnZipToOutputStream() throws Exception {
+    OutputStream output = new ByteArrayOutputStream();
+
+    executiveFsManager.zip(WS_PATH, output);
+
+    verify(zipArchiver).zip(FS_PATH, output);
+  }
+
   @Test
   public void shouldZipArchiverUnzipOnUnzip() throws Exception {
     executiveFsManager.unzip(WS_PATH, INPUT_STREAM, false, false, false);
 
-    verify(zipArchiver).unzip(FS_PATH, INPUT_STREAM, false, false, false);
+    verify(zipArchiver)
+        .unzip(eq(FS_PATH), eq(INPUT_STREAM), eq(false), eq(false), eq(false), any());
   }
 
   @Test
@@ -533,4 +548,13 @@ public class ExecutiveFsManagerTest {
 
     verify(fsOperations).toIoFile(FS_PATH);
   }
+
+  @Test
+  public void shouldApplyBatchWithFsBatchExecutor() throws Exception {
+    FsBatch batch = new FsBatch().delete(WS_PATH);
+
+    executiveFsManager.apply(batch);
+
+    verify(fsBatchExecutor).apply(batch, executiveFsManager);
+  }
 }
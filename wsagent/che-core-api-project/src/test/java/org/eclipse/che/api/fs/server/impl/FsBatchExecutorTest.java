@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.fs.server.FsBatch;
+import org.eclipse.che.api.fs.server.FsChangeSet;
+import org.eclipse.che.api.fs.server.FsManager;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.impl.FileTreeWalker;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link FsBatchExecutor} */
+@Listeners(MockitoTestNGListener.class)
+public class FsBatchExecutorTest {
+  private static final Path ROOT = Paths.get("/projects");
+
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private FileTreeWalker fileTreeWalker;
+  @Mock private PathTransformer pathTransformer;
+  @Mock private EventService eventService;
+  @Mock private FsManager fsManager;
+
+  private FsBatchExecutor fsBatchExecutor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lenient()
+        .when(pathTransformer.transform(anyString()))
+        .thenAnswer(it -> ROOT.resolve(it.getArgument(0, String.class).substring(1)));
+    lenient().when(fsManager.exists("/project")).thenReturn(true);
+
+    fsBatchExecutor =
+        new FsBatchExecutor(
+            () -> fileWatcherManager, () -> fileTreeWalker, pathTransformer, eventService);
+  }
+
+  @Test
+  public void shouldApplyOperationsInOrder() throws Exception {
+    FsBatch batch =
+        new FsBatch()
+            .createDir("/project/dir")
+            .update("/project/file", "content")
+            .copy("/project/file", "/project/copy", false)
+            .delete("/project/old");
+    when(fsManager.exists("/project/old")).thenReturn(true);
+
+    fsBatchExecutor.apply(batch, fsManager);
+
+    InOrder inOrder = inOrder(fsManager);
+    inOrder.verify(fsManager).createDir("/project/dir", true, true);
+    inOrder.verify(fsManager).update(eq("/project/file"), any());
+    inOrder.verify(fsManager).copy("/project/file", "/project/copy", false, true);
+    inOrder.verify(fsManager).delete("/project/old", true);
+  }
+
+  @Test
+  public void shouldReportTopMostCreatedAncestor() throws Exception {
+    FsBatch batch =
+        new FsBatch()
+            .createFile("/project/a/b/first.txt", "first")
+            .createFile("/project/a/b/second.txt", "second");
+
+    FsChangeSet changes = fsBatchExecutor.apply(batch, fsManager);
+
+    assertEquals(changes.getCreated(), singleton("/project/a"));
+    assertTrue(changes.getUpdated().isEmpty());
+    assertTrue(changes.getDeleted().isEmpty());
+  }
+
+  @Test
+  public void shouldReportMoveAsDeletionAndCreation() throws Exception {
+    FsBatch batch = new FsBatch().move("/project/src", "/project/dst", false);
+
+    FsChangeSet changes = fsBatchExecutor.apply(batch, fsManager);
+
+    verify(fsManager).move("/project/src", "/project/dst", false, true);
+    assertEquals(changes.getCreated(), singleton("/project/dst"));
+    assertEquals(changes.getDeleted(), singleton("/project/src"));
+  }
+
+  @Test
+  public void shouldNotReportItemsCreatedAndDeletedInTheSameBatch() throws Exception {
+    FsBatch batch = new FsBatch().createDir("/project/tmp").delete("/project/tmp");
+    when(fsManager.exists("/project/tmp")).thenReturn(true);
+
+    FsChangeSet changes = fsBatchExecutor.apply(batch, fsManager);
+
+    assertTrue(changes.isEmpty());
+    verify(fileWatcherManager, never()).dispatch(any());
+    verify(eventService, never()).publish(any());
+  }
+
+  @Test
+  public void shouldReportUpdatesOfDeletedItemsAsDeletion() throws Exception {
+    FsBatch batch = new FsBatch().update("/project/dir/file", "content").delete("/project/dir");
+    when(fsManager.exists("/project/dir")).thenReturn(true);
+
+    FsChangeSet changes = fsBatchExecutor.apply(batch, fsManager);
+
+    assertEquals(changes.getDeleted(), singleton("/project/dir"));
+    assertEquals(changes.getUpdated(), emptySet());
+  }
+
+  @Test
+  public void shouldSuspendEventsAndDispatchChangesOnce() throws Exception {
+    FsBatch batch =
+        new FsBatch().createFile("/project/a.txt", "a").createFile("/project/b.txt", "b");
+
+    FsChangeSet changes = fsBatchExecutor.apply(batch, fsManager);
+
+    verify(fileWatcherManager).addExcludeMatcher(any());
+    verify(fileTreeWalker).suspend(ROOT.resolve("project/a.txt"));
+    verify(fileTreeWalker).resume(ROOT.resolve("project/a.txt"));
+    verify(fileTreeWalker).suspend(ROOT.resolve("project/b.txt"));
+    verify(fileTreeWalker).resume(ROOT.resolve("project/b.txt"));
+    verify(fileWatcherManager).dispatch(changes);
+    verify(eventService).publish(changes);
+  }
+
+  @Test
+  public void shouldReleaseExclusionOnceBatchIsApplied() throws Exception {
+    FsBatch batch = new FsBatch().createFile("/project/a.txt", "a");
+
+    fsBatchExecutor.apply(batch, fsManager);
+
+    InOrder inOrder = inOrder(fileWatcherManager, fsManager);
+    inOrder.verify(fileWatcherManager).addExcludeMatcher(any());
+    inOrder.verify(fsManager).createFile(eq("/project/a.txt"), any(), eq(true), eq(true));
+    inOrder.verify(fileWatcherManager).removeExcludeMatcher(any());
+    inOrder.verify(fileWatcherManager).dispatch(any());
+  }
+
+  @Test
+  public void shouldDispatchChangesOfAppliedOperationsOnFailure() throws Exception {
+    FsBatch batch = new FsBatch().createFile("/project/a.txt", "a").delete("/project/b.txt");
+    when(fsManager.exists("/project/b.txt")).thenReturn(true);
+    doThrow(new NotFoundException("b.txt")).when(fsManager).delete("/project/b.txt", true);
+
+    try {
+      fsBatchExecutor.apply(batch, fsManager);
+      fail("Expected NotFoundException");
+    } catch (NotFoundException expected) {
+      verify(fileTreeWalker).resume(ROOT.resolve("project/b.txt"));
+      verify(fileWatcherManager)
+          .dispatch(argThat(it -> it.getCreated().equals(singleton("/project/a.txt"))));
+    }
+  }
+}
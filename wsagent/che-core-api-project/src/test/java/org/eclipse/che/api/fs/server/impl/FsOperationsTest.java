@@ -11,6 +11,8 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
+import static java.nio.file.Files.getPosixFilePermissions;
+import static java.nio.file.Files.setPosixFilePermissions;
 import static org.apache.commons.io.FileUtils.readFileToByteArray;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -23,6 +25,8 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Random;
 import java.util.Set;
 import org.apache.commons.io.FileUtils;
@@ -460,6 +464,28 @@ public class FsOperationsTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void shouldKeepPermissionsOnUpdate() throws Exception {
+    file = new File(rootDir, FILE_NAME);
+    assertTrue(file.createNewFile());
+    Set<PosixFilePermission> expected = PosixFilePermissions.fromString("rwxr-x---");
+    setPosixFilePermissions(file.toPath(), expected);
+
+    fsOperations.update(file.toPath(), IOUtils.toInputStream(TEXT_MESSAGE));
+
+    assertEquals(getPosixFilePermissions(file.toPath()), expected);
+  }
+
+  @Test
+  public void shouldNotLeaveTemporaryFilesOnUpdate() throws Exception {
+    file = new File(rootDir, FILE_NAME);
+    assertTrue(file.createNewFile());
+
+    fsOperations.update(file.toPath(), IOUtils.toInputStream(TEXT_MESSAGE));
+
+    assertEquals(rootDir.list(), new String[] {FILE_NAME});
+  }
+
   @Test
   public void shouldReturnTrueForExistingFile() throws Exception {
     file = new File(rootDir, FILE_NAME);
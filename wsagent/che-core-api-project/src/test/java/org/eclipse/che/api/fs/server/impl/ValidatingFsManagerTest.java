@@ -11,11 +11,14 @@
  */
 package org.eclipse.che.api.fs.server.impl;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -24,6 +27,7 @@ import java.nio.file.Paths;
 import java.util.function.BiConsumer;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.fs.server.FsBatch;
 import org.eclipse.che.api.fs.server.PathTransformer;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -65,6 +69,7 @@ public class ValidatingFsManagerTest {
   @Mock private FsOperations fsOperations;
   @Mock private PathTransformer pathTransformer;
   @Mock private ExecutiveFsManager executiveFsManager;
+  @Mock private FsBatchExecutor fsBatchExecutor;
   @InjectMocks private ValidatingFsManager validatingFsManager;
 
   @Mock private BiConsumer<InputStream, OutputStream> updater;
@@ -215,6 +220,23 @@ public class ValidatingFsManagerTest {
     validatingFsManager.zip(WS_PATH);
   }
 
+  @Test
+  public void shouldCallSuspendingFsManagerOnZipToOutputStream() throws Exception {
+    when(fsOperations.exists(FS_PATH)).thenReturn(true);
+    OutputStream output = new ByteArrayOutputStream();
+
+    validatingFsManager.zip(WS_PATH, output);
+
+    verify(executiveFsManager).zip(WS_PATH, output);
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionOnZipToOutputStream() throws Exception {
+    when(fsOperations.exists(FS_PATH)).thenReturn(false);
+
+    validatingFsManager.zip(WS_PATH, new ByteArrayOutputStream());
+  }
+
   @Test
   public void shouldCallSuspendingFsManagerOnUnzip() throws Exception {
     when(fsOperations.exists(FS_PATH)).thenReturn(true);
@@ -222,7 +244,8 @@ public class ValidatingFsManagerTest {
 
     validatingFsManager.unzip(WS_PATH, INPUT_STREAM, false, false, false);
 
-    verify(executiveFsManager).unzip(WS_PATH, INPUT_STREAM, false, false, false);
+    verify(executiveFsManager)
+        .unzip(eq(WS_PATH), eq(INPUT_STREAM), eq(false), eq(false), eq(false), any());
   }
 
   @Test(expectedExceptions = NotFoundException.class)
@@ -548,4 +571,13 @@ public class ValidatingFsManagerTest {
 
     verify(executiveFsManager).toIoFile(WS_PATH);
   }
+
+  @Test
+  public void shouldApplyBatchWithFsBatchExecutor() throws Exception {
+    FsBatch batch = new FsBatch().delete(WS_PATH);
+
+    validatingFsManager.apply(batch);
+
+    verify(fsBatchExecutor).apply(batch, validatingFsManager);
+  }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.fs.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.che.api.watcher.server.impl.FileTreeWalker;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ZipArchiver} */
+@Listeners(MockitoTestNGListener.class)
+public class ZipArchiverTest {
+
+  @Mock private FileWatcherManager fileWatcherManager;
+  @Mock private FileTreeWalker fileTreeWalker;
+
+  private ZipArchiver zipArchiver;
+  private Path srcDir;
+  private Path dstDir;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    zipArchiver = new ZipArchiver(2, () -> fileWatcherManager, () -> fileTreeWalker);
+    srcDir = Files.createTempDirectory("src");
+    dstDir = Files.createTempDirectory("dst");
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    zipArchiver.shutdown();
+    FileUtils.deleteQuietly(srcDir.toFile());
+    FileUtils.deleteQuietly(dstDir.toFile());
+  }
+
+  @Test
+  public void shouldZipAndUnzipDirectory() throws Exception {
+    write(srcDir.resolve("a.txt"), "a");
+    write(srcDir.resolve("dir/b.txt"), "b");
+    write(srcDir.resolve("dir/nested/c.txt"), "c");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    zipArchiver.zip(srcDir, output);
+    List<String> progress = new ArrayList<>();
+    zipArchiver.unzip(
+        dstDir, new ByteArrayInputStream(output.toByteArray()), false, false, false, progress::add);
+
+    assertEquals(read(dstDir.resolve("a.txt")), "a");
+    assertEquals(read(dstDir.resolve("dir/b.txt")), "b");
+    assertEquals(read(dstDir.resolve("dir/nested/c.txt")), "c");
+    assertEquals(progress.get(progress.size() - 1), "Extracted 3 of 3 files");
+  }
+
+  @Test
+  public void shouldZipSingleFileWithItsName() throws Exception {
+    write(srcDir.resolve("a.txt"), "a");
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+    zipArchiver.zip(srcDir.resolve("a.txt"), output);
+    zipArchiver.unzip(
+        dstDir, new ByteArrayInputStream(output.toByteArray()), false, false, false, it -> {});
+
+    assertEquals(read(dstDir.resolve("a.txt")), "a");
+  }
+
+  @Test
+  public void shouldSkipRootDirectory() throws Exception {
+    byte[] zip = zip("root/", "root/a.txt", "root/dir/", "root/dir/b.txt");
+
+    zipArchiver.unzip(dstDir, new ByteArrayInputStream(zip), false, false, true, it -> {});
+
+    assertTrue(Files.isRegularFile(dstDir.resolve("a.txt")));
+    assertTrue(Files.isRegularFile(dstDir.resolve("dir/b.txt")));
+    assertFalse(Files.exists(dstDir.resolve("root")));
+  }
+
+  @Test
+  public void shouldSuspendAndResumeFileWatchingOfTargetDirectory() throws Exception {
+    byte[] zip = zip("a.txt");
+
+    zipArchiver.unzip(dstDir, new ByteArrayInputStream(zip), false, false, false, it -> {});
+
+    verify(fileWatcherManager).addExcludeMatcher(any());
+    verify(fileWatcherManager).removeExcludeMatcher(any());
+    verify(fileTreeWalker).suspend(dstDir);
+    verify(fileTreeWalker).resume(dstDir);
+  }
+
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldRejectEntriesOutsideOfTargetDirectory() throws Exception {
+    byte[] zip = zip("../evil.txt");
+
+    try {
+      zipArchiver.unzip(dstDir, new ByteArrayInputStream(zip), false, false, false, it -> {});
+    } finally {
+      assertFalse(Files.exists(dstDir.resolveSibling("evil.txt")));
+      verify(fileTreeWalker).resume(dstDir);
+    }
+  }
+
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldNotOverwriteExistingFile() throws Exception {
+    write(dstDir.resolve("a.txt"), "existing");
+    byte[] zip = zip("a.txt");
+
+    zipArchiver.unzip(dstDir, new ByteArrayInputStream(zip), false, false, false, it -> {});
+  }
+
+  @Test
+  public void shouldOverwriteExistingFile() throws Exception {
+    write(dstDir.resolve("a.txt"), "existing");
+    byte[] zip = zip("a.txt");
+
+    zipArchiver.unzip(dstDir, new ByteArrayInputStream(zip), true, false, false, it -> {});
+
+    assertEquals(read(dstDir.resolve("a.txt")), "a.txt");
+  }
+
+  /** Creates archive with the given entries, file entries contain their own names. */
+  private static byte[] zip(String... names) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try (ZipOutputStream zos = new ZipOutputStream(output)) {
+      for (String name : names) {
+        zos.putNextEntry(new ZipEntry(name));
+        if (!name.endsWith("/")) {
+          zos.write(name.getBytes(UTF_8));
+        }
+        zos.closeEntry();
+      }
+    }
+    return output.toByteArray();
+  }
+
+  private static void write(Path file, String content) throws IOException {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(UTF_8));
+  }
+
+  private static String read(Path file) throws IOException {
+    return new String(Files.readAllBytes(file), UTF_8);
+  }
+}
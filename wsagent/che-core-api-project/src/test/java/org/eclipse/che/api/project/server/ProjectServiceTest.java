@@ -18,6 +18,7 @@ import static org.mockito.Mockito.when;
 import java.io.InputStream;
 import java.util.Iterator;
 import java.util.List;
+import javax.ws.rs.core.Request;
 import javax.ws.rs.core.UriInfo;
 import org.apache.commons.fileupload.FileItem;
 import org.eclipse.che.api.project.server.impl.ProjectServiceApi;
@@ -47,6 +48,7 @@ public class ProjectServiceTest {
   private static final String PROJECT_TYPE = "project-type";
   private static final String NAME = "name";
   private static final String TEXT = "text";
+  private static final String RANGE = "bytes=0-";
 
   private static final int MAX_ITEMS = 0;
   private static final int SKIP_COUNT = 0;
@@ -69,6 +71,7 @@ public class ProjectServiceTest {
   @Mock private List<NewProjectConfigDto> newProjectConfigDtos;
   @Mock private SourceStorageDto sourceStorageDto;
   @Mock private InputStream inputStream;
+  @Mock private Request request;
   @Mock private Iterator<FileItem> fileItemIterator;
   @Mock private CopyOptions copyOptions;
   @Mock private MoveOptions moveOptions;
@@ -173,9 +176,9 @@ public class ProjectServiceTest {
 
   @Test
   public void shouldCallGetFile() throws Exception {
-    projectService.getFile(WS_PATH);
+    projectService.getFile(WS_PATH, request, RANGE);
 
-    verify(projectServiceApi).getFile(WS_PATH);
+    verify(projectServiceApi).getFile(WS_PATH, request, RANGE);
   }
 
   @Test
@@ -208,9 +211,9 @@ public class ProjectServiceTest {
 
   @Test
   public void shouldCallImportZip() throws Exception {
-    projectService.importZip(WS_PATH, inputStream, SKIP_FIRST_LEVEL);
+    projectService.importZip(WS_PATH, inputStream, SKIP_FIRST_LEVEL, CLIENT_ID);
 
-    verify(projectServiceApi).importZip(WS_PATH, inputStream, SKIP_FIRST_LEVEL);
+    verify(projectServiceApi).importZip(WS_PATH, inputStream, SKIP_FIRST_LEVEL, CLIENT_ID);
   }
 
   @Test
@@ -222,9 +225,9 @@ public class ProjectServiceTest {
 
   @Test
   public void shouldCallExportFile() throws Exception {
-    projectService.exportFile(WS_PATH);
+    projectService.exportFile(WS_PATH, request, RANGE);
 
-    verify(projectServiceApi).exportFile(WS_PATH);
+    verify(projectServiceApi).exportFile(WS_PATH, request, RANGE);
   }
 
   @Test
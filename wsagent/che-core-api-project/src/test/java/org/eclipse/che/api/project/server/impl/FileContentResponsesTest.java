@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Date;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link FileContentResponses} */
+@Listeners(MockitoTestNGListener.class)
+public class FileContentResponsesTest {
+
+  private static final String CONTENT = "0123456789";
+
+  @Mock private Request request;
+
+  private Path file;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    file = Files.createTempFile("content", ".txt");
+    Files.write(file, CONTENT.getBytes(UTF_8));
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  public void shouldTransferWholeFile() throws Exception {
+    Response response = FileContentResponses.download(file, request, null).build();
+
+    assertEquals(response.getStatus(), 200);
+    assertEquals(response.getMetadata().getFirst("Content-Length"), "10");
+    assertEquals(response.getMetadata().getFirst("ETag"), entityTag());
+    assertEquals(content(response), CONTENT);
+  }
+
+  @Test
+  public void shouldTransferRequestedRange() throws Exception {
+    Response response = FileContentResponses.download(file, request, "bytes=2-4").build();
+
+    assertEquals(response.getStatus(), 206);
+    assertEquals(response.getMetadata().getFirst("Content-Range"), "bytes 2-4/10");
+    assertEquals(response.getMetadata().getFirst("Content-Length"), "3");
+    assertEquals(content(response), "234");
+  }
+
+  @Test
+  public void shouldTransferRequestedSuffix() throws Exception {
+    Response response = FileContentResponses.download(file, request, "bytes=-3").build();
+
+    assertEquals(response.getStatus(), 206);
+    assertEquals(response.getMetadata().getFirst("Content-Range"), "bytes 7-9/10");
+    assertEquals(content(response), "789");
+  }
+
+  @Test
+  public void shouldTransferWholeFileIfRangeIsNotSupported() throws Exception {
+    Response response = FileContentResponses.download(file, request, "bytes=0-1,4-5").build();
+
+    assertEquals(response.getStatus(), 200);
+    assertEquals(content(response), CONTENT);
+  }
+
+  @Test
+  public void shouldRejectUnsatisfiableRange() throws Exception {
+    Response response = FileContentResponses.download(file, request, "bytes=10-").build();
+
+    assertEquals(response.getStatus(), 416);
+    assertEquals(response.getMetadata().getFirst("Content-Range"), "bytes */10");
+  }
+
+  @Test
+  public void shouldNotTransferNotModifiedFile() throws Exception {
+    when(request.evaluatePreconditions(any(Date.class), any(EntityTag.class)))
+        .thenReturn(Response.notModified());
+
+    Response response = FileContentResponses.download(file, request, null).build();
+
+    assertEquals(response.getStatus(), 304);
+    assertEquals(response.getEntity(), null);
+  }
+
+  @Test
+  public void shouldChangeEntityTagWhenFileIsChanged() throws Exception {
+    EntityTag before = FileContentResponses.entityTag(attributes());
+
+    Files.write(file, "changed content".getBytes(UTF_8));
+
+    assertNotEquals(FileContentResponses.entityTag(attributes()), before);
+  }
+
+  private EntityTag entityTag() throws Exception {
+    return FileContentResponses.entityTag(attributes());
+  }
+
+  private BasicFileAttributes attributes() throws Exception {
+    return Files.readAttributes(file, BasicFileAttributes.class);
+  }
+
+  private static String content(Response response) throws Exception {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(output);
+    return new String(output.toByteArray(), UTF_8);
+  }
+}
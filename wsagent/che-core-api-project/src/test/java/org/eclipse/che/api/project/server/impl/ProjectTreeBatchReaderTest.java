@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.stream.Collectors.toList;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.shared.dto.ItemReference;
+import org.eclipse.che.api.project.shared.dto.service.GetChildrenResponseDto;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ProjectTreeBatchReader} */
+@Listeners(MockitoTestNGListener.class)
+public class ProjectTreeBatchReaderTest {
+
+  @Mock private PathTransformer pathTransformer;
+  @Mock private ProjectManager projectManager;
+  @Mock private ProjectServiceVcsStatusInjector vcsStatusInjector;
+
+  private File rootDir;
+  private ProjectTreeBatchReader reader;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    rootDir = Files.createTempDir();
+    Path root = rootDir.toPath();
+    lenient()
+        .when(pathTransformer.transform(anyString()))
+        .thenAnswer(it -> root.resolve(it.<String>getArgument(0).substring(1)));
+    lenient()
+        .when(vcsStatusInjector.injectVcsStatus(anyList()))
+        .thenAnswer(it -> it.getArgument(0));
+
+    reader = new ProjectTreeBatchReader(100, pathTransformer, projectManager, vcsStatusInjector);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    FileUtils.deleteQuietly(rootDir);
+  }
+
+  @Test
+  public void shouldReturnSortedChildrenInBatches() throws Exception {
+    createFiles("dir", "c", "a", "b", "e", "d");
+    new File(rootDir, "dir/sub").mkdir();
+
+    GetChildrenResponseDto first = reader.read("/dir", true, 2, null);
+    GetChildrenResponseDto second = reader.read("/dir", true, 2, first.getContinuationToken());
+    GetChildrenResponseDto third = reader.read("/dir", true, 2, second.getContinuationToken());
+
+    assertEquals(names(first), Arrays.asList("a", "b"));
+    assertEquals(names(second), Arrays.asList("c", "d"));
+    assertEquals(names(third), Arrays.asList("e", "sub"));
+    assertNull(third.getContinuationToken());
+    assertEquals(third.getChildren().get(0).getType(), "file");
+    assertEquals(third.getChildren().get(0).getPath(), "/dir/e");
+    assertEquals(third.getChildren().get(1).getType(), "folder");
+    verify(vcsStatusInjector, times(3)).injectVcsStatus(anyList());
+  }
+
+  @Test
+  public void shouldReturnFoldersOnly() throws Exception {
+    createFiles("dir", "a", "c");
+    new File(rootDir, "dir/b").mkdir();
+    new File(rootDir, "dir/d").mkdir();
+
+    GetChildrenResponseDto response = reader.read("/dir", false, 10, null);
+
+    assertEquals(names(response), Arrays.asList("b", "d"));
+    assertNull(response.getContinuationToken());
+  }
+
+  @Test
+  public void shouldLimitBatchSize() throws Exception {
+    List<String> names = new ArrayList<>();
+    for (int i = 0; i < 150; i++) {
+      names.add(String.format("file%03d", i));
+    }
+    createFiles("dir", names.toArray(new String[0]));
+
+    GetChildrenResponseDto response = reader.read("/dir", true, 0, null);
+
+    assertEquals(response.getChildren().size(), 100);
+    assertEquals(response.getContinuationToken(), "file099");
+  }
+
+  @Test
+  public void shouldExcludeCheFolderOfRoot() throws Exception {
+    new File(rootDir, ".che").mkdir();
+    new File(rootDir, "project").mkdir();
+
+    GetChildrenResponseDto response = reader.read("/", false, 10, null);
+
+    assertEquals(names(response), Arrays.asList("project"));
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionIfFolderDoesNotExist() throws Exception {
+    reader.read("/missing", true, 10, null);
+  }
+
+  @Test
+  public void shouldReturnChildrenCreatedBetweenBatches() throws Exception {
+    createFiles("dir", "a", "b", "d");
+    File dir = new File(rootDir, "dir");
+    dir.setLastModified(1000);
+
+    GetChildrenResponseDto first = reader.read("/dir", true, 2, null);
+    new File(dir, "c").createNewFile();
+    new File(dir, "a").delete();
+    dir.setLastModified(2000);
+    GetChildrenResponseDto second = reader.read("/dir", true, 2, first.getContinuationToken());
+
+    assertEquals(names(first), Arrays.asList("a", "b"));
+    assertEquals(names(second), Arrays.asList("c", "d"));
+    assertNull(second.getContinuationToken());
+  }
+
+  @Test
+  public void shouldReadAllChildrenOfBigFolder() throws Exception {
+    int count = 5_000;
+    String[] names = new String[count];
+    for (int i = 0; i < count; i++) {
+      names[i] = "file" + i;
+    }
+    createFiles("big", names);
+    reader = new ProjectTreeBatchReader(100, pathTransformer, projectManager, vcsStatusInjector);
+
+    int read = 0;
+    int batches = 0;
+    String token = null;
+    do {
+      GetChildrenResponseDto response = reader.read("/big", true, 100, token);
+      read += response.getChildren().size();
+      token = response.getContinuationToken();
+      batches++;
+    } while (token != null);
+
+    assertEquals(read, count);
+    assertEquals(batches, count / 100);
+  }
+
+  private void createFiles(String dir, String... names) throws Exception {
+    File parent = new File(rootDir, dir);
+    parent.mkdirs();
+    for (String name : names) {
+      new File(parent, name).createNewFile();
+    }
+  }
+
+  private static List<String> names(GetChildrenResponseDto response) {
+    return response.getChildren().stream().map(ItemReference::getName).collect(toList());
+  }
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server.impl;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.che.api.core.ConflictException;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.HttpJsonRequestFactory;
+import org.eclipse.che.api.core.rest.HttpJsonResponse;
+import org.eclipse.che.api.project.shared.RegisteredProject;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsSyncDto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests for {@link WorkspaceProjectSynchronizer} */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceProjectSynchronizerTest {
+  private static final String API_ENDPOINT = "http://localhost/api";
+  private static final String WORKSPACE_ID = "workspace123";
+
+  @Mock private HttpJsonRequestFactory requestFactory;
+  @Mock private HttpJsonResponse workspaceResponse;
+  @Mock private HttpJsonResponse syncResponse;
+  @Mock private WorkspaceSyncCommunication workspaceSyncCommunication;
+  @Mock private ProjectConfigRegistry projectConfigRegistry;
+
+  @Captor private ArgumentCaptor<ProjectsSyncDto> changeCaptor;
+
+  private HttpJsonRequest workspaceRequest;
+  private HttpJsonRequest syncRequest;
+  private WorkspaceProjectSynchronizer synchronizer;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    workspaceRequest = mock(HttpJsonRequest.class, RETURNS_SELF);
+    syncRequest = mock(HttpJsonRequest.class, RETURNS_SELF);
+    lenient().when(requestFactory.fromUrl(contains("/project"))).thenReturn(syncRequest);
+    lenient()
+        .when(requestFactory.fromUrl(contains("includeInternalServers")))
+        .thenReturn(workspaceRequest);
+    lenient().when(workspaceRequest.request()).thenReturn(workspaceResponse);
+    lenient().when(syncRequest.request()).thenReturn(syncResponse);
+    lenient()
+        .when(syncResponse.asDto(ProjectsSyncDto.class))
+        .thenReturn(newDto(ProjectsSyncDto.class).withRevision("2"));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    if (synchronizer != null) {
+      synchronizer.stop();
+    }
+  }
+
+  @Test
+  public void shouldSendOnlyDifferenceOfProjects() throws Exception {
+    ProjectConfigDto unchanged = project("/unchanged");
+    when(workspaceResponse.asDto(WorkspaceDto.class))
+        .thenReturn(workspace("1", unchanged, project("/removed")));
+    RegisteredProject synced = registered("/unchanged", true);
+    RegisteredProject added = registered("/added", false);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(asList(synced, added)));
+    synchronizer = createSynchronizer(0);
+
+    synchronizer.synchronize();
+
+    verify(syncRequest).setBody(changeCaptor.capture());
+    ProjectsSyncDto change = changeCaptor.getValue();
+    assertEquals(change.getRevision(), "1");
+    assertEquals(paths(change.getUpdated()), singletonList("/added"));
+    assertEquals(change.getRemoved(), singletonList("/removed"));
+    verify(added).setSynced(true);
+    verify(workspaceSyncCommunication).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldNotSendAnythingWhenProjectsAreNotChanged() throws Exception {
+    when(workspaceResponse.asDto(WorkspaceDto.class))
+        .thenReturn(workspace("1", project("/unchanged")));
+    RegisteredProject synced = registered("/unchanged", true);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(singletonList(synced)));
+    synchronizer = createSynchronizer(0);
+
+    synchronizer.synchronize();
+
+    verify(syncRequest, never()).request();
+    verify(workspaceSyncCommunication, never()).synchronizeWorkspace();
+  }
+
+  @Test
+  public void shouldRebaseChangeOnRefetchedWorkspaceOnConflict() throws Exception {
+    when(workspaceResponse.asDto(WorkspaceDto.class))
+        .thenReturn(workspace("1", project("/removed")))
+        .thenReturn(workspace("3"));
+    RegisteredProject added = registered("/added", false);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(singletonList(added)));
+    when(syncRequest.request())
+        .thenThrow(new ConflictException("Workspace is updated"))
+        .thenReturn(syncResponse);
+    synchronizer = createSynchronizer(0);
+
+    synchronizer.synchronize();
+
+    verify(syncRequest, times(2)).setBody(changeCaptor.capture());
+    ProjectsSyncDto retried = changeCaptor.getAllValues().get(1);
+    assertEquals(retried.getRevision(), "3");
+    assertEquals(paths(retried.getUpdated()), singletonList("/added"));
+    assertEquals(retried.getRemoved(), emptyList());
+    verify(added).setSynced(true);
+  }
+
+  @Test(expectedExceptions = ServerException.class)
+  public void shouldFailWhenConflictRepeats() throws Exception {
+    when(workspaceResponse.asDto(WorkspaceDto.class)).thenReturn(workspace("1"));
+    RegisteredProject added = registered("/added", false);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(singletonList(added)));
+    when(syncRequest.request()).thenThrow(new ConflictException("Workspace is updated"));
+    synchronizer = createSynchronizer(0);
+
+    try {
+      synchronizer.synchronize();
+    } finally {
+      verify(added, never()).setSynced(true);
+    }
+  }
+
+  @Test
+  public void shouldCoalesceSyncRequestsMadeDuringDebouncePeriod() throws Exception {
+    when(workspaceResponse.asDto(WorkspaceDto.class)).thenReturn(workspace("1"));
+    RegisteredProject added = registered("/added", false);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(singletonList(added)));
+    synchronizer = createSynchronizer(100);
+
+    synchronizer.synchronize();
+    synchronizer.synchronize();
+    synchronizer.synchronize();
+
+    verify(added, timeout(2_000)).setSynced(true);
+    verify(syncRequest, after(300).times(1)).request();
+  }
+
+  @Test
+  public void shouldRetryFailedCoalescedSync() throws Exception {
+    when(workspaceResponse.asDto(WorkspaceDto.class)).thenReturn(workspace("1"));
+    RegisteredProject added = registered("/added", false);
+    when(projectConfigRegistry.getAll()).thenReturn(new HashSet<>(singletonList(added)));
+    when(syncRequest.request())
+        .thenThrow(new ServerException("Master is not available"))
+        .thenReturn(syncResponse);
+    synchronizer = createSynchronizer(10);
+
+    synchronizer.synchronize();
+
+    verify(syncRequest, timeout(2_000).times(2)).request();
+    verify(added, timeout(2_000)).setSynced(true);
+  }
+
+  private WorkspaceProjectSynchronizer createSynchronizer(long debounceMillis) throws Exception {
+    return new WorkspaceProjectSynchronizer(
+        API_ENDPOINT,
+        WORKSPACE_ID,
+        debounceMillis,
+        requestFactory,
+        workspaceSyncCommunication,
+        projectConfigRegistry);
+  }
+
+  private RegisteredProject registered(String path, boolean synced) {
+    RegisteredProject project = mock(RegisteredProject.class);
+    lenient().when(project.getPath()).thenReturn(path);
+    lenient().when(project.getName()).thenReturn(path.substring(1));
+    lenient().when(project.getType()).thenReturn("blank");
+    lenient().when(project.getMixins()).thenReturn(emptyList());
+    lenient().when(project.getPersistableAttributes()).thenReturn(emptyMap());
+    lenient().when(project.isSynced()).thenReturn(synced);
+    lenient().when(projectConfigRegistry.get(path)).thenReturn(Optional.of(project));
+    return project;
+  }
+
+  private static ProjectConfigDto project(String path) {
+    return newDto(ProjectConfigDto.class)
+        .withPath(path)
+        .withName(path.substring(1))
+        .withType("blank")
+        .withSource(newDto(SourceStorageDto.class));
+  }
+
+  private static WorkspaceDto workspace(String revision, ProjectConfigDto... projects) {
+    WorkspaceDto workspace =
+        newDto(WorkspaceDto.class)
+            .withId(WORKSPACE_ID)
+            .withConfig(newDto(WorkspaceConfigDto.class).withProjects(asList(projects)));
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, revision);
+    return workspace;
+  }
+
+  private static List<String> paths(List<ProjectConfigDto> projects) {
+    return projects.stream().map(ProjectConfigDto::getPath).collect(toList());
+  }
+}
@@ -13,7 +13,9 @@ package org.eclipse.che.api.watcher.server.impl;
 
 import static java.io.File.createTempFile;
 import static java.lang.Thread.sleep;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static org.apache.commons.io.FileUtils.write;
+import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
@@ -44,6 +46,7 @@ public class FileTreeWalkerTest {
 
   @Rule public TemporaryFolder rootFolder = new TemporaryFolder();
 
+  FileWatcherEventHandler fileWatcherEventHandler;
   FileTreeWalker fileTreeWalker;
 
   Set<Consumer<Path>> directoryCreateConsumers = new HashSet<>();
@@ -66,17 +69,24 @@ public class FileTreeWalkerTest {
 
   @Before
   public void setUp() throws Exception {
-    fileTreeWalker =
-        new FileTreeWalker(
-            new DummyRootProvider(rootFolder.getRoot()),
-            directoryUpdateConsumers,
-            directoryCreateConsumers,
-            directoryDeleteConsumers,
-            directoryExcludes,
-            fileUpdateConsumers,
-            fileCreateConsumers,
-            fileDeleteConsumers,
-            fileExcludes);
+    fileWatcherEventHandler =
+        new FileWatcherEventHandler(new DummyRootProvider(rootFolder.getRoot()));
+    fileTreeWalker = newFileTreeWalker(1);
+  }
+
+  private FileTreeWalker newFileTreeWalker(int fullWalkPasses) {
+    return new FileTreeWalker(
+        new DummyRootProvider(rootFolder.getRoot()),
+        fileWatcherEventHandler,
+        fullWalkPasses,
+        directoryUpdateConsumers,
+        directoryCreateConsumers,
+        directoryDeleteConsumers,
+        directoryExcludes,
+        fileUpdateConsumers,
+        fileCreateConsumers,
+        fileDeleteConsumers,
+        fileExcludes);
   }
 
   @After
@@ -223,6 +233,111 @@ public class FileTreeWalkerTest {
     verify(fileCreatedConsumerMock, never()).accept(file.toPath());
   }
 
+  @Test
+  public void shouldDetectFileCreatedByDirectoryModificationTimeInIncrementalWalk()
+      throws Exception {
+    fileCreateConsumers.add(fileCreatedConsumerMock);
+    fileTreeWalker = newFileTreeWalker(Integer.MAX_VALUE);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    fileTreeWalker.initialize();
+
+    sleep(FS_LATENCY_DELAY);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.walk();
+
+    verify(fileCreatedConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldDetectDirectoryDeletedWithItsContentInIncrementalWalk() throws Exception {
+    fileDeleteConsumers.add(fileDeleteConsumerMock);
+    directoryDeleteConsumers.add(directoryDeleteConsumerMock);
+    fileTreeWalker = newFileTreeWalker(Integer.MAX_VALUE);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File file = new File(folder, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.initialize();
+
+    sleep(FS_LATENCY_DELAY);
+    file.delete();
+    folder.delete();
+    fileTreeWalker.walk();
+
+    verify(fileDeleteConsumerMock).accept(file.toPath());
+    verify(directoryDeleteConsumerMock).accept(folder.toPath());
+  }
+
+  @Test
+  public void shouldDetectFileUpdateReportedByFileWatcherInIncrementalWalk() throws Exception {
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    fileTreeWalker = newFileTreeWalker(Integer.MAX_VALUE);
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.initialize();
+
+    sleep(FS_LATENCY_DELAY);
+    write(file, TEST_FILE_CONTENT);
+    fileTreeWalker.walk();
+    verify(fileUpdateConsumerMock, never()).accept(file.toPath());
+
+    fileWatcherEventHandler.handle(file.toPath(), ENTRY_MODIFY);
+    fileTreeWalker.walk();
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldDetectFileUpdateInReconciliationWalk() throws Exception {
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    fileTreeWalker = newFileTreeWalker(2);
+    File file = rootFolder.newFile(TEST_FILE_NAME);
+    fileTreeWalker.initialize();
+
+    sleep(FS_LATENCY_DELAY);
+    write(file, TEST_FILE_CONTENT);
+    fileTreeWalker.walk();
+    verify(fileUpdateConsumerMock, never()).accept(file.toPath());
+
+    fileTreeWalker.walk();
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldDetectNestedFileOverwrittenWhileSubtreeWasSuspended() throws Exception {
+    fileUpdateConsumers.add(fileUpdateConsumerMock);
+    fileTreeWalker = newFileTreeWalker(Integer.MAX_VALUE);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    File nested = new File(folder, TEST_FOLDER_NAME);
+    nested.mkdir();
+    File file = new File(nested, TEST_FILE_NAME);
+    file.createNewFile();
+    fileTreeWalker.initialize();
+
+    // e.g. an archive is imported over the existing project
+    fileTreeWalker.suspend(folder.toPath());
+    sleep(FS_LATENCY_DELAY);
+    write(file, TEST_FILE_CONTENT);
+    fileTreeWalker.walk();
+    fileTreeWalker.resume(folder.toPath());
+    verify(fileUpdateConsumerMock, never()).accept(file.toPath());
+
+    fileTreeWalker.walk();
+    verify(fileUpdateConsumerMock).accept(file.toPath());
+  }
+
+  @Test
+  public void shouldExamineOnlyDirectoriesInIncrementalWalkWhenNothingChanged() throws Exception {
+    fileTreeWalker = newFileTreeWalker(Integer.MAX_VALUE);
+    File folder = rootFolder.newFolder(TEST_FOLDER_NAME);
+    for (int i = 0; i < 10; i++) {
+      new File(folder, TEST_FILE_NAME + i).createNewFile();
+    }
+    fileTreeWalker.initialize();
+
+    fileTreeWalker.walk();
+
+    assertEquals(2, fileTreeWalker.getLastWalkExamined());
+  }
+
   private static class DummyRootProvider extends RootDirPathProvider {
 
     public DummyRootProvider(File folder) {
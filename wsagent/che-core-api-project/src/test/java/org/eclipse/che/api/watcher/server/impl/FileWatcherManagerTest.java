@@ -11,13 +11,20 @@
  */
 package org.eclipse.che.api.watcher.server.impl;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toNormalPath;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.function.Consumer;
+import org.eclipse.che.api.fs.server.FsChangeSet;
 import org.eclipse.che.api.project.server.impl.RootDirPathProvider;
 import org.eclipse.che.api.watcher.server.FileWatcherManager;
 import org.junit.Before;
@@ -40,6 +47,7 @@ public class FileWatcherManagerTest {
   @Mock FileWatcherByPathMatcher fileWatcherByPathMatcher;
   @Mock FileWatcherExcludePatternsRegistry fileWatcherExcludePatternsRegistry;
   @Mock FileWatcherService service;
+  @Mock FileWatcherEventHandler fileWatcherEventHandler;
 
   FileWatcherManager manager;
 
@@ -57,7 +65,8 @@ public class FileWatcherManagerTest {
             pathProvider,
             fileWatcherByPathValue,
             fileWatcherByPathMatcher,
-            fileWatcherExcludePatternsRegistry);
+            fileWatcherExcludePatternsRegistry,
+            fileWatcherEventHandler);
   }
 
   @Test
@@ -89,4 +98,60 @@ public class FileWatcherManagerTest {
 
     verify(fileWatcherByPathMatcher).unwatch(ID);
   }
+
+  @Test
+  public void shouldDispatchDeletionToOperationsOfNestedItems() throws Exception {
+    FileWatcherEventHandler eventHandler = new FileWatcherEventHandler(pathProvider);
+    manager =
+        new SimpleFileWatcherManager(
+            pathProvider,
+            fileWatcherByPathValue,
+            fileWatcherByPathMatcher,
+            fileWatcherExcludePatternsRegistry,
+            eventHandler);
+    Path root = rootFolder.getRoot().toPath();
+    Path nested = toNormalPath(root, "/project/dir/file");
+    eventHandler.register(nested, create, modify, delete);
+
+    manager.dispatch(new FsChangeSet(emptySet(), emptySet(), singleton("/project/dir")));
+
+    verify(delete).accept("/project/dir/file");
+    verify(fileWatcherByPathMatcher).accept(nested);
+  }
+
+  @Test
+  public void shouldDispatchCreationToOperationsOfNestedItems() throws Exception {
+    FileWatcherEventHandler eventHandler = new FileWatcherEventHandler(pathProvider);
+    manager =
+        new SimpleFileWatcherManager(
+            pathProvider,
+            fileWatcherByPathValue,
+            fileWatcherByPathMatcher,
+            fileWatcherExcludePatternsRegistry,
+            eventHandler);
+    Path root = rootFolder.getRoot().toPath();
+    rootFolder.newFolder("project", "moved");
+    rootFolder.newFile("project/moved/existing");
+    eventHandler.register(toNormalPath(root, "/project/moved/existing"), create, modify, delete);
+    eventHandler.register(toNormalPath(root, "/project/moved/missing"), create, modify, delete);
+
+    manager.dispatch(new FsChangeSet(singleton("/project/moved"), emptySet(), emptySet()));
+
+    verify(create).accept("/project/moved/existing");
+    verify(create, never()).accept("/project/moved/missing");
+    verify(fileWatcherByPathMatcher).acceptTree(toNormalPath(root, "/project/moved"));
+  }
+
+  @Test
+  public void shouldDispatchChangeSetToEventHandler() throws Exception {
+    FsChangeSet changes =
+        new FsChangeSet(singleton("/created"), singleton("/updated"), singleton("/deleted"));
+
+    manager.dispatch(changes);
+
+    Path root = rootFolder.getRoot().toPath();
+    verify(fileWatcherEventHandler).handle(toNormalPath(root, "/created"), ENTRY_CREATE);
+    verify(fileWatcherEventHandler).handle(toNormalPath(root, "/updated"), ENTRY_MODIFY);
+    verify(fileWatcherEventHandler).handle(toNormalPath(root, "/deleted"), ENTRY_DELETE);
+  }
 }
@@ -12,15 +12,23 @@
 package org.eclipse.che.api.watcher.server.impl;
 
 import static java.nio.file.Files.createDirectory;
+import static java.nio.file.Files.createTempFile;
+import static java.nio.file.Files.move;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
 import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
 import static org.apache.commons.io.FileUtils.write;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.UPDATE_TMP_SUFFIX;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toUpdateTmpPrefix;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import java.io.File;
@@ -123,6 +131,24 @@ public class FileWatcherServiceTest {
     verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_MODIFY);
   }
 
+  @Test
+  public void shouldReportFileReplacedWithTemporaryUpdateFileAsModified() throws Exception {
+    service.register(rootFolder.getRoot().toPath());
+
+    File file = rootFolder.newFile(FILE_NAME);
+    Path path = file.toPath();
+    verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_CREATE);
+
+    Path tmp = createTempFile(path.getParent(), toUpdateTmpPrefix(FILE_NAME), UPDATE_TMP_SUFFIX);
+    write(tmp.toFile(), "content");
+    move(tmp, path, ATOMIC_MOVE, REPLACE_EXISTING);
+
+    verify(handler, timeout(TIMEOUT_VALUE)).handle(path, ENTRY_MODIFY);
+    verify(handler, after(TIMEOUT_VALUE).never()).handle(tmp, ENTRY_CREATE);
+    verify(handler, never()).handle(tmp, ENTRY_DELETE);
+    verify(handler, times(1)).handle(path, ENTRY_CREATE);
+  }
+
   @Test
   public void shouldWatchRegisteredFolderForFolderRemoval() throws Exception {
     service.register(rootFolder.getRoot().toPath());
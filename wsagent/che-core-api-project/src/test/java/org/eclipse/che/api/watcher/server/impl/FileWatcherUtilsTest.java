@@ -12,11 +12,15 @@
 package org.eclipse.che.api.watcher.server.impl;
 
 import static java.util.Collections.singleton;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.UPDATE_TMP_SUFFIX;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.getUpdatedByTmp;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.isExcluded;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toInternalPath;
 import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toNormalPath;
+import static org.eclipse.che.api.watcher.server.impl.FileWatcherUtils.toUpdateTmpPrefix;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
 
@@ -56,6 +60,22 @@ public class FileWatcherUtilsTest {
     assertEquals(expected, actual);
   }
 
+  @Test
+  public void shouldGetFileUpdatedByTemporaryFile() throws Exception {
+    Path tmp = root.resolve(toUpdateTmpPrefix("pom.xml") + "4242" + UPDATE_TMP_SUFFIX);
+
+    Path actual = getUpdatedByTmp(tmp);
+
+    assertEquals(root.resolve("pom.xml"), actual);
+  }
+
+  @Test
+  public void shouldNotGetUpdatedFileOfRegularFile() throws Exception {
+    assertNull(getUpdatedByTmp(root.resolve("pom.xml")));
+    assertNull(getUpdatedByTmp(root.resolve(".gitignore")));
+    assertNull(getUpdatedByTmp(root.resolve("." + UPDATE_TMP_SUFFIX)));
+  }
+
   @Test
   public void shouldBeExcluded() throws Exception {
     PathMatcher matcher = Mockito.mock(PathMatcher.class);
@@ -63,6 +63,7 @@ import java.net.URISyntaxException;
 import java.nio.file.attribute.PosixFilePermission;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
@@ -196,6 +197,7 @@ import org.eclipse.jgit.merge.ResolveMerger;
 import org.eclipse.jgit.merge.ResolveMerger.MergeFailureReason;
 import org.eclipse.jgit.revwalk.RevCommit;
 import org.eclipse.jgit.revwalk.RevObject;
+import org.eclipse.jgit.revwalk.RevSort;
 import org.eclipse.jgit.revwalk.RevTag;
 import org.eclipse.jgit.revwalk.RevTree;
 import org.eclipse.jgit.revwalk.RevWalk;
@@ -1016,10 +1018,19 @@ class JGitConnection implements GitConnection {
       }
       Iterator<RevCommit> revIterator = logCommand.call().iterator();
       List<Revision> commits = new ArrayList<>();
-      while (revIterator.hasNext()) {
-        RevCommit commit = revIterator.next();
-        Revision revision = getRevision(commit, filePath);
-        commits.add(revision);
+      if (params.isHeadersOnly()) {
+        List<RevCommit> revCommits = new ArrayList<>();
+        revIterator.forEachRemaining(revCommits::add);
+        Map<ObjectId, List<Branch>> branches = getBranchesOfCommits(revCommits);
+        for (RevCommit commit : revCommits) {
+          commits.add(getRevisionHeader(commit).withBranches(branches.get(commit)));
+        }
+      } else {
+        while (revIterator.hasNext()) {
+          RevCommit commit = revIterator.next();
+          Revision revision = getRevision(commit, filePath);
+          commits.add(revision);
+        }
       }
       return new LogPage(commits);
     } catch (GitAPIException | IOException exception) {
@@ -1033,8 +1044,28 @@ class JGitConnection implements GitConnection {
     }
   }
 
+  @Override
+  public List<DiffCommitFile> getCommitDiffFiles(String commit, String filePath)
+      throws GitException {
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      ObjectId commitId = repository.resolve(commit);
+      if (commitId == null) {
+        throw new GitException(format("Commit '%s' is not found", commit));
+      }
+      return getCommitDiffFiles(revWalk.parseCommit(commitId), filePath);
+    } catch (IOException exception) {
+      throw new GitException(exception.getMessage(), exception);
+    }
+  }
+
   private Revision getRevision(RevCommit commit, String filePath)
       throws GitAPIException, IOException {
+    return getRevisionHeader(commit)
+        .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
+        .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+  }
+
+  private Revision getRevisionHeader(RevCommit commit) {
     List<String> commitParentsList =
         Stream.of(commit.getParents()).map(RevCommit::getName).collect(Collectors.toList());
 
@@ -1044,9 +1075,7 @@ class JGitConnection implements GitConnection {
         .withCommitTime((long) commit.getCommitTime() * 1000)
         .withCommitter(getCommitCommitter(commit))
         .withAuthor(getCommitAuthor(commit))
-        .withBranches(getBranchesOfCommit(commit, ListMode.ALL))
-        .withCommitParent(commitParentsList)
-        .withDiffCommitFile(getCommitDiffFiles(commit, filePath));
+        .withCommitParent(commitParentsList);
   }
 
   private GitUser getCommitCommitter(RevCommit commit) {
@@ -1072,6 +1101,65 @@ class JGitConnection implements GitConnection {
         .collect(toList());
   }
 
+  /**
+   * Returns branches that contain each of the given commits. Unlike {@link #getBranchesOfCommit}
+   * that walks the history once per each commit and branch, branches of all the commits are
+   * resolved by a single topologically sorted walk from the branch heads, which propagates the set
+   * of branches reaching a commit to its parents. Note that topological sorting makes the walk
+   * load the whole history reachable from the heads before the first commit is returned, so
+   * stopping once all the given commits are visited only saves the propagation of the rest.
+   */
+  private Map<ObjectId, List<Branch>> getBranchesOfCommits(List<RevCommit> commits)
+      throws GitAPIException, IOException {
+    Map<ObjectId, List<Branch>> result = new HashMap<>();
+    commits.forEach(commit -> result.put(commit.copy(), new ArrayList<>()));
+    if (result.isEmpty()) {
+      return result;
+    }
+
+    List<Ref> branches = getGit().branchList().setListMode(ListMode.ALL).call();
+    try (RevWalk revWalk = new RevWalk(repository)) {
+      revWalk.sort(RevSort.TOPO);
+
+      Map<RevCommit, BitSet> reachedBy = new HashMap<>();
+      for (int i = 0; i < branches.size(); i++) {
+        ObjectId branchHead = branches.get(i).getObjectId();
+        if (branchHead == null) {
+          continue;
+        }
+        RevObject object = revWalk.peel(revWalk.parseAny(branchHead));
+        if (object instanceof RevCommit) {
+          reachedBy.computeIfAbsent((RevCommit) object, it -> new BitSet()).set(i);
+          revWalk.markStart((RevCommit) object);
+        }
+      }
+
+      int remaining = result.size();
+      for (RevCommit commit : revWalk) {
+        // topological order guarantees that all the children are already visited
+        BitSet commitBranches = reachedBy.remove(commit);
+        if (commitBranches == null) {
+          commitBranches = new BitSet();
+        }
+        for (RevCommit parent : commit.getParents()) {
+          reachedBy.computeIfAbsent(parent, it -> new BitSet()).or(commitBranches);
+        }
+
+        List<Branch> commitBranchList = result.get(commit);
+        if (commitBranchList != null) {
+          commitBranches
+              .stream()
+              .mapToObj(i -> newDto(Branch.class).withName(branches.get(i).getName()))
+              .forEach(commitBranchList::add);
+          if (--remaining == 0) {
+            break;
+          }
+        }
+      }
+    }
+    return result;
+  }
+
   private List<DiffCommitFile> getCommitDiffFiles(RevCommit revCommit, String pattern)
       throws IOException {
     List<DiffEntry> diffs;
@@ -13,7 +13,6 @@
 package org.eclipse.che.git.impl.jgit;
 
 import java.io.File;
-import java.io.IOException;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import javax.inject.Inject;
@@ -28,8 +27,6 @@ import org.eclipse.che.api.git.GitConnectionFactory;
 import org.eclipse.che.api.git.GitUserResolver;
 import org.eclipse.che.api.git.exception.GitException;
 import org.eclipse.che.plugin.ssh.key.script.SshKeyProvider;
-import org.eclipse.jgit.internal.storage.file.FileRepository;
-import org.eclipse.jgit.lib.Constants;
 import org.eclipse.jgit.lib.Repository;
 import org.eclipse.jgit.transport.UserAgent;
 
@@ -46,18 +43,21 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   private final SshKeyProvider sshKeyProvider;
   private final EventService eventService;
   private final GitUserResolver userResolver;
+  private final JGitRepositoryCache repositoryCache;
 
   @Inject
   public JGitConnectionFactory(
       CredentialsLoader credentialsLoader,
       SshKeyProvider sshKeyProvider,
       EventService eventService,
-      GitUserResolver userResolver)
+      GitUserResolver userResolver,
+      JGitRepositoryCache repositoryCache)
       throws GitException {
     this.credentialsLoader = credentialsLoader;
     this.sshKeyProvider = sshKeyProvider;
     this.eventService = eventService;
     this.userResolver = userResolver;
+    this.repositoryCache = repositoryCache;
 
     UserAgent.set(USER_AGENT);
     // Install the all-trusting trust manager
@@ -88,21 +88,13 @@ public class JGitConnectionFactory extends GitConnectionFactory {
   @Override
   public JGitConnection getConnection(File workDir, LineConsumerFactory outputPublisherFactory)
       throws GitException {
-    Repository gitRepo = createRepository(workDir);
+    Repository gitRepo = repositoryCache.acquire(workDir);
     JGitConnection conn =
         new JGitConnection(gitRepo, credentialsLoader, sshKeyProvider, eventService, userResolver);
     conn.setOutputLineConsumerFactory(outputPublisherFactory);
     return conn;
   }
 
-  private static Repository createRepository(File workDir) throws GitException {
-    try {
-      return new FileRepository(new File(workDir, Constants.DOT_GIT));
-    } catch (IOException e) {
-      throw new GitException(e.getMessage(), e);
-    }
-  }
-
   @Override
   public CredentialsLoader getCredentialsLoader() {
     return credentialsLoader;
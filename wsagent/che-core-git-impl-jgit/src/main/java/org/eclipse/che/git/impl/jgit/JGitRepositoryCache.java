@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static java.nio.file.Files.isDirectory;
+import static org.eclipse.jgit.lib.Constants.DOT_GIT;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.fs.server.PathTransformer;
+import org.eclipse.che.api.git.exception.GitException;
+import org.eclipse.che.api.watcher.server.FileWatcherManager;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.storage.file.WindowCacheConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps opened JGit repositories keyed by working directory, so pack indexes, configs and refs are
+ * not reloaded on each git connection. Cache is bounded, least recently used repositories are
+ * evicted when the size limit is reached.
+ *
+ * <p>Repositories are reference counted: the cache holds one reference to each cached repository
+ * and each {@link #acquire(File)} call adds one more, which is released when corresponding {@link
+ * JGitConnection} is closed. Cached repository is dropped when its {@code .git} directory is
+ * created or deleted, which is detected both with the file watcher and by comparing file key of
+ * the {@code .git} directory on each acquire.
+ *
+ * <p>Pack file windows are shared between all repositories via JGit window cache which is
+ * configured once on cache creation.
+ */
+@Singleton
+public class JGitRepositoryCache {
+  private static final Logger LOG = LoggerFactory.getLogger(JGitRepositoryCache.class);
+
+  private static final int MB = 1024 * 1024;
+
+  private final Map<Path, CachedRepository> repositories;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  private FileWatcherManager fileWatcherManager;
+  private int watcherId;
+
+  @Inject
+  public JGitRepositoryCache(
+      @Named("che.git.repository_cache.max_size") int maxSize,
+      @Named("che.git.window_cache.packed_git_limit_mb") int packedGitLimitMb,
+      @Named("che.git.window_cache.packed_git_open_files") int packedGitOpenFiles) {
+    this.repositories =
+        new LinkedHashMap<Path, CachedRepository>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<Path, CachedRepository> eldest) {
+            if (size() > maxSize) {
+              LOG.debug("Evicting repository '{}' from cache", eldest.getKey());
+              eldest.getValue().repository.close();
+              return true;
+            }
+            return false;
+          }
+        };
+
+    WindowCacheConfig windowCacheConfig = new WindowCacheConfig();
+    windowCacheConfig.setPackedGitLimit((long) packedGitLimitMb * MB);
+    windowCacheConfig.setPackedGitOpenFiles(packedGitOpenFiles);
+    windowCacheConfig.install();
+  }
+
+  @Inject
+  void registerWatcher(FileWatcherManager fileWatcherManager, PathTransformer pathTransformer) {
+    Consumer<String> invalidate = it -> invalidate(pathTransformer.transform(it).getParent());
+    PathMatcher gitDirMatcher =
+        it -> it.getFileName() != null && DOT_GIT.equals(it.getFileName().toString());
+
+    this.fileWatcherManager = fileWatcherManager;
+    this.watcherId =
+        fileWatcherManager.registerByMatcher(gitDirMatcher, invalidate, it -> {}, invalidate);
+  }
+
+  /**
+   * Returns repository located in the given working directory. Caller is responsible for closing
+   * returned repository once it is not needed anymore.
+   *
+   * @param workDir repository working directory
+   * @return repository
+   * @throws GitException if repository can't be opened
+   */
+  public Repository acquire(File workDir) throws GitException {
+    Path key = workDir.toPath().toAbsolutePath().normalize();
+    File gitDir = new File(workDir, DOT_GIT);
+    Object gitDirKey = getGitDirKey(gitDir.toPath());
+
+    if (gitDirKey == null) {
+      // not a repository yet, e.g. it is going to be initialized or cloned
+      invalidate(key);
+      return open(gitDir);
+    }
+
+    synchronized (repositories) {
+      CachedRepository cached = repositories.get(key);
+      if (cached != null && cached.gitDirKey.equals(gitDirKey)) {
+        hits.incrementAndGet();
+        cached.repository.incrementOpen();
+        return cached.repository;
+      }
+
+      if (cached != null) {
+        repositories.remove(key);
+        cached.repository.close();
+      }
+
+      misses.incrementAndGet();
+      Repository repository = open(gitDir);
+      repositories.put(key, new CachedRepository(repository, gitDirKey));
+      repository.incrementOpen();
+      return repository;
+    }
+  }
+
+  /**
+   * Drops repository located in the given working directory from the cache.
+   *
+   * @param workDir repository working directory
+   */
+  public void invalidate(Path workDir) {
+    Path key = workDir.toAbsolutePath().normalize();
+    CachedRepository cached;
+    synchronized (repositories) {
+      cached = repositories.remove(key);
+    }
+
+    if (cached != null) {
+      LOG.debug("Repository '{}' is removed from cache", key);
+      cached.repository.close();
+    }
+  }
+
+  /** Returns number of repositories that are currently opened by the cache. */
+  public int getOpenRepositories() {
+    synchronized (repositories) {
+      return repositories.size();
+    }
+  }
+
+  /** Returns ratio of acquire calls served from the cache. */
+  public double getHitRate() {
+    long hitCount = hits.get();
+    long total = hitCount + misses.get();
+    return total == 0 ? 0 : (double) hitCount / total;
+  }
+
+  @PreDestroy
+  void close() {
+    if (fileWatcherManager != null) {
+      fileWatcherManager.unRegisterByMatcher(watcherId);
+    }
+
+    List<CachedRepository> cached;
+    synchronized (repositories) {
+      cached = new ArrayList<>(repositories.values());
+      repositories.clear();
+    }
+    cached.forEach(it -> it.repository.close());
+  }
+
+  private static Repository open(File gitDir) throws GitException {
+    try {
+      return new FileRepository(gitDir);
+    } catch (IOException e) {
+      throw new GitException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Returns an object that identifies {@code .git} directory on the file system, so its removal
+   * and creation at the same path can be detected, or {@code null} if there is no such directory.
+   */
+  private static Object getGitDirKey(Path gitDir) {
+    if (!isDirectory(gitDir)) {
+      return null;
+    }
+
+    try {
+      BasicFileAttributes attributes = Files.readAttributes(gitDir, BasicFileAttributes.class);
+      return attributes.fileKey() != null ? attributes.fileKey() : attributes.creationTime();
+    } catch (NoSuchFileException e) {
+      return null;
+    } catch (IOException e) {
+      LOG.debug("Can't read attributes of '{}'", gitDir, e);
+      return null;
+    }
+  }
+
+  private static class CachedRepository {
+    final Repository repository;
+    final Object gitDirKey;
+
+    CachedRepository(Repository repository, Object gitDirKey) {
+      this.repository = repository;
+      this.gitDirKey = gitDirKey;
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.git.impl.jgit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
+
+import java.io.File;
+import java.nio.file.Files;
+import org.eclipse.jgit.internal.storage.file.FileRepository;
+import org.eclipse.jgit.lib.Repository;
+import org.eclipse.jgit.util.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Test for {@link JGitRepositoryCache} */
+public class JGitRepositoryCacheTest {
+
+  private File root;
+  private JGitRepositoryCache cache;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("repository-cache").toFile();
+    cache = new JGitRepositoryCache(2, 10, 128);
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    cache.close();
+    FileUtils.delete(root, FileUtils.RECURSIVE | FileUtils.IGNORE_ERRORS);
+  }
+
+  @Test
+  public void shouldReturnCachedRepository() throws Exception {
+    File workDir = createRepository("project");
+
+    Repository first = cache.acquire(workDir);
+    Repository second = cache.acquire(workDir);
+
+    assertSame(first, second);
+    assertEquals(cache.getOpenRepositories(), 1);
+    assertEquals(cache.getHitRate(), 0.5);
+  }
+
+  @Test
+  public void shouldNotCacheRepositoryWithoutGitDirectory() throws Exception {
+    File workDir = new File(root, "project");
+    workDir.mkdirs();
+
+    Repository first = cache.acquire(workDir);
+    Repository second = cache.acquire(workDir);
+
+    assertNotSame(first, second);
+    assertEquals(cache.getOpenRepositories(), 0);
+  }
+
+  @Test
+  public void shouldReopenRepositoryWhenGitDirectoryIsRecreated() throws Exception {
+    File workDir = createRepository("project");
+    Repository first = cache.acquire(workDir);
+
+    FileUtils.delete(new File(workDir, ".git"), FileUtils.RECURSIVE);
+    createRepository("project");
+    Repository second = cache.acquire(workDir);
+
+    assertNotSame(first, second);
+    assertEquals(cache.getOpenRepositories(), 1);
+  }
+
+  @Test
+  public void shouldReopenRepositoryWhenItIsInvalidated() throws Exception {
+    File workDir = createRepository("project");
+    Repository first = cache.acquire(workDir);
+
+    cache.invalidate(workDir.toPath());
+    Repository second = cache.acquire(workDir);
+
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedRepository() throws Exception {
+    File project1 = createRepository("project1");
+    File project2 = createRepository("project2");
+    File project3 = createRepository("project3");
+
+    Repository first = cache.acquire(project1);
+    cache.acquire(project2);
+    cache.acquire(project1);
+    cache.acquire(project3);
+
+    assertEquals(cache.getOpenRepositories(), 2);
+    assertSame(cache.acquire(project1), first);
+  }
+
+  private File createRepository(String name) throws Exception {
+    File workDir = new File(root, name);
+    workDir.mkdirs();
+    try (Repository repository = new FileRepository(new File(workDir, ".git"))) {
+      repository.create();
+    }
+    return workDir;
+  }
+}
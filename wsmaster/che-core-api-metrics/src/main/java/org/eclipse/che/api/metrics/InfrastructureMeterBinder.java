@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static org.eclipse.che.api.metrics.WorkspaceBinders.withStandardTags;
+import static org.eclipse.che.api.metrics.WorkspaceBinders.workspaceMetric;
+
+import com.google.inject.Singleton;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
+
+/**
+ * Publishes the measurements of the infrastructure components as workspace metrics. Measurements
+ * made before the binder is bound to the registry are discarded.
+ */
+@Singleton
+public class InfrastructureMeterBinder extends InfrastructureMetrics implements MeterBinder {
+
+  private volatile MeterRegistry registry;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public void recordTime(String name, long duration, TimeUnit unit, String... tags) {
+    MeterRegistry registry = this.registry;
+    if (registry != null) {
+      Timer.builder(workspaceMetric(name))
+          .tags(withStandardTags(tags))
+          .register(registry)
+          .record(duration, unit);
+    }
+  }
+
+  @Override
+  public void increment(String name, double amount, String... tags) {
+    MeterRegistry registry = this.registry;
+    if (registry != null) {
+      Counter.builder(workspaceMetric(name))
+          .tags(withStandardTags(tags))
+          .register(registry)
+          .increment(amount);
+    }
+  }
+
+  @Override
+  public void recordAmount(String name, double amount, String... tags) {
+    MeterRegistry registry = this.registry;
+    if (registry != null) {
+      DistributionSummary.builder(workspaceMetric(name))
+          .tags(withStandardTags(tags))
+          .register(registry)
+          .record(amount);
+    }
+  }
+}
@@ -14,6 +14,7 @@ package org.eclipse.che.api.metrics;
 import com.google.inject.AbstractModule;
 import com.google.inject.multibindings.Multibinder;
 import io.micrometer.core.instrument.binder.MeterBinder;
+import org.eclipse.che.api.workspace.server.spi.InfrastructureMetrics;
 
 /**
  * A Guice module to bind all our metric binders to a single multi-binder. The set of all metric
@@ -28,5 +29,8 @@ public class WsMasterMetricsModule extends AbstractModule {
 
     meterMultibinder.addBinding().to(WorkspaceActivityMeterBinder.class);
     meterMultibinder.addBinding().to(WorkspaceFailureMeterBinder.class);
+    meterMultibinder.addBinding().to(InfrastructureMeterBinder.class);
+
+    bind(InfrastructureMetrics.class).to(InfrastructureMeterBinder.class);
   }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.metrics;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class InfrastructureMeterBinderTest {
+
+  private MeterRegistry registry;
+  private InfrastructureMeterBinder meterBinder;
+
+  @BeforeMethod
+  public void setup() {
+    registry = new SimpleMeterRegistry();
+    meterBinder = new InfrastructureMeterBinder();
+  }
+
+  @Test
+  public void shouldDiscardMeasurementsMadeBeforeBinding() {
+    meterBinder.increment("cache.reads", 1, "result", "hit");
+
+    meterBinder.bindTo(registry);
+
+    assertNull(registry.find("che.workspace.cache.reads").counter());
+  }
+
+  @Test
+  public void shouldPublishMeasurementsAsWorkspaceMetrics() {
+    meterBinder.bindTo(registry);
+
+    meterBinder.recordTime("start.phase", 10, MILLISECONDS, "phase", "services");
+    meterBinder.recordTime("start.phase", 30, MILLISECONDS, "phase", "services");
+    meterBinder.increment("cache.reads", 1, "result", "hit");
+    meterBinder.increment("cache.reads", 2, "result", "hit");
+    meterBinder.recordAmount("jobs.requests", 3);
+
+    Timer timer =
+        registry
+            .find("che.workspace.start.phase")
+            .tags("area", "workspace", "phase", "services")
+            .timer();
+    assertEquals(timer.count(), 2);
+    assertEquals(timer.totalTime(MILLISECONDS), 40.0);
+    assertEquals(
+        registry
+            .find("che.workspace.cache.reads")
+            .tags("area", "workspace", "result", "hit")
+            .counter()
+            .count(),
+        3.0);
+    assertEquals(registry.find("che.workspace.jobs.requests").summary().totalAmount(), 3.0);
+  }
+}
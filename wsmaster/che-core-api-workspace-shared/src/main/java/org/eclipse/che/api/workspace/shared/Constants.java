@@ -61,6 +61,11 @@ public final class Constants {
    * Workspace#getAttributes}
    */
   public static final String UPDATED_ATTRIBUTE_NAME = "updated";
+  /**
+   * Describes the number of workspace updates, incremented by the storage on each update. Should
+   * be read from {@link Workspace#getAttributes}
+   */
+  public static final String REVISION_ATTRIBUTE_NAME = "revision";
   /**
    * Describes time when workspace was last stopped. Should be set/read from {@link
    * Workspace#getAttributes}
@@ -140,6 +145,12 @@ public final class Constants {
 
   public static final String RUNTIME_LOG_METHOD = "runtime/log";
 
+  /**
+   * Parameter of {@link #RUNTIME_LOG_METHOD} subscription scope, when it is {@code true} the recent
+   * logs of the workspace runtime are sent to the subscriber once it is subscribed.
+   */
+  public static final String RUNTIME_LOG_TAIL_SCOPE_PARAM = "tail";
+
   /**
    * JSON RPC methods for listening to machine logs.
    *
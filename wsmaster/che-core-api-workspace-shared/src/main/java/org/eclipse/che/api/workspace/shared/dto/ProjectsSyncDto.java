@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.shared.dto;
+
+import java.util.List;
+import org.eclipse.che.dto.shared.DTO;
+
+/**
+ * Differential change of the workspace projects.
+ *
+ * <p>Projects from {@link #getUpdated()} replace the workspace projects with the same path or are
+ * added if there are no such projects, projects with paths from {@link #getRemoved()} are removed.
+ * The revision is the value of the workspace {@code revision} attribute, the change is rejected if
+ * the revision is set and the workspace has been updated since then.
+ */
+@DTO
+public interface ProjectsSyncDto {
+
+  /** Returns revision of the workspace the change is based on or the new revision of it. */
+  String getRevision();
+
+  void setRevision(String revision);
+
+  ProjectsSyncDto withRevision(String revision);
+
+  /** Returns added or updated projects. */
+  List<ProjectConfigDto> getUpdated();
+
+  void setUpdated(List<ProjectConfigDto> updated);
+
+  ProjectsSyncDto withUpdated(List<ProjectConfigDto> updated);
+
+  /** Returns paths of removed projects. */
+  List<String> getRemoved();
+
+  void setRemoved(List<String> removed);
+
+  ProjectsSyncDto withRemoved(List<String> removed);
+}
@@ -241,6 +241,32 @@ public class WorkspaceManager {
    */
   public WorkspaceImpl updateWorkspace(String id, Workspace update)
       throws ConflictException, ServerException, NotFoundException, ValidationException {
+    return normalizeState(workspaceDao.update(prepareUpdate(id, update)), true);
+  }
+
+  /**
+   * Updates an existing workspace the same way {@link #updateWorkspace(String, Workspace)} does, if
+   * it is not updated since the given revision, see {@link WorkspaceDao#update(WorkspaceImpl,
+   * String)}.
+   *
+   * @param update workspace update
+   * @param revision revision of the workspace the update is based on
+   * @return updated instance of the workspace
+   * @throws NullPointerException when either {@code workspaceId}, {@code update} or {@code
+   *     revision} is null
+   * @throws NotFoundException when workspace with given id doesn't exist
+   * @throws ConflictException when the workspace is updated since the given revision or any other
+   *     conflict occurs
+   * @throws ServerException when any other error occurs
+   */
+  public WorkspaceImpl updateWorkspace(String id, Workspace update, String revision)
+      throws ConflictException, ServerException, NotFoundException, ValidationException {
+    requireNonNull(revision, "Required non-null workspace revision");
+    return normalizeState(workspaceDao.update(prepareUpdate(id, update), revision), true);
+  }
+
+  private WorkspaceImpl prepareUpdate(String id, Workspace update)
+      throws NotFoundException, ServerException, ValidationException {
     requireNonNull(id, "Required non-null workspace id");
     requireNonNull(update, "Required non-null workspace update");
     requireNonNull(update.getConfig(), "Required non-null workspace configuration update");
@@ -252,8 +278,7 @@ public class WorkspaceManager {
     workspace.setAttributes(update.getAttributes());
     workspace.getAttributes().put(UPDATED_ATTRIBUTE_NAME, Long.toString(currentTimeMillis()));
     workspace.setTemporary(update.isTemporary());
-
-    return normalizeState(workspaceDao.update(workspace), true);
+    return workspace;
   }
 
   /**
@@ -20,6 +20,8 @@ import static org.eclipse.che.api.workspace.server.DtoConverter.asDto;
 import static org.eclipse.che.api.workspace.server.WorkspaceKeyValidator.validateKey;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_AUTO_START;
 import static org.eclipse.che.api.workspace.shared.Constants.CHE_WORKSPACE_PLUGIN_REGISTRY_URL_PROPERTY;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
 
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableMap;
@@ -32,7 +34,9 @@ import io.swagger.annotations.ApiResponse;
 import io.swagger.annotations.ApiResponses;
 import io.swagger.annotations.Example;
 import io.swagger.annotations.ExampleProperty;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import javax.inject.Inject;
@@ -71,6 +75,7 @@ import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsSyncDto;
 import org.eclipse.che.api.workspace.shared.dto.RecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
@@ -667,6 +672,66 @@ public class WorkspaceService extends Service {
     }
   }
 
+  @PUT
+  @Path("/{id}/project")
+  @Consumes(APPLICATION_JSON)
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+      value = "Apply the differential change of the workspace projects in a single update",
+      notes =
+          "This operation can be performed only by the workspace owner. "
+              + "Projects are replaced by path or added, removed paths which are not in "
+              + "the workspace are ignored. The response contains the new revision only")
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The projects successfully synchronized"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 403, message = "The user does not have access to update the projects"),
+    @ApiResponse(code = 404, message = "The workspace not found"),
+    @ApiResponse(code = 409, message = "The workspace was updated since the given revision"),
+    @ApiResponse(code = 500, message = "Internal server error occurred")
+  })
+  public ProjectsSyncDto syncProjects(
+      @ApiParam("The workspace id") @PathParam("id") String id,
+      @ApiParam(value = "The change of the projects", required = true) ProjectsSyncDto change)
+      throws ServerException, BadRequestException, NotFoundException, ConflictException,
+          ForbiddenException {
+    requiredNotNull(change, "Projects change");
+    final WorkspaceImpl workspace = workspaceManager.getWorkspace(id);
+    final String revision = revisionOf(workspace);
+    if (change.getRevision() != null && !change.getRevision().equals(revision)) {
+      throw new ConflictException(
+          format(
+              "Workspace '%s' revision '%s' doesn't match the expected '%s'",
+              id, revision, change.getRevision()));
+    }
+    if (change.getUpdated().isEmpty() && change.getRemoved().isEmpty()) {
+      return newDto(ProjectsSyncDto.class).withRevision(revision);
+    }
+
+    final Map<String, ProjectConfigImpl> projects = new LinkedHashMap<>();
+    for (ProjectConfigImpl project : workspace.getConfig().getProjects()) {
+      projects.put(project.getPath(), project);
+    }
+    for (String path : change.getRemoved()) {
+      projects.remove(normalizeProjectPath(path));
+    }
+    for (ProjectConfigDto project : change.getUpdated()) {
+      requiredNotNull(project.getPath(), "Project path");
+      final ProjectConfigImpl config = new ProjectConfigImpl(project);
+      config.setPath(normalizeProjectPath(project.getPath()));
+      projects.put(config.getPath(), config);
+    }
+    workspace.getConfig().setProjects(new ArrayList<>(projects.values()));
+    // the change is computed on the read workspace, so it is applied only if nobody updated the
+    // workspace since it was read
+    try {
+      return newDto(ProjectsSyncDto.class)
+          .withRevision(revisionOf(workspaceManager.updateWorkspace(id, workspace, revision)));
+    } catch (ValidationException x) {
+      throw new BadRequestException(x.getMessage());
+    }
+  }
+
   @GET
   @Path("/settings")
   @Produces(APPLICATION_JSON)
@@ -768,6 +833,15 @@ public class WorkspaceService extends Service {
     }
   }
 
+  private static String normalizeProjectPath(String path) {
+    return path.startsWith("/") ? path : '/' + path;
+  }
+
+  /** Returns the number of the workspace updates, which is maintained by the storage. */
+  private static String revisionOf(Workspace workspace) {
+    return workspace.getAttributes().getOrDefault(REVISION_ATTRIBUTE_NAME, "0");
+  }
+
   private List<WorkspaceDto> withLinks(List<WorkspaceDto> workspaces) throws ServerException {
     for (WorkspaceDto workspace : workspaces) {
       workspace.setLinks(linksGenerator.genLinks(workspace, getServiceContext()));
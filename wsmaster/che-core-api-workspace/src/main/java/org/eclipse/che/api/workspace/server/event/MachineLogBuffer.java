@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.lang.String.format;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.commons.annotation.Nullable;
+
+/**
+ * Buffers log lines of a single machine, or lines of a runtime which don't belong to any machine,
+ * until they are sent to the clients in batches.
+ *
+ * <p>Not more than the configured number of lines is kept between two batches, exceeding lines are
+ * dropped and replaced with a single marker line. Lines which are already sent are kept in a ring
+ * buffer of the configured size, so they can be sent to the clients subscribed later.
+ */
+class MachineLogBuffer {
+
+  private final String machineName;
+  private final int maxBatchLines;
+  private final int tailSize;
+  private final ArrayDeque<RuntimeLogEvent> tail;
+  private final List<RuntimeLogEvent> pending;
+
+  private long dropped;
+
+  MachineLogBuffer(@Nullable String machineName, int maxBatchLines, int tailSize) {
+    this.machineName = machineName;
+    this.maxBatchLines = Math.max(1, maxBatchLines);
+    this.tailSize = tailSize;
+    this.tail = new ArrayDeque<>();
+    this.pending = new ArrayList<>();
+  }
+
+  @Nullable
+  String getMachineName() {
+    return machineName;
+  }
+
+  /** Adds the line to the next batch, or drops it if the batch is already full. */
+  synchronized void add(RuntimeLogEvent line) {
+    if (pending.size() < maxBatchLines) {
+      pending.add(line);
+    } else {
+      dropped++;
+    }
+  }
+
+  /**
+   * Returns the lines added since the previous call batched into multi-line events, and moves them
+   * to the tail.
+   */
+  synchronized List<RuntimeLogEvent> drain() {
+    if (pending.isEmpty() && dropped == 0) {
+      return new ArrayList<>();
+    }
+    List<RuntimeLogEvent> batches = batch(pending);
+    if (dropped > 0) {
+      // lines are dropped only when the batch is full, so there is at least one pending line
+      RuntimeLogEvent last = pending.get(pending.size() - 1);
+      batches.add(
+          newDto(RuntimeLogEvent.class)
+              .withRuntimeId(last.getRuntimeId())
+              .withMachineName(machineName)
+              .withTime(last.getTime())
+              .withText(format("[%d lines dropped]", dropped)));
+      dropped = 0;
+    }
+    for (RuntimeLogEvent line : pending) {
+      if (tail.size() == tailSize) {
+        tail.pollFirst();
+      }
+      if (tailSize > 0) {
+        tail.addLast(line);
+      }
+    }
+    pending.clear();
+    return batches;
+  }
+
+  /** Returns the last sent lines batched into multi-line events. */
+  synchronized List<RuntimeLogEvent> getTail() {
+    return batch(tail);
+  }
+
+  /** Joins the consecutive lines of the same stream into single events. */
+  private List<RuntimeLogEvent> batch(Collection<RuntimeLogEvent> lines) {
+    List<RuntimeLogEvent> batches = new ArrayList<>();
+    List<RuntimeLogEvent> group = new ArrayList<>();
+    for (RuntimeLogEvent line : lines) {
+      if (!group.isEmpty() && !Objects.equals(group.get(0).getStream(), line.getStream())) {
+        batches.add(join(group));
+        group.clear();
+      }
+      group.add(line);
+    }
+    if (!group.isEmpty()) {
+      batches.add(join(group));
+    }
+    return batches;
+  }
+
+  private RuntimeLogEvent join(List<RuntimeLogEvent> group) {
+    RuntimeLogEvent first = group.get(0);
+    if (group.size() == 1) {
+      return first;
+    }
+    return newDto(RuntimeLogEvent.class)
+        .withRuntimeId(first.getRuntimeId())
+        .withMachineName(machineName)
+        .withStream(first.getStream())
+        .withTime(first.getTime())
+        .withText(group.stream().map(RuntimeLogEvent::getText).collect(Collectors.joining("\n")));
+  }
+}
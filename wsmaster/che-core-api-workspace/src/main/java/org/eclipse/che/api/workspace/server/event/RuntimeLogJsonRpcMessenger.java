@@ -13,35 +13,206 @@ package org.eclipse.che.api.workspace.server.event;
 
 import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
 import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_TAIL_SCOPE_PARAM;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
 import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Register subscriber on {@link RuntimeLogEvent runtime log event} for resending this type of event
  * via JSON-RPC to clients.
  *
+ * <p>Log lines are not sent one by one. They are buffered per machine and sent periodically as
+ * multi-line events, not more than the configured number of lines per second for each machine, the
+ * rest is dropped and replaced with a marker line. The last sent lines are also sent to the clients
+ * which ask for them in the subscription scope, so late subscribers see the recent logs of the
+ * runtime. The buffers of the workspace are created when it is starting, or by the first line of
+ * an active runtime, e.g. the one recovered after restart of Che Server, and flushed and released
+ * when the workspace is stopped. Logs of workspaces which have no runtime are dropped.
+ *
+ * <p>Batches and tails are sent under the same lock, and new subscriptions are stored under it
+ * too, so a subscriber receives each line either in the tail or in a batch, but not in both.
+ *
  * @author Sergii Leshchenko
  */
 @Singleton
 public class RuntimeLogJsonRpcMessenger {
 
+  private static final Logger LOG = LoggerFactory.getLogger(RuntimeLogJsonRpcMessenger.class);
+
   private final RemoteSubscriptionManager subscriptionManager;
+  private final EventService eventService;
+  private final WorkspaceRuntimes workspaceRuntimes;
+  private final long batchPeriodMs;
+  private final int maxBatchLines;
+  private final int tailSize;
+  /** Mapping of workspace id to the log buffers of its machines. */
+  private final Map<String, Map<String, MachineLogBuffer>> buffers;
+  /** Ids of stopped workspaces whose late lines must not create the buffers again. */
+  private final Set<String> released;
+  private final EventSubscriber<RuntimeLogEvent> logsSubscriber;
+  private final EventSubscriber<WorkspaceStatusEvent> statusSubscriber;
+  private final Object sendLock = new Object();
+
+  private ScheduledExecutorService flusher;
 
   @Inject
-  public RuntimeLogJsonRpcMessenger(RemoteSubscriptionManager subscriptionManager) {
+  public RuntimeLogJsonRpcMessenger(
+      RemoteSubscriptionManager subscriptionManager,
+      EventService eventService,
+      WorkspaceRuntimes workspaceRuntimes,
+      @Named("che.workspace.runtime_logs.batch_period_ms") long batchPeriodMs,
+      @Named("che.workspace.runtime_logs.max_lines_per_second") int maxLinesPerSecond,
+      @Named("che.workspace.runtime_logs.tail_size") int tailSize) {
     this.subscriptionManager = subscriptionManager;
+    this.eventService = eventService;
+    this.workspaceRuntimes = workspaceRuntimes;
+    this.batchPeriodMs = batchPeriodMs;
+    this.maxBatchLines = (int) Math.max(1, maxLinesPerSecond * batchPeriodMs / 1000);
+    this.tailSize = tailSize;
+    this.buffers = new ConcurrentHashMap<>();
+    this.released = ConcurrentHashMap.newKeySet();
+    this.logsSubscriber = this::buffer;
+    this.statusSubscriber = this::onStatusChanged;
   }
 
   @PostConstruct
   private void postConstruct() {
-    subscriptionManager.register(RUNTIME_LOG_METHOD, RuntimeLogEvent.class, this::predicate);
-    subscriptionManager.register(
-        MACHINE_LOG_METHOD, RuntimeLogEvent.class, this::predicateMachineLog);
+    eventService.subscribe(logsSubscriber, RuntimeLogEvent.class);
+    eventService.subscribe(statusSubscriber, WorkspaceStatusEvent.class);
+    subscriptionManager.addSubscriptionListener(
+        RUNTIME_LOG_METHOD,
+        (endpointId, scope, subscribe) ->
+            sendTail(endpointId, RUNTIME_LOG_METHOD, scope, subscribe));
+    subscriptionManager.addSubscriptionListener(
+        MACHINE_LOG_METHOD,
+        (endpointId, scope, subscribe) ->
+            sendTail(endpointId, MACHINE_LOG_METHOD, scope, subscribe));
+    flusher =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("RuntimeLogsFlusher").setDaemon(true).build());
+    flusher.scheduleWithFixedDelay(
+        this::flush, batchPeriodMs, batchPeriodMs, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  private void preDestroy() {
+    eventService.unsubscribe(logsSubscriber, RuntimeLogEvent.class);
+    eventService.unsubscribe(statusSubscriber, WorkspaceStatusEvent.class);
+    flusher.shutdownNow();
+    flush();
+  }
+
+  @VisibleForTesting
+  void onStatusChanged(WorkspaceStatusEvent event) {
+    if (event.getStatus() == WorkspaceStatus.STARTING) {
+      released.remove(event.getWorkspaceId());
+      buffers.putIfAbsent(event.getWorkspaceId(), new ConcurrentHashMap<>());
+    } else if (event.getStatus() == WorkspaceStatus.STOPPED) {
+      release(event.getWorkspaceId());
+    }
+  }
+
+  @VisibleForTesting
+  void buffer(RuntimeLogEvent event) {
+    String workspaceId = event.getRuntimeId().getWorkspaceId();
+    String machineName = event.getMachineName();
+    if (!buffers.containsKey(workspaceId)
+        && !released.contains(workspaceId)
+        && workspaceRuntimes.hasRuntime(workspaceId)) {
+      // runtime is active but its start is not seen, e.g. it is recovered
+      buffers.computeIfAbsent(
+          workspaceId, id -> released.contains(id) ? null : new ConcurrentHashMap<>());
+    }
+    buffers.computeIfPresent(
+        workspaceId,
+        (id, workspaceBuffers) -> {
+          workspaceBuffers
+              .computeIfAbsent(
+                  machineName == null ? "" : machineName,
+                  key -> new MachineLogBuffer(machineName, maxBatchLines, tailSize))
+              .add(event);
+          return workspaceBuffers;
+        });
+  }
+
+  /** Sends the lines buffered since the previous flush to the subscribers. */
+  @VisibleForTesting
+  void flush() {
+    synchronized (sendLock) {
+      for (Map<String, MachineLogBuffer> workspaceBuffers : buffers.values()) {
+        workspaceBuffers.values().forEach(this::send);
+      }
+    }
+    // late lines can't create the buffers once the runtime is gone
+    released.removeIf(workspaceId -> !workspaceRuntimes.hasRuntime(workspaceId));
+  }
+
+  private void send(MachineLogBuffer buffer) {
+    try {
+      for (RuntimeLogEvent event : buffer.drain()) {
+        subscriptionManager.transmit(RUNTIME_LOG_METHOD, event, this::predicate);
+        subscriptionManager.transmit(MACHINE_LOG_METHOD, event, this::predicateMachineLog);
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Failed to send runtime logs. Error: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Stores the subscription and sends the last sent lines to the subscriber if it asks for them,
+   * otherwise the subscription is stored by the subscription manager.
+   */
+  @VisibleForTesting
+  void sendTail(String endpointId, String method, Map<String, String> scope, Runnable subscribe) {
+    if (!Boolean.parseBoolean(scope.get(RUNTIME_LOG_TAIL_SCOPE_PARAM))) {
+      return;
+    }
+    synchronized (sendLock) {
+      subscribe.run();
+      Map<String, MachineLogBuffer> workspaceBuffers =
+          Optional.ofNullable(scope.get("workspaceId")).map(buffers::get).orElse(null);
+      if (workspaceBuffers == null) {
+        return;
+      }
+      for (MachineLogBuffer buffer : workspaceBuffers.values()) {
+        if (MACHINE_LOG_METHOD.equals(method) && buffer.getMachineName() == null) {
+          continue;
+        }
+        buffer.getTail().forEach(event -> subscriptionManager.transmit(endpointId, method, event));
+      }
+    }
+  }
+
+  private void release(String workspaceId) {
+    synchronized (sendLock) {
+      released.add(workspaceId);
+      Map<String, MachineLogBuffer> workspaceBuffers = buffers.remove(workspaceId);
+      if (workspaceBuffers != null) {
+        workspaceBuffers.values().forEach(this::send);
+      }
+    }
   }
 
   private boolean predicate(RuntimeLogEvent event, Map<String, String> scope) {
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.spi;
+
+import java.util.concurrent.TimeUnit;
+import javax.inject.Singleton;
+
+/**
+ * Records measurements of the infrastructure components, e.g. durations of the runtime start
+ * phases, passes of runtimes reconciliation or reads of the runtime caches.
+ *
+ * <p>The name of the measurement is relative to the workspace metrics, e.g. {@code start.phase},
+ * tags are given as key-value pairs, e.g. {@code "phase", "services", "result", "success"}.
+ *
+ * <p>Measurements are discarded by default, they are published when metrics are enabled.
+ */
+@Singleton
+public class InfrastructureMetrics {
+
+  /**
+   * Records the duration of the operation.
+   *
+   * @param name name of the measurement
+   * @param duration how long the operation took
+   * @param unit unit of the duration
+   * @param tags key-value pairs of the tags
+   */
+  public void recordTime(String name, long duration, TimeUnit unit, String... tags) {}
+
+  /**
+   * Increments the counter.
+   *
+   * @param name name of the measurement
+   * @param amount amount to add to the counter
+   * @param tags key-value pairs of the tags
+   */
+  public void increment(String name, double amount, String... tags) {}
+
+  /**
+   * Records the amount distribution of which is measured, e.g. the size of the batch.
+   *
+   * @param name name of the measurement
+   * @param amount the recorded amount
+   * @param tags key-value pairs of the tags
+   */
+  public void recordAmount(String name, double amount, String... tags) {}
+}
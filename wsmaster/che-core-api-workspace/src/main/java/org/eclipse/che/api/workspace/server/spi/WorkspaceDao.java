@@ -17,6 +17,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.shared.Constants;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -61,6 +62,25 @@ public interface WorkspaceDao {
   WorkspaceImpl update(WorkspaceImpl update)
       throws NotFoundException, ConflictException, ServerException;
 
+  /**
+   * Updates workspace the same way {@link #update(WorkspaceImpl)} does, if the stored workspace is
+   * not updated since the given revision. Revision is the value of the {@link
+   * Constants#REVISION_ATTRIBUTE_NAME} attribute which is set to 0 on creation and incremented by
+   * each update. Revision check and update are performed atomically.
+   *
+   * @param update workspace update
+   * @param revision revision of the stored workspace the update is based on
+   * @return updated workspace
+   * @throws NullPointerException when either {@code update} or {@code revision} is null
+   * @throws NotFoundException when workspace with given {@link WorkspaceImpl#getId() identifier}
+   *     was not found
+   * @throws ConflictException when the stored workspace has another revision, or workspace with
+   *     given name already exists in given namespace
+   * @throws ServerException when any other error occurs during workspace updating
+   */
+  WorkspaceImpl update(WorkspaceImpl update, String revision)
+      throws NotFoundException, ConflictException, ServerException;
+
   /**
    * Removes workspace.
    *
@@ -21,6 +21,7 @@ import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.STARTING;
 import static org.eclipse.che.api.core.model.workspace.config.MachineConfig.MEMORY_LIMIT_ATTRIBUTE;
 import static org.eclipse.che.api.core.model.workspace.runtime.MachineStatus.RUNNING;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
 import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_NAME;
 import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
@@ -35,7 +36,9 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
@@ -48,6 +51,7 @@ import java.util.List;
 import java.util.Map;
 import org.eclipse.che.account.shared.model.Account;
 import org.eclipse.che.account.spi.AccountImpl;
+import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
 import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
@@ -62,6 +66,7 @@ import org.eclipse.che.api.workspace.server.model.impl.CommandImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.MachineImpl;
+import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.RuntimeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ServerImpl;
@@ -73,6 +78,7 @@ import org.eclipse.che.api.workspace.shared.dto.CommandDto;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.MachineDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectsSyncDto;
 import org.eclipse.che.api.workspace.shared.dto.RuntimeDto;
 import org.eclipse.che.api.workspace.shared.dto.ServerDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
@@ -1123,6 +1129,122 @@ public class WorkspaceServiceTest {
     verify(wsManager).updateWorkspace(any(), any());
   }
 
+  @Test
+  public void shouldSyncProjectsInSingleUpdate() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, "1");
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    final WorkspaceImpl updated = new WorkspaceImpl(workspace);
+    updated.getAttributes().put(REVISION_ATTRIBUTE_NAME, "2");
+    when(wsManager.updateWorkspace(any(), any(), any())).thenReturn(updated);
+    final String removed = workspace.getConfig().getProjects().get(0).getPath();
+    final ProjectConfigDto added = createProjectDto().withPath("added");
+    final ProjectsSyncDto change =
+        newDto(ProjectsSyncDto.class)
+            .withRevision("1")
+            .withUpdated(singletonList(added))
+            .withRemoved(singletonList(removed));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(change)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 200);
+    assertEquals(unwrapDto(response, ProjectsSyncDto.class).getRevision(), "2");
+    ArgumentCaptor<WorkspaceImpl> captor = ArgumentCaptor.forClass(WorkspaceImpl.class);
+    verify(wsManager).updateWorkspace(eq(workspace.getId()), captor.capture(), eq("1"));
+    List<String> paths =
+        captor
+            .getValue()
+            .getConfig()
+            .getProjects()
+            .stream()
+            .map(ProjectConfigImpl::getPath)
+            .collect(toList());
+    assertFalse(paths.contains(removed));
+    assertTrue(paths.contains("/added"));
+  }
+
+  @Test
+  public void shouldRespond409WhenSyncingProjectsOfOutdatedRevision() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, "2");
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    final ProjectsSyncDto change =
+        newDto(ProjectsSyncDto.class)
+            .withRevision("1")
+            .withUpdated(singletonList(createProjectDto()));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(change)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 409);
+    verify(wsManager, never()).updateWorkspace(any(), any(), any());
+  }
+
+  @Test
+  public void shouldRespond409WhenWorkspaceIsUpdatedWhileSyncingProjects() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, "1");
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    when(wsManager.updateWorkspace(any(), any(), any()))
+        .thenThrow(new ConflictException("revision '2' doesn't match the expected '1'"));
+    final ProjectsSyncDto change =
+        newDto(ProjectsSyncDto.class).withUpdated(singletonList(createProjectDto()));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(change)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 409);
+    verify(wsManager).updateWorkspace(eq(workspace.getId()), any(), eq("1"));
+  }
+
+  @Test
+  public void shouldReplaceProjectsByNormalizedPathWhenSyncingProjects() throws Exception {
+    final WorkspaceImpl workspace = createWorkspace(createConfigDto());
+    workspace.getAttributes().put(REVISION_ATTRIBUTE_NAME, "1");
+    when(wsManager.getWorkspace(workspace.getId())).thenReturn(workspace);
+    when(wsManager.updateWorkspace(any(), any(), any())).thenReturn(workspace);
+    final int projectsCount = workspace.getConfig().getProjects().size();
+    final String path = workspace.getConfig().getProjects().get(0).getPath();
+    final ProjectsSyncDto change =
+        newDto(ProjectsSyncDto.class)
+            .withUpdated(singletonList(createProjectDto().withPath(path.substring(1))));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .body(change)
+            .when()
+            .put(SECURE_PATH + "/workspace/" + workspace.getId() + "/project");
+
+    assertEquals(response.getStatusCode(), 200);
+    ArgumentCaptor<WorkspaceImpl> captor = ArgumentCaptor.forClass(WorkspaceImpl.class);
+    verify(wsManager).updateWorkspace(eq(workspace.getId()), captor.capture(), eq("1"));
+    List<ProjectConfigImpl> projects = captor.getValue().getConfig().getProjects();
+    assertEquals(projects.size(), projectsCount);
+    assertTrue(projects.stream().anyMatch(it -> it.getPath().equals(path)));
+  }
+
   @Test
   public void shouldBeAbleToGetSettings() throws Exception {
     when(wsManager.getSupportedRecipes()).thenReturn(ImmutableSet.of("dockerimage", "dockerfile"));
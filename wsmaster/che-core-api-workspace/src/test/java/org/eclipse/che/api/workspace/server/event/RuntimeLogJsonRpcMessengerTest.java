@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2012-2018 Red Hat, Inc.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server.event;
+
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.api.workspace.shared.Constants.MACHINE_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_METHOD;
+import static org.eclipse.che.api.workspace.shared.Constants.RUNTIME_LOG_TAIL_SCOPE_PARAM;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.RemoteSubscriptionManager;
+import org.eclipse.che.api.workspace.server.WorkspaceRuntimes;
+import org.eclipse.che.api.workspace.shared.dto.RuntimeIdentityDto;
+import org.eclipse.che.api.workspace.shared.dto.event.RuntimeLogEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link RuntimeLogJsonRpcMessenger}. */
+@Listeners(MockitoTestNGListener.class)
+public class RuntimeLogJsonRpcMessengerTest {
+
+  private static final String WORKSPACE_ID = "workspace123";
+  private static final Map<String, String> SCOPE = singletonMap("workspaceId", WORKSPACE_ID);
+  private static final Map<String, String> TAIL_SCOPE =
+      ImmutableMap.of("workspaceId", WORKSPACE_ID, RUNTIME_LOG_TAIL_SCOPE_PARAM, "true");
+
+  @Mock private RemoteSubscriptionManager subscriptionManager;
+  @Mock private EventService eventService;
+  @Mock private WorkspaceRuntimes workspaceRuntimes;
+  @Mock private Runnable subscribe;
+
+  @Captor private ArgumentCaptor<RuntimeLogEvent> eventCaptor;
+
+  private RuntimeLogJsonRpcMessenger messenger;
+
+  @BeforeMethod
+  public void setUp() {
+    // 1000 ms batches with not more than 3 lines
+    messenger =
+        new RuntimeLogJsonRpcMessenger(
+            subscriptionManager, eventService, workspaceRuntimes, 1000, 3, 2);
+    messenger.onStatusChanged(status(WorkspaceStatus.STARTING));
+  }
+
+  @Test
+  public void shouldSendLinesOfMachineAsSingleEvent() {
+    messenger.buffer(line("machine1", "line1"));
+    messenger.buffer(line("machine1", "line2"));
+
+    messenger.flush();
+
+    verify(subscriptionManager).transmit(eq(RUNTIME_LOG_METHOD), eventCaptor.capture(), any());
+    RuntimeLogEvent event = eventCaptor.getValue();
+    assertEquals(event.getText(), "line1\nline2");
+    assertEquals(event.getMachineName(), "machine1");
+    assertEquals(event.getRuntimeId().getWorkspaceId(), WORKSPACE_ID);
+    verify(subscriptionManager).transmit(eq(MACHINE_LOG_METHOD), eq(event), any());
+  }
+
+  @Test
+  public void shouldSendLinesOfDifferentMachinesSeparately() {
+    messenger.buffer(line("machine1", "line1"));
+    messenger.buffer(line("machine2", "line2"));
+
+    messenger.flush();
+
+    verify(subscriptionManager, times(2))
+        .transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+  }
+
+  @Test
+  public void shouldReplaceLinesExceedingLimitWithMarker() {
+    for (int i = 1; i <= 5; i++) {
+      messenger.buffer(line("machine1", "line" + i));
+    }
+
+    messenger.flush();
+
+    verify(subscriptionManager, times(2))
+        .transmit(eq(RUNTIME_LOG_METHOD), eventCaptor.capture(), any());
+    List<RuntimeLogEvent> events = eventCaptor.getAllValues();
+    assertEquals(events.get(0).getText(), "line1\nline2\nline3");
+    assertEquals(events.get(1).getText(), "[2 lines dropped]");
+  }
+
+  @Test
+  public void shouldNotSendLinesTwice() {
+    messenger.buffer(line("machine1", "line1"));
+
+    messenger.flush();
+    messenger.flush();
+
+    verify(subscriptionManager).transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+  }
+
+  @Test
+  public void shouldSendTailOfSentLinesToNewSubscriber() {
+    messenger.buffer(line("machine1", "line1"));
+    messenger.buffer(line("machine1", "line2"));
+    messenger.buffer(line("machine1", "line3"));
+    messenger.flush();
+    messenger.buffer(line("machine1", "pending"));
+
+    messenger.sendTail("endpoint1", RUNTIME_LOG_METHOD, TAIL_SCOPE, subscribe);
+
+    InOrder inOrder = inOrder(subscribe, subscriptionManager);
+    inOrder.verify(subscribe).run();
+    inOrder
+        .verify(subscriptionManager)
+        .transmit(eq("endpoint1"), eq(RUNTIME_LOG_METHOD), eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getText(), "line2\nline3");
+  }
+
+  @Test
+  public void shouldNotSendTailWhenSubscriberDoesNotAskForIt() {
+    messenger.buffer(line("machine1", "line1"));
+    messenger.flush();
+
+    messenger.sendTail("endpoint1", RUNTIME_LOG_METHOD, SCOPE, subscribe);
+
+    // the subscription is stored by the subscription manager
+    verify(subscribe, never()).run();
+    verify(subscriptionManager, never())
+        .transmit(eq("endpoint1"), eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class));
+  }
+
+  @Test(timeOut = 5000)
+  public void shouldNotStoreSubscriptionWhileBatchIsBeingSent() throws Exception {
+    CountDownLatch sending = new CountDownLatch(1);
+    CountDownLatch sent = new CountDownLatch(1);
+    doAnswer(
+            invocation -> {
+              sending.countDown();
+              sent.await();
+              return null;
+            })
+        .when(subscriptionManager)
+        .transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+    messenger.buffer(line("machine1", "line1"));
+    Thread flusher = new Thread(messenger::flush);
+    flusher.start();
+    sending.await();
+
+    Thread subscriber =
+        new Thread(
+            () -> messenger.sendTail("endpoint1", RUNTIME_LOG_METHOD, TAIL_SCOPE, subscribe));
+    subscriber.start();
+    subscriber.join(200);
+    verify(subscribe, never()).run();
+    sent.countDown();
+    flusher.join();
+    subscriber.join();
+
+    // the line is not sent to the subscriber in the batch, so it is sent in the tail
+    verify(subscribe).run();
+    verify(subscriptionManager)
+        .transmit(eq("endpoint1"), eq(RUNTIME_LOG_METHOD), eventCaptor.capture());
+    assertEquals(eventCaptor.getValue().getText(), "line1");
+  }
+
+  @Test
+  public void shouldSendBufferedLinesWhenWorkspaceIsStopped() {
+    messenger.buffer(line("machine1", "line1"));
+
+    messenger.onStatusChanged(status(WorkspaceStatus.STOPPED));
+
+    verify(subscriptionManager).transmit(eq(RUNTIME_LOG_METHOD), eventCaptor.capture(), any());
+    assertEquals(eventCaptor.getValue().getText(), "line1");
+  }
+
+  @Test
+  public void shouldDropLinesOfStoppedWorkspace() {
+    messenger.onStatusChanged(status(WorkspaceStatus.STOPPED));
+
+    messenger.buffer(line("machine1", "late line"));
+    messenger.flush();
+    messenger.sendTail("endpoint1", RUNTIME_LOG_METHOD, TAIL_SCOPE, subscribe);
+
+    verify(subscriptionManager, never())
+        .transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+    verify(subscriptionManager, never())
+        .transmit(eq("endpoint1"), eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class));
+    verify(subscribe).run();
+  }
+
+  @Test
+  public void shouldBufferLinesOfActiveRuntimeWhoseStartIsNotSeen() {
+    messenger =
+        new RuntimeLogJsonRpcMessenger(
+            subscriptionManager, eventService, workspaceRuntimes, 1000, 3, 2);
+    when(workspaceRuntimes.hasRuntime(WORKSPACE_ID)).thenReturn(true);
+
+    messenger.buffer(line("machine1", "line1"));
+    messenger.flush();
+
+    verify(subscriptionManager).transmit(eq(RUNTIME_LOG_METHOD), eventCaptor.capture(), any());
+    assertEquals(eventCaptor.getValue().getText(), "line1");
+  }
+
+  @Test
+  public void shouldDropLinesOfWorkspaceWithoutRuntime() {
+    messenger =
+        new RuntimeLogJsonRpcMessenger(
+            subscriptionManager, eventService, workspaceRuntimes, 1000, 3, 2);
+
+    messenger.buffer(line("machine1", "line1"));
+    messenger.flush();
+
+    verify(subscriptionManager, never())
+        .transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+  }
+
+  @Test
+  public void shouldNotCreateBuffersOfStoppedWorkspaceWhileItsRuntimeIsActive() {
+    when(workspaceRuntimes.hasRuntime(WORKSPACE_ID)).thenReturn(true);
+    messenger.onStatusChanged(status(WorkspaceStatus.STOPPED));
+
+    messenger.buffer(line("machine1", "late line"));
+    messenger.flush();
+
+    verify(subscriptionManager, never())
+        .transmit(eq(RUNTIME_LOG_METHOD), any(RuntimeLogEvent.class), any());
+  }
+
+  @Test
+  public void shouldNotSendTailOfLinesWithoutMachineToMachineLogsSubscriber() {
+    messenger.buffer(line(null, "line1"));
+    messenger.flush();
+
+    messenger.sendTail("endpoint1", MACHINE_LOG_METHOD, TAIL_SCOPE, subscribe);
+
+    verify(subscriptionManager, never())
+        .transmit(eq("endpoint1"), eq(MACHINE_LOG_METHOD), any(RuntimeLogEvent.class));
+  }
+
+  private static WorkspaceStatusEvent status(WorkspaceStatus status) {
+    return newDto(WorkspaceStatusEvent.class).withWorkspaceId(WORKSPACE_ID).withStatus(status);
+  }
+
+  private static RuntimeLogEvent line(String machineName, String text) {
+    return newDto(RuntimeLogEvent.class)
+        .withRuntimeId(newDto(RuntimeIdentityDto.class).withWorkspaceId(WORKSPACE_ID))
+        .withMachineName(machineName)
+        .withText(text);
+  }
+}
@@ -15,6 +15,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
+import static org.eclipse.che.api.workspace.shared.Constants.REVISION_ATTRIBUTE_NAME;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doThrow;
@@ -466,6 +467,42 @@ public class WorkspaceDaoTest {
         workspaceDao.get(workspace.getId()), new WorkspaceImpl(workspace, workspace.getAccount()));
   }
 
+  @Test(dependsOnMethods = "shouldGetWorkspaceById")
+  public void shouldIncrementRevisionOnEachUpdate() throws Exception {
+    final WorkspaceImpl workspace = new WorkspaceImpl(workspaces[0], workspaces[0].getAccount());
+    workspaceDao.update(workspace);
+    final String revision = workspace.getAttributes().get(REVISION_ATTRIBUTE_NAME);
+
+    workspaceDao.update(workspace);
+
+    assertEquals(
+        workspaceDao.get(workspace.getId()).getAttributes().get(REVISION_ATTRIBUTE_NAME),
+        Long.toString(Long.parseLong(revision) + 1));
+  }
+
+  @Test(dependsOnMethods = "shouldGetWorkspaceById")
+  public void shouldUpdateWorkspaceOfExpectedRevisionOnly() throws Exception {
+    final WorkspaceImpl workspace = new WorkspaceImpl(workspaces[0], workspaces[0].getAccount());
+    workspaceDao.update(workspace);
+    final String revision = workspace.getAttributes().get(REVISION_ATTRIBUTE_NAME);
+
+    // both updates are based on the same revision, e.g. made by different replicas
+    final WorkspaceImpl first = new WorkspaceImpl(workspace, workspace.getAccount());
+    first.getConfig().setDescription("first");
+    final WorkspaceImpl second = new WorkspaceImpl(workspace, workspace.getAccount());
+    second.getConfig().setDescription("second");
+
+    workspaceDao.update(first, revision);
+    try {
+      workspaceDao.update(second, revision);
+      fail("Update of outdated revision must be rejected");
+    } catch (ConflictException expected) {
+      // the second update is based on the outdated revision
+    }
+
+    assertEquals(workspaceDao.get(workspace.getId()), new WorkspaceImpl(first, first.getAccount()));
+  }
+
   @Test(expectedExceptions = NotFoundException.class)
   public void shouldNotUpdateWorkspaceWhichDoesNotExist() throws Exception {
     final WorkspaceImpl workspace = workspaces[0];